@@ -12,6 +12,16 @@ import java.lang.reflect.Method;
  * @email kfyty725@hotmail.com
  */
 public interface MethodMatcher {
+    /**
+     * 类型预过滤，返回 false 时，该类型中的全部方法都不会匹配，无需逐个方法匹配
+     *
+     * @param targetClass 目标类型
+     * @return false if no method can match
+     */
+    default boolean couldMatch(Class<?> targetClass) {
+        return true;
+    }
+
     /**
      * {@link ShadowMatch}
      *
@@ -6,6 +6,7 @@ import com.kfyty.loveqq.framework.aop.utils.AspectJAnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.ClassLoaderUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
@@ -60,6 +61,13 @@ public class AspectJExpressionPointcut implements MethodMatcher, ExpressionPoint
     private final String[] argNames;
     private final Class<?>[] parameterTypes;
     private final Map<Method, ShadowMatch> shadowMatchCache;
+    private final Map<Class<?>, Boolean> typeMatchCache;
+
+    /**
+     * 解析后的切入点表达式，首次匹配时解析
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile PointcutExpression pointcutExpression;
 
     public AspectJExpressionPointcut(Class<?> aspectClass, Method aspectMethod) {
         this.aspectClass = aspectClass;
@@ -68,6 +76,7 @@ public class AspectJExpressionPointcut implements MethodMatcher, ExpressionPoint
         this.argNames = this.buildArgumentNames();
         this.parameterTypes = this.buildParameterTypes();
         this.shadowMatchCache = new ConcurrentHashMap<>();
+        this.typeMatchCache = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -82,12 +91,40 @@ public class AspectJExpressionPointcut implements MethodMatcher, ExpressionPoint
 
     @Override
     public ShadowMatch getShadowMatch(Method method) {
-        return this.shadowMatchCache.computeIfAbsent(method, k -> {
-            PointcutParser pointcutParser = PointcutParser.getPointcutParserSupportingSpecifiedPrimitivesAndUsingSpecifiedClassLoaderForResolution(SUPPORTED_PRIMITIVES, ClassLoaderUtil.classLoader(this.aspectClass));
-            PointcutParameter[] pointcutParameters = this.buildPointcutParameters(pointcutParser);
-            PointcutExpression pointcutExpression = pointcutParser.parsePointcutExpression(this.getExpression(), this.aspectClass, pointcutParameters);
-            return pointcutExpression.matchesMethodExecution(method);
-        });
+        ShadowMatch shadowMatch = this.shadowMatchCache.get(method);
+        if (shadowMatch != null) {
+            PointcutMatchMetrics.onMethodCacheHit();
+            return shadowMatch;
+        }
+        PointcutExpression pointcutExpression = this.obtainPointcutExpression();
+        synchronized (pointcutExpression) {                                                                             // aspectj 的匹配不是线程安全的
+            return this.shadowMatchCache.computeIfAbsent(method, k -> {
+                PointcutMatchMetrics.onMethodMatched();
+                return pointcutExpression.matchesMethodExecution(method);
+            });
+        }
+    }
+
+    @Override
+    public boolean couldMatch(Class<?> targetClass) {
+        Boolean couldMatch = this.typeMatchCache.get(targetClass);
+        if (couldMatch != null) {
+            return couldMatch;
+        }
+        PointcutExpression pointcutExpression = this.obtainPointcutExpression();
+        synchronized (pointcutExpression) {
+            return this.typeMatchCache.computeIfAbsent(targetClass, k -> {
+                boolean result;
+                try {
+                    result = pointcutExpression.couldMatchJoinPointsInType(targetClass);
+                } catch (Throwable e) {
+                    log.debug("could not determine whether pointcut: {} could match type: {}, assume that it could", this.expression, targetClass, e);
+                    result = true;
+                }
+                PointcutMatchMetrics.onTypeMatched(result);
+                return result;
+            });
+        }
     }
 
     @Override
@@ -95,6 +132,27 @@ public class AspectJExpressionPointcut implements MethodMatcher, ExpressionPoint
         return this.getShadowMatch(method).alwaysMatches();
     }
 
+    /**
+     * 获取解析后的切入点表达式，每个切入点仅解析一次
+     *
+     * @return 切入点表达式
+     */
+    protected PointcutExpression obtainPointcutExpression() {
+        PointcutExpression pointcutExpression = this.pointcutExpression;
+        if (pointcutExpression != null) {
+            return pointcutExpression;
+        }
+        synchronized (this) {
+            if (this.pointcutExpression == null) {
+                PointcutParser pointcutParser = PointcutParser.getPointcutParserSupportingSpecifiedPrimitivesAndUsingSpecifiedClassLoaderForResolution(SUPPORTED_PRIMITIVES, ClassLoaderUtil.classLoader(this.aspectClass));
+                PointcutParameter[] pointcutParameters = this.buildPointcutParameters(pointcutParser);
+                this.pointcutExpression = pointcutParser.parsePointcutExpression(this.getExpression(), this.aspectClass, pointcutParameters);
+                PointcutMatchMetrics.onParsed();
+            }
+            return this.pointcutExpression;
+        }
+    }
+
     protected PointcutParameter[] buildPointcutParameters(PointcutParser pointcutParser) {
         PointcutParameter[] pointcutParameters = new PointcutParameter[this.argNames.length];
         for (int i = 0; i < argNames.length; i++) {
@@ -0,0 +1,91 @@
+package com.kfyty.loveqq.framework.aop.aspectj;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 描述: 切入点匹配统计
+ * <p>
+ * 统计 {@link AspectJExpressionPointcut} 的表达式解析次数、类型预过滤次数以及方法匹配次数，用于观察启动时切面匹配的开销
+ *
+ * @author kfyty725
+ * @date 2024/12/30 15:20
+ * @email kfyty725@hotmail.com
+ */
+public abstract class PointcutMatchMetrics {
+    /**
+     * 表达式解析次数
+     */
+    private static final LongAdder PARSED = new LongAdder();
+
+    /**
+     * 类型预过滤次数
+     */
+    private static final LongAdder TYPE_MATCHED = new LongAdder();
+
+    /**
+     * 类型预过滤未通过次数
+     */
+    private static final LongAdder TYPE_REJECTED = new LongAdder();
+
+    /**
+     * 方法匹配次数
+     */
+    private static final LongAdder METHOD_MATCHED = new LongAdder();
+
+    /**
+     * 方法匹配缓存命中次数
+     */
+    private static final LongAdder METHOD_CACHE_HIT = new LongAdder();
+
+    static void onParsed() {
+        PARSED.increment();
+    }
+
+    static void onTypeMatched(boolean couldMatch) {
+        TYPE_MATCHED.increment();
+        if (!couldMatch) {
+            TYPE_REJECTED.increment();
+        }
+    }
+
+    static void onMethodMatched() {
+        METHOD_MATCHED.increment();
+    }
+
+    static void onMethodCacheHit() {
+        METHOD_CACHE_HIT.increment();
+    }
+
+    public static long getParsed() {
+        return PARSED.sum();
+    }
+
+    public static long getTypeMatched() {
+        return TYPE_MATCHED.sum();
+    }
+
+    public static long getTypeRejected() {
+        return TYPE_REJECTED.sum();
+    }
+
+    public static long getMethodMatched() {
+        return METHOD_MATCHED.sum();
+    }
+
+    public static long getMethodCacheHit() {
+        return METHOD_CACHE_HIT.sum();
+    }
+
+    public static void reset() {
+        PARSED.reset();
+        TYPE_MATCHED.reset();
+        TYPE_REJECTED.reset();
+        METHOD_MATCHED.reset();
+        METHOD_CACHE_HIT.reset();
+    }
+
+    public static String format() {
+        return String.format("parsed expressions: %d, type matches: %d (rejected: %d), method matches: %d, method cache hits: %d",
+                getParsed(), getTypeMatched(), getTypeRejected(), getMethodMatched(), getMethodCacheHit());
+    }
+}
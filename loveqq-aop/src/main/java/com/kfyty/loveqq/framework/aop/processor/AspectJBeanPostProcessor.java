@@ -6,6 +6,7 @@ import com.kfyty.loveqq.framework.aop.PointcutAdvisor;
 import com.kfyty.loveqq.framework.aop.aspectj.AbstractAspectJAdvice;
 import com.kfyty.loveqq.framework.aop.aspectj.AspectClass;
 import com.kfyty.loveqq.framework.aop.aspectj.AspectJFactory;
+import com.kfyty.loveqq.framework.aop.aspectj.PointcutMatchMetrics;
 import com.kfyty.loveqq.framework.aop.aspectj.adapter.AdviceInterceptorPointAdapter;
 import com.kfyty.loveqq.framework.aop.aspectj.creator.AdvisorCreator;
 import com.kfyty.loveqq.framework.aop.proxy.AspectMethodInterceptorProxy;
@@ -13,6 +14,8 @@ import com.kfyty.loveqq.framework.core.autoconfig.annotation.AspectResolve;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Component;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
+import com.kfyty.loveqq.framework.core.event.ApplicationListener;
+import com.kfyty.loveqq.framework.core.event.ContextRefreshedEvent;
 import com.kfyty.loveqq.framework.core.proxy.AbstractProxyCreatorProcessor;
 import com.kfyty.loveqq.framework.core.proxy.MethodInterceptorChainPoint;
 import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
@@ -25,6 +28,8 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 描述: 切面处理器
@@ -37,12 +42,17 @@ import java.util.List;
  */
 @Slf4j
 @Component
-public class AspectJBeanPostProcessor extends AbstractProxyCreatorProcessor {
+public class AspectJBeanPostProcessor extends AbstractProxyCreatorProcessor implements ApplicationListener<ContextRefreshedEvent> {
     /**
      * 是否已解析切面配置
      */
     private boolean hasResolveAspect;
 
+    /**
+     * bean class 适用的切面缓存，同一类型的多个 bean 只匹配一次
+     */
+    private final Map<Class<?>, List<Advisor>> availableAdvisorCache = new ConcurrentHashMap<>();
+
     /**
      * advisor 创建器
      */
@@ -75,6 +85,13 @@ public class AspectJBeanPostProcessor extends AbstractProxyCreatorProcessor {
         return this.createProxy(bean, beanDefinition, new AspectMethodInterceptorProxy(advisors, this.adviceInterceptorPointAdapters));
     }
 
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (this.hasResolveAspect) {
+            log.info("Aspect pointcut matching finished, {}", PointcutMatchMetrics.format());
+        }
+    }
+
     @Override
     public MethodInterceptorChainPoint createProxyPoint() {
         throw new UnsupportedOperationException("AspectJBeanPostProcessor.createProxyPoint");
@@ -89,11 +106,18 @@ public class AspectJBeanPostProcessor extends AbstractProxyCreatorProcessor {
      */
     protected List<Advisor> findAvailableAdvisor(Class<?> beanClass) {
         this.prepareAspectJAnnotationAdvisor();
+        return this.availableAdvisorCache.computeIfAbsent(beanClass, this::doFindAvailableAdvisor);
+    }
+
+    protected List<Advisor> doFindAvailableAdvisor(Class<?> beanClass) {
         List<Advisor> advisors = new ArrayList<>();
         Method[] methods = ReflectUtil.getMethods(beanClass);
         for (Advisor advisor : this.aspectAdvisor) {
             if (advisor instanceof PointcutAdvisor) {
                 MethodMatcher methodMatcher = ((PointcutAdvisor) advisor).getPointcut().getMethodMatcher();
+                if (!methodMatcher.couldMatch(beanClass)) {
+                    continue;
+                }
                 for (Method targetMethod : methods) {
                     if (methodMatcher.matches(targetMethod, beanClass)) {
                         advisors.add(advisor);
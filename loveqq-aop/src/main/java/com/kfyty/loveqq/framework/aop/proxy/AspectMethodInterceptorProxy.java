@@ -12,14 +12,13 @@ import com.kfyty.loveqq.framework.core.proxy.MethodInterceptorChainPoint;
 import com.kfyty.loveqq.framework.core.proxy.MethodProxy;
 import com.kfyty.loveqq.framework.core.proxy.aop.AdviceMethodInterceptorChainPoint;
 import com.kfyty.loveqq.framework.core.proxy.aop.JoinPointHolder;
-import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.aop.Advice;
 import org.aspectj.lang.JoinPoint;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -42,7 +41,7 @@ public class AspectMethodInterceptorProxy implements MethodInterceptorChainPoint
 
     private final List<AdviceInterceptorPointAdapter> adapters;
 
-    private final Map<Method, List<MethodInterceptorChainPoint>> advisorPointCache;
+    private final Map<Method, MethodInterceptorChainPoint[]> advisorPointCache;
 
     public AspectMethodInterceptorProxy(List<Advisor> advisors, List<AdviceInterceptorPointAdapter> adapters) {
         this.advisors = advisors;
@@ -50,10 +49,15 @@ public class AspectMethodInterceptorProxy implements MethodInterceptorChainPoint
         this.advisorPointCache = new ConcurrentHashMap<>();
     }
 
+    @Override
+    public boolean isApplicable(Method method) {
+        return !this.findAdvisors(method, method.getDeclaringClass()).isEmpty();
+    }
+
     @Override
     public Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable {
-        List<MethodInterceptorChainPoint> advices = this.findAdviceChainPoints(methodProxy);
-        if (CommonUtil.empty(advices)) {
+        MethodInterceptorChainPoint[] advices = this.findAdviceChainPoints(methodProxy);
+        if (advices.length == 0) {
             return chain.proceed(methodProxy);
         }
         JoinPoint prevJoinPoint = null;
@@ -66,13 +70,16 @@ public class AspectMethodInterceptorProxy implements MethodInterceptorChainPoint
         }
     }
 
-    protected MethodInvocationProceedingJoinPoint buildMethodInvocationProceedingJoinPoint(MethodProxy methodProxy, MethodInterceptorChain chain, List<MethodInterceptorChainPoint> advices) {
-        MethodInterceptorChain aopChain = new MethodInterceptorChain(chain.getTarget(), advices);
-        aopChain.addInterceptorPoint(advices.size(), new AopInterceptorChainBridgeProxy(chain));
-        return new MethodInvocationProceedingJoinPoint(methodProxy, aopChain);
+    /**
+     * 构建 aop 子链，子链由通知及桥接到原拦截链的节点组成，使用轻量的数组拦截链
+     */
+    protected MethodInvocationProceedingJoinPoint buildMethodInvocationProceedingJoinPoint(MethodProxy methodProxy, MethodInterceptorChain chain, MethodInterceptorChainPoint[] advices) {
+        MethodInterceptorChainPoint[] chainPoints = Arrays.copyOf(advices, advices.length + 1);
+        chainPoints[advices.length] = new AopInterceptorChainBridgeProxy(chain);
+        return new MethodInvocationProceedingJoinPoint(methodProxy, new MethodInterceptorChain(chain.getTarget(), chainPoints));
     }
 
-    protected List<MethodInterceptorChainPoint> findAdviceChainPoints(MethodProxy methodProxy) {
+    protected MethodInterceptorChainPoint[] findAdviceChainPoints(MethodProxy methodProxy) {
         return this.advisorPointCache.computeIfAbsent(methodProxy.getMethod(), k -> {
             List<Advisor> advisors = this.findAdvisors(methodProxy);
             List<AdviceMethodInterceptorChainPoint> adviceChainPoint = new ArrayList<>(advisors.size() + 1);
@@ -89,14 +96,16 @@ public class AspectMethodInterceptorProxy implements MethodInterceptorChainPoint
                 throw new IllegalStateException("No suitable adapter for advice: " + advice);
             }
             adviceChainPoint.sort(this.getAdviceChainPointsComparator());
-            return Collections.unmodifiableList(new ArrayList<>(adviceChainPoint));                                     // 不可变，并释放多余的集合空间
+            return adviceChainPoint.toArray(new MethodInterceptorChainPoint[0]);
         });
     }
 
     protected List<Advisor> findAdvisors(MethodProxy methodProxy) {
+        return this.findAdvisors(methodProxy.getTargetMethod(), methodProxy.getTargetClass());
+    }
+
+    protected List<Advisor> findAdvisors(Method targetMethod, Class<?> targetClass) {
         List<Advisor> filteredAdvisors = new ArrayList<>();
-        Method targetMethod = methodProxy.getTargetMethod();
-        Class<?> targetClass = methodProxy.getTargetClass();
         for (Advisor advisor : this.advisors) {
             if (advisor instanceof PointcutAdvisor) {
                 MethodMatcher methodMatcher = ((PointcutAdvisor) advisor).getPointcut().getMethodMatcher();
@@ -1,9 +1,15 @@
 package com.kfyty.aop;
 
 import com.kfyty.loveqq.framework.aop.Advisor;
+import com.kfyty.loveqq.framework.aop.MethodMatcher;
+import com.kfyty.loveqq.framework.aop.PointcutAdvisor;
+import com.kfyty.loveqq.framework.aop.aspectj.PointcutMatchMetrics;
 import com.kfyty.loveqq.framework.aop.aspectj.adapter.DefaultAdviceInterceptorPointAdapter;
 import com.kfyty.loveqq.framework.aop.aspectj.creator.AspectJAdvisorCreator;
 import com.kfyty.loveqq.framework.aop.proxy.AspectMethodInterceptorProxy;
+import com.kfyty.loveqq.framework.core.proxy.MethodInterceptorChain;
+import com.kfyty.loveqq.framework.core.proxy.MethodInterceptorChainPoint;
+import com.kfyty.loveqq.framework.core.proxy.MethodProxy;
 import com.kfyty.loveqq.framework.core.proxy.factory.DynamicProxyFactory;
 import com.kfyty.loveqq.framework.core.utils.AopUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +25,10 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.lang.annotation.Retention;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
@@ -42,6 +51,104 @@ public class AopTest {
         AopUtil.addProxyInterceptorPoint(proxy, new AspectMethodInterceptorProxy(advisors, Collections.singletonList(new DefaultAdviceInterceptorPointAdapter())));
         log.info("do service return value: {}", proxy.doService(1));
     }
+
+    @Test
+    public void pointcutMatchTest() {
+        LogAspect logAspect = new LogAspect();
+        List<Advisor> advisors = new AspectJAdvisorCreator().createAdvisor(e -> logAspect, LogAspect.class);
+        PointcutMatchMetrics.reset();
+        for (int i = 0; i < 2; i++) {
+            for (Advisor advisor : advisors) {
+                MethodMatcher methodMatcher = ((PointcutAdvisor) advisor).getPointcut().getMethodMatcher();
+                Assertions.assertTrue(methodMatcher.couldMatch(ServiceImpl.class));
+                for (Method method : ServiceImpl.class.getDeclaredMethods()) {
+                    methodMatcher.matches(method, ServiceImpl.class);
+                }
+            }
+        }
+        Assertions.assertEquals(advisors.size(), PointcutMatchMetrics.getParsed());
+        Assertions.assertEquals(advisors.size(), PointcutMatchMetrics.getTypeMatched());
+        Assertions.assertEquals(PointcutMatchMetrics.getMethodMatched(), PointcutMatchMetrics.getMethodCacheHit());
+    }
+
+    @Test
+    public void chainCacheTest() {
+        List<String> invoked = new ArrayList<>();
+        CountingPoint addPoint = new CountingPoint("a", "add", invoked);
+        Calculator proxy = DynamicProxyFactory.create().createProxy(new CalculatorImpl());
+        AopUtil.addProxyInterceptorPoint(proxy, addPoint);
+
+        // 不适用的方法直接调用目标方法，每个方法仅判断一次是否适用
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(2, proxy.add(1));
+            Assertions.assertEquals(0, proxy.sub(1));
+        }
+        Assertions.assertEquals(List.of("a", "a"), invoked);
+        Assertions.assertEquals(2, addPoint.checked);
+
+        // 添加拦截点后重新判断
+        CountingPoint allPoint = new CountingPoint("b", null, invoked);
+        AopUtil.addProxyInterceptorPoint(proxy, allPoint);
+        invoked.clear();
+        Assertions.assertEquals(2, proxy.add(1));
+        Assertions.assertEquals(0, proxy.sub(1));
+        Assertions.assertEquals(List.of("a", "b", "b"), invoked);
+        Assertions.assertEquals(4, addPoint.checked);
+        Assertions.assertEquals(2, allPoint.checked);
+
+        // 排序后重新判断，并按新的顺序调用
+        AopUtil.getProxyInterceptorChain(proxy).sortChain(Comparator.comparing((MethodInterceptorChainPoint e) -> ((CountingPoint) e).name, Comparator.reverseOrder()));
+        invoked.clear();
+        Assertions.assertEquals(2, proxy.add(1));
+        Assertions.assertEquals(List.of("b", "a"), invoked);
+        Assertions.assertEquals(5, addPoint.checked);
+    }
+}
+
+interface Calculator {
+    int add(int a);
+
+    int sub(int a);
+}
+
+class CalculatorImpl implements Calculator {
+    @Override
+    public int add(int a) {
+        return a + 1;
+    }
+
+    @Override
+    public int sub(int a) {
+        return a - 1;
+    }
+}
+
+class CountingPoint implements MethodInterceptorChainPoint {
+    final String name;
+
+    final String methodName;
+
+    final List<String> invoked;
+
+    int checked;
+
+    CountingPoint(String name, String methodName, List<String> invoked) {
+        this.name = name;
+        this.methodName = methodName;
+        this.invoked = invoked;
+    }
+
+    @Override
+    public boolean isApplicable(Method method) {
+        this.checked++;
+        return this.methodName == null || this.methodName.equals(method.getName());
+    }
+
+    @Override
+    public Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable {
+        this.invoked.add(this.name);
+        return chain.proceed(methodProxy);
+    }
 }
 
 @Retention(RUNTIME)
@@ -11,6 +11,7 @@ import com.kfyty.loveqq.framework.core.utils.IOUtil;
 import com.kfyty.loveqq.framework.web.core.AbstractDispatcher;
 import com.kfyty.loveqq.framework.web.core.http.ServerRequest;
 import com.kfyty.loveqq.framework.web.core.http.ServerResponse;
+import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
 import com.kfyty.loveqq.framework.web.core.multipart.DefaultMultipartFile;
 import com.kfyty.loveqq.framework.web.core.multipart.MultipartFile;
 import com.kfyty.loveqq.framework.web.mvc.netty.DispatcherHandler;
@@ -58,7 +59,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -68,9 +68,8 @@ import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import static com.kfyty.loveqq.framework.core.utils.CommonUtil.EMPTY_INPUT_STREAM;
-import static com.kfyty.loveqq.framework.core.utils.IOUtil.close;
 import static com.kfyty.loveqq.framework.core.utils.IOUtil.read;
+import static com.kfyty.loveqq.framework.web.core.request.RequestMethod.matchRequestMethod;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 import static reactor.netty.ReactorNetty.format;
@@ -277,7 +276,7 @@ public class NettyWebServer implements ServerWebServer {
 
             // websocket
             if (request.requestHeaders().containsValue(HttpHeaderNames.CONNECTION, HttpHeaderValues.UPGRADE, true)) {
-                ServerRequest serverRequest = new NettyServerRequest(request).init(EMPTY_INPUT_STREAM, Collections.emptyList());
+                ServerRequest serverRequest = new NettyServerRequest(request).init((ByteBuf) null, emptyList());
                 WebSocketHandler webSocketHandler = this.webSocketHandlerMap.get(serverRequest.getRequestURI());
                 if (webSocketHandler == null) {
                     return response.sendNotFound();
@@ -288,7 +287,7 @@ public class NettyWebServer implements ServerWebServer {
 
             // 预检请求
             if (request.method() == HttpMethod.OPTIONS) {
-                return Mono.from(this.processRequest(request, response, EMPTY_INPUT_STREAM, emptyList()))
+                return Mono.from(this.processRequest(new NettyServerRequest(request).init((ByteBuf) null, emptyList()), response))
                         .onErrorResume(ex -> response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send());
             }
 
@@ -298,19 +297,44 @@ public class NettyWebServer implements ServerWebServer {
                         .map(this::buildForm)
                         .collectList()
                         .switchIfEmpty(Mono.just(emptyList()))
-                        .flatMap(formData -> Mono.from(this.processRequest(request, response, EMPTY_INPUT_STREAM, formData)).doFinally(s -> formData.stream().filter(e -> e instanceof MultipartFile).forEach(IOUtil::close)))
+                        .flatMap(formData -> Mono.from(this.processRequest(new NettyServerRequest(request).init((ByteBuf) null, formData), response)).doFinally(s -> formData.stream().filter(e -> e instanceof MultipartFile).forEach(IOUtil::close)))
                         .onErrorResume(ex -> response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send());
             }
-            return Mono.from(request.receive().asInputStream())
-                    .switchIfEmpty(Mono.just(EMPTY_INPUT_STREAM))
-                    .flatMap(body -> Mono.from(this.processRequest(request, response, body, emptyList())).doFinally(s -> close(body)))
+
+            // 流式请求体，数据块到达后直接交给处理器，不进行聚合
+            NettyServerRequest serverRequest = new NettyServerRequest(request);
+            if (this.isStreamingBody(serverRequest)) {
+                return Mono.from(this.processRequest(serverRequest.init(request.receive()), response))
+                        .onErrorResume(ex -> response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send());
+            }
+
+            // 聚合为组合缓冲，复用接收到的网络缓冲，请求处理结束后释放
+            return request.receive()
+                    .aggregate()
+                    .retain()
+                    .map(body -> serverRequest.init(body, emptyList()))
+                    .switchIfEmpty(Mono.fromSupplier(() -> serverRequest.init((ByteBuf) null, emptyList())))
+                    .flatMap(e -> Mono.from(this.processRequest(e, response)).doFinally(s -> release(e.getBody())))
+                    .doOnDiscard(ByteBuf.class, ReferenceCounted::release)
                     .onErrorResume(ex -> response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send());
         });
     }
 
-    protected Publisher<Void> processRequest(HttpServerRequest serverRequest, HttpServerResponse serverResponse, InputStream body, List<Pair<String, Object>> formData) {
-        // 构建通用请求/响应对象
-        ServerRequest request = new NettyServerRequest(serverRequest).init(body, formData);
+    /**
+     * 是否以流式接收请求体
+     * 由匹配到的映射方法决定，未匹配时仍然聚合请求体，由分发处理器返回 404
+     *
+     * @param request 请求
+     * @return true if streaming
+     */
+    protected boolean isStreamingBody(ServerRequest request) {
+        MethodMapping methodMapping = this.dispatcherHandler.getRequestMappingMatcher().matchRoute(matchRequestMethod(request.getMethod()), request.getRequestURI());
+        return methodMapping != null && methodMapping.isStreamingBody();
+    }
+
+    protected Publisher<Void> processRequest(NettyServerRequest request, HttpServerResponse serverResponse) {
+        // 构建通用响应对象
+        HttpServerRequest serverRequest = (HttpServerRequest) request.getRawRequest();
         ServerResponse response = new NettyServerResponse(serverResponse);
 
         // 构建请求处理器生产者
@@ -436,6 +460,12 @@ public class NettyWebServer implements ServerWebServer {
         }
     }
 
+    public static void release(ByteBuf body) {
+        if (body != null && body.refCnt() > 0) {
+            body.release();
+        }
+    }
+
     public static Supplier<InputStream> newInputStream(HttpData upload) {
         if (upload.isInMemory()) {
             byte[] bytes = getBytes(upload);
@@ -30,6 +30,10 @@ public class ManagedJdbcTransaction extends JdbcTransaction {
         super(dataSource, level);
     }
 
+    public ManagedJdbcTransaction(DataSource dataSource, TransactionIsolationLevel level, int statementCacheSize) {
+        super(dataSource, level, statementCacheSize);
+    }
+
     @Override
     public void commit() throws SQLException {
         if (this.connection != null && !this.isConnectionTransactional && !this.autoCommit) {
@@ -57,6 +61,7 @@ public class ManagedJdbcTransaction extends JdbcTransaction {
 
     @Override
     public void close() throws SQLException {
+        this.closeStatementCache();
         DataSourceUtils.releaseConnection(this.connection, this.dataSource);
     }
 
@@ -1,6 +1,8 @@
 package com.kfyty.loveqq.framework.boot.context;
 
 import com.kfyty.loveqq.framework.boot.context.factory.AbstractAutowiredBeanFactory;
+import com.kfyty.loveqq.framework.boot.context.factory.BeanCreationLocks;
+import com.kfyty.loveqq.framework.boot.context.factory.ConcurrentBeanInitializer;
 import com.kfyty.loveqq.framework.boot.processor.factory.internal.HardCodeBeanFactoryPostProcessor;
 import com.kfyty.loveqq.framework.core.autoconfig.ApplicationContext;
 import com.kfyty.loveqq.framework.core.autoconfig.BeanFactoryPostProcessor;
@@ -21,11 +23,13 @@ import com.kfyty.loveqq.framework.core.event.ApplicationEventPublisher;
 import com.kfyty.loveqq.framework.core.event.ApplicationListener;
 import com.kfyty.loveqq.framework.core.event.ContextRefreshedEvent;
 import com.kfyty.loveqq.framework.core.lang.ConstantConfig;
-import com.kfyty.loveqq.framework.core.utils.CompletableFutureUtil;
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 import static com.kfyty.loveqq.framework.boot.autoconfig.ThreadPoolExecutorAutoConfig.DEFAULT_THREAD_POOL_EXECUTOR;
 
@@ -204,13 +208,18 @@ public abstract class AbstractApplicationContext extends AbstractAutowiredBeanFa
             }
         }
 
-        // 并发实例化剩余的单例 bean
+        // 按依赖关系并行实例化剩余的单例 bean
         if (concurrentInitialize) {
-            CompletableFutureUtil.consumer(this.executorService, this.getBeanDefinitions().values(), bd -> {
-                if (bd.isSingleton() && bd.isAutowireCandidate() && !bd.isLazyInit()) {
-                    this.registerBean(bd);
-                }
-            });
+            List<BeanDefinition> singletons = this.getBeanDefinitions().values().stream()
+                    .filter(bd -> bd.isSingleton() && bd.isAutowireCandidate() && !bd.isLazyInit() && !this.contains(bd.getBeanName()))
+                    .collect(Collectors.toList());
+            new ConcurrentBeanInitializer(this, singletons).initialize(Runtime.getRuntime().availableProcessors());
+            BeanCreationLocks locks = this.getBeanCreationLocks();
+            if (locks.getContended() > 0) {
+                log.info("Bean creation locks: {}", locks.format());
+            } else {
+                LogUtil.logIfDebugEnabled(log, log -> log.debug("Bean creation locks: {}", locks.format()));
+            }
         }
     }
 }
@@ -12,26 +12,24 @@ import com.kfyty.loveqq.framework.core.autoconfig.aware.BeanFactoryAware;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanFactory;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.InstantiatedBeanDefinition;
+import com.kfyty.loveqq.framework.core.exception.BeanCreationDeadlockException;
 import com.kfyty.loveqq.framework.core.exception.BeansException;
-import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
 import com.kfyty.loveqq.framework.core.utils.BeanUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 
 import java.lang.annotation.Annotation;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition.BEAN_DEFINITION_COMPARATOR;
-import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.hasAnnotation;
 import static com.kfyty.loveqq.framework.core.utils.StreamUtil.throwMergeFunction;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Optional.ofNullable;
@@ -46,11 +44,6 @@ import static java.util.stream.Collectors.toMap;
  * @email kfyty725@hotmail.com
  */
 public abstract class AbstractBeanFactory implements ApplicationContextAware, BeanFactory {
-    /**
-     * map 工厂
-     */
-    protected static final Supplier<Map<String, BeanDefinition>> MAP_FACTORY = () -> new LinkedHashMap<>(2);
-
     /**
      * 由于作用域代理/懒加载代理等，会导致 {@link Bean} 注解的 bean name 发生变化，此时解析得到的 bean name 是代理后的 bean，返回会导致堆栈溢出，
      * 因此需要设置线程上下文 bean name，当解析与请求的不一致时，能够继续执行到 bean 方法，从而获取到真实的 bean
@@ -72,15 +65,27 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
      */
     protected final Map<String, Object> beanReference;
 
+    /**
+     * 已注册但尚未初始化完成的单例
+     * key: bean name
+     * value: 初始化完成前是否已通过 {@link #getBean(String)} 暴露给其他 bean
+     */
+    protected final Map<String, Boolean> initializingBeans;
+
     /**
      * bean 后置处理器
      */
     protected final Map<String, BeanPostProcessor> beanPostProcessors;
 
     /**
-     * 同一类型的 bean 定义缓存
+     * bean 定义的类型及注解索引
+     */
+    protected final BeanDefinitionIndex beanDefinitionIndex;
+
+    /**
+     * bean 创建锁，按 bean name 加锁，不同的 bean 可以并行创建
      */
-    protected final Map<Class<?>, BeanDefinition[]> beanDefinitionsForType;
+    protected final BeanCreationLocks beanCreationLocks;
 
     /**
      * 应用上下文
@@ -109,8 +114,10 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         this.beanDefinitions = new ConcurrentHashMap<>();
         this.beanInstances = new ConcurrentHashMap<>();
         this.beanReference = new ConcurrentHashMap<>();
+        this.initializingBeans = new ConcurrentHashMap<>();
         this.beanPostProcessors = Collections.synchronizedMap(new LinkedHashMap<>());
-        this.beanDefinitionsForType = new WeakConcurrentHashMap<>();
+        this.beanDefinitionIndex = new BeanDefinitionIndex();
+        this.beanCreationLocks = new BeanCreationLocks();
     }
 
     public Collection<BeanPostProcessor> getBeanPostProcessors() {
@@ -153,7 +160,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         if (exists != null) {
             throw new BeansException(CommonUtil.format("Conflicting bean definition: [{}:{}] -> [{}:{}]", beanDefinition.getBeanName(), beanDefinition.getBeanType(), exists.getBeanName(), exists.getBeanType()));
         }
-        this.beanDefinitionsForType.clear();
+        this.beanDefinitionIndex.add(beanDefinition);
     }
 
     @Override
@@ -172,7 +179,10 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
 
     @Override
     public void removeBeanDefinition(String beanName) {
-        this.beanDefinitions.remove(beanName);
+        BeanDefinition removed = this.beanDefinitions.remove(beanName);
+        if (removed != null) {
+            this.beanDefinitionIndex.remove(removed);
+        }
     }
 
     @Override
@@ -202,32 +212,27 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
 
     @Override
     public Map<String, BeanDefinition> getBeanDefinitions(boolean isAutowireCandidate) {
-        return this.stream(e -> e.isAutowireCandidate() == isAutowireCandidate).collect(toMap(BeanDefinition::getBeanName, identity(), throwMergeFunction(), LinkedHashMap::new));
+        return filterAutowireCandidate(this.beanDefinitionIndex.getByType(Object.class), isAutowireCandidate);
     }
 
     @Override
     public Map<String, BeanDefinition> getBeanDefinitions(Class<?> beanType) {
-        BeanDefinition[] beanDefinitions = this.beanDefinitionsForType.computeIfAbsent(beanType, k -> this.stream(e -> beanType.isAssignableFrom(e.getBeanType())).toArray(BeanDefinition[]::new));
-        return Arrays.stream(beanDefinitions).collect(toMap(BeanDefinition::getBeanName, identity(), throwMergeFunction(), MAP_FACTORY));
+        return this.beanDefinitionIndex.getByType(beanType);
     }
 
     @Override
     public Map<String, BeanDefinition> getBeanDefinitions(Class<?> beanType, boolean isAutowireCandidate) {
-        return this.getBeanDefinitions(beanType)
-                .values()
-                .stream()
-                .filter(e -> e.isAutowireCandidate() == isAutowireCandidate)
-                .collect(toMap(BeanDefinition::getBeanName, identity(), throwMergeFunction(), MAP_FACTORY));
+        return filterAutowireCandidate(this.getBeanDefinitions(beanType), isAutowireCandidate);
     }
 
     @Override
     public Map<String, BeanDefinition> getBeanDefinitionWithAnnotation(Class<? extends Annotation> annotationClass) {
-        return this.stream(e -> hasAnnotation(e.getBeanType(), annotationClass)).collect(toMap(BeanDefinition::getBeanName, identity(), throwMergeFunction(), LinkedHashMap::new));
+        return this.beanDefinitionIndex.getByAnnotation(annotationClass, this.beanDefinitions.values());
     }
 
     @Override
     public Map<String, BeanDefinition> getBeanDefinitionWithAnnotation(Class<? extends Annotation> annotationClass, boolean isAutowireCandidate) {
-        return this.stream(e -> hasAnnotation(e.getBeanType(), annotationClass) && e.isAutowireCandidate() == isAutowireCandidate).collect(toMap(BeanDefinition::getBeanName, identity(), throwMergeFunction(), LinkedHashMap::new));
+        return filterAutowireCandidate(this.getBeanDefinitionWithAnnotation(annotationClass), isAutowireCandidate);
     }
 
     @Override
@@ -264,6 +269,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
     public <T> T getBean(String name, boolean isLazyInit) {
         T bean = (T) this.beanInstances.get(name);
         if (bean != null) {
+            this.markExposed(name);
             return bean;
         }
         return (T) this.registerBean(this.getBeanDefinition(name), isLazyInit);
@@ -274,6 +280,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
     public <T> T getBean(BeanDefinition beanDefinition, boolean isLazyInit) {
         T bean = (T) this.beanInstances.get(beanDefinition.getBeanName());
         if (bean != null) {
+            this.markExposed(beanDefinition.getBeanName());
             return bean;
         }
         return (T) this.registerBean(beanDefinition, isLazyInit);
@@ -315,6 +322,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
     /**
      * 根据 BeanDefinition 注册一个 bean
      * 由于创建 bean 实例的过程中可能会触发代理，因此需对返回的 bean 实例做二次判断
+     * 非单例 bean 每次都创建新的实例，因此无需加锁
      *
      * @param beanDefinition BeanDefinition
      * @param isLazyInit     是否延迟初始化，为 true 时返回一个延迟初始化代理
@@ -329,7 +337,11 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         if (isLazyInit) {
             return new LazyProxyFactoryBean<>(beanDefinition).withBeanFactory(this).getObject();
         }
-        synchronized (this.beanInstances) {
+        if (!beanDefinition.isSingleton()) {
+            return this.registerBean(beanName, ofNullable(this.beanReference.remove(beanName)).orElseGet(() -> this.doCreateBean(beanDefinition)));
+        }
+        ReentrantLock lock = this.beanCreationLocks.lock(beanName);
+        try {
             if (this.contains(beanName)) {
                 return this.getBean(beanName);
             }
@@ -338,6 +350,8 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
                 return this.getBean(beanName);
             }
             return this.registerBean(beanName, bean);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -348,11 +362,15 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
 
     @Override
     public Object registerBean(String name, Object bean) {
-        synchronized (this.beanInstances) {
-            BeanDefinition beanDefinition = this.doRegisterBean(name, bean);
-            bean = this.getExposedBean(beanDefinition, bean);
-            this.autowiredBean(name, bean);
-            return this.invokeLifecycleMethod(beanDefinition, this.getExposedBean(beanDefinition, bean));
+        BeanDefinition exists = this.beanDefinitions.get(name);
+        if (exists != null && !exists.isSingleton()) {
+            return this.doRegisterBeanAndInitialize(name, bean);
+        }
+        ReentrantLock lock = this.beanCreationLocks.lock(name);
+        try {
+            return this.doRegisterBeanAndInitialize(name, bean);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -370,11 +388,16 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
 
     @Override
     public void registerBeanReference(BeanDefinition beanDefinition) {
-        if (!this.containsReference(beanDefinition.getBeanName())) {
-            Object earlyBean = this.doCreateBean(beanDefinition);
-            if (!this.contains(beanDefinition.getBeanName())) {                                                         // 配置类可能已放入
-                this.beanReference.putIfAbsent(beanDefinition.getBeanName(), earlyBean);
+        ReentrantLock lock = this.beanCreationLocks.lock(beanDefinition.getBeanName());
+        try {
+            if (!this.containsReference(beanDefinition.getBeanName())) {
+                Object earlyBean = this.doCreateBean(beanDefinition);
+                if (!this.contains(beanDefinition.getBeanName())) {                                                     // 配置类可能已放入
+                    this.beanReference.putIfAbsent(beanDefinition.getBeanName(), earlyBean);
+                }
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -398,7 +421,9 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         this.beanDefinitions.clear();
         this.beanInstances.clear();
         this.beanReference.clear();
-        this.beanDefinitionsForType.clear();
+        this.initializingBeans.clear();
+        this.beanDefinitionIndex.clear();
+        this.beanCreationLocks.clear();
         this.applicationContext = null;
     }
 
@@ -424,35 +449,120 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
     public abstract void autowiredBean(String beanName, Object bean);
 
     /**
-     * 注册 bean 到 BeanFactory
+     * 过滤自动注入候选者，全部满足时直接返回原 map
+     *
+     * @param beanDefinitions     bean 定义
+     * @param isAutowireCandidate 是否自动注入候选者
+     * @return 过滤后的 bean 定义
+     */
+    protected static Map<String, BeanDefinition> filterAutowireCandidate(Map<String, BeanDefinition> beanDefinitions, boolean isAutowireCandidate) {
+        Map<String, BeanDefinition> filtered = null;
+        for (BeanDefinition beanDefinition : beanDefinitions.values()) {
+            if (beanDefinition.isAutowireCandidate() != isAutowireCandidate) {
+                if (filtered == null) {
+                    filtered = beanDefinitions.values().stream().filter(e -> e.isAutowireCandidate() == isAutowireCandidate).collect(toMap(BeanDefinition::getBeanName, identity(), throwMergeFunction(), LinkedHashMap::new));
+                }
+                break;
+            }
+        }
+        return filtered == null ? beanDefinitions : filtered;
+    }
+
+    /**
+     * 获取 bean 创建锁，包含锁等待指标
+     *
+     * @return bean 创建锁
+     */
+    public BeanCreationLocks getBeanCreationLocks() {
+        return this.beanCreationLocks;
+    }
+
+    /**
+     * 注册 bean 并执行依赖注入及生命周期方法，单例 bean 调用方需持有该 bean 的创建锁
+     *
+     * @param name bean name
+     * @param bean bean
+     * @return 暴露的 bean
+     */
+    protected Object doRegisterBeanAndInitialize(String name, Object bean) {
+        BeanDefinition exists = this.beanDefinitions.get(name);
+        if (exists != null && !exists.isSingleton()) {
+            BeanDefinition beanDefinition = this.doRegisterBean(name, bean);
+            this.autowiredBean(name, bean);
+            return this.invokeLifecycleMethod(beanDefinition, bean);
+        }
+        this.initializingBeans.put(name, Boolean.FALSE);
+        try {
+            BeanDefinition beanDefinition = this.doRegisterBean(name, bean);
+            bean = this.getExposedBean(beanDefinition, bean);
+            this.autowiredBean(name, bean);
+            return this.invokeLifecycleMethod(beanDefinition, this.getExposedBean(beanDefinition, bean));
+        } catch (Throwable e) {
+            if (BeanCreationDeadlockException.isDeadlock(e)) {
+                this.removeDeadlockedBean(name, e);
+            }
+            throw e;
+        } finally {
+            this.initializingBeans.remove(name);
+        }
+    }
+
+    /**
+     * 移除因并发创建死锁而未初始化完成的单例，以便重试时重新创建
+     * 若该单例在初始化完成前已暴露给其他 bean，则无法安全的重新创建，此时抛出非死锁异常，使刷新失败
+     *
+     * @param name     bean name
+     * @param deadlock 死锁异常
+     */
+    protected void removeDeadlockedBean(String name, Throwable deadlock) {
+        if (Boolean.TRUE.equals(this.initializingBeans.get(name))) {
+            BeansException exception = new BeansException("The bean was referenced before it was initialized, so it can't be recreated after a creation deadlock: " + name);
+            exception.addSuppressed(deadlock);                                                                          // 不作为 cause，避免被识别为死锁异常而重试
+            throw exception;
+        }
+        this.beanInstances.remove(name);
+        this.beanReference.remove(name);
+    }
+
+    /**
+     * 标记初始化完成前已暴露的单例
+     *
+     * @param name bean name
+     */
+    protected void markExposed(String name) {
+        if (!this.initializingBeans.isEmpty()) {
+            this.initializingBeans.replace(name, Boolean.FALSE, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 注册 bean 到 BeanFactory，单例 bean 调用方需持有该 bean 的创建锁
      *
      * @param name bean name
      * @param bean bean
      * @return bean definition
      */
     protected BeanDefinition doRegisterBean(String name, Object bean) {
-        synchronized (this.beanInstances) {
-            BeanDefinition beanDefinition = this.beanDefinitions.get(name);
-            if (beanDefinition == null) {
-                beanDefinition = InstantiatedBeanDefinition.from(name, bean.getClass());
-                this.registerBeanDefinition(name, beanDefinition, false);
-            }
+        BeanDefinition beanDefinition = this.beanDefinitions.get(name);
+        if (beanDefinition == null) {
+            beanDefinition = InstantiatedBeanDefinition.from(name, bean.getClass());
+            this.registerBeanDefinition(name, beanDefinition, false);
+        }
 
-            if (!beanDefinition.getBeanType().isInstance(bean)) {
-                throw new BeansException("The bean doesn't instance of " + beanDefinition.getBeanType());
-            }
+        if (!beanDefinition.getBeanType().isInstance(bean)) {
+            throw new BeansException("The bean doesn't instance of " + beanDefinition.getBeanType());
+        }
 
-            if (beanDefinition.isSingleton()) {
-                Object exists = this.beanInstances.putIfAbsent(name, bean);
-                if (exists != null) {
-                    throw new BeansException("Conflicting bean: " + name + " -> " + exists);
-                }
+        if (beanDefinition.isSingleton()) {
+            Object exists = this.beanInstances.putIfAbsent(name, bean);
+            if (exists != null) {
+                throw new BeansException("Conflicting bean: " + name + " -> " + exists);
             }
-            this.removeBeanReference(name);
-            this.invokeAwareMethod(name, bean);
-            this.invokeBeanPostProcessAfterInstantiation(name, bean, beanDefinition);
-            return beanDefinition;
         }
+        this.removeBeanReference(name);
+        this.invokeAwareMethod(name, bean);
+        this.invokeBeanPostProcessAfterInstantiation(name, bean, beanDefinition);
+        return beanDefinition;
     }
 
     /**
@@ -463,7 +573,11 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
      * @return 最新的 bean
      */
     protected Object getExposedBean(BeanDefinition beanDefinition, Object bean) {
-        return beanDefinition.isSingleton() ? this.getBean(beanDefinition.getBeanName()) : bean;
+        if (!beanDefinition.isSingleton()) {
+            return bean;
+        }
+        Object exposed = this.beanInstances.get(beanDefinition.getBeanName());
+        return exposed != null ? exposed : this.getBean(beanDefinition.getBeanName());
     }
 
     protected void invokeAwareMethod(String beanName, Object bean) {
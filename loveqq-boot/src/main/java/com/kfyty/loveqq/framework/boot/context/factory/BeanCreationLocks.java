@@ -0,0 +1,183 @@
+package com.kfyty.loveqq.framework.boot.context.factory;
+
+import com.kfyty.loveqq.framework.core.exception.BeanCreationDeadlockException;
+import com.kfyty.loveqq.framework.core.exception.BeansException;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 描述: bean 创建锁
+ * <p>
+ * 按 bean name 加锁，不同的 bean 可以并行创建。等待锁时记录等待关系，并周期性的沿 持有线程 -> 等待的锁 检测死锁，
+ * 若形成环路(即多个线程并发创建循环依赖的 bean)，则选择环路中线程 id 最小的线程抛出 {@link BeanCreationDeadlockException}，
+ * 其释放持有的锁后其余线程可继续执行，而不是永久阻塞；同时记录锁等待次数及等待时长
+ *
+ * @author kfyty725
+ * @date 2024/12/31 15:20
+ * @email kfyty725@hotmail.com
+ */
+public class BeanCreationLocks {
+    /**
+     * 死锁检测间隔，毫秒
+     */
+    private static final long DEADLOCK_DETECT_INTERVAL = 50L;
+
+    /**
+     * bean 创建锁
+     */
+    private final Map<String, BeanCreationLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 线程正在等待的锁
+     */
+    private final Map<Thread, BeanCreationLock> waiting = new ConcurrentHashMap<>();
+
+    /**
+     * 加锁次数
+     */
+    private final LongAdder acquired = new LongAdder();
+
+    /**
+     * 发生等待的次数
+     */
+    private final LongAdder contended = new LongAdder();
+
+    /**
+     * 等待总时长
+     */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * 最大等待时长
+     */
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 检测到的死锁次数
+     */
+    private final LongAdder deadlocks = new LongAdder();
+
+    /**
+     * 获取 bean 创建锁并加锁，调用方需在 finally 中解锁
+     *
+     * @param beanName bean name
+     * @return 已加锁的创建锁
+     */
+    public ReentrantLock lock(String beanName) {
+        BeanCreationLock lock = this.locks.computeIfAbsent(beanName, BeanCreationLock::new);
+        this.acquired.increment();
+        if (lock.tryLock()) {
+            return lock;
+        }
+        long start = System.nanoTime();
+        Thread current = Thread.currentThread();
+        this.waiting.put(current, lock);
+        try {
+            while (true) {
+                String deadlock = this.detectDeadlock(current, lock);
+                if (deadlock != null) {
+                    this.deadlocks.increment();
+                    throw new BeanCreationDeadlockException("Bean creation deadlock detected, there may be a circular dependency created concurrently: " + deadlock);
+                }
+                if (lock.tryLock(DEADLOCK_DETECT_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    return lock;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BeansException("Interrupted while waiting for bean creation lock: " + beanName, e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            this.waiting.remove(current);
+            this.contended.increment();
+            this.waitNanos.add(elapsed);
+            this.maxWaitNanos.accumulate(elapsed);
+        }
+    }
+
+    public void clear() {
+        this.locks.clear();
+        this.waiting.clear();
+    }
+
+    public long getAcquired() {
+        return this.acquired.sum();
+    }
+
+    public long getContended() {
+        return this.contended.sum();
+    }
+
+    public long getWaitNanos() {
+        return this.waitNanos.sum();
+    }
+
+    public long getMaxWaitNanos() {
+        return this.maxWaitNanos.get();
+    }
+
+    public long getDeadlocks() {
+        return this.deadlocks.sum();
+    }
+
+    public String format() {
+        return String.format("acquired: %d, contended: %d, wait: %d ms (max: %d ms), deadlocks: %d",
+                getAcquired(), getContended(), getWaitNanos() / 1_000_000L, getMaxWaitNanos() / 1_000_000L, getDeadlocks());
+    }
+
+    /**
+     * 从等待的锁开始，沿 持有线程 -> 该线程等待的锁 查找，若回到当前线程则发生了死锁
+     * 环路中的每个线程都会检测到死锁，仅线程 id 最小的线程作为牺牲者返回死锁路径，保证只有一个线程失败
+     *
+     * @param current 当前线程
+     * @param lock    当前线程等待的锁
+     * @return 死锁路径，未发生死锁或者当前线程不是牺牲者时返回 null
+     */
+    protected String detectDeadlock(Thread current, BeanCreationLock lock) {
+        long victim = current.getId();
+        StringBuilder path = new StringBuilder(current.getName()).append(" waiting ").append(lock.getBeanName());
+        for (int i = 0, max = this.waiting.size(); i < max; i++) {
+            Thread owner = lock.getOwner();
+            if (owner == null) {
+                return null;
+            }
+            path.append(" held by ").append(owner.getName());
+            if (owner == current) {
+                return victim == current.getId() ? path.toString() : null;
+            }
+            victim = Math.min(victim, owner.getId());
+            lock = this.waiting.get(owner);
+            if (lock == null) {
+                return null;
+            }
+            path.append(" -> ").append(owner.getName()).append(" waiting ").append(lock.getBeanName());
+        }
+        return null;
+    }
+
+    /**
+     * 可获取持有线程的创建锁
+     */
+    @Getter
+    public static class BeanCreationLock extends ReentrantLock {
+        /**
+         * bean name
+         */
+        private final String beanName;
+
+        public BeanCreationLock(String beanName) {
+            this.beanName = beanName;
+        }
+
+        @Override
+        public Thread getOwner() {
+            return super.getOwner();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.kfyty.loveqq.framework.boot.context.factory;
+
+import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition.BEAN_DEFINITION_COMPARATOR;
+import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.hasAnnotation;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * 描述: bean 定义索引
+ * <p>
+ * 按类型(包括全部父类及接口)以及注解索引 bean 定义，注册/移除时增量维护；注解索引在首次查询该注解时建立。
+ * 索引项维护按 {@link BeanDefinition#BEAN_DEFINITION_COMPARATOR} 排序的快照，索引变更后在首次查询时重建；
+ * 查询结果是快照的可变副本，调用方可以修改，并且遍历查询结果的同时可以继续注册 bean 定义
+ *
+ * @author kfyty725
+ * @date 2024/12/29 16:10
+ * @email kfyty725@hotmail.com
+ */
+public class BeanDefinitionIndex {
+    /**
+     * 类型索引
+     */
+    private final Map<Class<?>, Entry> typeIndex;
+
+    /**
+     * 注解索引
+     */
+    private final Map<Class<? extends Annotation>, Entry> annotationIndex;
+
+    public BeanDefinitionIndex() {
+        this.typeIndex = new ConcurrentHashMap<>();
+        this.annotationIndex = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 添加 bean 定义到索引
+     *
+     * @param beanDefinition bean 定义
+     */
+    public synchronized void add(BeanDefinition beanDefinition) {
+        for (Class<?> type : resolveTypes(beanDefinition.getBeanType())) {
+            this.typeIndex.computeIfAbsent(type, k -> new Entry()).add(beanDefinition);
+        }
+        for (Map.Entry<Class<? extends Annotation>, Entry> entry : this.annotationIndex.entrySet()) {
+            if (hasAnnotation(beanDefinition.getBeanType(), entry.getKey())) {
+                entry.getValue().add(beanDefinition);
+            }
+        }
+    }
+
+    /**
+     * 从索引中移除 bean 定义
+     *
+     * @param beanDefinition bean 定义
+     */
+    public synchronized void remove(BeanDefinition beanDefinition) {
+        for (Class<?> type : resolveTypes(beanDefinition.getBeanType())) {
+            Entry entry = this.typeIndex.get(type);
+            if (entry != null) {
+                entry.remove(beanDefinition);
+            }
+        }
+        for (Entry entry : this.annotationIndex.values()) {
+            entry.remove(beanDefinition);
+        }
+    }
+
+    /**
+     * 根据类型获取 bean 定义
+     *
+     * @param beanType bean 类型
+     * @return 有序的 bean 定义副本
+     */
+    public Map<String, BeanDefinition> getByType(Class<?> beanType) {
+        Entry entry = this.typeIndex.get(beanType);
+        return entry == null ? new LinkedHashMap<>(2) : new LinkedHashMap<>(entry.snapshot());
+    }
+
+    /**
+     * 根据注解获取 bean 定义，首次查询时扫描全部 bean 定义建立索引
+     *
+     * @param annotationClass 注解
+     * @param beanDefinitions 全部 bean 定义
+     * @return 有序的 bean 定义副本
+     */
+    public Map<String, BeanDefinition> getByAnnotation(Class<? extends Annotation> annotationClass, Collection<BeanDefinition> beanDefinitions) {
+        Entry entry = this.annotationIndex.get(annotationClass);
+        if (entry == null) {
+            synchronized (this) {
+                entry = this.annotationIndex.get(annotationClass);
+                if (entry == null) {
+                    entry = new Entry();
+                    for (BeanDefinition beanDefinition : beanDefinitions) {
+                        if (hasAnnotation(beanDefinition.getBeanType(), annotationClass)) {
+                            entry.add(beanDefinition);
+                        }
+                    }
+                    this.annotationIndex.put(annotationClass, entry);
+                }
+            }
+        }
+        return new LinkedHashMap<>(entry.snapshot());
+    }
+
+    public synchronized void clear() {
+        this.typeIndex.clear();
+        this.annotationIndex.clear();
+    }
+
+    /**
+     * 解析 bean 类型可赋值的全部类型，包括父类、接口以及 {@link Object}
+     *
+     * @param beanType bean 类型
+     * @return 类型集合
+     */
+    protected static Set<Class<?>> resolveTypes(Class<?> beanType) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> deque = new ArrayDeque<>();
+        deque.push(beanType);
+        while (!deque.isEmpty()) {
+            Class<?> type = deque.pop();
+            if (types.add(type)) {
+                if (type.getSuperclass() != null) {
+                    deque.push(type.getSuperclass());
+                }
+                for (Class<?> interfaces : type.getInterfaces()) {
+                    deque.push(interfaces);
+                }
+            }
+        }
+        types.add(Object.class);
+        return types;
+    }
+
+    /**
+     * 索引项
+     */
+    private static class Entry {
+        private final TreeSet<BeanDefinition> beanDefinitions = new TreeSet<>(BEAN_DEFINITION_COMPARATOR);
+
+        private volatile Map<String, BeanDefinition> snapshot;
+
+        synchronized void add(BeanDefinition beanDefinition) {
+            if (this.beanDefinitions.add(beanDefinition)) {
+                this.snapshot = null;
+            }
+        }
+
+        synchronized void remove(BeanDefinition beanDefinition) {
+            // bean name 参与排序，若注册后修改了 bean name 则需要遍历移除
+            boolean removed = this.beanDefinitions.ceiling(beanDefinition) == beanDefinition
+                    ? this.beanDefinitions.remove(beanDefinition)
+                    : this.beanDefinitions.removeIf(e -> e == beanDefinition);
+            if (removed) {
+                this.snapshot = null;
+            }
+        }
+
+        Map<String, BeanDefinition> snapshot() {
+            Map<String, BeanDefinition> snapshot = this.snapshot;
+            if (snapshot != null) {
+                return snapshot;
+            }
+            synchronized (this) {
+                if (this.snapshot == null) {
+                    Map<String, BeanDefinition> map = new LinkedHashMap<>((int) (this.beanDefinitions.size() / 0.75F) + 1);
+                    for (BeanDefinition beanDefinition : this.beanDefinitions) {
+                        map.put(beanDefinition.getBeanName(), beanDefinition);
+                    }
+                    this.snapshot = unmodifiableMap(map);
+                }
+                return this.snapshot;
+            }
+        }
+    }
+}
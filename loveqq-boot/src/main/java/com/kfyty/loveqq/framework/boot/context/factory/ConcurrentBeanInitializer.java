@@ -0,0 +1,435 @@
+package com.kfyty.loveqq.framework.boot.context.factory;
+
+import com.kfyty.loveqq.framework.core.autoconfig.LaziedObject;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanFactory;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.ConditionalBeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.FactoryBeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.MethodBeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.AutowiredDescription;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.DefaultAutowiredDescriptionResolver;
+import com.kfyty.loveqq.framework.core.exception.BeanCreationDeadlockException;
+import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 描述: 单例 bean 并行初始化器
+ * <p>
+ * 根据属性注入、构造器参数、{@link com.kfyty.loveqq.framework.core.autoconfig.annotation.Bean} 方法参数以及所属的配置 bean/工厂 bean 构建依赖图，
+ * 循环依赖的 bean 合并为一个节点，在同一线程中按定义顺序串行初始化，其余节点在依赖全部初始化完成后提交到 fork-join 线程池，
+ * 因此相互独立的子图可以并行初始化。
+ * <p>
+ * 依赖图仅用于确定初始化顺序，未分析到的依赖(eg: 运行时 getBean)仍会在创建时按需初始化
+ *
+ * @author kfyty725
+ * @date 2024/12/29 10:30
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class ConcurrentBeanInitializer {
+    /**
+     * 耗时报告中输出的最慢 bean 数量
+     */
+    private static final int SLOWEST_REPORT_SIZE = 10;
+
+    /**
+     * bean 工厂
+     */
+    private final BeanFactory beanFactory;
+
+    /**
+     * 需要初始化的 bean 节点，保持定义顺序
+     */
+    private final Map<String, Node> nodes;
+
+    /**
+     * tarjan 算法的访问序号
+     */
+    private int visitIndex;
+
+    public ConcurrentBeanInitializer(BeanFactory beanFactory, Collection<BeanDefinition> beanDefinitions) {
+        this.beanFactory = beanFactory;
+        this.nodes = new LinkedHashMap<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            this.nodes.put(beanDefinition.getBeanName(), new Node(beanDefinition, this.nodes.size()));
+        }
+    }
+
+    /**
+     * 并行初始化
+     *
+     * @param parallelism 并行度
+     */
+    public void initialize(int parallelism) {
+        if (this.nodes.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Component> components = this.buildComponents();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("bean-initializer-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+        try {
+            CountDownLatch latch = new CountDownLatch(components.size());
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Queue<Component> deadlocked = new ConcurrentLinkedQueue<>();
+            for (Component component : components) {
+                if (component.pending.get() == 0) {
+                    this.submit(pool, component, latch, failure, deadlocked);
+                }
+            }
+            latch.await();
+            if (failure.get() != null) {
+                throw ExceptionUtil.wrap(failure.get());
+            }
+            this.initializeSerially(deadlocked);
+            this.report(components, parallelism, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ExceptionUtil.wrap(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 提交分量
+     * 若依赖图无法静态确定的依赖(eg: 运行时 getBean)导致并发创建时死锁，则被选中的分量记录下来，待线程池执行完成后串行重试
+     *
+     * @param deadlocked 因死锁失败的分量
+     */
+    protected void submit(ForkJoinPool pool, Component component, CountDownLatch latch, AtomicReference<Throwable> failure, Queue<Component> deadlocked) {
+        pool.execute(() -> {
+            try {
+                if (failure.get() == null) {
+                    for (Node node : component.nodes) {
+                        long start = System.nanoTime();
+                        this.beanFactory.registerBean(node.beanDefinition);
+                        node.elapsed = System.nanoTime() - start;
+                        component.elapsed += node.elapsed;
+                    }
+                }
+            } catch (Throwable e) {
+                if (BeanCreationDeadlockException.isDeadlock(e)) {
+                    log.warn("Concurrent initialize bean deadlocked, it will be retried serially: {}, {}", component, e.getMessage());
+                    deadlocked.add(component);
+                } else {
+                    failure.compareAndSet(null, e);
+                }
+            } finally {
+                for (Component dependent : component.dependents) {
+                    if (dependent.pending.decrementAndGet() == 0) {
+                        this.submit(pool, dependent, latch, failure, deadlocked);
+                    }
+                }
+                latch.countDown();
+            }
+        });
+    }
+
+    /**
+     * 串行初始化因死锁失败的分量，已初始化的 bean 直接返回
+     * 死锁时未初始化完成的单例已在异常传播时从 bean 工厂中移除，因此会重新创建，而不会返回未完成依赖注入及初始化的 bean；
+     * 若其在初始化完成前已被其他 bean 引用，则无法安全的重新创建，此时刷新失败
+     *
+     * @param deadlocked 因死锁失败的分量
+     */
+    protected void initializeSerially(Queue<Component> deadlocked) {
+        for (Component component : deadlocked) {
+            for (Node node : component.nodes) {
+                long start = System.nanoTime();
+                this.beanFactory.registerBean(node.beanDefinition);
+                node.elapsed += System.nanoTime() - start;
+            }
+        }
+    }
+
+    /**
+     * 构建依赖图，并将强连通分量(即循环依赖)合并为一个节点
+     *
+     * @return 按拓扑顺序排列的节点，依赖在前
+     */
+    protected List<Component> buildComponents() {
+        for (Node node : this.nodes.values()) {
+            for (String dependency : this.resolveDependencies(node.beanDefinition)) {
+                Node dependencyNode = this.nodes.get(dependency);
+                if (dependencyNode != null && dependencyNode != node) {
+                    node.dependencies.add(dependencyNode);
+                }
+            }
+        }
+        List<Component> components = new ArrayList<>();
+        for (Node node : this.nodes.values()) {
+            if (node.index < 0) {
+                this.strongConnect(node, components);
+            }
+        }
+        for (Component component : components) {
+            for (Node node : component.nodes) {
+                for (Node dependency : node.dependencies) {
+                    if (dependency.component != component && dependency.component.dependents.add(component)) {
+                        component.dependencies.add(dependency.component);
+                        component.pending.incrementAndGet();
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    /**
+     * tarjan 强连通分量算法，使用显式栈避免依赖链过长时栈溢出；分量按依赖在前的顺序输出
+     */
+    private void strongConnect(Node root, List<Component> components) {
+        Deque<Node> stack = new ArrayDeque<>();
+        Deque<Iterator<Node>> iterators = new ArrayDeque<>();
+        Deque<Node> callStack = new ArrayDeque<>();
+        this.visit(root, stack, callStack, iterators);
+        while (!callStack.isEmpty()) {
+            Node node = callStack.peek();
+            Iterator<Node> iterator = iterators.peek();
+            if (iterator.hasNext()) {
+                Node next = iterator.next();
+                if (next.index < 0) {
+                    this.visit(next, stack, callStack, iterators);
+                } else if (next.onStack) {
+                    node.lowLink = Math.min(node.lowLink, next.index);
+                }
+                continue;
+            }
+            callStack.pop();
+            iterators.pop();
+            if (!callStack.isEmpty()) {
+                Node parent = callStack.peek();
+                parent.lowLink = Math.min(parent.lowLink, node.lowLink);
+            }
+            if (node.lowLink == node.index) {
+                Component component = new Component();
+                Node member;
+                do {
+                    member = stack.pop();
+                    member.onStack = false;
+                    member.component = component;
+                    component.nodes.add(member);
+                } while (member != node);
+                component.nodes.sort(Comparator.comparingInt(e -> e.order));
+                components.add(component);
+            }
+        }
+    }
+
+    private void visit(Node node, Deque<Node> stack, Deque<Node> callStack, Deque<Iterator<Node>> iterators) {
+        node.index = node.lowLink = this.visitIndex++;
+        node.onStack = true;
+        stack.push(node);
+        callStack.push(node);
+        iterators.push(node.dependencies.iterator());
+    }
+
+    /**
+     * 解析 bean 定义的依赖，只解析能静态确定的部分
+     *
+     * @param beanDefinition bean 定义
+     * @return 依赖的 bean name
+     */
+    protected Set<String> resolveDependencies(BeanDefinition beanDefinition) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        BeanDefinition target = beanDefinition instanceof ConditionalBeanDefinition ? ((ConditionalBeanDefinition) beanDefinition).getBeanDefinition() : beanDefinition;
+        try {
+            if (target instanceof FactoryBeanDefinition) {
+                dependencies.add(((FactoryBeanDefinition) target).getFactoryBeanDefinition().getBeanName());
+                return dependencies;
+            }
+            if (target instanceof MethodBeanDefinition) {
+                MethodBeanDefinition methodBeanDefinition = (MethodBeanDefinition) target;
+                dependencies.add(methodBeanDefinition.getParentDefinition().getBeanName());
+                this.resolveParameterDependencies(methodBeanDefinition.getBeanMethod().getParameters(), 0, dependencies);
+            } else if (!ReflectUtil.isAbstract(target.getBeanType())) {
+                Constructor<?> constructor = ReflectUtil.searchSuitableConstructor(target.getBeanType(), e -> AnnotationUtil.hasAnnotation(e, Autowired.class));
+                this.resolveParameterDependencies(constructor.getParameters(), CommonUtil.size(target.getDefaultConstructArgs()), dependencies);
+            }
+            if (!MethodBeanDefinition.isIgnoredAutowired(target)) {
+                for (Field field : ReflectUtil.getFieldMap(target.getBeanType()).values()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        this.resolveDependencies(field.getGenericType(), DefaultAutowiredDescriptionResolver.doResolve(field), dependencies);
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            log.debug("resolve bean dependencies failed: {}, {}", beanDefinition.getBeanName(), e.getMessage());
+        }
+        return dependencies;
+    }
+
+    protected void resolveParameterDependencies(Parameter[] parameters, int offset, Set<String> dependencies) {
+        for (int i = offset; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (!AnnotationUtil.hasAnnotation(parameter, Value.class)) {
+                AutowiredDescription description = DefaultAutowiredDescriptionResolver.doResolve(parameter);
+                this.resolveDependencies(parameter.getParameterizedType(), description == null ? new AutowiredDescription("", true) : description, dependencies);
+            }
+        }
+    }
+
+    protected void resolveDependencies(Type type, AutowiredDescription description, Set<String> dependencies) {
+        if (description == null || AutowiredDescription.isLazied(description)) {
+            return;
+        }
+        if (CommonUtil.notEmpty(description.value()) && this.beanFactory.containsBeanDefinition(description.value())) {
+            dependencies.add(description.value());
+            return;
+        }
+        Class<?> dependencyType = resolveDependencyType(type);
+        if (dependencyType != null && dependencyType != Object.class) {
+            dependencies.addAll(this.beanFactory.getBeanDefinitionNames(dependencyType));
+        }
+    }
+
+    /**
+     * 输出耗时报告，关键路径即依赖图中耗时之和最大的路径，决定了并行初始化的最短耗时
+     */
+    protected void report(List<Component> components, int parallelism, long elapsed) {
+        Component last = null;
+        for (Component component : components) {
+            for (Component dependency : component.dependencies) {
+                if (component.critical == null || dependency.finish > component.critical.finish) {
+                    component.critical = dependency;
+                }
+            }
+            component.finish = component.elapsed + (component.critical == null ? 0 : component.critical.finish);
+            if (last == null || component.finish > last.finish) {
+                last = component;
+            }
+        }
+        Deque<String> criticalPath = new ArrayDeque<>();
+        for (Component component = last; component != null; component = component.critical) {
+            criticalPath.push(component + "(" + TimeUnit.NANOSECONDS.toMillis(component.elapsed) + " ms)");
+        }
+        log.info("Concurrent initialized {} singleton beans with {} threads in {} ms, critical path {} ms: {}",
+                this.nodes.size(), parallelism, TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(last.finish), String.join(" -> ", criticalPath));
+        if (log.isDebugEnabled()) {
+            String slowest = this.nodes.values().stream()
+                    .sorted(Comparator.comparingLong((Node e) -> e.elapsed).reversed())
+                    .limit(SLOWEST_REPORT_SIZE)
+                    .map(e -> e.beanDefinition.getBeanName() + "(" + TimeUnit.NANOSECONDS.toMillis(e.elapsed) + " ms)")
+                    .collect(Collectors.joining(", "));
+            log.debug("The slowest singleton beans: {}", slowest);
+        }
+    }
+
+    /**
+     * 解析依赖的 bean 类型，集合/数组/Map 取元素类型
+     */
+    protected static Class<?> resolveDependencyType(Type type) {
+        if (type instanceof Class<?>) {
+            Class<?> clazz = (Class<?>) type;
+            return clazz.isArray() ? resolveDependencyType(clazz.getComponentType()) : clazz;
+        }
+        if (type instanceof GenericArrayType) {
+            return resolveDependencyType(((GenericArrayType) type).getGenericComponentType());
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Class<?> rawType = (Class<?>) parameterizedType.getRawType();
+            if (LaziedObject.class.isAssignableFrom(rawType)) {
+                return null;
+            }
+            if (Collection.class.isAssignableFrom(rawType) || Map.class.isAssignableFrom(rawType)) {
+                Type[] arguments = parameterizedType.getActualTypeArguments();
+                return resolveDependencyType(arguments[arguments.length - 1]);
+            }
+            return rawType;
+        }
+        return null;
+    }
+
+    /**
+     * bean 节点
+     */
+    private static class Node {
+        private final BeanDefinition beanDefinition;
+
+        private final int order;
+
+        private final Set<Node> dependencies = new LinkedHashSet<>();
+
+        private int index = -1;
+
+        private int lowLink;
+
+        private boolean onStack;
+
+        private Component component;
+
+        private volatile long elapsed;
+
+        Node(BeanDefinition beanDefinition, int order) {
+            this.beanDefinition = beanDefinition;
+            this.order = order;
+        }
+    }
+
+    /**
+     * 强连通分量，即一组需要串行初始化的 bean
+     */
+    private static class Component {
+        private final List<Node> nodes = new ArrayList<>(1);
+
+        private final Set<Component> dependencies = new LinkedHashSet<>();
+
+        private final Set<Component> dependents = new LinkedHashSet<>();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile long elapsed;
+
+        private long finish;
+
+        private Component critical;
+
+        @Override
+        public String toString() {
+            if (this.nodes.size() == 1) {
+                return this.nodes.get(0).beanDefinition.getBeanName();
+            }
+            return this.nodes.stream().map(e -> e.beanDefinition.getBeanName()).collect(Collectors.joining(", ", "[", "]"));
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.kfyty.loveqq.framework.boot.event;
+
+import com.kfyty.loveqq.framework.core.event.ApplicationEvent;
+import com.kfyty.loveqq.framework.core.event.ApplicationListener;
+import com.kfyty.loveqq.framework.core.event.EventRejectedPolicy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 描述: 异步事件监听器
+ * <p>
+ * 每个监听器具有独立的有界队列及消费线程，消费线程批量取出事件后依次执行实际的监听器；
+ * 队列已满时发布线程最多等待 offerTimeout 毫秒，以此形成背压，超时后执行拒绝策略，阻塞次数、阻塞时长及拒绝次数记录在指标中。
+ * 消费线程自身发布的事件直接在消费线程执行，避免队列已满时等待自身而死锁
+ *
+ * @author kfyty725
+ * @date 2024/12/31 10:20
+ * @email kfyty725@hotmail.com
+ * @see com.kfyty.loveqq.framework.core.autoconfig.annotation.EventListener#async()
+ */
+@Slf4j
+public class AsyncEventListener implements ApplicationListener<ApplicationEvent<Object>>, Runnable {
+    /**
+     * 消费线程检查是否关闭的间隔，毫秒
+     */
+    private static final long POLL_INTERVAL = 100L;
+
+    /**
+     * 监听器名称
+     */
+    @Getter
+    protected final String name;
+
+    /**
+     * 实际监听器
+     */
+    protected final ApplicationListener<ApplicationEvent<Object>> listener;
+
+    /**
+     * 批量消费的最大数量
+     */
+    protected final int batchSize;
+
+    /**
+     * 队列已满时的最大等待时间，毫秒
+     */
+    protected final long offerTimeout;
+
+    /**
+     * 拒绝策略
+     */
+    protected final EventRejectedPolicy rejectedPolicy;
+
+    /**
+     * 事件队列
+     */
+    protected final BlockingQueue<ApplicationEvent<Object>> queue;
+
+    /**
+     * 消费线程
+     */
+    protected final Thread worker;
+
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    /**
+     * 入队的事件数量
+     */
+    private final LongAdder accepted = new LongAdder();
+
+    /**
+     * 因队列已满而阻塞的次数
+     */
+    private final LongAdder blocked = new LongAdder();
+
+    /**
+     * 因队列已满而阻塞的总时长
+     */
+    private final LongAdder blockedNanos = new LongAdder();
+
+    /**
+     * 等待超时后被拒绝的次数
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 消费的批次数量
+     */
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * 执行完成的事件数量
+     */
+    private final LongAdder delivered = new LongAdder();
+
+    /**
+     * 执行失败的事件数量
+     */
+    private final LongAdder failed = new LongAdder();
+
+    public AsyncEventListener(String name, ApplicationListener<ApplicationEvent<Object>> listener, int queueCapacity, int batchSize,
+                              long offerTimeout, EventRejectedPolicy rejectedPolicy) {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("The queue capacity and batch size of async event listener must be positive: " + name);
+        }
+        this.name = name;
+        this.listener = listener;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.rejectedPolicy = rejectedPolicy;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = new Thread(this, "async-event-listener-" + name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent<Object> event) {
+        if (this.closed || Thread.currentThread() == this.worker) {
+            this.deliver(event);
+            return;
+        }
+        if (!this.queue.offer(event)) {
+            boolean offered;
+            long start = System.nanoTime();
+            try {
+                offered = this.queue.offer(event, this.offerTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for async event listener: " + this.name, e);
+            } finally {
+                this.blocked.increment();
+                this.blockedNanos.add(System.nanoTime() - start);
+            }
+            if (!offered) {
+                this.reject(event);
+                return;
+            }
+        }
+        this.accepted.increment();
+
+        // 入队的同时关闭了，若未被消费线程取出，则由发布线程执行
+        if (this.closed && this.queue.remove(event)) {
+            this.deliver(event);
+        }
+    }
+
+    @Override
+    public void run() {
+        List<ApplicationEvent<Object>> batch = new ArrayList<>(this.batchSize);
+        while (true) {
+            ApplicationEvent<Object> event;
+            try {
+                event = this.queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                event = null;
+            }
+            if (event == null) {
+                if (this.closed) {
+                    break;
+                }
+                continue;
+            }
+            batch.add(event);
+            this.queue.drainTo(batch, this.batchSize - 1);
+            this.deliver(batch);
+        }
+        this.queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            this.deliver(batch);
+        }
+    }
+
+    /**
+     * 关闭监听器，消费线程执行完队列中剩余的事件后退出
+     * 不中断消费线程，避免中断正在执行的监听器
+     */
+    public void close() {
+        this.closed = true;
+    }
+
+    public long getAccepted() {
+        return this.accepted.sum();
+    }
+
+    public long getBlocked() {
+        return this.blocked.sum();
+    }
+
+    public long getBlockedNanos() {
+        return this.blockedNanos.sum();
+    }
+
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    public long getBatches() {
+        return this.batches.sum();
+    }
+
+    public long getDelivered() {
+        return this.delivered.sum();
+    }
+
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    public int getPending() {
+        return this.queue.size();
+    }
+
+    public String format() {
+        return String.format("async event listener: %s, accepted: %d, pending: %d, blocked: %d (%d ms), rejected: %d, batches: %d, delivered: %d, failed: %d",
+                this.name, getAccepted(), getPending(), getBlocked(), getBlockedNanos() / 1_000_000L, getRejected(), getBatches(), getDelivered(), getFailed());
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventListener(" + this.listener + ')';
+    }
+
+    /**
+     * 队列已满且等待超时后，执行拒绝策略
+     *
+     * @param event 事件
+     */
+    protected void reject(ApplicationEvent<Object> event) {
+        this.rejected.increment();
+        switch (this.rejectedPolicy) {
+            case CALLER_RUNS:
+                this.deliver(event);
+                break;
+            case DISCARD:
+                log.warn("Async event listener queue is full, the event is discarded: {} -> {}", this.name, event);
+                break;
+            default:
+                throw new IllegalStateException("Async event listener queue is full: " + this.name);
+        }
+    }
+
+    protected void deliver(List<ApplicationEvent<Object>> batch) {
+        this.batches.increment();
+        for (ApplicationEvent<Object> event : batch) {
+            this.deliver(event);
+        }
+        batch.clear();
+    }
+
+    protected void deliver(ApplicationEvent<Object> event) {
+        try {
+            this.listener.onApplicationEvent(event);
+            this.delivered.increment();
+        } catch (Throwable e) {
+            this.failed.increment();
+            log.error("Async event listener execute failed: {}", this.name, e);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.kfyty.loveqq.framework.boot.event;
 
 import com.kfyty.loveqq.framework.core.autoconfig.ApplicationContext;
 import com.kfyty.loveqq.framework.core.autoconfig.ContextAfterRefreshed;
+import com.kfyty.loveqq.framework.core.autoconfig.DestroyBean;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Component;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.EventListener;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Order;
 import com.kfyty.loveqq.framework.core.event.ApplicationEvent;
 import com.kfyty.loveqq.framework.core.event.ApplicationEventPublisher;
@@ -11,13 +13,20 @@ import com.kfyty.loveqq.framework.core.event.EventListenerAdapter;
 import com.kfyty.loveqq.framework.core.event.EventListenerAnnotationListener;
 import com.kfyty.loveqq.framework.core.event.GenericApplicationEvent;
 import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.AopUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Predicate;
 
@@ -28,10 +37,11 @@ import java.util.function.Predicate;
  * @date 2021/6/21 16:56
  * @email kfyty725@hotmail.com
  */
+@Slf4j
 @Order(Order.HIGHEST_PRECEDENCE)
 @Component("applicationEventPublisher")
 @SuppressWarnings({"unchecked", "rawtypes"})
-public class DefaultApplicationEventPublisher implements ContextAfterRefreshed, ApplicationEventPublisher {
+public class DefaultApplicationEventPublisher implements ContextAfterRefreshed, ApplicationEventPublisher, DestroyBean {
     /**
      * 父类泛型过滤器
      */
@@ -53,9 +63,16 @@ public class DefaultApplicationEventPublisher implements ContextAfterRefreshed,
     private volatile Collection<EventListenerAdapter> eventListenerAdapters;
 
     /**
-     * 注册的事件监听器
+     * 注册的事件监听器，写时复制，按注册顺序排列
      */
-    private final Queue<Pair<Class<?>, ApplicationListener>> applicationListeners = new ConcurrentLinkedQueue<>();
+    private volatile EventListenerRegistration[] registrations = new EventListenerRegistration[0];
+
+    /**
+     * 事件类型到监听器的分发缓存
+     * 普通事件的 key 为事件类型，泛型事件的 key 为 {@link Pair}(事件类型, 实际事件类型)
+     * 注册监听器或加载适配器后直接替换为新的缓存，因此不会读取到过期的监听器
+     */
+    private volatile Map<Object, ApplicationListener[]> dispatchCache = new ConcurrentHashMap<>();
 
     @Override
     public void onAfterRefreshed(ApplicationContext applicationContext) {
@@ -69,7 +86,18 @@ public class DefaultApplicationEventPublisher implements ContextAfterRefreshed,
     }
 
     @Override
-    public void registerEventListener(ApplicationListener<?> applicationListener) {
+    public void destroy() {
+        for (EventListenerRegistration registration : this.registrations) {
+            if (registration.delegate instanceof AsyncEventListener) {
+                AsyncEventListener asyncListener = (AsyncEventListener) registration.delegate;
+                asyncListener.close();
+                log.info("Close {}", asyncListener.format());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void registerEventListener(ApplicationListener<?> applicationListener) {
         final Class<?> listenerType;
         if (applicationListener instanceof EventListenerAnnotationListener) {
             listenerType = ((EventListenerAnnotationListener) applicationListener).getListenerType();
@@ -77,7 +105,13 @@ public class DefaultApplicationEventPublisher implements ContextAfterRefreshed,
             Class<?> listenerClass = AopUtil.getTargetClass(applicationListener);
             listenerType = ReflectUtil.getSuperGeneric(listenerClass, SUPER_GENERIC_FILTER);
         }
-        this.applicationListeners.add(new Pair<>(listenerType, applicationListener));
+        EventListenerRegistration registration = new EventListenerRegistration(listenerType, applicationListener, this.createAsyncEventListener(applicationListener));
+        registration.listener = this.adaptEventListener(registration.source, registration.delegate);
+
+        EventListenerRegistration[] registrations = Arrays.copyOf(this.registrations, this.registrations.length + 1);
+        registrations[registrations.length - 1] = registration;
+        this.registrations = registrations;
+        this.dispatchCache = new ConcurrentHashMap<>();
     }
 
     /**
@@ -89,32 +123,92 @@ public class DefaultApplicationEventPublisher implements ContextAfterRefreshed,
             this.earlyPublishedEvent.add(event);
             return;
         }
-        for (Pair<Class<?>, ApplicationListener> applicationListenerPair : this.applicationListeners) {
-            Class<?> listenerType = applicationListenerPair.getKey();
-            ApplicationListener applicationListener = applicationListenerPair.getValue();
-            if (event instanceof GenericApplicationEvent<?, ?> && listenerType == ((GenericApplicationEvent) event).getEventType()) {
-                this.adaptEventListener(applicationListener).onApplicationEvent(event);
+        for (ApplicationListener applicationListener : this.getApplicationListeners(event)) {
+            applicationListener.onApplicationEvent(event);
+        }
+    }
+
+    /**
+     * 获取支持该事件的监听器，同一事件类型仅在首次发布时匹配
+     *
+     * @param event 事件
+     * @return 适配后的监听器
+     */
+    protected ApplicationListener[] getApplicationListeners(ApplicationEvent<?> event) {
+        final Class<?> eventClass = event.getClass();
+        final Class<?> genericType = event instanceof GenericApplicationEvent<?, ?> ? ((GenericApplicationEvent<?, ?>) event).getEventType() : null;
+        final Map<Object, ApplicationListener[]> dispatchCache = this.dispatchCache;
+        final Object key = genericType == null ? eventClass : new Pair<>(eventClass, genericType);
+        ApplicationListener[] listeners = dispatchCache.get(key);
+        if (listeners == null) {
+            listeners = dispatchCache.computeIfAbsent(key, k -> this.resolveApplicationListeners(eventClass, genericType));
+        }
+        return listeners;
+    }
+
+    /**
+     * 匹配支持该事件的监听器
+     * 监听类型是事件类型或其父类，或者是泛型事件的实际事件类型或其父类(除 {@link Object})时，监听器支持该事件
+     *
+     * @param eventClass  事件类型
+     * @param genericType 泛型事件的实际事件类型，非泛型事件时为 null
+     * @return 适配后的监听器
+     */
+    protected ApplicationListener[] resolveApplicationListeners(Class<?> eventClass, Class<?> genericType) {
+        List<ApplicationListener> listeners = new ArrayList<>();
+        for (EventListenerRegistration registration : this.registrations) {
+            Class<?> listenerType = registration.listenerType;
+            if (listenerType == null) {
+                continue;
+            }
+            if (ApplicationEvent.class.isAssignableFrom(listenerType) && listenerType.isAssignableFrom(eventClass)) {
+                listeners.add(registration.listener);
                 continue;
             }
-            if (listenerType == ApplicationEvent.class || listenerType == event.getClass()) {
-                this.adaptEventListener(applicationListener).onApplicationEvent(event);
+            if (genericType != null && listenerType != Object.class && listenerType.isAssignableFrom(genericType)) {
+                listeners.add(registration.listener);
                 continue;
             }
         }
+        return listeners.toArray(new ApplicationListener[0]);
+    }
+
+    /**
+     * 若监听器声明为异步监听，则创建异步监听器
+     *
+     * @param listener 监听器
+     * @return 异步监听器，非异步监听时返回原监听器
+     * @see EventListener#async()
+     */
+    protected ApplicationListener createAsyncEventListener(ApplicationListener listener) {
+        final String name;
+        final EventListener annotation;
+        if (listener instanceof EventListenerAnnotationListener && ((EventListenerAnnotationListener) listener).getListenerMethod() != null) {
+            EventListenerAnnotationListener annotationListener = (EventListenerAnnotationListener) listener;
+            name = annotationListener.getBeanName() + '#' + annotationListener.getListenerMethod().getName();
+            annotation = AnnotationUtil.findAnnotation(annotationListener.getListenerMethod(), EventListener.class);
+        } else {
+            Class<?> listenerClass = AopUtil.getTargetClass(listener);
+            name = listenerClass.getSimpleName();
+            annotation = AnnotationUtil.findAnnotation(listenerClass, EventListener.class);
+        }
+        if (annotation == null || !annotation.async()) {
+            return listener;
+        }
+        return new AsyncEventListener(name, listener, annotation.queueCapacity(), annotation.batchSize(), annotation.offerTimeout(), annotation.rejectedPolicy());
     }
 
     /**
-     * 适配事件监听器
+     * 适配事件监听器，仅在注册及加载适配器时执行
      *
+     * @param source   原始的监听器
      * @param listener 监听器
      * @return 适配后的监听器
      */
-    @SuppressWarnings("unchecked")
-    protected ApplicationListener adaptEventListener(ApplicationListener listener) {
+    protected ApplicationListener adaptEventListener(ApplicationListener source, ApplicationListener listener) {
         if (this.eventListenerAdapters == null || this.eventListenerAdapters.isEmpty()) {
             return listener;
         }
-        final ApplicationListener source = listener;
         for (EventListenerAdapter listenerAdapter : this.eventListenerAdapters) {
             listener = listenerAdapter.adapt(source, listener);
         }
@@ -122,15 +216,51 @@ public class DefaultApplicationEventPublisher implements ContextAfterRefreshed,
     }
 
     /**
-     * 准备事件适配器
+     * 准备事件适配器，并重新适配已注册的监听器
      */
     protected void ensureEventListenerAdapter(ApplicationContext applicationContext) {
         if (this.eventListenerAdapters == null) {
             synchronized (this) {
                 if (this.eventListenerAdapters == null) {
                     this.eventListenerAdapters = applicationContext.getBeanOfType(EventListenerAdapter.class).values();
+                    for (EventListenerRegistration registration : this.registrations) {
+                        registration.listener = this.adaptEventListener(registration.source, registration.delegate);
+                    }
+                    this.dispatchCache = new ConcurrentHashMap<>();
                 }
             }
         }
     }
+
+    /**
+     * 监听器注册信息
+     */
+    private static class EventListenerRegistration {
+        /**
+         * 监听类型
+         */
+        private final Class<?> listenerType;
+
+        /**
+         * 原始的监听器
+         */
+        private final ApplicationListener source;
+
+        /**
+         * 异步监听器或原始的监听器
+         */
+        private final ApplicationListener delegate;
+
+        /**
+         * 适配后的监听器
+         */
+        private volatile ApplicationListener listener;
+
+        EventListenerRegistration(Class<?> listenerType, ApplicationListener source, ApplicationListener delegate) {
+            this.listenerType = listenerType;
+            this.source = source;
+            this.delegate = delegate;
+            this.listener = delegate;
+        }
+    }
 }
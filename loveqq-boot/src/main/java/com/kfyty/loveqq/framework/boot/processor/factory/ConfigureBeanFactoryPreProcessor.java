@@ -27,6 +27,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.kfyty.loveqq.framework.core.autoconfig.beans.filter.ComponentFilterDescription.contains;
+import static com.kfyty.loveqq.framework.core.lang.ConstantConfig.SCAN_ANNOTATED_ONLY;
 
 /**
  * 描述: 配置 Bean 工厂
@@ -75,7 +76,8 @@ public class ConfigureBeanFactoryPreProcessor implements BeanFactoryPreProcessor
 
     protected void prepareScanBean(Set<String> basePackages) {
         for (String basePackage : basePackages) {
-            PackageUtil.scanClass(basePackage).forEach(e -> this.processScanBean(e, false));
+            Set<Class<?>> classes = SCAN_ANNOTATED_ONLY ? PackageUtil.scanAnnotatedClass(basePackage) : PackageUtil.scanClass(basePackage);
+            classes.forEach(e -> this.processScanBean(e, false));
         }
     }
 
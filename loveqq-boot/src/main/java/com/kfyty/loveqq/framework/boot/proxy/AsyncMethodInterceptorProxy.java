@@ -47,6 +47,11 @@ public class AsyncMethodInterceptorProxy implements MethodInterceptorChainPoint,
      */
     private final ApplicationContext context;
 
+    @Override
+    public boolean isApplicable(Method method) {
+        return AnnotationUtil.hasAnnotation(method, Async.class);
+    }
+
     @Override
     public Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable {
         Async annotation = AnnotationUtil.findAnnotation(methodProxy.getTargetMethod(), Async.class);
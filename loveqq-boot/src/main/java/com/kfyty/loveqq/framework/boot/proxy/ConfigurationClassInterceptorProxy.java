@@ -35,6 +35,11 @@ public class ConfigurationClassInterceptorProxy implements MethodInterceptorChai
         this.context = context;
     }
 
+    @Override
+    public boolean isApplicable(Method method) {
+        return AnnotationUtil.hasAnnotation(method, Bean.class);
+    }
+
     @Override
     public Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable {
         Method method = methodProxy.getTargetMethod();
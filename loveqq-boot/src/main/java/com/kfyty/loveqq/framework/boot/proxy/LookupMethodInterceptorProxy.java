@@ -28,6 +28,11 @@ public class LookupMethodInterceptorProxy implements MethodInterceptorChainPoint
         this.autowiredProcessor = new AutowiredProcessor(context);
     }
 
+    @Override
+    public boolean isApplicable(Method method) {
+        return AnnotationUtil.hasAnnotation(method, Lookup.class);
+    }
+
     @Override
     public Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable {
         Method method = methodProxy.getTargetMethod();
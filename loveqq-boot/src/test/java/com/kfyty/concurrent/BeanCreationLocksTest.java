@@ -0,0 +1,69 @@
+package com.kfyty.concurrent;
+
+import com.kfyty.loveqq.framework.boot.context.factory.BeanCreationLocks;
+import com.kfyty.loveqq.framework.core.exception.BeanCreationDeadlockException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 描述: bean 创建锁测试
+ *
+ * @author kfyty725
+ * @date 2024/12/31 16:00
+ * @email kfyty725@hotmail.com
+ */
+public class BeanCreationLocksTest {
+
+    @Test
+    public void reentrantTest() {
+        BeanCreationLocks locks = new BeanCreationLocks();
+        ReentrantLock outer = locks.lock("a");
+        ReentrantLock inner = locks.lock("a");
+        Assertions.assertSame(outer, inner);
+        Assertions.assertEquals(2, outer.getHoldCount());
+        inner.unlock();
+        outer.unlock();
+        Assertions.assertEquals(0, locks.getContended());
+        Assertions.assertEquals(2, locks.getAcquired());
+    }
+
+    @Test
+    public void deadlockTest() {
+        BeanCreationLocks locks = new BeanCreationLocks();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Thread> victims = new CopyOnWriteArrayList<>();
+        Thread t1 = new Thread(() -> this.lockInOrder(locks, barrier, failures, victims, "a", "b"));
+        Thread t2 = new Thread(() -> this.lockInOrder(locks, barrier, failures, victims, "b", "a"));
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            t1.start();
+            t2.start();
+            t1.join();
+            t2.join();
+        });
+        Assertions.assertEquals(1, failures.size());
+        Assertions.assertInstanceOf(BeanCreationDeadlockException.class, failures.get(0));
+        Assertions.assertEquals(Math.min(t1.getId(), t2.getId()), victims.get(0).getId());
+        Assertions.assertEquals(1, locks.getDeadlocks());
+        Assertions.assertTrue(locks.getContended() > 0);
+    }
+
+    private void lockInOrder(BeanCreationLocks locks, CyclicBarrier barrier, List<Throwable> failures, List<Thread> victims, String first, String second) {
+        ReentrantLock lock = locks.lock(first);
+        try {
+            barrier.await();
+            locks.lock(second).unlock();
+        } catch (Throwable e) {
+            failures.add(e);
+            victims.add(Thread.currentThread());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
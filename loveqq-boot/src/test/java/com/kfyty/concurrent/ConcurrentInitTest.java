@@ -0,0 +1,111 @@
+package com.kfyty.concurrent;
+
+import com.kfyty.loveqq.framework.boot.K;
+import com.kfyty.loveqq.framework.core.autoconfig.CommandLineRunner;
+import com.kfyty.loveqq.framework.core.autoconfig.InitializingBean;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Bean;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.BootApplication;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Component;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Configuration;
+import com.kfyty.loveqq.framework.core.lang.ConstantConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 描述: 并行初始化测试
+ *
+ * @author kfyty725
+ * @date 2024/12/29 14:20
+ * @email kfyty725@hotmail.com
+ */
+@BootApplication
+public class ConcurrentInitTest implements CommandLineRunner {
+    private static final List<String> INITIALIZED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ServiceC serviceC;
+
+    @Autowired
+    private CycleA cycleA;
+
+    @Autowired
+    private CycleB cycleB;
+
+    @Test
+    public void test() {
+        System.setProperty(ConstantConfig.CONCURRENT_INIT_KEY, "true");
+        try {
+            K.run(ConcurrentInitTest.class);
+        } finally {
+            System.clearProperty(ConstantConfig.CONCURRENT_INIT_KEY);
+        }
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Assertions.assertNotNull(this.serviceC.serviceB);
+        Assertions.assertNotNull(this.serviceC.serviceB.serviceA);
+        Assertions.assertSame(this.cycleA, this.cycleB.cycleA);
+        Assertions.assertSame(this.cycleB, this.cycleA.cycleB);
+        Assertions.assertTrue(INITIALIZED.indexOf("serviceA") < INITIALIZED.indexOf("serviceB"));
+        Assertions.assertTrue(INITIALIZED.indexOf("serviceB") < INITIALIZED.indexOf("serviceC"));
+    }
+
+    @Configuration
+    public static class ServiceConfig {
+
+        @Bean
+        public ServiceB serviceB(ServiceA serviceA) {
+            return new ServiceB(serviceA);
+        }
+    }
+
+    @Component
+    public static class ServiceA implements InitializingBean {
+
+        @Override
+        public void afterPropertiesSet() {
+            INITIALIZED.add("serviceA");
+        }
+    }
+
+    public static class ServiceB implements InitializingBean {
+        private final ServiceA serviceA;
+
+        public ServiceB(ServiceA serviceA) {
+            this.serviceA = serviceA;
+        }
+
+        @Override
+        public void afterPropertiesSet() {
+            INITIALIZED.add("serviceB");
+        }
+    }
+
+    @Component
+    public static class ServiceC implements InitializingBean {
+        @Autowired
+        private ServiceB serviceB;
+
+        @Override
+        public void afterPropertiesSet() {
+            INITIALIZED.add("serviceC");
+        }
+    }
+
+    @Component
+    public static class CycleA {
+        @Autowired
+        private CycleB cycleB;
+    }
+
+    @Component
+    public static class CycleB {
+        @Autowired
+        private CycleA cycleA;
+    }
+}
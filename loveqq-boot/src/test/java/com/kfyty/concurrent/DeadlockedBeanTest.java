@@ -0,0 +1,121 @@
+package com.kfyty.concurrent;
+
+import com.kfyty.loveqq.framework.boot.context.factory.AbstractBeanFactory;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.ConditionalBeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.condition.ConditionContext;
+import com.kfyty.loveqq.framework.core.exception.BeanCreationDeadlockException;
+import com.kfyty.loveqq.framework.core.exception.BeansException;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static com.kfyty.loveqq.framework.core.autoconfig.beans.builder.BeanDefinitionBuilder.genericBeanDefinition;
+
+/**
+ * 描述: 并发创建死锁后的单例清理测试
+ *
+ * @author kfyty725
+ * @date 2025/01/02 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class DeadlockedBeanTest {
+
+    @Test
+    public void removeTest() {
+        TestBeanFactory beanFactory = new TestBeanFactory();
+        BeanDefinition beanDefinition = genericBeanDefinition("target", Target.class).getBeanDefinition();
+        beanFactory.registerBeanDefinition("target", beanDefinition);
+
+        // 死锁时已注册但未初始化完成的单例被移除
+        beanFactory.deadlock = true;
+        Assertions.assertThrows(BeanCreationDeadlockException.class, () -> beanFactory.registerBean(beanDefinition));
+        Assertions.assertFalse(beanFactory.contains("target"));
+
+        // 重试时重新创建并完成依赖注入
+        beanFactory.deadlock = false;
+        Target target = (Target) beanFactory.registerBean(beanDefinition);
+        Assertions.assertTrue(target.autowired);
+        Assertions.assertSame(target, beanFactory.getBean("target"));
+    }
+
+    @Test
+    public void exposedTest() {
+        TestBeanFactory beanFactory = new TestBeanFactory();
+        BeanDefinition beanDefinition = genericBeanDefinition("target", Target.class).getBeanDefinition();
+        beanFactory.registerBeanDefinition("target", beanDefinition);
+
+        // 初始化完成前已被引用，无法安全的重新创建，抛出非死锁异常使刷新失败
+        beanFactory.deadlock = true;
+        beanFactory.expose = true;
+        BeansException exception = Assertions.assertThrows(BeansException.class, () -> beanFactory.registerBean(beanDefinition));
+        Assertions.assertFalse(BeanCreationDeadlockException.isDeadlock(exception));
+        Assertions.assertInstanceOf(BeanCreationDeadlockException.class, exception.getSuppressed()[0]);
+    }
+
+    static class Target {
+        boolean autowired;
+    }
+
+    static class TestBeanFactory extends AbstractBeanFactory {
+        boolean deadlock;
+
+        boolean expose;
+
+        @Override
+        public Object doCreateBean(BeanDefinition beanDefinition) {
+            return ReflectUtil.newInstance(beanDefinition.getBeanType());
+        }
+
+        @Override
+        public void autowiredBean(String beanName, Object bean) {
+            if (this.expose) {
+                this.getBean(beanName);
+            }
+            if (this.deadlock) {
+                throw new BeanCreationDeadlockException("test deadlock: " + beanName);
+            }
+            ((Target) bean).autowired = true;
+        }
+
+        @Override
+        public ConditionContext getConditionContext() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void registerConditionBeanDefinition(BeanDefinition beanDefinition) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void resolveNestedBeanDefinitionReference(BeanDefinition beanDefinition) {
+        }
+
+        @Override
+        public void resolveRegisterNestedBeanDefinition(BeanDefinition beanDefinition) {
+        }
+
+        @Override
+        public void registerConditionBeanDefinition(String name, BeanDefinition beanDefinition) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void registerConditionBeanDefinition(String name, ConditionalBeanDefinition conditionalBeanDefinition) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, ConditionalBeanDefinition> getConditionalBeanDefinition() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public void resolveConditionBeanDefinitionRegistry() {
+        }
+    }
+}
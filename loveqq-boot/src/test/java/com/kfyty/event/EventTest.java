@@ -0,0 +1,127 @@
+package com.kfyty.event;
+
+import com.kfyty.loveqq.framework.boot.K;
+import com.kfyty.loveqq.framework.core.autoconfig.CommandLineRunner;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.BootApplication;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.EventListener;
+import com.kfyty.loveqq.framework.core.event.ApplicationEvent;
+import com.kfyty.loveqq.framework.core.event.ApplicationEventPublisher;
+import com.kfyty.loveqq.framework.core.event.GenericApplicationEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 描述: 事件分发测试
+ *
+ * @author kfyty725
+ * @date 2024/12/31 11:00
+ * @email kfyty725@hotmail.com
+ */
+@EventListener
+@BootApplication
+public class EventTest implements CommandLineRunner {
+    private final AtomicInteger base = new AtomicInteger();
+    private final AtomicInteger sub = new AtomicInteger();
+    private final AtomicInteger generic = new AtomicInteger();
+    private final CountDownLatch asyncLatch = new CountDownLatch(100);
+    private final Set<String> asyncThreads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch chainLatch = new CountDownLatch(1);
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Test
+    public void test() {
+        K.run(EventTest.class);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        this.applicationEventPublisher.publishEvent(new BaseEvent(1));
+        this.applicationEventPublisher.publishEvent(new SubEvent(2));
+        this.applicationEventPublisher.publishEvent(new SubEvent(3));
+        Assertions.assertEquals(3, this.base.get());
+        Assertions.assertEquals(2, this.sub.get());
+
+        this.applicationEventPublisher.publishEvent(new GenericApplicationEvent<>("event", this));
+        this.applicationEventPublisher.publishEvent(new GenericApplicationEvent<>(1, this));
+        Assertions.assertEquals(1, this.generic.get());
+
+        for (int i = 0; i < 100; i++) {
+            this.applicationEventPublisher.publishEvent(new BatchEvent(i));
+        }
+        Assertions.assertTrue(this.asyncLatch.await(10, TimeUnit.SECONDS));
+        Assertions.assertFalse(this.asyncThreads.contains(Thread.currentThread().getName()));
+
+        // 异步监听器在消费线程中向自身发布事件，直接在消费线程执行，队列容量为 1 时也不能死锁
+        this.applicationEventPublisher.publishEvent(new ChainEvent(16));
+        Assertions.assertTrue(this.chainLatch.await(10, TimeUnit.SECONDS));
+    }
+
+    @EventListener
+    public void onBaseEvent(BaseEvent event) {
+        this.base.incrementAndGet();
+    }
+
+    @EventListener
+    public void onSubEvent(SubEvent event) {
+        this.sub.incrementAndGet();
+    }
+
+    @EventListener
+    public void onGenericEvent(GenericApplicationEvent<String, Object> event) {
+        Assertions.assertEquals("event", event.getEvent());
+        this.generic.incrementAndGet();
+    }
+
+    @EventListener(async = true, queueCapacity = 8, batchSize = 4)
+    public void onBatchEvent(BatchEvent event) {
+        this.asyncThreads.add(Thread.currentThread().getName());
+        this.asyncLatch.countDown();
+    }
+
+    @EventListener(async = true, queueCapacity = 1, batchSize = 1)
+    public void onChainEvent(ChainEvent event) {
+        int remain = event.getSource();
+        if (remain == 0) {
+            this.chainLatch.countDown();
+            return;
+        }
+        this.applicationEventPublisher.publishEvent(new ChainEvent(remain - 1));
+    }
+}
+
+class BaseEvent extends ApplicationEvent<Integer> {
+
+    public BaseEvent(Integer source) {
+        super(source);
+    }
+}
+
+class SubEvent extends BaseEvent {
+
+    public SubEvent(Integer source) {
+        super(source);
+    }
+}
+
+class BatchEvent extends ApplicationEvent<Integer> {
+
+    public BatchEvent(Integer source) {
+        super(source);
+    }
+}
+
+class ChainEvent extends ApplicationEvent<Integer> {
+
+    public ChainEvent(Integer source) {
+        super(source);
+    }
+}
@@ -0,0 +1,129 @@
+package com.kfyty.factory;
+
+import com.kfyty.loveqq.framework.boot.context.factory.BeanDefinitionIndex;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.kfyty.loveqq.framework.core.autoconfig.beans.builder.BeanDefinitionBuilder.genericBeanDefinition;
+
+/**
+ * 描述: bean 定义索引测试
+ *
+ * @author kfyty725
+ * @date 2025/01/03 14:20
+ * @email kfyty725@hotmail.com
+ */
+public class BeanDefinitionIndexTest {
+
+    @Test
+    public void registerTest() {
+        BeanDefinitionIndex index = new BeanDefinitionIndex();
+        BeanDefinition a = genericBeanDefinition("a", A.class).getBeanDefinition();
+        index.add(a);
+
+        // 按自身、父类、接口以及 Object 索引
+        Assertions.assertSame(a, index.getByType(A.class).get("a"));
+        Assertions.assertSame(a, index.getByType(Base.class).get("a"));
+        Assertions.assertSame(a, index.getByType(Marker.class).get("a"));
+        Assertions.assertSame(a, index.getByType(Object.class).get("a"));
+        Assertions.assertTrue(index.getByType(B.class).isEmpty());
+
+        // 注解索引建立后，新注册的 bean 定义同样被索引
+        Assertions.assertEquals(List.of("a"), new ArrayList<>(index.getByAnnotation(Indexed.class, List.of(a)).keySet()));
+        BeanDefinition b = genericBeanDefinition("b", B.class).getBeanDefinition();
+        index.add(b);
+        Assertions.assertEquals(List.of("a", "b"), new ArrayList<>(index.getByAnnotation(Indexed.class, List.of(a, b)).keySet()));
+        Assertions.assertEquals(List.of("a", "b"), new ArrayList<>(index.getByType(Base.class).keySet()));
+    }
+
+    @Test
+    public void copyTest() {
+        BeanDefinitionIndex index = new BeanDefinitionIndex();
+        BeanDefinition a = genericBeanDefinition("a", A.class).getBeanDefinition();
+        index.add(a);
+
+        // 查询结果是可变副本，修改不影响索引
+        Map<String, BeanDefinition> byType = index.getByType(Base.class);
+        byType.remove("a");
+        Assertions.assertTrue(byType.isEmpty());
+        Assertions.assertSame(a, index.getByType(Base.class).get("a"));
+
+        Map<String, BeanDefinition> byAnnotation = index.getByAnnotation(Indexed.class, List.of(a));
+        byAnnotation.clear();
+        Assertions.assertSame(a, index.getByAnnotation(Indexed.class, List.of(a)).get("a"));
+
+        Map<String, BeanDefinition> absent = index.getByType(Runnable.class);
+        absent.put("a", a);
+        Assertions.assertTrue(index.getByType(Runnable.class).isEmpty());
+
+        // 遍历查询结果的同时可以继续注册
+        for (BeanDefinition beanDefinition : index.getByType(Base.class).values()) {
+            index.add(genericBeanDefinition(beanDefinition.getBeanName() + "b", B.class).getBeanDefinition());
+        }
+        Assertions.assertEquals(2, index.getByType(Base.class).size());
+    }
+
+    @Test
+    public void removeTest() {
+        BeanDefinitionIndex index = new BeanDefinitionIndex();
+        BeanDefinition a = genericBeanDefinition("a", A.class).getBeanDefinition();
+        BeanDefinition b = genericBeanDefinition("b", B.class).getBeanDefinition();
+        index.add(a);
+        index.add(b);
+        index.getByAnnotation(Indexed.class, List.of(a, b));
+
+        index.remove(a);
+        Assertions.assertEquals(List.of("b"), new ArrayList<>(index.getByType(Base.class).keySet()));
+        Assertions.assertEquals(List.of("b"), new ArrayList<>(index.getByAnnotation(Indexed.class, List.of(b)).keySet()));
+        Assertions.assertTrue(index.getByType(A.class).isEmpty());
+        Assertions.assertTrue(index.getByType(Marker.class).isEmpty());
+    }
+
+    @Test
+    public void renameTest() {
+        BeanDefinitionIndex index = new BeanDefinitionIndex();
+        BeanDefinition a = genericBeanDefinition("a", A.class).getBeanDefinition();
+        BeanDefinition b = genericBeanDefinition("b", B.class).getBeanDefinition();
+        index.add(a);
+        index.add(b);
+        index.getByAnnotation(Indexed.class, List.of(a, b));
+
+        // 作用域代理的方式：先移除，修改名称后重新注册
+        index.remove(a);
+        a.setBeanName("scopedTarget.a");
+        index.add(a);
+        Assertions.assertSame(a, index.getByType(A.class).get("scopedTarget.a"));
+        Assertions.assertFalse(index.getByType(Base.class).containsKey("a"));
+
+        // 注册后直接修改名称，移除时仍然可以找到
+        b.setBeanName("z");
+        index.remove(b);
+        Assertions.assertTrue(index.getByType(B.class).isEmpty());
+        Assertions.assertEquals(List.of("scopedTarget.a"), new ArrayList<>(index.getByAnnotation(Indexed.class, List.of(a)).keySet()));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Indexed {
+    }
+
+    interface Marker {
+    }
+
+    static class Base {
+    }
+
+    @Indexed
+    static class A extends Base implements Marker {
+    }
+
+    @Indexed
+    static class B extends Base {
+    }
+}
@@ -1,6 +1,7 @@
 package com.kfyty.loveqq.framework.data.cache.core;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 /**
  * 描述: 缓存，实现应该是线程安全的
@@ -104,6 +105,17 @@ public interface Cache extends AutoCloseable {
      */
     void clear();
 
+    /**
+     * 获取缓存加载锁，用于跨进程的同步加载
+     * 本地缓存无需跨进程互斥，默认返回 null
+     *
+     * @param name cache name
+     * @return lock，不支持时返回 null
+     */
+    default Lock getLoadLock(String name) {
+        return null;
+    }
+
     /**
      * 移除全部缓存
      */
@@ -0,0 +1,82 @@
+package com.kfyty.loveqq.framework.data.cache.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 描述: 缓存统计
+ *
+ * @author kfyty725
+ * @date 2024/12/24 10:40
+ * @email kfyty725@hotmail.com
+ */
+public class CacheStats {
+    /**
+     * 命中次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 因容量不足的淘汰次数
+     */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 因过期的移除次数
+     */
+    private final LongAdder expirationCount = new LongAdder();
+
+    public void recordHit() {
+        this.hitCount.increment();
+    }
+
+    public void recordMiss() {
+        this.missCount.increment();
+    }
+
+    public void recordEviction() {
+        this.evictionCount.increment();
+    }
+
+    public void recordExpiration() {
+        this.expirationCount.increment();
+    }
+
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    public long getExpirationCount() {
+        return this.expirationCount.sum();
+    }
+
+    public double getHitRate() {
+        long hit = this.getHitCount();
+        long total = hit + this.getMissCount();
+        return total == 0 ? 1.0D : (double) hit / total;
+    }
+
+    public void reset() {
+        this.hitCount.reset();
+        this.missCount.reset();
+        this.evictionCount.reset();
+        this.expirationCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats(hitCount=" + this.getHitCount() + ", missCount=" + this.getMissCount() + ", evictionCount=" + this.getEvictionCount() + ", expirationCount=" + this.getExpirationCount() + ", hitRate=" + this.getHitRate() + ")";
+    }
+}
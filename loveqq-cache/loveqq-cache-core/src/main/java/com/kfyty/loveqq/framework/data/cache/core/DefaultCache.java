@@ -1,17 +1,25 @@
 package com.kfyty.loveqq.framework.data.cache.core;
 
-import com.kfyty.loveqq.framework.core.thread.NamedThreadFactory;
 import com.kfyty.loveqq.framework.core.utils.LogUtil;
-import lombok.RequiredArgsConstructor;
+import com.kfyty.loveqq.framework.data.cache.core.support.TimerWheel;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongBiFunction;
 
 /**
- * 描述:
+ * 描述: 有界本地缓存
+ * <p>
+ * 淘汰策略为分段 LRU，新写入的缓存进入试用段，再次访问后晋升到保护段，保护段超出容量时降级到试用段，
+ * 淘汰时优先淘汰试用段，避免一次性扫描冲掉热点数据
+ * <p>
+ * 过期时间由分层时间轮管理，覆盖写入时重新调度，不会因为旧的过期时间提前移除新值；
+ * 读取时会检查过期时间，因此过期的缓存即使还未被时间轮清理也不会返回
+ * <p>
+ * 读取只访问 {@link ConcurrentHashMap}，访问顺序的维护在获取锁失败时直接放弃；写入在锁内完成，并顺带清理过期和超出容量的缓存
  *
  * @author kfyty725
  * @date 2024/7/4 10:18
@@ -19,71 +27,416 @@ import java.util.concurrent.TimeUnit;
  */
 @Slf4j
 public class DefaultCache extends AbstractCache {
+    /**
+     * 默认最大缓存数量
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000L;
+
+    /**
+     * 永不过期
+     */
+    private static final long NEVER_EXPIRE = 0L;
+
     /**
      * 缓存容器
      */
-    private final Map<String, Object> cache;
+    private final Map<String, Node> cache;
+
+    /**
+     * 最大容量，未设置权重计算时即最大缓存数量
+     */
+    private final long maximum;
+
+    /**
+     * 保护段最大容量
+     */
+    private final long protectedMaximum;
+
+    /**
+     * 权重计算
+     */
+    private final ToLongBiFunction<String, Object> weigher;
+
+    /**
+     * 淘汰锁，保护访问顺序队列及时间轮
+     */
+    private final ReentrantLock evictionLock;
+
+    /**
+     * 试用段
+     */
+    private final AccessOrderQueue probation;
+
+    /**
+     * 保护段
+     */
+    private final AccessOrderQueue protection;
+
+    /**
+     * 过期时间轮
+     */
+    private final TimerWheel<Node> timerWheel;
+
+    /**
+     * 缓存统计
+     */
+    private final CacheStats stats;
 
     /**
-     * 缓存超时时间
+     * 当前总权重
      */
-    private final ScheduledThreadPoolExecutor schedule;
+    private long weightedSize;
+
+    /**
+     * 保护段当前权重
+     */
+    private long protectedWeightedSize;
 
     /**
      * 构造器
      */
     public DefaultCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param maximumSize 最大缓存数量
+     */
+    public DefaultCache(long maximumSize) {
+        this(maximumSize, (k, v) -> 1L);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param maximumWeight 最大权重
+     * @param weigher       权重计算
+     */
+    public DefaultCache(long maximumWeight, ToLongBiFunction<String, Object> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("The maximum must be positive: " + maximumWeight);
+        }
         this.cache = new ConcurrentHashMap<>();
-        this.schedule = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("cache-clear"));
-        Runtime.getRuntime().addShutdownHook(new Thread(this.schedule::shutdown));
+        this.maximum = maximumWeight;
+        this.protectedMaximum = maximumWeight - maximumWeight / 5;
+        this.weigher = weigher;
+        this.evictionLock = new ReentrantLock();
+        this.probation = new AccessOrderQueue();
+        this.protection = new AccessOrderQueue();
+        this.timerWheel = new TimerWheel<>(System.nanoTime());
+        this.stats = new CacheStats();
+    }
+
+    /**
+     * 获取缓存统计
+     *
+     * @return 统计
+     */
+    public CacheStats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * 获取缓存数量，可能包含已过期但还未清理的缓存
+     *
+     * @return 缓存数量
+     */
+    public int size() {
+        return this.cache.size();
     }
 
     @Override
     public void put(String name, Object value, long ttl, TimeUnit timeUnit) {
-        this.cache.put(name, value);
-        this.addCacheTtlTask(name, ttl, timeUnit);
+        long now = System.nanoTime();
+        this.evictionLock.lock();
+        try {
+            Node node = this.cache.get(name);
+            if (node == null) {
+                this.addNode(name, value, expireAt(now, ttl, timeUnit));
+            } else {
+                this.updateNode(node, value, expireAt(now, ttl, timeUnit));
+            }
+            this.maintenance(now);
+        } finally {
+            this.evictionLock.unlock();
+        }
     }
 
     @Override
     public Object putIfAbsent(String name, Object value, long ttl, TimeUnit timeUnit) {
-        Object exists = this.cache.putIfAbsent(name, value);
-        if (exists == null) {
-            this.addCacheTtlTask(name, ttl, timeUnit);
+        long now = System.nanoTime();
+        this.evictionLock.lock();
+        try {
+            Node node = this.cache.get(name);
+            if (node != null && !isExpired(node, now)) {
+                return node.value;
+            }
+            if (node == null) {
+                this.addNode(name, value, expireAt(now, ttl, timeUnit));
+            } else {
+                this.updateNode(node, value, expireAt(now, ttl, timeUnit));
+            }
+            this.maintenance(now);
+            return null;
+        } finally {
+            this.evictionLock.unlock();
         }
-        return exists;
     }
 
     @Override
     public void clear(String name) {
-        this.cache.remove(name);
+        this.evictionLock.lock();
+        try {
+            Node node = this.cache.get(name);
+            if (node != null) {
+                this.removeNode(node);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
     }
 
     @Override
     public void clear() {
-        this.cache.clear();
+        this.evictionLock.lock();
+        try {
+            for (Node node : this.cache.values()) {
+                this.removeNode(node);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected <T> T getInternal(String name) {
-        return (T) this.cache.get(name);
+        Node node = this.cache.get(name);
+        if (node == null) {
+            this.stats.recordMiss();
+            return null;
+        }
+        long now = System.nanoTime();
+        if (isExpired(node, now)) {
+            this.stats.recordMiss();
+            this.afterRead(null, now);
+            return null;
+        }
+        Object value = node.value;
+        this.stats.recordHit();
+        this.afterRead(node, now);
+        return (T) value;
+    }
+
+    /**
+     * 读取后维护访问顺序，获取锁失败时放弃，不阻塞读取
+     *
+     * @param node 读取的节点，未命中时为 null
+     * @param now  当前时间
+     */
+    protected void afterRead(Node node, long now) {
+        if (!this.evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (node != null && node.queue != Node.REMOVED) {
+                this.onAccess(node);
+            }
+            this.maintenance(now);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    protected void addNode(String name, Object value, long expireAt) {
+        Node node = new Node(name, value, this.weigher.applyAsLong(name, value), expireAt);
+        this.cache.put(name, node);
+        this.probation.addLast(node);
+        this.weightedSize += node.weight;
+        if (expireAt != NEVER_EXPIRE) {
+            this.timerWheel.schedule(node);
+        }
+    }
+
+    protected void updateNode(Node node, Object value, long expireAt) {
+        long weight = this.weigher.applyAsLong(node.key, value);
+        long delta = weight - node.weight;
+        this.weightedSize += delta;
+        if (node.queue == Node.PROTECTED) {
+            this.protectedWeightedSize += delta;
+        }
+        node.weight = weight;
+        node.value = value;
+        node.expireAt = expireAt;
+        this.timerWheel.reschedule(node);
+        this.onAccess(node);
+    }
+
+    protected void removeNode(Node node) {
+        this.cache.remove(node.key, node);
+        this.timerWheel.deschedule(node);
+        this.weightedSize -= node.weight;
+        if (node.queue == Node.PROTECTED) {
+            this.protection.remove(node);
+            this.protectedWeightedSize -= node.weight;
+        } else if (node.queue == Node.PROBATION) {
+            this.probation.remove(node);
+        }
+        node.queue = Node.REMOVED;
+    }
+
+    /**
+     * 访问后调整段位置
+     *
+     * @param node 节点
+     */
+    protected void onAccess(Node node) {
+        if (node.queue == Node.PROTECTED) {
+            this.protection.moveToBack(node);
+            return;
+        }
+        this.probation.remove(node);
+        this.protection.addLast(node);
+        this.protectedWeightedSize += node.weight;
+        node.queue = Node.PROTECTED;
+        while (this.protectedWeightedSize > this.protectedMaximum) {
+            Node demoted = this.protection.pollFirst();
+            if (demoted == null) {
+                break;
+            }
+            this.protectedWeightedSize -= demoted.weight;
+            this.probation.addLast(demoted);
+            demoted.queue = Node.PROBATION;
+        }
     }
 
-    protected void addCacheTtlTask(String name, long ttl, TimeUnit timeUnit) {
-        if (ttl > 0) {
-            this.schedule.schedule(new ClearCacheTask(name), ttl, timeUnit);
-            LogUtil.logIfDebugEnabled(log, log -> log.debug("add ttl cache named: {}", name));
+    /**
+     * 清理过期及超出容量的缓存，需要持有淘汰锁
+     *
+     * @param now 当前时间
+     */
+    protected void maintenance(long now) {
+        this.timerWheel.advance(now, this::expireNode);
+        while (this.weightedSize > this.maximum) {
+            Node victim = this.probation.peekFirst();
+            if (victim == null) {
+                victim = this.protection.peekFirst();
+            }
+            if (victim == null) {
+                break;
+            }
+            String evicted = victim.key;
+            this.removeNode(victim);
+            this.stats.recordEviction();
+            LogUtil.logIfDebugEnabled(log, log -> log.debug("evict cache named: {}", evicted));
         }
     }
 
-    @RequiredArgsConstructor
-    protected class ClearCacheTask implements Runnable {
-        private final String name;
+    protected void expireNode(Node node) {
+        this.removeNode(node);
+        this.stats.recordExpiration();
+        LogUtil.logIfDebugEnabled(log, log -> log.debug("clear cache named: {}", node.key));
+    }
+
+    protected static long expireAt(long now, long ttl, TimeUnit timeUnit) {
+        if (ttl <= 0) {
+            return NEVER_EXPIRE;
+        }
+        long expireAt = now + timeUnit.toNanos(ttl);
+        return expireAt == NEVER_EXPIRE ? 1L : expireAt;
+    }
+
+    protected static boolean isExpired(Node node, long now) {
+        long expireAt = node.expireAt;
+        return expireAt != NEVER_EXPIRE && expireAt - now <= 0;
+    }
+
+    protected static class Node extends TimerWheel.Node {
+        static final int PROBATION = 0;
+        static final int PROTECTED = 1;
+        static final int REMOVED = 2;
+
+        final String key;
+
+        volatile Object value;
+
+        volatile long expireAt;
+
+        long weight;
+
+        int queue;
+
+        Node prev;
+
+        Node next;
+
+        Node(String key, Object value, long weight, long expireAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expireAt = expireAt;
+            this.queue = PROBATION;
+        }
 
         @Override
-        public void run() {
-            DefaultCache.this.clear(name);
-            LogUtil.logIfDebugEnabled(log, log -> log.debug("clear cache named: {}", name));
+        public long getExpireAt() {
+            return this.expireAt;
+        }
+    }
+
+    /**
+     * 访问顺序队列，队首最久未被访问
+     */
+    protected static class AccessOrderQueue {
+        private Node head;
+
+        private Node tail;
+
+        Node peekFirst() {
+            return this.head;
+        }
+
+        Node pollFirst() {
+            Node first = this.head;
+            if (first != null) {
+                this.remove(first);
+            }
+            return first;
+        }
+
+        void addLast(Node node) {
+            node.prev = this.tail;
+            node.next = null;
+            if (this.tail == null) {
+                this.head = node;
+            } else {
+                this.tail.next = node;
+            }
+            this.tail = node;
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) {
+                this.head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                this.tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node node) {
+            if (node != this.tail) {
+                this.remove(node);
+                this.addLast(node);
+            }
         }
     }
 }
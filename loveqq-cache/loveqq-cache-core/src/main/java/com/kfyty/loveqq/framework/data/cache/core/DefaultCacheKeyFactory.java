@@ -2,28 +2,157 @@ package com.kfyty.loveqq.framework.data.cache.core;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * 描述:
+ * 描述: 默认缓存 key 工厂
+ * <p>
+ * 每个方法的 key 前缀及参数名称前缀只计算一次，构建 key 时仅追加参数值；
+ * 开启哈希模式时，参数部分使用 128 位哈希值代替，key 长度固定，适用于参数较长的方法
  *
  * @author kfyty725
  * @date 2024/9/22 10:55
  * @email kfyty725@hotmail.com
  */
 public class DefaultCacheKeyFactory implements CacheKeyFactory {
+    /**
+     * 64 位 FNV-1a 初始值
+     */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /**
+     * 64 位 FNV-1a 乘数
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * 第二个哈希的初始值
+     */
+    private static final long MIX_SEED = 0x9e3779b97f4a7c15L;
+
+    /**
+     * 是否使用哈希 key
+     */
+    private final boolean hashed;
+
+    /**
+     * 方法 key 模板缓存
+     */
+    private final Map<Method, KeyTemplate> templates;
+
+    public DefaultCacheKeyFactory() {
+        this(false);
+    }
+
+    public DefaultCacheKeyFactory(boolean hashed) {
+        this.hashed = hashed;
+        this.templates = new ConcurrentHashMap<>();
+    }
 
     @Override
     public String buildKey(Method method, Object[] args, Object target) {
-        StringBuilder key = new StringBuilder(target.getClass().getName()).append(":").append(method.getName()).append(":");
+        KeyTemplate template = this.obtainTemplate(method, target.getClass());
+        return this.hashed ? template.buildHashedKey(args) : template.buildKey(args);
+    }
+
+    protected KeyTemplate obtainTemplate(Method method, Class<?> targetClass) {
+        KeyTemplate template = this.templates.get(method);
+        if (template != null && template.targetClass == targetClass) {
+            return template;
+        }
+        template = new KeyTemplate(method, targetClass);
+        this.templates.put(method, template);
+        return template;
+    }
+
+    /**
+     * 方法 key 模板
+     */
+    protected static class KeyTemplate {
+        /**
+         * 目标类型，同一方法可能由不同的子类实例调用
+         */
+        final Class<?> targetClass;
+
+        /**
+         * key 前缀，格式为: 类名:方法名:
+         */
+        final String prefix;
 
-        Parameter[] parameters = method.getParameters();
-        for (int i = 0; i < parameters.length; i++) {
-            key.append(parameters[i].getName()).append("=").append(args[i]);
-            if (i != parameters.length - 1) {
-                key.append(":");
+        /**
+         * 参数名称前缀，格式为: 参数名=
+         */
+        final String[] parameterPrefixes;
+
+        /**
+         * 预估 key 长度
+         */
+        final int estimatedLength;
+
+        KeyTemplate(Method method, Class<?> targetClass) {
+            Parameter[] parameters = method.getParameters();
+            this.targetClass = targetClass;
+            this.prefix = targetClass.getName() + ':' + method.getName() + ':';
+            this.parameterPrefixes = new String[parameters.length];
+            int length = this.prefix.length();
+            for (int i = 0; i < parameters.length; i++) {
+                this.parameterPrefixes[i] = parameters[i].getName() + '=';
+                length += this.parameterPrefixes[i].length() + 16;
             }
+            this.estimatedLength = length;
         }
 
-        return key.toString();
+        String buildKey(Object[] args) {
+            if (this.parameterPrefixes.length == 0) {
+                return this.prefix;
+            }
+            StringBuilder key = new StringBuilder(this.estimatedLength).append(this.prefix);
+            for (int i = 0; i < this.parameterPrefixes.length; i++) {
+                key.append(this.parameterPrefixes[i]).append(args[i]);
+                if (i != this.parameterPrefixes.length - 1) {
+                    key.append(':');
+                }
+            }
+            return key.toString();
+        }
+
+        String buildHashedKey(Object[] args) {
+            if (this.parameterPrefixes.length == 0) {
+                return this.prefix;
+            }
+            long h1 = FNV_OFFSET_BASIS;
+            long h2 = MIX_SEED;
+            for (int i = 0; i < this.parameterPrefixes.length; i++) {
+                String value = String.valueOf(args[i]);
+                for (int j = 0, length = value.length(); j < length; j++) {
+                    char c = value.charAt(j);
+                    h1 = (h1 ^ c) * FNV_PRIME;
+                    h2 = Long.rotateLeft(h2 ^ c * MIX_SEED, 31) * 5 + 0x52dce729;
+                }
+                // 参数分隔，避免 ("ab", "c") 与 ("a", "bc") 冲突
+                h1 = (h1 ^ (0x10000 + i)) * FNV_PRIME;
+                h2 = Long.rotateLeft(h2 ^ (value.length() + 1L) * MIX_SEED, 31) * 5 + 0x52dce729;
+            }
+            return new StringBuilder(this.prefix.length() + 32)
+                    .append(this.prefix)
+                    .append(toHex(mix(h1)))
+                    .append(toHex(mix(h2)))
+                    .toString();
+        }
+
+        static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+
+        static String toHex(long value) {
+            String hex = Long.toHexString(value);
+            return hex.length() == 16 ? hex : "0000000000000000".substring(hex.length()) + hex;
+        }
     }
 }
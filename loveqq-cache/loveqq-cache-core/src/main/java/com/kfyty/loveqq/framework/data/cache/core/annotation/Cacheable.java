@@ -55,4 +55,13 @@ public @interface Cacheable {
      * @return true/false
      */
     boolean putIfNull() default false;
+
+    /**
+     * 是否同步加载
+     * 为 true 时，同一缓存 key 的并发未命中只会有一个调用执行目标方法，其余调用等待并共享其结果，避免缓存击穿
+     * 若缓存实现提供了加载锁，例如 redis 缓存，则跨进程也只有一个调用执行目标方法
+     *
+     * @return true/false
+     */
+    boolean sync() default false;
 }
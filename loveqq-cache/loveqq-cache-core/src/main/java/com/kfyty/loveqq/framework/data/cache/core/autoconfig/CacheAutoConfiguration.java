@@ -32,20 +32,20 @@ public class CacheAutoConfiguration {
     @Primary
     @ConditionalOnMissingBean
     @Bean(resolveNested = false, independent = true)
-    public Cache defaultCache() {
-        return new DefaultCache();
+    public Cache defaultCache(@Value("${cache.maximum-size:10000}") long maximumSize) {
+        return new DefaultCache(maximumSize);
     }
 
     @ConditionalOnMissingBean
     @Bean(resolveNested = false, independent = true)
-    public ReactiveCache defaultReactiveCache() {
-        return new DefaultReactiveCache();
+    public ReactiveCache defaultReactiveCache(@Value("${cache.maximum-size:10000}") long maximumSize) {
+        return new DefaultReactiveCache(new DefaultCache(maximumSize));
     }
 
     @ConditionalOnMissingBean
     @Bean(resolveNested = false, independent = true)
-    public CacheKeyFactory cacheKeyFactory() {
-        return new DefaultCacheKeyFactory();
+    public CacheKeyFactory cacheKeyFactory(@Value("${cache.key.hashed:false}") boolean hashed) {
+        return new DefaultCacheKeyFactory(hashed);
     }
 
     @Bean(destroyMethod = "shutdown", resolveNested = false, independent = true)
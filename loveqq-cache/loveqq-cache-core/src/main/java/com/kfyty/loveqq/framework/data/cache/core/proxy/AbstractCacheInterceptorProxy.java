@@ -2,7 +2,6 @@ package com.kfyty.loveqq.framework.data.cache.core.proxy;
 
 import com.kfyty.loveqq.framework.core.lang.Lazy;
 import com.kfyty.loveqq.framework.core.proxy.aop.MethodAroundAdvice;
-import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.IOC;
 import com.kfyty.loveqq.framework.data.cache.core.Cache;
 import com.kfyty.loveqq.framework.data.cache.core.CacheKeyFactory;
@@ -17,10 +16,10 @@ import java.lang.reflect.Parameter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 
-import static com.kfyty.loveqq.framework.core.utils.CommonUtil.notEmpty;
-import static com.kfyty.loveqq.framework.core.utils.OgnlUtil.compute;
+import static com.kfyty.loveqq.framework.core.utils.OgnlUtil.computeExpression;
 import static java.util.Optional.ofNullable;
 
 /**
@@ -51,10 +50,16 @@ public abstract class AbstractCacheInterceptorProxy implements MethodAroundAdvic
      */
     protected final ScheduledExecutorService executorService;
 
+    /**
+     * 缓存方法元数据
+     */
+    protected final Map<Method, CacheMetadata> metadataCache;
+
     public AbstractCacheInterceptorProxy(Cache cache, CacheKeyFactory cacheKeyFactory, ScheduledExecutorService executorService) {
         this.cache = Objects.requireNonNull(cache);
         this.cacheKeyFactory = Objects.requireNonNull(cacheKeyFactory);
         this.executorService = Objects.requireNonNull(executorService);
+        this.metadataCache = new ConcurrentHashMap<>();
     }
 
     public ReactiveCache getReactiveCache() {
@@ -65,13 +70,43 @@ public abstract class AbstractCacheInterceptorProxy implements MethodAroundAdvic
     public Object around(ProceedingJoinPoint pjp) throws Throwable {
         final Method method = ((MethodSignature) pjp.getStaticPart().getSignature()).getMethod();
         final Lazy<Map<String, Object>> context = new Lazy<>(() -> this.buildContext(null, method, pjp.getArgs(), pjp.getTarget()));
-        final Cacheable cacheable = AnnotationUtil.findAnnotation(method, Cacheable.class);
-        final CacheClear cacheClear = AnnotationUtil.findAnnotation(method, CacheClear.class);
-        final String cacheableName = cacheable == null ? null : notEmpty(cacheable.value()) ? ofNullable(compute(cacheable.value(), context.get())).orElse(cacheable.value()) : this.buildCacheKey(method, pjp.getArgs(), pjp.getTarget());
-        final String cacheClearName = cacheClear == null ? null : notEmpty(cacheClear.value()) ? ofNullable(compute(cacheClear.value(), context.get())).orElse(cacheClear.value()) : this.buildCacheKey(method, pjp.getArgs(), pjp.getTarget());
+        final CacheMetadata metadata = this.obtainMetadata(method);
+        final Cacheable cacheable = metadata.getCacheable();
+        final CacheClear cacheClear = metadata.getCacheClear();
+        final String cacheableName = cacheable == null ? null : metadata.getCacheableName() != null ? ofNullable(computeExpression(metadata.getCacheableName(), context.get(), String.class)).orElse(cacheable.value()) : this.buildCacheKey(method, pjp.getArgs(), pjp.getTarget());
+        final String cacheClearName = cacheClear == null ? null : metadata.getCacheClearName() != null ? ofNullable(computeExpression(metadata.getCacheClearName(), context.get(), String.class)).orElse(cacheClear.value()) : this.buildCacheKey(method, pjp.getArgs(), pjp.getTarget());
         return this.around(cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp);
     }
 
+    /**
+     * 获取缓存方法元数据
+     *
+     * @param method 方法
+     * @return 元数据
+     */
+    protected CacheMetadata obtainMetadata(Method method) {
+        CacheMetadata metadata = this.metadataCache.get(method);
+        if (metadata == null) {
+            metadata = this.metadataCache.computeIfAbsent(method, CacheMetadata::new);
+        }
+        return metadata;
+    }
+
+    /**
+     * 计算条件表达式
+     *
+     * @param condition 预解析的条件表达式，为空时表示无条件
+     * @param context   计算上下文
+     * @return 条件是否成立
+     */
+    protected boolean matchCondition(Object condition, Map<String, Object> context) {
+        if (condition == null) {
+            return true;
+        }
+        Boolean value = computeExpression(condition, context, Boolean.class);
+        return value != null && value;
+    }
+
     protected abstract Object around(String cacheableName,
                                      String cacheClearName,
                                      Cacheable cacheable,
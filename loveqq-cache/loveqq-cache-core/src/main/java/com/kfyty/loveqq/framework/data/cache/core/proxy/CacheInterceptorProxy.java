@@ -2,8 +2,6 @@ package com.kfyty.loveqq.framework.data.cache.core.proxy;
 
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Order;
 import com.kfyty.loveqq.framework.core.lang.Lazy;
-import com.kfyty.loveqq.framework.core.utils.CommonUtil;
-import com.kfyty.loveqq.framework.core.utils.OgnlUtil;
 import com.kfyty.loveqq.framework.data.cache.core.Cache;
 import com.kfyty.loveqq.framework.data.cache.core.CacheKeyFactory;
 import com.kfyty.loveqq.framework.data.cache.core.NullValue;
@@ -14,8 +12,12 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 /**
  * 描述: 缓存代理
@@ -26,9 +28,14 @@ import java.util.concurrent.TimeUnit;
  */
 @Order(Order.HIGHEST_PRECEDENCE)
 public class CacheInterceptorProxy extends AbstractCacheInterceptorProxy {
+    /**
+     * 正在加载的缓存，用于同步加载
+     */
+    protected final Map<String, InflightLoad> inflightLoads;
 
     public CacheInterceptorProxy(Cache cache, CacheKeyFactory cacheKeyFactory, ScheduledExecutorService executorService) {
         super(cache, cacheKeyFactory, executorService);
+        this.inflightLoads = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -45,8 +52,78 @@ public class CacheInterceptorProxy extends AbstractCacheInterceptorProxy {
             if (cache != null) {
                 return cache == NullValue.INSTANCE ? null : cache;                                                      // NullValue 返回 null
             }
+            if (cacheable.sync()) {
+                return this.loadSynchronously(cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp);
+            }
+        }
+
+        return this.proceed(cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp);
+    }
+
+    /**
+     * 同步加载，同一 key 只有一个调用执行目标方法，其余调用等待其结果
+     */
+    protected Object loadSynchronously(String cacheableName,
+                                       String cacheClearName,
+                                       Cacheable cacheable,
+                                       CacheClear cacheClear,
+                                       Lazy<Map<String, Object>> context,
+                                       Method method,
+                                       ProceedingJoinPoint pjp) throws Throwable {
+        InflightLoad load = new InflightLoad(Thread.currentThread());
+        InflightLoad inflight = this.inflightLoads.putIfAbsent(cacheableName, load);
+        if (inflight != null) {
+            return inflight.owner == Thread.currentThread() ? this.proceed(cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp) : inflight.await();
+        }
+        try {
+            Object retValue = this.loadWithLock(cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp);
+            load.complete(retValue);
+            return retValue;
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inflightLoads.remove(cacheableName, load);
         }
+    }
 
+    /**
+     * 在缓存加载锁内再次检查缓存后加载，缓存未提供加载锁时仅进程内互斥
+     */
+    protected Object loadWithLock(String cacheableName,
+                                  String cacheClearName,
+                                  Cacheable cacheable,
+                                  CacheClear cacheClear,
+                                  Lazy<Map<String, Object>> context,
+                                  Method method,
+                                  ProceedingJoinPoint pjp) throws Throwable {
+        Lock lock = this.cache.getLoadLock(cacheableName);
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            Object cache = this.cache.get(cacheableName);
+            if (cache != null) {
+                return cache == NullValue.INSTANCE ? null : cache;
+            }
+            return this.proceed(cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp);
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 执行目标方法，并处理缓存
+     */
+    protected Object proceed(String cacheableName,
+                             String cacheClearName,
+                             Cacheable cacheable,
+                             CacheClear cacheClear,
+                             Lazy<Map<String, Object>> context,
+                             Method method,
+                             ProceedingJoinPoint pjp) throws Throwable {
         // 前置清理
         this.preClear(cacheClearName, cacheClear);
 
@@ -82,7 +159,7 @@ public class CacheInterceptorProxy extends AbstractCacheInterceptorProxy {
         if (cacheable == null || retValue == null && !cacheable.putIfNull()) {
             return;
         }
-        if (CommonUtil.notEmpty(cacheable.condition()) && !OgnlUtil.getBoolean(cacheable.condition(), context)) {
+        if (!this.matchCondition(this.obtainMetadata(method).getCacheableCondition(), context)) {
             return;
         }
         if (retValue == null) {
@@ -98,9 +175,31 @@ public class CacheInterceptorProxy extends AbstractCacheInterceptorProxy {
         if (cacheClear == null) {
             return;
         }
-        if (CommonUtil.notEmpty(cacheClear.condition()) && !OgnlUtil.getBoolean(cacheClear.condition(), context)) {
+        if (!this.matchCondition(this.obtainMetadata(method).getCacheClearCondition(), context)) {
             return;
         }
         this.cache.clear(cacheName);
     }
+
+    /**
+     * 正在进行的加载
+     */
+    protected static class InflightLoad extends CompletableFuture<Object> {
+        /**
+         * 执行加载的线程，同一线程重入时直接执行，避免等待自身
+         */
+        protected final Thread owner;
+
+        protected InflightLoad(Thread owner) {
+            this.owner = owner;
+        }
+
+        protected Object await() throws Throwable {
+            try {
+                return this.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+    }
 }
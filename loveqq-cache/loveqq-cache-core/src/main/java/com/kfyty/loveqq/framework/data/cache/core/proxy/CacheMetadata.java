@@ -0,0 +1,65 @@
+package com.kfyty.loveqq.framework.data.cache.core.proxy;
+
+import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
+import com.kfyty.loveqq.framework.core.utils.OgnlUtil;
+import com.kfyty.loveqq.framework.data.cache.core.annotation.CacheClear;
+import com.kfyty.loveqq.framework.data.cache.core.annotation.Cacheable;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.notEmpty;
+
+/**
+ * 描述: 缓存方法元数据
+ * 方法上的缓存注解及其预解析的 ognl 表达式，每个方法只解析一次
+ *
+ * @author kfyty725
+ * @date 2024/12/26 10:10
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class CacheMetadata {
+    /**
+     * {@link Cacheable}
+     */
+    private final Cacheable cacheable;
+
+    /**
+     * {@link CacheClear}
+     */
+    private final CacheClear cacheClear;
+
+    /**
+     * {@link Cacheable#value()} 预解析表达式，为空时使用 {@link com.kfyty.loveqq.framework.data.cache.core.CacheKeyFactory}
+     */
+    private final Object cacheableName;
+
+    /**
+     * {@link Cacheable#condition()} 预解析表达式
+     */
+    private final Object cacheableCondition;
+
+    /**
+     * {@link CacheClear#value()} 预解析表达式，为空时使用 {@link com.kfyty.loveqq.framework.data.cache.core.CacheKeyFactory}
+     */
+    private final Object cacheClearName;
+
+    /**
+     * {@link CacheClear#condition()} 预解析表达式
+     */
+    private final Object cacheClearCondition;
+
+    public CacheMetadata(Method method) {
+        this.cacheable = AnnotationUtil.findAnnotation(method, Cacheable.class);
+        this.cacheClear = AnnotationUtil.findAnnotation(method, CacheClear.class);
+        this.cacheableName = this.cacheable == null ? null : parse(this.cacheable.value());
+        this.cacheableCondition = this.cacheable == null ? null : parse(this.cacheable.condition());
+        this.cacheClearName = this.cacheClear == null ? null : parse(this.cacheClear.value());
+        this.cacheClearCondition = this.cacheClear == null ? null : parse(this.cacheClear.condition());
+    }
+
+    private static Object parse(String expression) {
+        return notEmpty(expression) ? OgnlUtil.parseExpression(expression) : null;
+    }
+}
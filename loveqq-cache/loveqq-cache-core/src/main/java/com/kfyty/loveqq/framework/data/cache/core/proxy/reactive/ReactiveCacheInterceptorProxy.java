@@ -2,9 +2,7 @@ package com.kfyty.loveqq.framework.data.cache.core.proxy.reactive;
 
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Order;
 import com.kfyty.loveqq.framework.core.lang.Lazy;
-import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
-import com.kfyty.loveqq.framework.core.utils.OgnlUtil;
 import com.kfyty.loveqq.framework.data.cache.core.CacheKeyFactory;
 import com.kfyty.loveqq.framework.data.cache.core.NullValue;
 import com.kfyty.loveqq.framework.data.cache.core.annotation.CacheClear;
@@ -20,9 +18,12 @@ import reactor.core.publisher.Mono;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 描述: 响应式缓存代理
@@ -33,9 +34,14 @@ import java.util.function.Function;
  */
 @Order(Order.HIGHEST_PRECEDENCE)
 public class ReactiveCacheInterceptorProxy extends AbstractCacheInterceptorProxy {
+    /**
+     * 正在加载的缓存，用于同步加载
+     */
+    protected final Map<String, Mono<?>> inflightLoads;
 
     public ReactiveCacheInterceptorProxy(ReactiveCache cache, CacheKeyFactory cacheKeyFactory, ScheduledExecutorService executorService) {
         super(cache, cacheKeyFactory, executorService);
+        this.inflightLoads = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -51,6 +57,19 @@ public class ReactiveCacheInterceptorProxy extends AbstractCacheInterceptorProxy
         if (cacheable == null) {
             return this.proceed(isMono, cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp);
         }
+        if (cacheable.sync()) {
+            if (isMono) {
+                return this.getReactiveCache()
+                        .getAsync(cacheableName)
+                        .map(value -> value == NullValue.INSTANCE ? null : value)
+                        .switchIfEmpty(Mono.defer(() -> this.loadSynchronously(cacheableName, () -> (Mono<?>) this.proceed(true, cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp))));
+            }
+            return this.getReactiveCache()
+                    .getAsync(cacheableName)
+                    .map(value -> value == NullValue.INSTANCE ? null : value)
+                    .switchIfEmpty(Mono.defer(() -> this.loadSynchronously(cacheableName, () -> ((Flux<?>) this.proceed(false, cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp)).collectList())))
+                    .flatMapMany(e -> Flux.fromIterable((Iterable<?>) e));
+        }
         if (isMono) {
             return this.getReactiveCache()
                     .getAsync(cacheableName)
@@ -64,6 +83,26 @@ public class ReactiveCacheInterceptorProxy extends AbstractCacheInterceptorProxy
                 .switchIfEmpty(Flux.defer(() -> this.proceed(false, cacheableName, cacheClearName, cacheable, cacheClear, context, method, pjp)));
     }
 
+    /**
+     * 同步加载，同一 key 的并发订阅共享同一个加载结果，加载结束后移除
+     * 加载器在订阅时才执行，不会在 {@link ConcurrentHashMap} 的原子操作中执行；加载结束后仅移除自身，避免移除后续的加载
+     *
+     * @param cacheableName 缓存 key
+     * @param loader        加载器
+     * @return 共享的加载结果
+     */
+    protected Mono<?> loadSynchronously(String cacheableName, Supplier<Mono<?>> loader) {
+        Mono<?> inflight = this.inflightLoads.get(cacheableName);
+        if (inflight != null) {
+            return inflight;
+        }
+        AtomicReference<Mono<?>> self = new AtomicReference<>();
+        Mono<?> shared = Mono.defer(loader).doFinally(s -> this.inflightLoads.remove(cacheableName, self.get())).cache();
+        self.set(shared);
+        Mono<?> prev = this.inflightLoads.putIfAbsent(cacheableName, shared);
+        return prev != null ? prev : shared;
+    }
+
     /**
      * 继续调用目标方法，并放入缓存
      */
@@ -147,7 +186,7 @@ public class ReactiveCacheInterceptorProxy extends AbstractCacheInterceptorProxy
             if (cacheable == null || retValue == null && !cacheable.putIfNull()) {
                 return Mono.empty();
             }
-            if (CommonUtil.notEmpty(cacheable.condition()) && !OgnlUtil.getBoolean(cacheable.condition(), context)) {
+            if (!matchCondition(obtainMetadata(method).getCacheableCondition(), context)) {
                 return Mono.empty();
             }
             if (retValue == null) {
@@ -163,7 +202,7 @@ public class ReactiveCacheInterceptorProxy extends AbstractCacheInterceptorProxy
             if (cacheClear == null) {
                 return Mono.empty();
             }
-            if (CommonUtil.notEmpty(cacheClear.condition()) && !OgnlUtil.getBoolean(cacheClear.condition(), context)) {
+            if (!matchCondition(obtainMetadata(method).getCacheClearCondition(), context)) {
                 return Mono.empty();
             }
             return getReactiveCache().clearAsync(cacheName);
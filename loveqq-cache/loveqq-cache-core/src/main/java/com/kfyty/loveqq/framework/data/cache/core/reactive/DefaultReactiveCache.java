@@ -8,7 +8,7 @@ import reactor.core.publisher.Mono;
 import java.util.concurrent.TimeUnit;
 
 /**
- * 描述: 响应式缓存默认实现，基于 {@link java.util.concurrent.ConcurrentHashMap}
+ * 描述: 响应式缓存默认实现，基于 {@link DefaultCache}
  *
  * @author kfyty725
  * @date 2024/7/4 10:18
@@ -19,7 +19,11 @@ public class DefaultReactiveCache extends AbstractReactiveCache implements React
     private final Cache cache;
 
     public DefaultReactiveCache() {
-        this.cache = new DefaultCache();
+        this(new DefaultCache());
+    }
+
+    public DefaultReactiveCache(Cache cache) {
+        this.cache = cache;
     }
 
     @Override
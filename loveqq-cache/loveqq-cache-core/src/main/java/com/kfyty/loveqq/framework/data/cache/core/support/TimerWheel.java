@@ -0,0 +1,206 @@
+package com.kfyty.loveqq.framework.data.cache.core.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 描述: 分层时间轮
+ * 每层的桶跨度依次为 1.07s、1.14m、1.22h、1.63d、6.5d，超出范围的节点放入最后一层的唯一桶中
+ * 推进时间时只处理经过的桶，未到期的节点重新调度到更精确的层级，添加/移除/推进都是 O(1) 的
+ * <p>
+ * 非线程安全，调用方需要加锁
+ *
+ * @author kfyty725
+ * @date 2024/12/24 10:10
+ * @email kfyty725@hotmail.com
+ */
+public class TimerWheel<T extends TimerWheel.Node> {
+    /**
+     * 每层的桶数量
+     */
+    static final int[] BUCKETS = {64, 64, 32, 4, 1};
+
+    /**
+     * 每层单个桶的跨度，均为 2 的幂，即上一层的总跨度
+     */
+    static final long[] SPANS = {
+            ceilingPowerOfTwo(TimeUnit.SECONDS.toNanos(1)),                 // 1.07s
+            ceilingPowerOfTwo(TimeUnit.MINUTES.toNanos(1)),                 // 1.14m
+            ceilingPowerOfTwo(TimeUnit.HOURS.toNanos(1)),                   // 1.22h
+            ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),                    // 1.63d
+            BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),       // 6.5d
+    };
+
+    /**
+     * 每层跨度对应的位移
+     */
+    static final long[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4]),
+    };
+
+    /**
+     * 时间轮，每个桶是一个以哨兵节点为头的双向循环链表
+     */
+    private final Node[][] wheel;
+
+    /**
+     * 上次推进的时间
+     */
+    private long nanos;
+
+    public TimerWheel(long nanos) {
+        this.nanos = nanos;
+        this.wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < this.wheel.length; i++) {
+            this.wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < this.wheel[i].length; j++) {
+                this.wheel[i][j] = new Sentinel();
+            }
+        }
+    }
+
+    /**
+     * 推进时间轮，并处理到期的节点
+     *
+     * @param currentTimeNanos 当前时间
+     * @param evictor          到期节点处理器
+     */
+    public void advance(long currentTimeNanos, Consumer<T> evictor) {
+        long previousTimeNanos = this.nanos;
+        this.nanos = currentTimeNanos;
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previousTimeNanos >>> SHIFT[i];
+            long currentTicks = currentTimeNanos >>> SHIFT[i];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0L) {
+                break;
+            }
+            this.expire(i, previousTicks, delta, evictor);
+        }
+    }
+
+    /**
+     * 调度节点
+     *
+     * @param node 节点
+     */
+    public void schedule(T node) {
+        Node sentinel = this.findBucket(node.getExpireAt());
+        link(sentinel, node);
+    }
+
+    /**
+     * 重新调度节点，到期时间为 0 时表示永不过期，此时只移除
+     *
+     * @param node 节点
+     */
+    public void reschedule(T node) {
+        this.deschedule(node);
+        if (node.getExpireAt() != 0L) {
+            this.schedule(node);
+        }
+    }
+
+    /**
+     * 移除节点
+     *
+     * @param node 节点
+     */
+    public void deschedule(T node) {
+        if (node.nextInTime != null) {
+            node.nextInTime.prevInTime = node.prevInTime;
+            node.prevInTime.nextInTime = node.nextInTime;
+            node.nextInTime = null;
+            node.prevInTime = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expire(int index, long previousTicks, long delta, Consumer<T> evictor) {
+        Node[] timerWheel = this.wheel[index];
+        int mask = timerWheel.length - 1;
+        int steps = (int) Math.min(1L + Math.abs(delta), timerWheel.length);
+        int start = (int) (previousTicks & mask);
+        int end = start + steps;
+        for (int i = start; i < end; i++) {
+            Node sentinel = timerWheel[i & mask];
+            Node node = sentinel.nextInTime;
+            sentinel.prevInTime = sentinel;
+            sentinel.nextInTime = sentinel;
+            while (node != sentinel) {
+                Node next = node.nextInTime;
+                node.prevInTime = null;
+                node.nextInTime = null;
+                if (node.getExpireAt() - this.nanos > 0L) {
+                    this.schedule((T) node);
+                } else {
+                    evictor.accept((T) node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private Node findBucket(long time) {
+        long duration = time - this.nanos;
+        int length = this.wheel.length - 1;
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                int index = (int) (ticks & (this.wheel[i].length - 1));
+                return this.wheel[i][index];
+            }
+        }
+        return this.wheel[length][0];
+    }
+
+    private static void link(Node sentinel, Node node) {
+        node.prevInTime = sentinel.prevInTime;
+        node.nextInTime = sentinel;
+        sentinel.prevInTime.nextInTime = node;
+        sentinel.prevInTime = node;
+    }
+
+    private static long ceilingPowerOfTwo(long x) {
+        return 1L << -Long.numberOfLeadingZeros(x - 1);
+    }
+
+    /**
+     * 时间轮节点
+     */
+    public abstract static class Node {
+        /**
+         * 时间轮中的前一个节点
+         */
+        Node prevInTime;
+
+        /**
+         * 时间轮中的后一个节点
+         */
+        Node nextInTime;
+
+        /**
+         * 获取到期时间
+         *
+         * @return 到期时间，基于 {@link System#nanoTime()}
+         */
+        public abstract long getExpireAt();
+    }
+
+    private static final class Sentinel extends Node {
+
+        Sentinel() {
+            this.prevInTime = this;
+            this.nextInTime = this;
+        }
+
+        @Override
+        public long getExpireAt() {
+            return 0L;
+        }
+    }
+}
@@ -2,9 +2,19 @@ package com.kfyty.loveqq.framework.data.cache;
 
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.data.cache.core.Cache;
+import com.kfyty.loveqq.framework.data.cache.core.CacheKeyFactory;
 import com.kfyty.loveqq.framework.data.cache.core.DefaultCache;
+import com.kfyty.loveqq.framework.data.cache.core.DefaultCacheKeyFactory;
+import com.kfyty.loveqq.framework.data.cache.core.proxy.reactive.ReactiveCacheInterceptorProxy;
+import com.kfyty.loveqq.framework.data.cache.core.reactive.DefaultReactiveCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * 描述:
@@ -23,4 +33,79 @@ public class CacheTest {
         CommonUtil.sleep(3000);
         Assertions.assertNull(cache.get("test"));
     }
+
+    @Test
+    public void overwriteTest() {
+        Cache cache = new DefaultCache();
+        cache.put("test", 1, 1);
+        cache.put("test", 2);
+        cache.put("test2", 1, 1);
+        cache.put("test2", 2, 3);
+        CommonUtil.sleep(1500);
+        Assertions.assertEquals(2, (Integer) cache.get("test"));
+        Assertions.assertEquals(2, (Integer) cache.get("test2"));
+    }
+
+    @Test
+    public void boundedTest() {
+        DefaultCache cache = new DefaultCache(100);
+        cache.put("hot", 0);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, i);
+            cache.get("hot");
+        }
+        Assertions.assertTrue(cache.size() <= 100);
+        Assertions.assertNotNull(cache.get("hot"));
+        Assertions.assertEquals(901, cache.getStats().getEvictionCount());
+        Assertions.assertEquals(0, cache.getStats().getMissCount());
+    }
+
+    @Test
+    public void keyFactoryTest() throws Exception {
+        Method method = CacheTest.class.getMethod("keyMethod", String.class, String.class);
+        CacheKeyFactory factory = new DefaultCacheKeyFactory();
+        CacheKeyFactory hashedFactory = new DefaultCacheKeyFactory(true);
+        String prefix = CacheTest.class.getName() + ":keyMethod:";
+        Assertions.assertEquals(factory.buildKey(method, new Object[]{"a", "b"}, this), factory.buildKey(method, new Object[]{"a", "b"}, this));
+        Assertions.assertTrue(factory.buildKey(method, new Object[]{"a", "b"}, this).startsWith(prefix));
+        Assertions.assertEquals(prefix.length() + 32, hashedFactory.buildKey(method, new Object[]{"a", "b"}, this).length());
+        Assertions.assertEquals(hashedFactory.buildKey(method, new Object[]{"a", "b"}, this), hashedFactory.buildKey(method, new Object[]{"a", "b"}, this));
+        Assertions.assertNotEquals(hashedFactory.buildKey(method, new Object[]{"ab", "c"}, this), hashedFactory.buildKey(method, new Object[]{"a", "bc"}, this));
+    }
+
+    @Test
+    public void syncLoadTest() {
+        AtomicInteger loads = new AtomicInteger();
+        SyncLoadProxy proxy = new SyncLoadProxy();
+        Mono<?> first = proxy.load("key", () -> Mono.fromSupplier(loads::incrementAndGet));
+        Mono<?> second = proxy.load("key", () -> Mono.fromSupplier(loads::incrementAndGet));
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(0, loads.get());
+        Assertions.assertEquals(1, first.block());
+        Assertions.assertEquals(1, second.block());
+        Assertions.assertEquals(1, loads.get());
+
+        // 加载结束后移除，后续的加载重新执行
+        Assertions.assertEquals(2, proxy.load("key", () -> Mono.fromSupplier(loads::incrementAndGet)).block());
+        Assertions.assertEquals(0, proxy.inflight());
+    }
+
+    public String keyMethod(String first, String second) {
+        return first + second;
+    }
+
+    static class SyncLoadProxy extends ReactiveCacheInterceptorProxy {
+
+        SyncLoadProxy() {
+            super(new DefaultReactiveCache(), new DefaultCacheKeyFactory(), Executors.newSingleThreadScheduledExecutor());
+        }
+
+        Mono<?> load(String cacheableName, Supplier<Mono<?>> loader) {
+            return this.loadSynchronously(cacheableName, loader);
+        }
+
+        int inflight() {
+            return this.inflightLoads.size();
+        }
+    }
 }
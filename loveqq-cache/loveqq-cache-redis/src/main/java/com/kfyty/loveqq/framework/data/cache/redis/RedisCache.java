@@ -1,11 +1,13 @@
 package com.kfyty.loveqq.framework.data.cache.redis;
 
 import com.kfyty.loveqq.framework.data.cache.core.AbstractCache;
+import lombok.Setter;
 import org.redisson.api.RMapCache;
 import org.redisson.api.RedissonClient;
 import org.redisson.client.codec.Codec;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 /**
  * 描述:
@@ -15,14 +17,34 @@ import java.util.concurrent.TimeUnit;
  * @email kfyty725@hotmail.com
  */
 public class RedisCache extends AbstractCache {
+    /**
+     * 缓存名称
+     */
+    private static final String CACHE_NAME = "loveqq-redis-cache";
+
+    /**
+     * 缓存加载锁名称前缀
+     */
+    private static final String LOAD_LOCK_PREFIX = CACHE_NAME + ":load-lock:";
+
+    private final RedissonClient redissonClient;
+
     private final RMapCache<String, Object> redisCache;
 
+    /**
+     * 同步加载时是否使用分布式锁
+     */
+    @Setter
+    private boolean distributedLoadLock;
+
     public RedisCache(RedissonClient redissonClient) {
-        this.redisCache = redissonClient.getMapCache("loveqq-redis-cache");
+        this.redissonClient = redissonClient;
+        this.redisCache = redissonClient.getMapCache(CACHE_NAME);
     }
 
     public RedisCache(RedissonClient redissonClient, Codec codec) {
-        this.redisCache = redissonClient.getMapCache("loveqq-redis-cache", codec);
+        this.redissonClient = redissonClient;
+        this.redisCache = redissonClient.getMapCache(CACHE_NAME, codec);
     }
 
     @Override
@@ -45,6 +67,21 @@ public class RedisCache extends AbstractCache {
         this.redisCache.clear();
     }
 
+    @Override
+    public Lock getLoadLock(String name) {
+        return this.distributedLoadLock ? this.redissonClient.getLock(LOAD_LOCK_PREFIX + name) : null;
+    }
+
+    /**
+     * 获取缓存的剩余存活时间
+     *
+     * @param name 缓存名称
+     * @return 剩余存活时间，毫秒；-1 表示永不过期，-2 表示不存在
+     */
+    public long remainTimeToLive(String name) {
+        return this.redisCache.remainTimeToLive(name);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <T> T getInternal(String name) {
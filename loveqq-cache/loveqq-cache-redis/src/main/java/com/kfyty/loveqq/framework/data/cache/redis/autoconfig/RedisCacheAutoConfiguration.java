@@ -4,10 +4,13 @@ import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Bean;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Configuration;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Primary;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
 import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnBean;
 import com.kfyty.loveqq.framework.data.cache.core.Cache;
 import com.kfyty.loveqq.framework.data.cache.core.reactive.ReactiveCache;
 import com.kfyty.loveqq.framework.data.cache.redis.RedisCache;
+import com.kfyty.loveqq.framework.data.cache.redis.near.ReactiveRedisNearCache;
+import com.kfyty.loveqq.framework.data.cache.redis.near.RedisNearCache;
 import com.kfyty.loveqq.framework.data.cache.redis.reactive.ReactiveRedisCache;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.RedissonReactiveClient;
@@ -26,21 +29,42 @@ public class RedisCacheAutoConfiguration {
     @Autowired(required = false)
     private Codec codec;
 
+    /**
+     * 是否启用本地一级缓存
+     */
+    @Value("${cache.redis.near.enabled:false}")
+    private boolean nearEnabled;
+
+    /**
+     * 本地一级缓存最大数量
+     */
+    @Value("${cache.redis.near.maximum-size:10000}")
+    private long nearMaximumSize;
+
+    /**
+     * 本地一级缓存最大有效时间，毫秒
+     */
+    @Value("${cache.redis.near.ttl:60000}")
+    private long nearTtl;
+
     @Primary
     @Bean(resolveNested = false, independent = true)
-    public Cache redisCache(RedissonClient redissonClient) {
-        if (this.codec == null) {
-            return new RedisCache(redissonClient);
+    public Cache redisCache(RedissonClient redissonClient, @Value("${cache.redis.distributed-load-lock:false}") boolean distributedLoadLock) {
+        RedisCache redisCache = this.codec == null ? new RedisCache(redissonClient) : new RedisCache(redissonClient, this.codec);
+        redisCache.setDistributedLoadLock(distributedLoadLock);
+        if (this.nearEnabled) {
+            return new RedisNearCache(redisCache, redissonClient, this.nearMaximumSize, this.nearTtl);
         }
-        return new RedisCache(redissonClient, this.codec);
+        return redisCache;
     }
 
     @Bean(resolveNested = false, independent = true)
     @ConditionalOnBean(RedissonReactiveClient.class)
     public ReactiveCache reactiveRedisCache(RedissonReactiveClient redissonReactiveClient) {
-        if (this.codec == null) {
-            return new ReactiveRedisCache(redissonReactiveClient);
+        ReactiveRedisCache reactiveCache = this.codec == null ? new ReactiveRedisCache(redissonReactiveClient) : new ReactiveRedisCache(redissonReactiveClient, this.codec);
+        if (this.nearEnabled) {
+            return new ReactiveRedisNearCache(reactiveCache, redissonReactiveClient, this.nearMaximumSize, this.nearTtl);
         }
-        return new ReactiveRedisCache(redissonReactiveClient, this.codec);
+        return reactiveCache;
     }
 }
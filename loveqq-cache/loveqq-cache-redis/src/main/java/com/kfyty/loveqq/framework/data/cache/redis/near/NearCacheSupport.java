@@ -0,0 +1,134 @@
+package com.kfyty.loveqq.framework.data.cache.redis.near;
+
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
+import com.kfyty.loveqq.framework.data.cache.core.CacheStats;
+import com.kfyty.loveqq.framework.data.cache.core.DefaultCache;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 描述: 近端缓存支持
+ * 维护本地一级缓存，并负责失效消息的构建及处理
+ * <p>
+ * 失效消息格式为: 节点id|操作类型缓存名称，操作类型 K 表示失效指定缓存，A 表示失效全部缓存，节点忽略自身发送的消息
+ *
+ * @author kfyty725
+ * @date 2024/12/25 10:20
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class NearCacheSupport {
+    /**
+     * 消息分隔符
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 失效指定缓存
+     */
+    private static final char INVALIDATE_KEY = 'K';
+
+    /**
+     * 失效全部缓存
+     */
+    private static final char INVALIDATE_ALL = 'A';
+
+    /**
+     * 当前节点 id
+     */
+    @Getter
+    private final String nodeId;
+
+    /**
+     * 一级缓存
+     */
+    @Getter
+    private final DefaultCache local;
+
+    /**
+     * 一级缓存最大有效时间，用于限制失效消息丢失时脏数据的存活时间，小于等于 0 时和二级缓存一致
+     */
+    private final long localTtlMillis;
+
+    /**
+     * 二级缓存统计
+     */
+    @Getter
+    private final CacheStats remoteStats;
+
+    public NearCacheSupport(long localMaximumSize, long localTtlMillis) {
+        this.nodeId = UUID.randomUUID().toString().replace("-", "");
+        this.local = new DefaultCache(localMaximumSize);
+        this.localTtlMillis = localTtlMillis;
+        this.remoteStats = new CacheStats();
+    }
+
+    public Object getLocal(String name) {
+        return this.local.get(name);
+    }
+
+    public void putLocal(String name, Object value) {
+        this.putLocal(name, value, 0, TimeUnit.MILLISECONDS);
+    }
+
+    public void putLocal(String name, Object value, long ttl, TimeUnit timeUnit) {
+        long millis = ttl > 0 ? timeUnit.toMillis(ttl) : 0;
+        if (this.localTtlMillis > 0) {
+            millis = millis > 0 ? Math.min(millis, this.localTtlMillis) : this.localTtlMillis;
+        }
+        this.local.put(name, value, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 使用二级缓存中的值回填一级缓存，一级缓存的存活时间不能超过二级缓存的剩余存活时间，
+     * 否则二级缓存过期后(过期不会发送失效消息)一级缓存仍会返回旧值
+     *
+     * @param name            缓存名称
+     * @param value           缓存值
+     * @param remainTtlMillis 二级缓存剩余存活时间，-1 表示永不过期，其他小于等于 0 的值表示未知或已过期，此时不回填
+     */
+    public void fillLocal(String name, Object value, long remainTtlMillis) {
+        if (remainTtlMillis == -1) {
+            this.putLocal(name, value);
+        } else if (remainTtlMillis > 0) {
+            this.putLocal(name, value, remainTtlMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordRemote(boolean hit) {
+        if (hit) {
+            this.remoteStats.recordHit();
+        } else {
+            this.remoteStats.recordMiss();
+        }
+    }
+
+    public String invalidateMessage(String name) {
+        return this.nodeId + SEPARATOR + INVALIDATE_KEY + name;
+    }
+
+    public String invalidateAllMessage() {
+        return this.nodeId + SEPARATOR + INVALIDATE_ALL;
+    }
+
+    /**
+     * 处理失效消息
+     *
+     * @param message 消息
+     */
+    public void onMessage(String message) {
+        int index = message.indexOf(SEPARATOR);
+        if (index < 0 || index + 1 >= message.length() || message.startsWith(this.nodeId) && index == this.nodeId.length()) {
+            return;
+        }
+        if (message.charAt(index + 1) == INVALIDATE_ALL) {
+            this.local.clear();
+        } else {
+            this.local.clear(message.substring(index + 2));
+        }
+        LogUtil.logIfDebugEnabled(log, log -> log.debug("near cache invalidated: {}", message));
+    }
+}
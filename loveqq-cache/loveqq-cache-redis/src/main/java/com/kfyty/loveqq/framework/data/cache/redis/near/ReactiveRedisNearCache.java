@@ -0,0 +1,130 @@
+package com.kfyty.loveqq.framework.data.cache.redis.near;
+
+import com.kfyty.loveqq.framework.data.cache.core.CacheStats;
+import com.kfyty.loveqq.framework.data.cache.core.reactive.AbstractReactiveCache;
+import com.kfyty.loveqq.framework.data.cache.redis.reactive.ReactiveRedisCache;
+import org.redisson.api.RTopicReactive;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.client.codec.StringCodec;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 描述: 响应式二级缓存，本地有界缓存作为一级缓存，redis 缓存作为二级缓存
+ * 写入及删除时通过 redis 发布订阅通知其他节点失效一级缓存
+ *
+ * @author kfyty725
+ * @date 2024/12/25 11:10
+ * @email kfyty725@hotmail.com
+ */
+public class ReactiveRedisNearCache extends AbstractReactiveCache {
+    /**
+     * 失效消息主题
+     */
+    public static final String INVALIDATION_TOPIC = "loveqq-reactive-redis-cache:invalidation";
+
+    /**
+     * 二级缓存
+     */
+    private final ReactiveRedisCache remote;
+
+    /**
+     * 近端缓存支持
+     */
+    private final NearCacheSupport near;
+
+    /**
+     * 失效消息主题
+     */
+    private final RTopicReactive topic;
+
+    /**
+     * 失效消息订阅
+     */
+    private final Disposable subscription;
+
+    public ReactiveRedisNearCache(ReactiveRedisCache remote, RedissonReactiveClient redissonClient, long localMaximumSize, long localTtlMillis) {
+        this.remote = remote;
+        this.near = new NearCacheSupport(localMaximumSize, localTtlMillis);
+        this.topic = redissonClient.getTopic(INVALIDATION_TOPIC, StringCodec.INSTANCE);
+        this.subscription = this.topic.getMessages(String.class).subscribe(this.near::onMessage);
+    }
+
+    /**
+     * 获取一级缓存统计
+     *
+     * @return 统计
+     */
+    public CacheStats getLocalStats() {
+        return this.near.getLocal().getStats();
+    }
+
+    /**
+     * 获取二级缓存统计
+     *
+     * @return 统计
+     */
+    public CacheStats getRemoteStats() {
+        return this.near.getRemoteStats();
+    }
+
+    @Override
+    public Mono<Void> putAsync(String name, Object value, long ttl, TimeUnit timeUnit) {
+        return this.remote.putAsync(name, value, ttl, timeUnit)
+                .then(Mono.fromRunnable(() -> this.near.putLocal(name, value, ttl, timeUnit)))
+                .then(this.publish(this.near.invalidateMessage(name)));
+    }
+
+    @Override
+    public Mono<Object> putIfAbsentAsync(String name, Object value, long ttl, TimeUnit timeUnit) {
+        return this.remote.putIfAbsentAsync(name, value, ttl, timeUnit)
+                .switchIfEmpty(Mono.defer(() -> {
+                    this.near.putLocal(name, value, ttl, timeUnit);
+                    return this.publish(this.near.invalidateMessage(name)).then(Mono.empty());
+                }));
+    }
+
+    @Override
+    public Mono<Void> clearAsync(String name) {
+        return this.remote.clearAsync(name)
+                .then(Mono.fromRunnable(() -> this.near.getLocal().clear(name)))
+                .then(this.publish(this.near.invalidateMessage(name)));
+    }
+
+    @Override
+    public Mono<Void> clearAsync() {
+        return this.remote.clearAsync()
+                .then(Mono.fromRunnable(() -> this.near.getLocal().clear()))
+                .then(this.publish(this.near.invalidateAllMessage()));
+    }
+
+    /**
+     * 取消失效消息订阅，并清空一级缓存，不会删除二级缓存
+     */
+    @Override
+    public void close() throws Exception {
+        this.subscription.dispose();
+        this.near.getLocal().clear();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> Mono<T> getInternalAsync(String name) {
+        Object value = this.near.getLocal(name);
+        if (value != null) {
+            return Mono.just((T) value);
+        }
+        return this.remote.getAsync(name)
+                .doOnSuccess(e -> this.near.recordRemote(e != null))
+                .flatMap(e -> this.remote.remainTimeToLive(name)
+                        .doOnNext(ttl -> this.near.fillLocal(name, e, ttl))
+                        .onErrorResume(ex -> Mono.empty())
+                        .thenReturn((T) e));
+    }
+
+    protected Mono<Void> publish(String message) {
+        return Mono.defer(() -> this.topic.publish(message)).then();
+    }
+}
@@ -0,0 +1,131 @@
+package com.kfyty.loveqq.framework.data.cache.redis.near;
+
+import com.kfyty.loveqq.framework.data.cache.core.AbstractCache;
+import com.kfyty.loveqq.framework.data.cache.core.CacheStats;
+import com.kfyty.loveqq.framework.data.cache.redis.RedisCache;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 描述: 二级缓存，本地有界缓存作为一级缓存，redis 缓存作为二级缓存
+ * 写入及删除时通过 redis 发布订阅通知其他节点失效一级缓存
+ *
+ * @author kfyty725
+ * @date 2024/12/25 10:40
+ * @email kfyty725@hotmail.com
+ */
+public class RedisNearCache extends AbstractCache {
+    /**
+     * 失效消息主题
+     */
+    public static final String INVALIDATION_TOPIC = "loveqq-redis-cache:invalidation";
+
+    /**
+     * 二级缓存
+     */
+    private final RedisCache remote;
+
+    /**
+     * 近端缓存支持
+     */
+    private final NearCacheSupport near;
+
+    /**
+     * 失效消息主题
+     */
+    private final RTopic topic;
+
+    /**
+     * 失效消息监听器 id
+     */
+    private final int listenerId;
+
+    public RedisNearCache(RedisCache remote, RedissonClient redissonClient, long localMaximumSize, long localTtlMillis) {
+        this.remote = remote;
+        this.near = new NearCacheSupport(localMaximumSize, localTtlMillis);
+        this.topic = redissonClient.getTopic(INVALIDATION_TOPIC, StringCodec.INSTANCE);
+        this.listenerId = this.topic.addListener(String.class, (channel, message) -> this.near.onMessage(message));
+    }
+
+    /**
+     * 获取一级缓存统计
+     *
+     * @return 统计
+     */
+    public CacheStats getLocalStats() {
+        return this.near.getLocal().getStats();
+    }
+
+    /**
+     * 获取二级缓存统计
+     *
+     * @return 统计
+     */
+    public CacheStats getRemoteStats() {
+        return this.near.getRemoteStats();
+    }
+
+    @Override
+    public void put(String name, Object value, long ttl, TimeUnit timeUnit) {
+        this.remote.put(name, value, ttl, timeUnit);
+        this.near.putLocal(name, value, ttl, timeUnit);
+        this.topic.publish(this.near.invalidateMessage(name));
+    }
+
+    @Override
+    public Object putIfAbsent(String name, Object value, long ttl, TimeUnit timeUnit) {
+        Object prev = this.remote.putIfAbsent(name, value, ttl, timeUnit);
+        if (prev == null) {
+            this.near.putLocal(name, value, ttl, timeUnit);
+            this.topic.publish(this.near.invalidateMessage(name));
+        }
+        return prev;
+    }
+
+    @Override
+    public void clear(String name) {
+        this.remote.clear(name);
+        this.near.getLocal().clear(name);
+        this.topic.publish(this.near.invalidateMessage(name));
+    }
+
+    @Override
+    public void clear() {
+        this.remote.clear();
+        this.near.getLocal().clear();
+        this.topic.publish(this.near.invalidateAllMessage());
+    }
+
+    @Override
+    public Lock getLoadLock(String name) {
+        return this.remote.getLoadLock(name);
+    }
+
+    /**
+     * 移除失效消息监听，并清空一级缓存，不会删除二级缓存
+     */
+    @Override
+    public void close() throws Exception {
+        this.topic.removeListener(this.listenerId);
+        this.near.getLocal().clear();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> T getInternal(String name) {
+        Object value = this.near.getLocal(name);
+        if (value != null) {
+            return (T) value;
+        }
+        value = this.remote.get(name);
+        this.near.recordRemote(value != null);
+        if (value != null) {
+            this.near.fillLocal(name, value, this.remote.remainTimeToLive(name));
+        }
+        return (T) value;
+    }
+}
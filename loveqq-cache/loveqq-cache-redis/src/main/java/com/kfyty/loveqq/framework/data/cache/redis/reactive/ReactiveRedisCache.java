@@ -46,6 +46,16 @@ public class ReactiveRedisCache extends AbstractReactiveCache {
         return this.redisCache.delete().then();
     }
 
+    /**
+     * 获取缓存的剩余存活时间
+     *
+     * @param name 缓存名称
+     * @return 剩余存活时间，毫秒；-1 表示永不过期，-2 表示不存在
+     */
+    public Mono<Long> remainTimeToLive(String name) {
+        return this.redisCache.remainTimeToLive(name);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <T> Mono<T> getInternalAsync(String name) {
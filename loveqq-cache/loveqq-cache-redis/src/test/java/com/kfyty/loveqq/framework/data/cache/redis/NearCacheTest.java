@@ -0,0 +1,282 @@
+package com.kfyty.loveqq.framework.data.cache.redis;
+
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.data.cache.redis.near.ReactiveRedisNearCache;
+import com.kfyty.loveqq.framework.data.cache.redis.near.RedisNearCache;
+import com.kfyty.loveqq.framework.data.cache.redis.reactive.ReactiveRedisCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RMapCacheReactive;
+import org.redisson.api.RTopic;
+import org.redisson.api.RTopicReactive;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.api.listener.MessageListener;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 描述: 近端缓存测试，使用内存实现模拟 redis 的缓存及发布订阅
+ *
+ * @author kfyty725
+ * @date 2025/01/03 16:20
+ * @email kfyty725@hotmail.com
+ */
+public class NearCacheTest {
+
+    @Test
+    public void hitTest() throws Exception {
+        FakeRedis redis = new FakeRedis();
+        try (RedisNearCache cache = redis.nearCache(60_000)) {
+            Assertions.assertNull(cache.get("key"));
+            Assertions.assertEquals(1, cache.getRemoteStats().getMissCount());
+
+            // 二级缓存命中后回填一级缓存，之后只读一级缓存
+            redis.data.put("key", 1);
+            Assertions.assertEquals(1, (Integer) cache.get("key"));
+            Assertions.assertEquals(1, (Integer) cache.get("key"));
+            Assertions.assertEquals(1, cache.getRemoteStats().getHitCount());
+            Assertions.assertEquals(1, cache.getLocalStats().getHitCount());
+
+            // 自身写入直接更新一级缓存，且忽略自身发送的失效消息
+            cache.put("key", 2);
+            Assertions.assertEquals(2, redis.data.get("key"));
+            Assertions.assertEquals(2, (Integer) cache.get("key"));
+            Assertions.assertEquals(1, cache.getRemoteStats().getHitCount());
+        }
+    }
+
+    @Test
+    public void invalidateTest() throws Exception {
+        FakeRedis redis = new FakeRedis();
+        try (RedisNearCache node1 = redis.nearCache(60_000); RedisNearCache node2 = redis.nearCache(60_000)) {
+            node1.put("key", 1);
+            node1.put("other", 1);
+            Assertions.assertEquals(1, (Integer) node2.get("key"));
+            Assertions.assertEquals(1, (Integer) node2.get("other"));
+
+            // 其他节点写入及删除时失效一级缓存
+            node1.put("key", 2);
+            Assertions.assertEquals(2, (Integer) node2.get("key"));
+            node1.clear("key");
+            Assertions.assertNull(node2.get("key"));
+            Assertions.assertEquals(1, (Integer) node2.get("other"));
+
+            node1.clear();
+            Assertions.assertNull(node2.get("other"));
+            Assertions.assertEquals(5, node2.getRemoteStats().getHitCount() + node2.getRemoteStats().getMissCount());
+        }
+
+        // 关闭后移除监听
+        Assertions.assertTrue(redis.listeners.isEmpty());
+    }
+
+    @Test
+    public void ttlTest() throws Exception {
+        FakeRedis redis = new FakeRedis();
+        try (RedisNearCache cache = redis.nearCache(60_000)) {
+            // 一级缓存的存活时间不超过二级缓存的剩余存活时间
+            redis.data.put("key", 1);
+            redis.ttl.put("key", 200L);
+            Assertions.assertEquals(1, (Integer) cache.get("key"));
+
+            // 二级缓存过期不会发送失效消息
+            redis.data.remove("key");
+            Assertions.assertEquals(1, (Integer) cache.get("key"));
+            CommonUtil.sleep(500);
+            Assertions.assertNull(cache.get("key"));
+
+            // 剩余存活时间未知时不回填
+            redis.data.put("unknown", 1);
+            redis.ttl.put("unknown", -2L);
+            Assertions.assertEquals(1, (Integer) cache.get("unknown"));
+            Assertions.assertEquals(1, (Integer) cache.get("unknown"));
+            Assertions.assertEquals(3, cache.getRemoteStats().getHitCount());
+        }
+
+        try (RedisNearCache cache = redis.nearCache(200)) {
+            // 永不过期时使用一级缓存的存活时间
+            redis.data.put("forever", 1);
+            Assertions.assertEquals(1, (Integer) cache.get("forever"));
+            redis.data.remove("forever");
+            Assertions.assertEquals(1, (Integer) cache.get("forever"));
+            CommonUtil.sleep(500);
+            Assertions.assertNull(cache.get("forever"));
+        }
+    }
+
+    @Test
+    public void reactiveTest() throws Exception {
+        FakeRedis redis = new FakeRedis();
+        try (ReactiveRedisNearCache node1 = redis.reactiveNearCache(60_000); ReactiveRedisNearCache node2 = redis.reactiveNearCache(60_000)) {
+            Assertions.assertNull(node1.getAsync("key").block());
+            Assertions.assertEquals(1, node1.getRemoteStats().getMissCount());
+
+            node1.putAsync("key", 1).block();
+            Assertions.assertEquals(1, node2.getAsync("key").block());
+            Assertions.assertEquals(1, node2.getAsync("key").block());
+            Assertions.assertEquals(1, node2.getRemoteStats().getHitCount());
+            Assertions.assertEquals(1, node2.getLocalStats().getHitCount());
+
+            node1.putAsync("key", 2).block();
+            Assertions.assertEquals(2, node2.getAsync("key").block());
+            node1.clearAsync("key").block();
+            Assertions.assertNull(node2.getAsync("key").block());
+
+            // 剩余存活时间有界，查询失败时不回填
+            redis.data.put("ttl", 1);
+            redis.ttl.put("ttl", 200L);
+            Assertions.assertEquals(1, node2.getAsync("ttl").block());
+            redis.data.remove("ttl");
+            Assertions.assertEquals(1, node2.getAsync("ttl").block());
+            CommonUtil.sleep(500);
+            Assertions.assertNull(node2.getAsync("ttl").block());
+
+            redis.data.put("error", 1);
+            redis.ttl.put("error", Long.MIN_VALUE);
+            Assertions.assertEquals(1, node2.getAsync("error").block());
+            redis.data.remove("error");
+            Assertions.assertNull(node2.getAsync("error").block());
+        }
+    }
+
+    /**
+     * 基于内存的 redis 模拟，多个近端缓存共享时相当于多个节点
+     */
+    static class FakeRedis {
+        /**
+         * 缓存数据
+         */
+        final Map<String, Object> data = new ConcurrentHashMap<>();
+
+        /**
+         * 剩余存活时间，不存在时为 -1，{@link Long#MIN_VALUE} 表示查询失败
+         */
+        final Map<String, Long> ttl = new ConcurrentHashMap<>();
+
+        /**
+         * 失效消息监听器
+         */
+        final Map<Integer, MessageListener<Object>> listeners = new ConcurrentHashMap<>();
+
+        final Sinks.Many<String> messages = Sinks.many().multicast().directBestEffort();
+
+        final AtomicInteger listenerId = new AtomicInteger();
+
+        RedisNearCache nearCache(long localTtlMillis) {
+            RedissonClient client = proxy(RedissonClient.class, (method, args) -> {
+                if (method.equals("getMapCache")) {
+                    return proxy(RMapCache.class, this::invokeMap);
+                }
+                if (method.equals("getTopic")) {
+                    return proxy(RTopic.class, this::invokeTopic);
+                }
+                throw new UnsupportedOperationException(method);
+            });
+            return new RedisNearCache(new RedisCache(client), client, 100, localTtlMillis);
+        }
+
+        ReactiveRedisNearCache reactiveNearCache(long localTtlMillis) {
+            RedissonReactiveClient client = proxy(RedissonReactiveClient.class, (method, args) -> {
+                if (method.equals("getMapCache")) {
+                    return proxy(RMapCacheReactive.class, this::invokeReactiveMap);
+                }
+                if (method.equals("getTopic")) {
+                    return proxy(RTopicReactive.class, this::invokeReactiveTopic);
+                }
+                throw new UnsupportedOperationException(method);
+            });
+            return new ReactiveRedisNearCache(new ReactiveRedisCache(client), client, 100, localTtlMillis);
+        }
+
+        Object invokeMap(String method, Object[] args) {
+            switch (method) {
+                case "get":
+                    return this.data.get((String) args[0]);
+                case "put":
+                    return this.data.put((String) args[0], args[1]);
+                case "putIfAbsent":
+                    return this.data.putIfAbsent((String) args[0], args[1]);
+                case "fastRemove":
+                    long removed = 0;
+                    for (String key : (String[]) args[0]) {
+                        removed += this.data.remove(key) == null ? 0 : 1;
+                    }
+                    return removed;
+                case "clear":
+                    this.data.clear();
+                    return null;
+                case "remainTimeToLive":
+                    return this.ttl.getOrDefault((String) args[0], -1L);
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Object invokeTopic(String method, Object[] args) {
+            switch (method) {
+                case "addListener":
+                    int id = this.listenerId.incrementAndGet();
+                    this.listeners.put(id, (MessageListener<Object>) args[1]);
+                    return id;
+                case "removeListener":
+                    for (Integer listenerId : (Integer[]) args[0]) {
+                        this.listeners.remove(listenerId);
+                    }
+                    return null;
+                case "publish":
+                    this.listeners.values().forEach(e -> e.onMessage("channel", args[0]));
+                    return (long) this.listeners.size();
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        }
+
+        Object invokeReactiveMap(String method, Object[] args) {
+            switch (method) {
+                case "get":
+                case "put":
+                case "putIfAbsent":
+                    return Mono.justOrEmpty(this.invokeMap(method, args));
+                case "remove":
+                    return Mono.justOrEmpty(this.data.remove((String) args[0]));
+                case "delete":
+                    this.data.clear();
+                    return Mono.just(true);
+                case "remainTimeToLive":
+                    long remain = (Long) this.invokeMap(method, args);
+                    return remain == Long.MIN_VALUE ? Mono.error(new IllegalStateException("pttl failed")) : Mono.just(remain);
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        }
+
+        Object invokeReactiveTopic(String method, Object[] args) {
+            switch (method) {
+                case "getMessages":
+                    return this.messages.asFlux();
+                case "publish":
+                    this.messages.tryEmitNext((String) args[0]);
+                    return Mono.just((long) this.messages.currentSubscriberCount());
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> T proxy(Class<T> clazz, Invocation invocation) {
+            return (T) Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]{clazz}, (proxy, method, args) -> invocation.invoke(method.getName(), args));
+        }
+
+        interface Invocation {
+            Object invoke(String method, Object[] args);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.kfyty.loveqq.framework.core.autoconfig.annotation;
 
 import com.kfyty.loveqq.framework.core.event.ApplicationEvent;
+import com.kfyty.loveqq.framework.core.event.EventRejectedPolicy;
 
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
@@ -28,4 +29,31 @@ public @interface EventListener {
      * 要监听的事件
      */
     Class<? extends ApplicationEvent<?>>[] value() default {};
+
+    /**
+     * 是否异步监听
+     * 为 true 时，每个监听器具有独立的有界队列及消费线程，队列已满时发布线程将等待 {@link #offerTimeout()}，
+     * 超时后执行 {@link #rejectedPolicy()}
+     */
+    boolean async() default false;
+
+    /**
+     * 异步监听时的队列容量
+     */
+    int queueCapacity() default 1024;
+
+    /**
+     * 异步监听时，消费线程每次从队列中批量取出的最大事件数量
+     */
+    int batchSize() default 64;
+
+    /**
+     * 异步监听时，队列已满时发布线程的最大等待时间，毫秒
+     */
+    long offerTimeout() default 1000L;
+
+    /**
+     * 异步监听时，队列已满且等待超时后的拒绝策略
+     */
+    EventRejectedPolicy rejectedPolicy() default EventRejectedPolicy.CALLER_RUNS;
 }
@@ -20,7 +20,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -47,9 +46,9 @@ import static java.util.Optional.ofNullable;
 @Slf4j
 public class AutowiredProcessor {
     /**
-     * 正在解析中的 bean name
+     * 当前线程正在解析中的 bean name，并行初始化时各线程独立检测循环依赖
      */
-    private final Set<String> resolving;
+    private final ThreadLocal<Set<String>> resolving;
 
     /**
      * 应用上下文
@@ -70,7 +69,7 @@ public class AutowiredProcessor {
     public AutowiredProcessor(ApplicationContext context, AutowiredDescriptionResolver resolver) {
         this.context = context;
         this.resolver = resolver;
-        this.resolving = Collections.synchronizedSet(new LinkedHashSet<>());
+        this.resolving = ThreadLocal.withInitial(LinkedHashSet::new);
     }
 
     public Object doAutowired(Object bean, Field field) {
@@ -187,33 +186,37 @@ public class AutowiredProcessor {
         return returnType;
     }
 
-    private synchronized void checkResolving(String targetBeanName) {
-        if (this.resolving.contains(targetBeanName)) {
+    private void checkResolving(String targetBeanName) {
+        if (this.resolving.get().contains(targetBeanName)) {
             throw new BeansException("Bean circular dependency: \r\n" + this.buildCircularDependency());
         }
     }
 
-    private synchronized void prepareResolving(String targetBeanName, Class<?> targetType, boolean isGeneric) {
+    private void prepareResolving(String targetBeanName, Class<?> targetType, boolean isGeneric) {
         if (!isGeneric) {
             this.checkResolving(targetBeanName);
             if (!this.context.containsReference(targetBeanName)) {
-                this.resolving.add(targetBeanName);
+                this.resolving.get().add(targetBeanName);
             }
             return;
         }
         for (BeanDefinition beanDefinition : this.context.getBeanDefinitions(targetType).values()) {
             this.checkResolving(beanDefinition.getBeanName());
             if (!this.context.containsReference(beanDefinition.getBeanName())) {
-                this.resolving.add(beanDefinition.getBeanName());
+                this.resolving.get().add(beanDefinition.getBeanName());
             }
         }
     }
 
-    private synchronized void removeResolving(String targetBeanName, Class<?> targetType, boolean isGeneric) {
+    private void removeResolving(String targetBeanName, Class<?> targetType, boolean isGeneric) {
+        Set<String> resolving = this.resolving.get();
         if (!isGeneric) {
-            this.resolving.remove(targetBeanName);
+            resolving.remove(targetBeanName);
         } else {
-            this.context.getBeanDefinitions(targetType).values().forEach(e -> this.resolving.remove(e.getBeanName()));
+            this.context.getBeanDefinitions(targetType).values().forEach(e -> resolving.remove(e.getBeanName()));
+        }
+        if (resolving.isEmpty()) {
+            this.resolving.remove();                                                            // 最外层解析完成，移除以免线程池中的线程一直持有
         }
     }
 
@@ -366,7 +369,7 @@ public class AutowiredProcessor {
 
     private String buildCircularDependency() {
         StringBuilder builder = new StringBuilder("┌─────┐\r\n");
-        Object[] beanNames = this.resolving.toArray();
+        Object[] beanNames = this.resolving.get().toArray();
         for (int i = 0; i < beanNames.length; i++) {
             builder.append(beanNames[i]).append(" -> ").append(this.context.getBeanDefinition(beanNames[i].toString())).append("\r\n");
             if (i < beanNames.length - 1) {
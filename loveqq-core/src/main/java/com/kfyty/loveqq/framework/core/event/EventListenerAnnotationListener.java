@@ -97,7 +97,7 @@ public class EventListenerAnnotationListener implements ApplicationListener<Appl
                 parameterArgs[index++] = this.context;
                 continue;
             }
-            if (event.getClass().equals(parameter.getType())) {
+            if (parameter.getType().isInstance(event)) {
                 parameterArgs[index++] = event;
                 continue;
             }
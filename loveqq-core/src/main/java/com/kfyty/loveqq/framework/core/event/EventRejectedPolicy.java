@@ -0,0 +1,27 @@
+package com.kfyty.loveqq.framework.core.event;
+
+/**
+ * 描述: 异步事件监听器队列已满，且等待超时后的拒绝策略
+ *
+ * @author kfyty725
+ * @date 2025/01/02 10:10
+ * @email kfyty725@hotmail.com
+ * @see com.kfyty.loveqq.framework.core.autoconfig.annotation.EventListener#rejectedPolicy()
+ */
+public enum EventRejectedPolicy {
+    /**
+     * 由发布线程执行监听器
+     */
+    CALLER_RUNS,
+
+    /**
+     * 丢弃该事件
+     */
+    DISCARD,
+
+    /**
+     * 抛出异常
+     */
+    ABORT,
+    ;
+}
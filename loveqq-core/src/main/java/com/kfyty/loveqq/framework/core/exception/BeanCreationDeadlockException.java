@@ -0,0 +1,30 @@
+package com.kfyty.loveqq.framework.core.exception;
+
+/**
+ * 描述: 多个线程并发创建循环依赖的 bean 时，检测到死锁后，被选中释放锁的线程抛出该异常
+ *
+ * @author kfyty725
+ * @date 2025/01/02 14:30
+ * @email kfyty725@hotmail.com
+ */
+public class BeanCreationDeadlockException extends BeansException {
+
+    public BeanCreationDeadlockException(String message) {
+        super(message);
+    }
+
+    /**
+     * 异常链中是否存在死锁异常
+     *
+     * @param throwable 异常
+     * @return true if deadlock
+     */
+    public static boolean isDeadlock(Throwable throwable) {
+        for (Throwable e = throwable; e != null; e = e.getCause() == e ? null : e.getCause()) {
+            if (e instanceof BeanCreationDeadlockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.kfyty.loveqq.framework.core.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * 描述: 批量执行回调
+ *
+ * @author kfyty725
+ * @date 2024/12/27 10:10
+ * @email kfyty725@hotmail.com
+ */
+@FunctionalInterface
+public interface BatchCallback {
+    /**
+     * 每批执行后回调，可用于读取自增主键
+     *
+     * @param ps           执行的语句
+     * @param fromIndex    本批第一条语句的索引，包含
+     * @param toIndex      本批最后一条语句的索引，不包含
+     * @param updateCounts 本批影响行数
+     */
+    void afterBatch(PreparedStatement ps, int fromIndex, int toIndex, int[] updateCounts) throws SQLException;
+}
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 /**
@@ -20,16 +21,27 @@ public class JdbcTransaction implements Transaction {
     protected final DataSource dataSource;
     protected final TransactionIsolationLevel level;
 
+    /**
+     * 预编译语句缓存数量，小于等于 0 时不缓存；缓存随连接关闭，因此仅在事务中有效
+     */
+    protected final int statementCacheSize;
+
     protected Connection connection;
     protected boolean autoCommit;
+    protected PreparedStatementCache statementCache;
 
     public JdbcTransaction(DataSource dataSource) {
         this(dataSource, null);
     }
 
     public JdbcTransaction(DataSource dataSource, TransactionIsolationLevel level) {
+        this(dataSource, level, 0);
+    }
+
+    public JdbcTransaction(DataSource dataSource, TransactionIsolationLevel level, int statementCacheSize) {
         this.dataSource = dataSource;
         this.level = level;
+        this.statementCacheSize = statementCacheSize;
     }
 
     @Override
@@ -40,6 +52,19 @@ public class JdbcTransaction implements Transaction {
         return this.openConnection();
     }
 
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        if (this.statementCacheSize <= 0) {
+            return Transaction.super.prepareStatement(sql, autoGeneratedKeys);
+        }
+        Connection connection = this.getConnection();
+        if (this.statementCache == null || this.statementCache.getConnection() != connection) {
+            this.closeStatementCache();
+            this.statementCache = new PreparedStatementCache(connection, this.statementCacheSize);
+        }
+        return this.statementCache.prepareStatement(sql, autoGeneratedKeys);
+    }
+
     @Override
     public void commit() throws SQLException {
         if (this.connection != null && !this.isAutoCommit()) {
@@ -62,6 +87,7 @@ public class JdbcTransaction implements Transaction {
 
     @Override
     public void close() throws SQLException {
+        this.closeStatementCache();
         if (this.connection != null) {
             this.connection.setAutoCommit(this.autoCommit);
             if (log.isDebugEnabled()) {
@@ -85,6 +111,16 @@ public class JdbcTransaction implements Transaction {
         this.connection.setAutoCommit(autoCommit);
     }
 
+    /**
+     * 关闭预编译语句缓存，需要在连接关闭前调用
+     */
+    protected void closeStatementCache() {
+        if (this.statementCache != null) {
+            this.statementCache.close();
+            this.statementCache = null;
+        }
+    }
+
     protected Connection openConnection() throws SQLException {
         this.connection = this.dataSource.getConnection();
         this.autoCommit = this.connection.getAutoCommit();
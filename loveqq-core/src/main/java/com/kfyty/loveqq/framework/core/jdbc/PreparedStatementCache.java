@@ -0,0 +1,277 @@
+package com.kfyty.loveqq.framework.core.jdbc;
+
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 描述: 连接级别的预编译语句 LRU 缓存
+ * <p>
+ * 按 (SQL, 自增主键模式) 缓存 {@link PreparedStatement}，调用方关闭语句时仅关闭当前结果集、清理参数及批量语句并归还到缓存，
+ * 缓存关闭或淘汰时才真正关闭语句；同一语句正在使用时，将创建一个不缓存的新语句。
+ * 缓存的生命周期和连接一致，跨连接的复用可以结合驱动的语句缓存，eg: mysql 的 cachePrepStmts
+ * <p>
+ * 注意：非事务中每次执行都会获取并关闭连接，缓存随之关闭，因此仅在同一事务中重复执行相同 SQL 时有效，默认不开启
+ *
+ * @author kfyty725
+ * @date 2024/12/28 10:20
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class PreparedStatementCache implements AutoCloseable {
+    /**
+     * 全局命中次数
+     */
+    private static final LongAdder TOTAL_HITS = new LongAdder();
+
+    /**
+     * 全局未命中次数
+     */
+    private static final LongAdder TOTAL_MISSES = new LongAdder();
+
+    /**
+     * 全局淘汰次数
+     */
+    private static final LongAdder TOTAL_EVICTIONS = new LongAdder();
+
+    /**
+     * 所属连接
+     */
+    @Getter
+    private final Connection connection;
+
+    /**
+     * 最大缓存数量
+     */
+    private final int capacity;
+
+    /**
+     * 语句缓存，按访问顺序排序
+     */
+    private final Map<Key, CachedStatement> statements;
+
+    /**
+     * 命中次数
+     */
+    @Getter
+    private long hits;
+
+    /**
+     * 未命中次数
+     */
+    @Getter
+    private long misses;
+
+    /**
+     * 淘汰次数
+     */
+    @Getter
+    private long evictions;
+
+    public PreparedStatementCache(Connection connection, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The statement cache capacity must be positive: " + capacity);
+        }
+        this.connection = Objects.requireNonNull(connection);
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (this.size() <= PreparedStatementCache.this.capacity) {
+                    return false;
+                }
+                PreparedStatementCache.this.evictions++;
+                TOTAL_EVICTIONS.increment();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 获取预编译语句
+     *
+     * @param sql               SQL
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS}/{@link Statement#NO_GENERATED_KEYS}
+     * @return 预编译语句，关闭时归还到缓存
+     */
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        CachedStatement cached = this.statements.get(key);
+        if (cached != null && !cached.inUse && !cached.delegate.isClosed()) {
+            this.hits++;
+            TOTAL_HITS.increment();
+            return cached.acquire();
+        }
+        this.misses++;
+        TOTAL_MISSES.increment();
+        PreparedStatement preparedStatement = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                ? this.connection.prepareStatement(sql, autoGeneratedKeys)
+                : this.connection.prepareStatement(sql);
+        if (cached != null && cached.inUse) {
+            return preparedStatement;
+        }
+        cached = new CachedStatement(key, preparedStatement);
+        this.statements.put(key, cached);
+        return cached.acquire();
+    }
+
+    /**
+     * 关闭全部缓存的语句
+     */
+    @Override
+    public void close() {
+        for (CachedStatement cached : new ArrayList<>(this.statements.values())) {
+            cached.evict();
+        }
+        this.statements.clear();
+        LogUtil.logIfDebugEnabled(log, log -> log.debug("Closing statement cache of JDBC Connection [{}], hits: {}, misses: {}, evictions: {}", this.connection, this.hits, this.misses, this.evictions));
+    }
+
+    public static long getTotalHits() {
+        return TOTAL_HITS.sum();
+    }
+
+    public static long getTotalMisses() {
+        return TOTAL_MISSES.sum();
+    }
+
+    public static long getTotalEvictions() {
+        return TOTAL_EVICTIONS.sum();
+    }
+
+    /**
+     * 缓存 key
+     */
+    private static class Key {
+        private final String sql;
+
+        private final int autoGeneratedKeys;
+
+        Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return this.autoGeneratedKeys == other.autoGeneratedKeys && this.sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.sql.hashCode() + this.autoGeneratedKeys;
+        }
+    }
+
+    /**
+     * 缓存的语句，代理 {@link PreparedStatement#close()} 以归还到缓存
+     */
+    private class CachedStatement implements InvocationHandler {
+        private final Key key;
+
+        private final PreparedStatement delegate;
+
+        private final PreparedStatement proxy;
+
+        /**
+         * 创建时的 fetch size，归还时复位
+         */
+        private final int fetchSize;
+
+        private boolean inUse;
+
+        private boolean evicted;
+
+        CachedStatement(Key key, PreparedStatement delegate) throws SQLException {
+            this.key = key;
+            this.delegate = delegate;
+            this.fetchSize = delegate.getFetchSize();
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        PreparedStatement acquire() {
+            this.inUse = true;
+            return this.proxy;
+        }
+
+        void release() throws SQLException {
+            this.inUse = false;
+            if (this.evicted) {
+                this.delegate.close();
+                return;
+            }
+            try {
+                ResultSet resultSet = this.delegate.getResultSet();
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                this.delegate.clearParameters();
+                this.delegate.clearBatch();
+                if (this.delegate.getFetchSize() != this.fetchSize) {
+                    this.delegate.setFetchSize(this.fetchSize);
+                }
+            } catch (SQLException e) {
+                this.evicted = true;
+                PreparedStatementCache.this.statements.remove(this.key, this);
+                this.delegate.close();
+            }
+        }
+
+        void evict() {
+            this.evicted = true;
+            if (!this.inUse) {
+                try {
+                    this.delegate.close();
+                } catch (SQLException e) {
+                    log.warn("close cached prepared statement failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (this.inUse) {
+                        this.release();
+                    }
+                    return null;
+                case "isClosed":
+                    return !this.inUse || this.delegate.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    try {
+                        return method.invoke(this.delegate, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        }
+    }
+}
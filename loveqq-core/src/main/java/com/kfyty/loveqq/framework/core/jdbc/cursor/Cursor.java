@@ -0,0 +1,53 @@
+package com.kfyty.loveqq.framework.core.jdbc.cursor;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 描述: 游标，逐行映射结果集，并持有连接直到关闭
+ * <p>
+ * 只能迭代一次，迭代完成后自动关闭；未迭代完成时，必须手动关闭，否则连接无法释放
+ *
+ * @author kfyty725
+ * @date 2024/12/26 16:40
+ * @email kfyty725@hotmail.com
+ */
+public interface Cursor<T> extends Iterable<T>, AutoCloseable {
+    /**
+     * 是否已打开
+     *
+     * @return true if open
+     */
+    boolean isOpen();
+
+    /**
+     * 是否已迭代完成
+     *
+     * @return true if consumed
+     */
+    boolean isConsumed();
+
+    /**
+     * 获取当前已映射的行数
+     *
+     * @return 行数
+     */
+    int getCurrentIndex();
+
+    /**
+     * 转换为流，流关闭时关闭游标
+     *
+     * @return 流
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.iterator(), Spliterator.ORDERED), false).onClose(this::close);
+    }
+
+    /**
+     * 关闭游标，释放结果集及连接
+     */
+    @Override
+    void close();
+}
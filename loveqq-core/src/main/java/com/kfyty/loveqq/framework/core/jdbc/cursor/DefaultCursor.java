@@ -0,0 +1,233 @@
+package com.kfyty.loveqq.framework.core.jdbc.cursor;
+
+import com.kfyty.loveqq.framework.core.jdbc.mapping.RowMapper;
+import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
+import com.kfyty.loveqq.framework.core.utils.IOUtil;
+import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 描述: 基于 jdbc 结果集的游标
+ * <p>
+ * 关闭时关闭结果集及语句，若事务是自动提交的，则同时提交并关闭事务；
+ * 读取失败时仅回滚游标自己打开的事务，调用方的事务由调用方决定是否回滚
+ *
+ * @author kfyty725
+ * @date 2024/12/26 16:50
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class DefaultCursor<T> implements Cursor<T> {
+    /**
+     * 事务
+     */
+    private final Transaction transaction;
+
+    /**
+     * 语句
+     */
+    private final Statement statement;
+
+    /**
+     * 结果集
+     */
+    private final ResultSet resultSet;
+
+    /**
+     * 行类型
+     */
+    private final Class<T> rowType;
+
+    /**
+     * 打开游标时事务是否是自动提交的，即连接仅供该游标使用
+     */
+    private final boolean ownTransaction;
+
+    /**
+     * 行映射器，第一次读取时解析
+     */
+    private RowMapper<T> rowMapper;
+
+    /**
+     * 是否已获取迭代器
+     */
+    private boolean iterated;
+
+    /**
+     * 是否已迭代完成
+     */
+    private boolean consumed;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    /**
+     * 已映射的行数
+     */
+    private int currentIndex;
+
+    public DefaultCursor(Transaction transaction, Statement statement, ResultSet resultSet, Class<T> rowType) {
+        this.transaction = transaction;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.rowType = rowType;
+        this.ownTransaction = isAutoCommit(transaction);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !this.closed;
+    }
+
+    @Override
+    public boolean isConsumed() {
+        return this.consumed;
+    }
+
+    @Override
+    public int getCurrentIndex() {
+        return this.currentIndex;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (this.iterated) {
+            throw new IllegalStateException("Cursor can only be iterated once.");
+        }
+        if (this.closed) {
+            throw new IllegalStateException("Cursor is closed.");
+        }
+        this.iterated = true;
+        return new CursorIterator();
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            IOUtil.close(this.resultSet);
+        } finally {
+            try {
+                IOUtil.close(this.statement);
+            } finally {
+                try {
+                    JdbcUtil.commitTransactionIfNecessary(this.transaction);
+                } catch (SQLException e) {
+                    throw ExceptionUtil.wrap(e);
+                }
+            }
+        }
+        LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==         total: {} {}", this.currentIndex, this.rowType));
+    }
+
+    /**
+     * 移动到下一行，没有下一行时关闭游标
+     *
+     * @return 是否存在下一行
+     */
+    protected boolean moveToNextRow() {
+        if (this.closed) {
+            return false;
+        }
+        try {
+            if (this.resultSet.next()) {
+                return true;
+            }
+            this.consumed = true;
+            this.close();
+            return false;
+        } catch (SQLException | RuntimeException e) {
+            this.closeQuietly();
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    /**
+     * 映射当前行
+     *
+     * @return 当前行
+     */
+    protected T mapCurrentRow() {
+        try {
+            if (this.rowMapper == null) {
+                this.rowMapper = ResultSetUtil.obtainRowMapper(this.resultSet, this.rowType);
+            }
+            T row = this.rowMapper.mapRow(this.resultSet);
+            this.currentIndex++;
+            return row;
+        } catch (SQLException | RuntimeException e) {
+            this.closeQuietly();
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    /**
+     * 读取失败时关闭游标，仅回滚游标自己打开的事务
+     */
+    protected void closeQuietly() {
+        if (this.ownTransaction) {
+            try {
+                this.transaction.rollback();
+            } catch (SQLException e) {
+                log.error("rollback transaction failed after cursor error.", e);
+            }
+        }
+        try {
+            this.close();
+        } catch (RuntimeException e) {
+            log.error("close cursor failed.", e);
+        }
+    }
+
+    private static boolean isAutoCommit(Transaction transaction) {
+        try {
+            return transaction.isAutoCommit();
+        } catch (SQLException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    private class CursorIterator implements Iterator<T> {
+        /**
+         * 是否已移动到下一行
+         */
+        private boolean moved;
+
+        /**
+         * 是否存在下一行
+         */
+        private boolean hasNext;
+
+        @Override
+        public boolean hasNext() {
+            if (!this.moved) {
+                this.hasNext = moveToNextRow();
+                this.moved = true;
+            }
+            return this.hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.moved = false;
+            return mapCurrentRow();
+        }
+    }
+}
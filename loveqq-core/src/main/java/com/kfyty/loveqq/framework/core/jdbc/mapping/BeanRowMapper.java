@@ -0,0 +1,311 @@
+package com.kfyty.loveqq.framework.core.jdbc.mapping;
+
+import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.underline2CamelCase;
+
+/**
+ * 描述: 实体结果集行映射器
+ * <p>
+ * 按 (实体类型, 结果集列签名) 编译并缓存，列与属性、类型处理器的对应关系只解析一次，
+ * 映射时按列索引取值，并通过 setter 或属性的 {@link MethodHandle} 赋值
+ *
+ * @author kfyty725
+ * @date 2024/12/26 14:20
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class BeanRowMapper<T> implements RowMapper<T> {
+    /**
+     * 最大缓存数量，超出后淘汰最久未使用的映射器，避免动态 sql 产生过多的列签名
+     */
+    private static final int MAXIMUM_CACHE_SIZE = 2048;
+
+    /**
+     * 映射器缓存
+     */
+    private static final Map<Signature, BeanRowMapper<?>> ROW_MAPPER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 目标类型
+     */
+    private final Class<T> clazz;
+
+    /**
+     * 无参构造器，不存在时为 null
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * 列映射
+     */
+    private final ColumnMapping[] mappings;
+
+    /**
+     * 最近一次获取的时间，用于淘汰
+     */
+    private volatile long lastAccess;
+
+    private BeanRowMapper(Class<T> clazz, String[] columnLabels) {
+        this.clazz = clazz;
+        this.constructor = resolveConstructor(clazz);
+        this.mappings = resolveMappings(clazz, columnLabels);
+    }
+
+    /**
+     * 获取结果集对应的行映射器
+     *
+     * @param clazz    目标类型
+     * @param metaData 结果集元数据
+     * @return 行映射器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BeanRowMapper<T> obtain(Class<T> clazz, ResultSetMetaData metaData) throws SQLException {
+        String[] columnLabels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columnLabels.length; i++) {
+            columnLabels[i] = metaData.getColumnLabel(i + 1);
+        }
+        Signature signature = new Signature(clazz, columnLabels);
+        BeanRowMapper<T> rowMapper = (BeanRowMapper<T>) ROW_MAPPER_CACHE.get(signature);
+        if (rowMapper == null) {
+            if (ROW_MAPPER_CACHE.size() >= MAXIMUM_CACHE_SIZE) {
+                evictLeastRecentlyUsed();
+            }
+            rowMapper = (BeanRowMapper<T>) ROW_MAPPER_CACHE.computeIfAbsent(signature, k -> new BeanRowMapper<>(clazz, columnLabels));
+        }
+        rowMapper.lastAccess = System.nanoTime();
+        return rowMapper;
+    }
+
+    /**
+     * 淘汰最久未使用的映射器，仅在缓存已满且未命中时调用，此时解析映射器的开销远大于遍历缓存
+     */
+    private static void evictLeastRecentlyUsed() {
+        Map.Entry<Signature, BeanRowMapper<?>> eldest = null;
+        for (Map.Entry<Signature, BeanRowMapper<?>> entry : ROW_MAPPER_CACHE.entrySet()) {
+            if (eldest == null || entry.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+                eldest = entry;
+            }
+        }
+        if (eldest != null) {
+            ROW_MAPPER_CACHE.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        T instance = this.newInstance();
+        for (ColumnMapping mapping : this.mappings) {
+            mapping.apply(resultSet, instance);
+        }
+        return instance;
+    }
+
+    /**
+     * 映射剩余的全部行，包括当前行
+     *
+     * @param resultSet 结果集
+     * @return 实体集合
+     */
+    public List<T> mapRows(ResultSet resultSet) throws SQLException {
+        List<T> list = new ArrayList<>();
+        do {
+            list.add(this.mapRow(resultSet));
+        } while (resultSet.next());
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T newInstance() {
+        if (this.constructor == null) {
+            return ReflectUtil.newInstance(this.clazz);
+        }
+        try {
+            return (T) this.constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    protected static MethodHandle resolveConstructor(Class<?> clazz) {
+        if (Modifier.isAbstract(clazz.getModifiers())) {
+            return null;
+        }
+        Constructor<?> constructor = ReflectUtil.searchSuitableConstructor(clazz);
+        if (constructor.getParameterCount() != 0) {
+            return null;
+        }
+        try {
+            ReflectUtil.makeAccessible(constructor);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    protected static ColumnMapping[] resolveMappings(Class<?> clazz, String[] columnLabels) {
+        List<ColumnMapping> mappings = new ArrayList<>(columnLabels.length);
+        Map<String, Field> fieldMap = ReflectUtil.getFieldMap(clazz);
+        for (int i = 0; i < columnLabels.length; i++) {
+            String fieldName = underline2CamelCase(columnLabels[i]);
+            Field field = fieldMap.get(fieldName);
+            if (field != null) {
+                mappings.add(new ColumnMapping(i + 1, field.getType(), ResultSetUtil.getTypeHandler(field.getType()), field, resolveSetter(clazz, field), null));
+                continue;
+            }
+            if (fieldName.contains(".")) {
+                Class<?> fieldType = ReflectUtil.resolveFieldType(fieldName, clazz);
+                mappings.add(new ColumnMapping(i + 1, fieldType, ResultSetUtil.getTypeHandler(fieldType), null, null, fieldName));
+                continue;
+            }
+            final String columnLabel = columnLabels[i];
+            LogUtil.logIfDebugEnabled(log, log -> log.debug("discovery column: [{}], but class:[{}] no field matching !", columnLabel, clazz));
+        }
+        return mappings.toArray(new ColumnMapping[0]);
+    }
+
+    /**
+     * 解析属性赋值方法，和 {@link ReflectUtil#setFieldValue(Object, Field, Object)} 一致，优先使用 setter 方法
+     *
+     * @param clazz 目标类型
+     * @param field 属性
+     * @return 赋值方法，类型为 (Object, Object)void，无法访问时返回 null
+     */
+    protected static MethodHandle resolveSetter(Class<?> clazz, Field field) {
+        MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+        try {
+            Method setter = ReflectUtil.getMethod(clazz, CommonUtil.getSetter(field.getName()), field.getType());
+            if (setter != null) {
+                ReflectUtil.makeAccessible(setter);
+                return MethodHandles.lookup().unreflect(setter).asType(setterType);
+            }
+            return MethodHandles.lookup().unreflectSetter(ReflectUtil.makeAccessible(field)).asType(setterType);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 列映射
+     */
+    protected static class ColumnMapping {
+        /**
+         * 列索引
+         */
+        private final int columnIndex;
+
+        /**
+         * 属性类型
+         */
+        private final Class<?> fieldType;
+
+        /**
+         * 类型处理器
+         */
+        private final TypeHandler<?> typeHandler;
+
+        /**
+         * 属性，嵌套属性时为 null
+         */
+        private final Field field;
+
+        /**
+         * 赋值方法，为 null 时使用反射赋值
+         */
+        private final MethodHandle setter;
+
+        /**
+         * 嵌套属性，eg: obj.field
+         */
+        private final String nestedField;
+
+        ColumnMapping(int columnIndex, Class<?> fieldType, TypeHandler<?> typeHandler, Field field, MethodHandle setter, String nestedField) {
+            this.columnIndex = columnIndex;
+            this.fieldType = fieldType;
+            this.typeHandler = typeHandler;
+            this.field = field;
+            this.setter = setter;
+            this.nestedField = nestedField;
+        }
+
+        void apply(ResultSet resultSet, Object instance) throws SQLException {
+            Object value = this.typeHandler != null ? this.typeHandler.getResult(resultSet, this.columnIndex) : resultSet.getObject(this.columnIndex);
+            if (this.nestedField != null) {
+                ReflectUtil.setNestedFieldValue(this.nestedField, instance, value);
+                return;
+            }
+            if (value == null && this.fieldType.isPrimitive()) {
+                return;
+            }
+            if (this.setter == null) {
+                ReflectUtil.setFieldValue(instance, this.field, value);
+                return;
+            }
+            try {
+                this.setter.invokeExact(instance, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw ExceptionUtil.wrap(e);
+            }
+        }
+    }
+
+    /**
+     * 结果集列签名
+     */
+    protected static class Signature {
+        private final Class<?> clazz;
+
+        private final String[] columnLabels;
+
+        private final int hash;
+
+        Signature(Class<?> clazz, String[] columnLabels) {
+            this.clazz = clazz;
+            this.columnLabels = columnLabels;
+            this.hash = 31 * clazz.hashCode() + Arrays.hashCode(columnLabels);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return this.clazz == other.clazz && Arrays.equals(this.columnLabels, other.columnLabels);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kfyty.loveqq.framework.core.jdbc.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 描述: 结果集行映射器
+ *
+ * @author kfyty725
+ * @date 2024/12/26 16:30
+ * @email kfyty725@hotmail.com
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * 映射结果集当前行
+     *
+     * @param resultSet 结果集
+     * @return 映射结果
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+}
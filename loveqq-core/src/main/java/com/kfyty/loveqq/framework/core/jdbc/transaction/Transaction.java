@@ -1,7 +1,9 @@
 package com.kfyty.loveqq.framework.core.jdbc.transaction;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 /**
  * 描述: 事务支持接口
@@ -18,6 +20,18 @@ public interface Transaction extends AutoCloseable {
      */
     Connection getConnection() throws SQLException;
 
+    /**
+     * 使用当前连接预编译 SQL，实现类可以缓存预编译语句
+     *
+     * @param sql               SQL
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS}/{@link Statement#NO_GENERATED_KEYS}
+     * @return PreparedStatement
+     */
+    default PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        Connection connection = this.getConnection();
+        return autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? connection.prepareStatement(sql, autoGeneratedKeys) : connection.prepareStatement(sql);
+    }
+
     /**
      * 如果当前连接不是自动提交，则提交事务
      */
@@ -30,4 +30,10 @@ public class BigIntegerTypeHandler implements TypeHandler<BigInteger> {
         BigDecimal decimal = rs.getBigDecimal(columnName);
         return decimal == null ? null : decimal.toBigInteger();
     }
+
+    @Override
+    public BigInteger getResult(ResultSet rs, int columnIndex) throws SQLException {
+        BigDecimal decimal = rs.getBigDecimal(columnIndex);
+        return decimal == null ? null : decimal.toBigInteger();
+    }
 }
@@ -34,4 +34,9 @@ public class BooleanTypeHandler implements TypeHandler<Boolean> {
     public Boolean getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getBoolean(columnName);
     }
+
+    @Override
+    public Boolean getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getBoolean(columnIndex);
+    }
 }
@@ -34,4 +34,9 @@ public class ByteTypeHandler implements TypeHandler<Byte> {
     public Byte getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getByte(columnName);
     }
+
+    @Override
+    public Byte getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getByte(columnIndex);
+    }
 }
@@ -34,4 +34,9 @@ public class FloatTypeHandler implements TypeHandler<Float> {
     public Float getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getFloat(columnName);
     }
+
+    @Override
+    public Float getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getFloat(columnIndex);
+    }
 }
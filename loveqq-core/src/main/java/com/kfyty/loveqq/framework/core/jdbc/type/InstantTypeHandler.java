@@ -30,4 +30,10 @@ public class InstantTypeHandler implements TypeHandler<Instant> {
         Timestamp timestamp = rs.getTimestamp(columnName);
         return timestamp == null ? null : timestamp.toInstant();
     }
+
+    @Override
+    public Instant getResult(ResultSet rs, int columnIndex) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(columnIndex);
+        return timestamp == null ? null : timestamp.toInstant();
+    }
 }
@@ -30,4 +30,10 @@ public class LocalDateTimeTypeHandler implements TypeHandler<LocalDateTime> {
         Timestamp timestamp = rs.getTimestamp(columnName);
         return timestamp == null ? null : timestamp.toLocalDateTime();
     }
+
+    @Override
+    public LocalDateTime getResult(ResultSet rs, int columnIndex) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(columnIndex);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
 }
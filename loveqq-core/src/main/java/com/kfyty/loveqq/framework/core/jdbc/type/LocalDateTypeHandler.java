@@ -30,4 +30,10 @@ public class LocalDateTypeHandler implements TypeHandler<LocalDate> {
         Date date = rs.getDate(columnName);
         return date == null ? null : date.toLocalDate();
     }
+
+    @Override
+    public LocalDate getResult(ResultSet rs, int columnIndex) throws SQLException {
+        Date date = rs.getDate(columnIndex);
+        return date == null ? null : date.toLocalDate();
+    }
 }
@@ -30,4 +30,10 @@ public class LocalTimeTypeHandler implements TypeHandler<LocalTime> {
         Time time = rs.getTime(columnName);
         return time == null ? null : time.toLocalTime();
     }
+
+    @Override
+    public LocalTime getResult(ResultSet rs, int columnIndex) throws SQLException {
+        Time time = rs.getTime(columnIndex);
+        return time == null ? null : time.toLocalTime();
+    }
 }
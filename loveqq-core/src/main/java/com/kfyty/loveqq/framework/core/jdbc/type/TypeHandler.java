@@ -22,4 +22,16 @@ public interface TypeHandler<T> {
     void setParameter(PreparedStatement ps, int i, T parameter) throws SQLException;
 
     T getResult(ResultSet rs, String columnName) throws SQLException;
+
+    /**
+     * 根据列索引获取结果，避免驱动按列名查找列
+     * 默认实现转换为列名获取，内置的类型处理器均已覆盖
+     *
+     * @param rs          结果集
+     * @param columnIndex 列索引，从 1 开始
+     * @return 结果
+     */
+    default T getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return this.getResult(rs, rs.getMetaData().getColumnLabel(columnIndex));
+    }
 }
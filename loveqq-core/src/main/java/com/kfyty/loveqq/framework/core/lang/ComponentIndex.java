@@ -0,0 +1,152 @@
+package com.kfyty.loveqq.framework.core.lang;
+
+import com.kfyty.loveqq.framework.core.lang.task.BuildComponentIndexAntTask;
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import static com.kfyty.loveqq.framework.core.support.BootLauncher.META_INFO_LOCATION;
+
+/**
+ * 描述: 组件索引
+ * <p>
+ * 由 {@link BuildComponentIndexAntTask} 在构建时生成，仅记录 class 名称，不包含 bean 名称、作用域、条件等元数据。
+ * 索引在打包前生成，加载时直接信任，不再遍历 jar 条目校验，因此需要在全部 class 生成(织入、生成源码等)之后构建索引。
+ * 多个模块合并为一个 jar 时仅保留一个索引，此时索引中不存在的包回退到遍历 jar 的条目；同一个包分布在多个模块时仍需忽略索引。
+ * 仅读取 jar 内的索引，开发集成环境的 class 目录可能在索引生成后重新编译，因此始终实时扫描
+ *
+ * @author kfyty725
+ * @date 2024/12/30 10:20
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public abstract class ComponentIndex {
+    /**
+     * 组件索引文件名称
+     */
+    public static final String COMPONENT_INDEX_FILE_NAME = "component.idx";
+
+    /**
+     * 组件索引文件位置
+     */
+    public static final String COMPONENT_INDEX_LOCATION = META_INFO_LOCATION + "/" + COMPONENT_INDEX_FILE_NAME;
+
+    /**
+     * 组件索引缓存，key: jar 根路径，eg: jar:file:/demo.jar!/
+     * 不存在索引时，value 为 {@link Collections#emptySet()}
+     */
+    private static final Map<String, Set<String>> COMPONENT_INDEX_CACHE = new WeakConcurrentHashMap<>(4);
+
+    /**
+     * 从索引中获取包下的 class 名称
+     *
+     * @param url         包资源 url，eg: jar:file:/demo.jar!/com/kfyty/demo
+     * @param basePackage 包名，eg: com.kfyty.demo
+     * @return class 名称，不存在索引或者索引中不存在该包时返回 null
+     */
+    public static Set<String> getClassNames(URL url, String basePackage) {
+        if (ConstantConfig.COMPONENT_INDEX_IGNORE || basePackage.isEmpty() || !"jar".equalsIgnoreCase(url.getProtocol())) {
+            return null;
+        }
+        String root = resolveRoot(url.toExternalForm(), basePackage.replace('.', '/'));
+        if (root == null) {
+            return null;
+        }
+        Set<String> index = COMPONENT_INDEX_CACHE.computeIfAbsent(root, ComponentIndex::loadComponentIndex);
+        if (index.isEmpty()) {
+            return null;
+        }
+        String prefix = basePackage + '.';
+        Set<String> classes = new HashSet<>();
+        for (String className : index) {
+            if (className.startsWith(prefix)) {
+                classes.add(className);
+            }
+        }
+        return classes.isEmpty() ? null : classes;
+    }
+
+    /**
+     * 读取组件索引
+     *
+     * @param index 组件索引数据流
+     * @return class 名称
+     */
+    public static Set<String> readComponentIndex(InputStream index) throws IOException {
+        String line = null;
+        Set<String> classes = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8))) {
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    classes.add(line);
+                }
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 是否是需要索引的 class 条目
+     *
+     * @param classPath class 路径，eg: com/kfyty/demo/A.class
+     * @return true if indexed
+     */
+    public static boolean isIndexedClass(String classPath) {
+        return classPath.endsWith(".class") && !classPath.startsWith(META_INFO_LOCATION + "/") && !classPath.endsWith("module-info.class") && !classPath.endsWith("package-info.class");
+    }
+
+    /**
+     * 解析包资源 url 所在的根路径
+     *
+     * @param url         包资源 url
+     * @param packagePath 包路径，eg: com/kfyty/demo
+     * @return 根路径，eg: jar:file:/demo.jar!/
+     */
+    protected static String resolveRoot(String url, String packagePath) {
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        if (!url.endsWith(packagePath)) {
+            return null;
+        }
+        String root = url.substring(0, url.length() - packagePath.length());
+        return root.endsWith("!/") ? root : null;
+    }
+
+    /**
+     * 读取 jar 内的索引，使用缓存的 jar，与扫描时共享，因此不能关闭
+     *
+     * @param root jar 根路径
+     * @return class 名称
+     */
+    @SuppressWarnings("deprecation")
+    private static Set<String> loadComponentIndex(String root) {
+        try {
+            JarFile jarFile = ((JarURLConnection) new URL(root).openConnection()).getJarFile();
+            JarEntry entry = jarFile.getJarEntry(COMPONENT_INDEX_LOCATION);
+            if (entry == null) {
+                return Collections.emptySet();
+            }
+            try (InputStream index = jarFile.getInputStream(entry)) {
+                Set<String> classes = readComponentIndex(index);
+                log.debug("Load component index from: {}, size: {}", root, classes.size());
+                return classes;
+            }
+        } catch (IOException e) {
+            return Collections.emptySet();
+        }
+    }
+}
@@ -27,11 +27,33 @@ public interface ConstantConfig {
      */
     String[] JAVA_SYSTEM_RESOURCES = Optional.ofNullable(System.getProperty("k.java.system.resources")).map(e -> e.split(";")).orElse(new String[0]);
 
+    /**
+     * {@link JarIndexClassLoader} 加载过的 class 列表输出文件，设置后在 jvm 退出时写入，每行一个 class，eg: com/kfyty/demo/Main
+     * 可作为 -XX:SharedClassListFile 的输入生成 AppCDS 归档
+     */
+    String CLASS_LIST_OUTPUT = System.getProperty("k.class-list.output");
+
     /**
      * {@link com.kfyty.loveqq.framework.core.utils.ClassLoaderUtil#resolveClassPath(ClassLoader)} 时，是否读取 jar 内的 Class-Path 属性
      */
     boolean LOAD_JAR_CLASS_PATH = Boolean.parseBoolean(System.getProperty("k.dependency.load-jar-class-path", "false"));
 
+    /**
+     * 是否忽略构建时生成的组件索引，忽略时扫描包将遍历 jar 的全部条目
+     */
+    boolean COMPONENT_INDEX_IGNORE = Boolean.parseBoolean(System.getProperty("k.component.index.ignore", "false"));
+
+    /**
+     * 扫描组件时是否仅加载存在注解的 class，开启后加载前先基于 asm 读取字节码过滤掉没有任何注解的 class
+     * 此时没有注解的 class 不会被 {@link com.kfyty.loveqq.framework.core.autoconfig.annotation.ComponentFilter} 等匹配为组件
+     */
+    boolean SCAN_ANNOTATED_ONLY = Boolean.parseBoolean(System.getProperty("k.scan.annotated-only", "false"));
+
+    /**
+     * 是否基于 asm 生成方法调用器，关闭时使用反射调用
+     */
+    boolean GENERATE_METHOD_INVOKER = Boolean.parseBoolean(System.getProperty("k.method.invoker.generate", "true"));
+
     /**
      * 嵌套注解解析深度
      */
@@ -58,7 +80,7 @@ public interface ConstantConfig {
     String LAZY_INIT_KEY = "k.application.lazy-init";
 
     /**
-     * 应用是否并行初始化，true 时将使用线程池初始化所有的单例 bean
+     * 应用是否并行初始化，true 时将根据依赖关系使用 fork-join 线程池并行初始化单例 bean
      */
     String CONCURRENT_INIT_KEY = "k.application.concurrent-init";
 
@@ -6,6 +6,7 @@ import com.kfyty.loveqq.framework.core.utils.IOUtil;
 import com.kfyty.loveqq.framework.core.utils.PathUtil;
 import lombok.Getter;
 import lombok.SneakyThrows;
+import lombok.extern.java.Log;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -14,36 +15,64 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLStreamHandlerFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.CodeSigner;
 import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
 
+import static com.kfyty.loveqq.framework.core.lang.ConstantConfig.CLASS_LIST_OUTPUT;
 import static com.kfyty.loveqq.framework.core.lang.ConstantConfig.DEPENDENCY_CHECK;
 import static com.kfyty.loveqq.framework.core.lang.ConstantConfig.JAVA_SYSTEM_RESOURCES;
 import static com.kfyty.loveqq.framework.core.utils.IOUtil.newNestedJarURL;
 
 /**
  * 描述: 支持 jar 索引的类加载器
+ * <p>
+ * 打开的 jar 文件会缓存复用，jar 内条目的查找直接使用 {@link JarFile} 已读取的中央目录，类加载器关闭时统一关闭；
+ * 设置 {@link ConstantConfig#CLASS_LIST_OUTPUT} 时，会在 jvm 退出时输出全部实例加载过的 class 列表，可用于生成 AppCDS 归档；
+ * 类加载器先于日志框架加载，因此使用 jdk 日志
  *
  * @author kfyty725
  * @date 2023/3/15 19:59
  * @email kfyty725@hotmail.com
  */
+@Log
 @Getter
 public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
+    /**
+     * 全部实例加载过的 class 列表，仅设置 {@link ConstantConfig#CLASS_LIST_OUTPUT} 时记录，jvm 退出时由同一个钩子写入
+     */
+    private static final Queue<String> LOADED_CLASS_LIST = CLASS_LIST_OUTPUT == null ? null : registerClassListWriter(new ConcurrentLinkedQueue<>());
+
     /**
      * jar index
      */
     protected final JarIndex jarIndex;
 
+    /**
+     * 已打开的 jar 文件，key: jar 文件绝对路径
+     */
+    protected final Map<String, JarFile> openedJarFiles;
+
+    /**
+     * ide 集成环境下的 class 目录，jar index 变更后重建
+     */
+    protected volatile Map<File, URL> explodedDirectories;
+
     public JarIndexClassLoader(JarIndex jarIndex, ClassLoader parent) {
         this(jarIndex, new URL[0], parent);
     }
@@ -51,11 +80,13 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
     public JarIndexClassLoader(JarIndex jarIndex, URL[] urls, ClassLoader parent) {
         super(urls, parent);
         this.jarIndex = jarIndex;
+        this.openedJarFiles = new ConcurrentHashMap<>();
     }
 
     public JarIndexClassLoader(JarIndex jarIndex, URL[] urls, ClassLoader parent, URLStreamHandlerFactory factory) {
         super(urls, parent, factory);
         this.jarIndex = jarIndex;
+        this.openedJarFiles = new ConcurrentHashMap<>();
     }
 
     /**
@@ -102,6 +133,7 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
      */
     public void addJarIndex(List<JarFile> jarFiles) {
         this.jarIndex.addJarIndex(jarFiles);
+        this.explodedDirectories = null;
     }
 
     /**
@@ -122,6 +154,7 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
      */
     public void addJarIndexMapping(String packageName, String jarFilePath) {
         this.jarIndex.addJarIndex(packageName, jarFilePath);
+        this.explodedDirectories = null;
     }
 
     /**
@@ -168,10 +201,8 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
         }
         try {
             for (String jarFile : jarFiles) {
-                try (JarFile file = IOUtil.newJarFile(jarFile)) {
-                    if (file.getJarEntry(name) != null) {
-                        return newNestedJarURL(jarFile, name);
-                    }
+                if (this.obtainJarFile(jarFile).getJarEntry(name) != null) {
+                    return newNestedJarURL(jarFile, name);
                 }
             }
             return null;
@@ -264,17 +295,19 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
     protected Class<?> findJarClass(String name, List<String> jarFiles) throws ClassNotFoundException {
         String jarClassPath = name.replace('.', '/') + ".class";
         for (Iterator<String> i = jarFiles.iterator(); i.hasNext(); ) {
-            JarFile jarFile = new JarFile(i.next());
-            try (InputStream inputStream = jarFile.getInputStream(new JarEntry(jarClassPath))) {
-                if (inputStream != null) {
-                    if (DEPENDENCY_CHECK && i.hasNext()) {
-                        this.logMatchedMoreJarFiles(jarClassPath, jarFile, jarFiles);
-                    }
-                    URL jarURL = this.jarIndex.getJarURL(jarFile);
-                    byte[] classBytes = this.transform(name, this.read(inputStream));
-                    this.definePackageIfNecessary(name, jarURL, jarFile.getManifest());
-                    return super.defineClass(name, classBytes, 0, classBytes.length, new CodeSource(jarURL, (CodeSigner[]) null));
+            JarFile jarFile = this.obtainJarFile(i.next());
+            JarEntry jarEntry = jarFile.getJarEntry(jarClassPath);
+            if (jarEntry == null) {
+                continue;
+            }
+            try (InputStream inputStream = jarFile.getInputStream(jarEntry)) {
+                if (DEPENDENCY_CHECK && i.hasNext()) {
+                    this.logMatchedMoreJarFiles(jarClassPath, jarFile, jarFiles);
                 }
+                URL jarURL = this.jarIndex.getJarURL(jarFile);
+                byte[] classBytes = this.transform(name, this.read(inputStream, (int) jarEntry.getSize()));
+                this.definePackageIfNecessary(name, jarURL, jarFile.getManifest());
+                return this.defineClass(name, classBytes, new CodeSource(jarURL, (CodeSigner[]) null));
             }
         }
         return null;
@@ -296,9 +329,9 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
             if (classFile.exists()) {
                 try (InputStream inputStream = new FileInputStream(classFile)) {
                     URL classURL = Paths.get(this.jarIndex.getMainJarPath()).toUri().toURL();
-                    byte[] classBytes = this.transform(name, this.read(inputStream));
+                    byte[] classBytes = this.transform(name, this.read(inputStream, (int) classFile.length()));
                     this.definePackageIfNecessary(name, classURL, new Manifest());
-                    return super.defineClass(name, classBytes, 0, classBytes.length, new CodeSource(classURL, (CodeSigner[]) null));
+                    return this.defineClass(name, classBytes, new CodeSource(classURL, (CodeSigner[]) null));
                 }
             }
         }
@@ -312,17 +345,102 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
      * @return 资源所在的 url
      */
     protected List<URL> findExplodedResources(String resources) {
-        List<URL> urls = new ArrayList<>();
-        for (URL url : this.getURLs()) {
-            if (!url.getFile().endsWith(".jar")) {
-                if (new File(PathUtil.getPath(url).toString(), resources).exists()) {
-                    urls.add(url);
-                }
+        List<URL> urls = new ArrayList<>(1);
+        for (Map.Entry<File, URL> entry : this.obtainExplodedDirectories().entrySet()) {
+            if (new File(entry.getKey(), resources).exists()) {
+                urls.add(entry.getValue());
             }
         }
         return urls;
     }
 
+    /**
+     * 获取 ide 集成环境下的 class 目录
+     *
+     * @return key: class 目录，value: 目录 url
+     */
+    protected Map<File, URL> obtainExplodedDirectories() {
+        Map<File, URL> directories = this.explodedDirectories;
+        if (directories == null) {
+            directories = new LinkedHashMap<>();
+            for (URL url : this.getURLs()) {
+                if (!url.getFile().endsWith(".jar")) {
+                    directories.put(PathUtil.getPath(url).toFile(), url);
+                }
+            }
+            this.explodedDirectories = directories;
+        }
+        return directories;
+    }
+
+    /**
+     * 获取已打开的 jar 文件，不存在时打开并缓存
+     *
+     * @param jarFilePath jar 文件绝对路径
+     * @return jar 文件
+     */
+    protected JarFile obtainJarFile(String jarFilePath) throws IOException {
+        JarFile jarFile = this.openedJarFiles.get(jarFilePath);
+        if (jarFile != null) {
+            return jarFile;
+        }
+        JarFile opened = new JarFile(jarFilePath);
+        JarFile exists = this.openedJarFiles.putIfAbsent(jarFilePath, opened);
+        if (exists != null) {
+            opened.close();
+            return exists;
+        }
+        return opened;
+    }
+
+    /**
+     * 定义 class，并记录到 class 列表
+     *
+     * @param name       class name
+     * @param classBytes class 字节码
+     * @param codeSource class 来源
+     * @return class
+     */
+    protected Class<?> defineClass(String name, byte[] classBytes, CodeSource codeSource) {
+        Class<?> clazz = super.defineClass(name, classBytes, 0, classBytes.length, codeSource);
+        if (LOADED_CLASS_LIST != null) {
+            LOADED_CLASS_LIST.add(name.replace('.', '/'));
+        }
+        return clazz;
+    }
+
+    /**
+     * 关闭类加载器，同时关闭已打开的 jar 文件
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            for (JarFile jarFile : this.openedJarFiles.values()) {
+                jarFile.close();
+            }
+            this.openedJarFiles.clear();
+        }
+    }
+
+    /**
+     * 注册 jvm 退出时写入 {@link ConstantConfig#CLASS_LIST_OUTPUT} 的钩子，全部实例共享，因此只注册一次
+     *
+     * @param classList class 列表
+     * @return class 列表
+     */
+    private static Queue<String> registerClassListWriter(Queue<String> classList) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                Files.write(Paths.get(CLASS_LIST_OUTPUT), classList, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                log.warning("Write class list failed: " + e.getMessage());
+            }
+        }, "class-list-writer"));
+        return classList;
+    }
+
     /**
      * class 存在于多个 jar file 时，打印警告日志
      * 因为可能因此出现运行异常的情况
@@ -336,20 +454,19 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
         boolean matchedMore = false;
         StringBuilder builder = new StringBuilder("More than one jar file found of class: " + name);
         for (String jarPath : jarFiles) {
-            try (JarFile jarFile = new JarFile(jarPath)) {
-                if (jarFile.getJarEntry(name) != null) {
-                    boolean same = jarFile.getName().equals(usedJarFile.getName());
-                    builder.append("\r\n    at: [")
-                            .append(jarFile.getName())
-                            .append(same ? "]" : "] was used.");
-                    if (!same) {
-                        matchedMore = true;
-                    }
+            JarFile jarFile = this.obtainJarFile(jarPath);
+            if (jarFile.getJarEntry(name) != null) {
+                boolean same = jarFile.getName().equals(usedJarFile.getName());
+                builder.append("\r\n    at: [")
+                        .append(jarFile.getName())
+                        .append(same ? "]" : "] was used.");
+                if (!same) {
+                    matchedMore = true;
                 }
             }
         }
         if (matchedMore) {
-            System.err.println(builder);
+            log.warning(builder.toString());
         }
     }
 
@@ -381,6 +498,30 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
      * @return 字节数组
      */
     protected byte[] read(InputStream in) throws IOException {
+        return this.read(in, in.available());
+    }
+
+    /**
+     * 读取数据到字节数组
+     *
+     * @param in   输入流
+     * @param size 预期大小，未知时小于等于 0
+     * @return 字节数组
+     */
+    protected byte[] read(InputStream in, int size) throws IOException {
+        if (size > 0) {
+            byte[] bytes = in.readNBytes(size);
+            int next = in.read();
+            if (next == -1) {
+                return bytes;
+            }
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream(size << 1)) {
+                out.write(bytes);
+                out.write(next);
+                in.transferTo(out);
+                return out.toByteArray();
+            }
+        }
         int n = -1;
         byte[] buffer = new byte[Math.max(4096, in.available())];
         try (ByteArrayOutputStream out = new ByteArrayOutputStream(in.available())) {
@@ -0,0 +1,92 @@
+package com.kfyty.loveqq.framework.core.lang.task;
+
+import com.kfyty.loveqq.framework.core.lang.ComponentIndex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.loadCommandLineProperties;
+
+/**
+ * 描述: 构建组件索引 ant 任务
+ * <p>
+ * 在 class 编译完成之后、打包之前执行，将 class 输出目录下的全部 class 名称写入 {@link ComponentIndex#COMPONENT_INDEX_LOCATION}，
+ * 打包后扫描该 jar 时直接读取索引，因此需要在全部 class 生成之后执行
+ *
+ * @author kfyty725
+ * @date 2024/12/30 10:05
+ * @email kfyty725@hotmail.com
+ */
+public class BuildComponentIndexAntTask {
+    /**
+     * 项目 class 输出目录
+     */
+    public static final String OUTPUT_DIRECTORY = "OUTPUT_DIRECTORY";
+
+    /**
+     * 由 maven-antrun-plugin 调用
+     *
+     * @param args 由 maven-antrun-plugin 传参
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> properties = loadCommandLineProperties(args, "-");
+        File directory = new File(properties.get(OUTPUT_DIRECTORY));
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException("The OUTPUT_DIRECTORY parameter error, it must be the classes directory: " + directory);
+        }
+        Set<String> classes = scanComponentIndex(directory.toPath());
+        writeComponentIndex(buildComponentIndex(classes), directory.toPath());
+        System.out.println("[INFO] Build component index succeed, size: " + classes.size());
+    }
+
+    /**
+     * 扫描 class 输出目录下的全部 class 名称
+     *
+     * @param directory class 输出目录
+     * @return class 名称
+     */
+    public static Set<String> scanComponentIndex(Path directory) throws IOException {
+        Set<String> classes = new TreeSet<>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile).forEach(path -> {
+                String classPath = directory.relativize(path).toString().replace(File.separatorChar, '/');
+                if (ComponentIndex.isIndexedClass(classPath)) {
+                    classes.add(classPath.substring(0, classPath.length() - 6).replace('/', '.'));
+                }
+            });
+        }
+        return classes;
+    }
+
+    /**
+     * 构建 component.idx 索引文件
+     *
+     * @param classes class 名称
+     * @return component.idx
+     */
+    public static String buildComponentIndex(Set<String> classes) {
+        StringBuilder index = new StringBuilder();
+        classes.forEach(e -> index.append(e).append("\r\n"));
+        return index.toString();
+    }
+
+    /**
+     * 写入 component.idx 文件到 class 输出目录
+     *
+     * @param componentIndex component.idx
+     * @param directory      class 输出目录
+     * @return 索引文件
+     */
+    public static Path writeComponentIndex(String componentIndex, Path directory) throws IOException {
+        Path target = directory.resolve(ComponentIndex.COMPONENT_INDEX_LOCATION);
+        Files.createDirectories(target.getParent());
+        return Files.write(target, componentIndex.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,47 @@
+package com.kfyty.loveqq.framework.core.method;
+
+import com.kfyty.loveqq.framework.core.lang.ConstantConfig;
+import com.kfyty.loveqq.framework.core.utils.AsmUtil;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+
+/**
+ * 描述: 方法调用器
+ * 默认基于 asm 生成直接调用目标方法的字节码，生成失败或无访问权限时回退到反射调用，生成时的错误（如 {@link LinkageError}）不会回退
+ *
+ * @author kfyty725
+ * @date 2024/12/22 10:15
+ * @email kfyty725@hotmail.com
+ */
+public interface MethodInvoker {
+    /**
+     * 调用方法
+     * 直接抛出目标方法的原始异常，而不是 {@link java.lang.reflect.InvocationTargetException}
+     *
+     * @param target 目标对象，静态方法时可为 null
+     * @param args   方法参数
+     * @return 返回值，void 方法返回 null
+     */
+    Object invoke(Object target, Object[] args) throws Throwable;
+
+    /**
+     * 创建方法调用器
+     *
+     * @param method 方法
+     * @return 方法调用器
+     */
+    static MethodInvoker create(Method method) {
+        if (ConstantConfig.GENERATE_METHOD_INVOKER) {
+            try {
+                MethodInvoker invoker = AsmUtil.generateMethodInvoker(method);
+                if (invoker != null) {
+                    return invoker;
+                }
+            } catch (Exception e) {
+                LoggerFactory.getLogger(MethodInvoker.class).debug("Generate method invoker failed, fallback to reflect invoker: {}", method, e);
+            }
+        }
+        return new ReflectMethodInvoker(method);
+    }
+}
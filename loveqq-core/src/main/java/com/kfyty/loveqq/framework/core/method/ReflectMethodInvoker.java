@@ -0,0 +1,36 @@
+package com.kfyty.loveqq.framework.core.method;
+
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.Getter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 描述: 基于反射的方法调用器
+ *
+ * @author kfyty725
+ * @date 2024/12/22 10:15
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class ReflectMethodInvoker implements MethodInvoker {
+    /**
+     * 目标方法
+     */
+    private final Method method;
+
+    public ReflectMethodInvoker(Method method) {
+        this.method = method;
+        ReflectUtil.makeAccessible(method);
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws Throwable {
+        try {
+            return this.method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -2,16 +2,24 @@ package com.kfyty.loveqq.framework.core.proxy;
 
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Order;
 import com.kfyty.loveqq.framework.core.autoconfig.internal.InternalPriority;
+import com.kfyty.loveqq.framework.core.utils.AopUtil;
 import com.kfyty.loveqq.framework.core.utils.BeanUtil;
 import lombok.Getter;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 描述: 方法拦截链
+ * <p>
+ * 每个方法适用的拦截点在首次调用时通过 {@link MethodInterceptorChainPoint#isApplicable(Method)} 解析，并缓存为不可变数组，
+ * 拦截点变更时清空缓存；每次调用仅创建一个共享该数组的拦截链，没有适用的拦截点时直接调用目标方法
  *
  * @author kfyty725
  * @date 2021/6/19 11:10
@@ -26,6 +34,11 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
             .thenComparing(BeanUtil::getBeanOrder)
             .thenComparing(e -> e.getClass().getName());
 
+    /**
+     * 空拦截点
+     */
+    private static final MethodInterceptorChainPoint[] EMPTY_CHAIN_POINTS = new MethodInterceptorChainPoint[0];
+
     /**
      * 当前正在拦截中的代理链
      * 主要为 {@link com.kfyty.loveqq.framework.core.autoconfig.annotation.Configuration} 的自调用，且代理模式实现提供支持
@@ -51,20 +64,45 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
     private MethodInterceptorChain prevChain;
 
     /**
-     * 代理链
+     * 代理链，由方法调用创建的拦截链首次修改时才创建
+     */
+    private List<MethodInterceptorChainPoint> chainPoints;
+
+    /**
+     * 代理链快照，代理链修改后重建
      */
-    private final List<MethodInterceptorChainPoint> chainPoints;
+    private volatile MethodInterceptorChainPoint[] chainPointArray;
+
+    /**
+     * 方法适用的拦截点缓存，代理链修改后清空
+     */
+    private final Map<Method, MethodInterceptorChainPoint[]> methodChainPoints;
 
     public MethodInterceptorChain(Object source) {
-        super(source);
-        this.currentChainIndex = -1;
-        this.chainPoints = new ArrayList<>(4);
+        this(source, new ArrayList<>(4), null);
     }
 
     public MethodInterceptorChain(Object source, List<MethodInterceptorChainPoint> chainPoints) {
+        this(source, new ArrayList<>(chainPoints), null);
+    }
+
+    /**
+     * 轻量的拦截链，直接使用给定的拦截点数组，不复制且不缓存方法适用的拦截点
+     * 用于方法调用时创建的拦截链以及 aop 子链，调用方不能再修改该数组
+     *
+     * @param source          代理目标
+     * @param chainPointArray 适用的拦截点
+     */
+    public MethodInterceptorChain(Object source, MethodInterceptorChainPoint[] chainPointArray) {
+        this(source, null, chainPointArray);
+    }
+
+    private MethodInterceptorChain(Object source, List<MethodInterceptorChainPoint> chainPoints, MethodInterceptorChainPoint[] chainPointArray) {
         super(source);
         this.currentChainIndex = -1;
-        this.chainPoints = new ArrayList<>(chainPoints);
+        this.chainPoints = chainPoints;
+        this.chainPointArray = chainPointArray;
+        this.methodChainPoints = chainPoints == null ? null : new ConcurrentHashMap<>();
     }
 
     public static MethodInterceptorChain currentChain() {
@@ -72,16 +110,18 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
     }
 
     public List<MethodInterceptorChainPoint> getChainPoints() {
-        return Collections.unmodifiableList(this.chainPoints);
+        return Collections.unmodifiableList(Arrays.asList(this.obtainChainPoints()));
     }
 
     public MethodInterceptorChain addInterceptorPoint(MethodInterceptorChainPoint chainPoint) {
-        this.chainPoints.add(chainPoint);
+        synchronized (this) {
+            this.modifiableChainPoints().add(chainPoint);
+        }
         return this.sortChain();
     }
 
-    public MethodInterceptorChain addInterceptorPoint(int index, MethodInterceptorChainPoint chainPoint) {
-        this.chainPoints.add(index, chainPoint);
+    public synchronized MethodInterceptorChain addInterceptorPoint(int index, MethodInterceptorChainPoint chainPoint) {
+        this.modifiableChainPoints().add(index, chainPoint);
         return this;
     }
 
@@ -89,14 +129,15 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
         return this.sortChain(METHOD_INTERCEPTOR_CHAIN_POINT_COMPARATOR);
     }
 
-    public MethodInterceptorChain sortChain(Comparator<MethodInterceptorChainPoint> comparator) {
-        this.chainPoints.sort(comparator);
+    public synchronized MethodInterceptorChain sortChain(Comparator<MethodInterceptorChainPoint> comparator) {
+        this.modifiableChainPoints().sort(comparator);
         return this;
     }
 
     @Override
     protected Object invoke(MethodProxy methodProxy) throws Throwable {
-        if (methodProxy.getTargetMethod().getDeclaringClass() == Object.class) {
+        MethodInterceptorChainPoint[] chainPoints = this.obtainChainPoints(methodProxy);
+        if (chainPoints.length == 0) {
             return methodProxy.invoke();
         }
         final MethodInterceptorChain currentChain = currentChain();
@@ -104,7 +145,7 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
             return currentChain.proceed(methodProxy);                                                                   // 该处逻辑只有 @This 以代理模式实现自调用时才会调用
         }
         try {
-            MethodInterceptorChain newCurrentChain = new MethodInterceptorChain(this.getTarget(), this.chainPoints);
+            MethodInterceptorChain newCurrentChain = new MethodInterceptorChain(this.getTarget(), chainPoints);
             newCurrentChain.prevChain = currentChain;
             newCurrentChain.intercepting = methodProxy;
             CURRENT_INTERCEPTOR_CHAIN.set(newCurrentChain);
@@ -115,10 +156,75 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
     }
 
     public Object proceed(MethodProxy methodProxy) throws Throwable {
-        if (++this.currentChainIndex == this.chainPoints.size()) {
+        MethodInterceptorChainPoint[] chainPoints = this.obtainChainPoints();
+        if (++this.currentChainIndex == chainPoints.length) {
             this.currentChainIndex = -1;
             return methodProxy.invoke();
         }
-        return this.chainPoints.get(this.currentChainIndex).proceed(methodProxy, this);
+        return chainPoints[this.currentChainIndex].proceed(methodProxy, this);
+    }
+
+    /**
+     * 获取方法适用的拦截点
+     *
+     * @param methodProxy 方法代理
+     * @return 拦截点
+     */
+    protected MethodInterceptorChainPoint[] obtainChainPoints(MethodProxy methodProxy) {
+        if (this.methodChainPoints == null) {
+            return this.obtainChainPoints();
+        }
+        Method method = methodProxy.getMethod();
+        MethodInterceptorChainPoint[] chainPoints = this.methodChainPoints.get(method);
+        if (chainPoints != null) {
+            return chainPoints;
+        }
+        MethodInterceptorChainPoint[] snapshot = this.obtainChainPoints();
+        Method targetMethod = this.target == null ? method : AopUtil.getTargetMethod(this.target.getClass(), method);
+        if (targetMethod.getDeclaringClass() == Object.class) {
+            chainPoints = EMPTY_CHAIN_POINTS;
+        } else {
+            chainPoints = Arrays.stream(snapshot).filter(e -> e.isApplicable(targetMethod)).toArray(MethodInterceptorChainPoint[]::new);
+        }
+        synchronized (this) {
+            if (this.chainPointArray == snapshot) {
+                this.methodChainPoints.put(method, chainPoints);                                                        // 解析期间代理链未修改才缓存
+            }
+        }
+        return chainPoints;
+    }
+
+    /**
+     * 获取代理链快照
+     *
+     * @return 代理链快照
+     */
+    protected MethodInterceptorChainPoint[] obtainChainPoints() {
+        MethodInterceptorChainPoint[] chainPoints = this.chainPointArray;
+        if (chainPoints != null) {
+            return chainPoints;
+        }
+        synchronized (this) {
+            if (this.chainPointArray == null) {
+                this.chainPointArray = this.chainPoints.toArray(EMPTY_CHAIN_POINTS);
+            }
+            return this.chainPointArray;
+        }
+    }
+
+    /**
+     * 获取可修改的代理链，并清空快照及方法拦截点缓存，需持有锁
+     *
+     * @return 代理链
+     */
+    private List<MethodInterceptorChainPoint> modifiableChainPoints() {
+        if (this.chainPoints == null) {
+            this.chainPoints = new ArrayList<>(Arrays.asList(this.chainPointArray));
+        }
+        this.chainPointArray = null;
+        if (this.methodChainPoints != null) {
+            this.methodChainPoints.clear();
+        }
+        return this.chainPoints;
     }
 }
@@ -1,5 +1,7 @@
 package com.kfyty.loveqq.framework.core.proxy;
 
+import java.lang.reflect.Method;
+
 /**
  * 描述: 方法拦截链节点
  *
@@ -8,5 +10,23 @@ package com.kfyty.loveqq.framework.core.proxy;
  * @email kfyty725@hotmail.com
  */
 public interface MethodInterceptorChainPoint {
+    /**
+     * 是否适用于给定的方法，返回 false 时，调用该方法将不再经过该节点
+     * <p>
+     * {@link MethodInterceptorChain} 在方法首次调用时判断，并按方法缓存结果，直到拦截链的拦截点发生变更，因此:
+     * <ul>
+     *     <li>结果只能依赖方法本身，eg: 注解、签名、声明类；不能依赖调用参数、线程上下文、可刷新的配置等调用时状态</li>
+     *     <li>依赖调用时状态的节点应返回 true，并在 {@link #proceed(MethodProxy, MethodInterceptorChain)} 中判断，不适用时直接调用 {@link MethodInterceptorChain#proceed(MethodProxy)}</li>
+     *     <li>可能被多个线程同时调用，实现需要是线程安全的</li>
+     *     <li>{@link Object} 中声明的方法不经过任何节点，也不会调用该方法</li>
+     * </ul>
+     *
+     * @param method 代理目标中声明的方法
+     * @return true if applicable
+     */
+    default boolean isApplicable(Method method) {
+        return true;
+    }
+
     Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable;
 }
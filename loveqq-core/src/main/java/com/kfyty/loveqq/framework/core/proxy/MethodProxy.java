@@ -3,7 +3,9 @@ package com.kfyty.loveqq.framework.core.proxy;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.meta.This;
 import com.kfyty.loveqq.framework.core.utils.AopUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
 import java.lang.reflect.Method;
 import java.util.Objects;
@@ -51,6 +53,12 @@ public class MethodProxy {
      */
     private boolean shouldInvokeSuper;
 
+    /**
+     * 代理目标中声明的方法，首次获取时解析，设置执行目标后重新解析
+     */
+    @Setter(AccessLevel.NONE)
+    private Method targetMethod;
+
     public MethodProxy(Object target, Object proxy, Method method, Object[] args) {
         this(target, proxy, method, args, null);
     }
@@ -92,6 +100,7 @@ public class MethodProxy {
      */
     public void setTarget(Object target) {
         this.target = target;
+        this.targetMethod = null;
         this.shouldInvokeSuper = this.initShouldInvokeSuper(target, this.methodProxy);
     }
 
@@ -129,7 +138,13 @@ public class MethodProxy {
      * @return 代理目标中声明的方法
      */
     public Method getTargetMethod() {
-        return this.target == null ? this.method : AopUtil.getTargetMethod(this.target.getClass(), this.method);
+        if (this.target == null) {
+            return this.method;
+        }
+        if (this.targetMethod == null) {
+            this.targetMethod = AopUtil.getTargetMethod(this.target.getClass(), this.method);
+        }
+        return this.targetMethod;
     }
 
     /**
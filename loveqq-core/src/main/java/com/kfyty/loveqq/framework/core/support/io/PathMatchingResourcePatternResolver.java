@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 
 import static com.kfyty.loveqq.framework.core.utils.ClassLoaderUtil.classLoader;
 
@@ -45,18 +46,23 @@ public class PathMatchingResourcePatternResolver {
         this(urls, new AntPathMatcher());
     }
 
+    /**
+     * 查找资源，每个 jar/文件夹作为一个任务并行查找
+     *
+     * @param pattern 资源路径表达式
+     * @return 资源
+     */
     public Set<URL> findResources(String pattern) {
-        try {
-            Set<URL> urls = this.obtainURL();
-            Set<URL> resources = new HashSet<>();
-            for (URL url : urls) {
-                if (url.getFile().endsWith(".jar")) {
-                    resources.addAll(this.findResourcesByJar(new JarFile(url.getFile().replace("%20", " ")), pattern));
-                } else {
-                    resources.addAll(this.findResourcesByFile(url, pattern));
-                }
-            }
-            return resources;
+        Set<URL> urls = this.obtainURL();
+        return urls.parallelStream().flatMap(url -> this.findResources(url, pattern).stream()).collect(Collectors.toSet());
+    }
+
+    public Set<URL> findResources(URL url, String pattern) {
+        if (!url.getFile().endsWith(".jar")) {
+            return this.findResourcesByFile(url, pattern);
+        }
+        try (JarFile jarFile = new JarFile(url.getFile().replace("%20", " "))) {
+            return this.findResourcesByJar(jarFile, pattern);
         } catch (IOException e) {
             throw ExceptionUtil.wrap(e);
         }
@@ -64,9 +70,13 @@ public class PathMatchingResourcePatternResolver {
 
     public Set<URL> findResourcesByJar(JarFile jarFile, String pattern) {
         Set<URL> resources = new HashSet<>();
+        String prefix = resolvePatternPrefix(pattern);
         Enumeration<JarEntry> entries = jarFile.entries();
         while (entries.hasMoreElements()) {
             JarEntry jarEntry = entries.nextElement();
+            if (!jarEntry.getName().startsWith(prefix)) {
+                continue;
+            }
             if (this.patternMatcher.matches(pattern, jarEntry.getName())) {
                 resources.add(IOUtil.newNestedJarURL(jarFile, jarEntry.getName()));
             }
@@ -100,6 +110,25 @@ public class PathMatchingResourcePatternResolver {
         }
     }
 
+    /**
+     * 解析表达式中第一个通配符之前的固定前缀，用于在路径匹配之前快速过滤 jar 条目
+     *
+     * @param pattern 资源路径表达式，eg: com/kfyty/**
+     * @return 固定前缀，eg: com/kfyty/
+     */
+    protected static String resolvePatternPrefix(String pattern) {
+        if (pattern.isEmpty() || pattern.charAt(0) == '/') {
+            return "";
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return pattern.substring(0, i);
+            }
+        }
+        return pattern;
+    }
+
     protected Set<URL> obtainURL() {
         if (!this.loaded) {
             synchronized (this) {
@@ -1,16 +1,22 @@
 package com.kfyty.loveqq.framework.core.utils;
 
 import com.kfyty.loveqq.framework.core.exception.ResolvableException;
+import com.kfyty.loveqq.framework.core.method.MethodInvoker;
 import com.kfyty.loveqq.framework.core.support.Pair;
 import lombok.SneakyThrows;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.Collection;
 import java.util.LinkedList;
@@ -105,6 +111,134 @@ public abstract class AsmUtil {
         return container;
     }
 
+    /**
+     * 基于 asm 生成直接调用目标方法的 {@link MethodInvoker}
+     * 生成的类以隐藏类的形式定义在方法声明类所在的包中，因此可访问包私有的类及方法
+     *
+     * @param method 目标方法
+     * @return 方法调用器，目标方法不可访问时返回 null
+     */
+    public static MethodInvoker generateMethodInvoker(Method method) throws ReflectiveOperationException {
+        Class<?> host = method.getDeclaringClass();
+        if (Modifier.isPrivate(method.getModifiers()) || host.isHidden() || !isAccessible(host, host)) {
+            return null;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isAccessible(host, parameterType)) {
+                return null;
+            }
+        }
+
+        String owner = Type.getInternalName(host);
+        String className = owner + "$$MethodInvoker";
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null, "java/lang/Object", new String[]{Type.getInternalName(MethodInvoker.class)});
+
+        MethodVisitor constructor = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;", null, new String[]{"java/lang/Throwable"});
+        mv.visitCode();
+        if (!isStatic) {
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            pushInt(mv, i);
+            mv.visitInsn(Opcodes.AALOAD);
+            unboxOrCast(mv, Type.getType(parameterTypes[i]));
+        }
+        int opcode = isStatic ? Opcodes.INVOKESTATIC : host.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL;
+        mv.visitMethodInsn(opcode, owner, method.getName(), Type.getMethodDescriptor(method), host.isInterface());
+        box(mv, Type.getType(method.getReturnType()));
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(host, MethodHandles.lookup());
+        Class<?> invokerClass = lookup.defineHiddenClass(cw.toByteArray(), true).lookupClass();
+        return (MethodInvoker) invokerClass.getConstructor().newInstance();
+    }
+
+    /**
+     * 返回生成在 host 所在包中的类是否可以访问目标类型
+     */
+    private static boolean isAccessible(Class<?> host, Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive() || Modifier.isPublic(type.getModifiers())) {
+            return true;
+        }
+        return type.getClassLoader() == host.getClassLoader() && type.getPackageName().equals(host.getPackageName());
+    }
+
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value);
+        } else {
+            mv.visitIntInsn(Opcodes.SIPUSH, value);
+        }
+    }
+
+    private static void unboxOrCast(MethodVisitor mv, Type type) {
+        if (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY) {
+            if (!type.getDescriptor().equals("Ljava/lang/Object;")) {
+                mv.visitTypeInsn(Opcodes.CHECKCAST, type.getInternalName());
+            }
+            return;
+        }
+        String wrapper = wrapperInternalName(type);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getClassName() + "Value", "()" + type.getDescriptor(), false);
+    }
+
+    private static void box(MethodVisitor mv, Type type) {
+        if (type.getSort() == Type.VOID) {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+            return;
+        }
+        if (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY) {
+            return;
+        }
+        String wrapper = wrapperInternalName(type);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapper, "valueOf", "(" + type.getDescriptor() + ")L" + wrapper + ";", false);
+    }
+
+    private static String wrapperInternalName(Type type) {
+        switch (type.getSort()) {
+            case Type.BOOLEAN:
+                return "java/lang/Boolean";
+            case Type.CHAR:
+                return "java/lang/Character";
+            case Type.BYTE:
+                return "java/lang/Byte";
+            case Type.SHORT:
+                return "java/lang/Short";
+            case Type.INT:
+                return "java/lang/Integer";
+            case Type.FLOAT:
+                return "java/lang/Float";
+            case Type.LONG:
+                return "java/lang/Long";
+            case Type.DOUBLE:
+                return "java/lang/Double";
+            default:
+                throw new IllegalArgumentException("Not primitive type: " + type);
+        }
+    }
+
     private static class ClassAnnotationNamesClassVisitor extends ClassVisitor {
         private final Collection<String> container;
         private final Predicate<String> breakTest;
@@ -108,7 +108,8 @@ public abstract class IOUtil {
      * @return url
      */
     public static URL newNestedJarURL(String jarFilePath, String resource) {
-        return newURL("jar:file:/" + jarFilePath + "!/" + resource);
+        String prefix = jarFilePath.charAt(0) == '/' ? "jar:file:" : "jar:file:/";                 // unix 绝对路径已经以 / 开头，否则会被解析为 host
+        return newURL(prefix + jarFilePath + "!/" + resource);
     }
 
     /**
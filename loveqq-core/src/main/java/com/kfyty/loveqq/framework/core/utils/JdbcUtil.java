@@ -1,10 +1,14 @@
 package com.kfyty.loveqq.framework.core.utils;
 
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.jdbc.BatchCallback;
 import com.kfyty.loveqq.framework.core.jdbc.JdbcTransaction;
+import com.kfyty.loveqq.framework.core.jdbc.cursor.Cursor;
+import com.kfyty.loveqq.framework.core.jdbc.cursor.DefaultCursor;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
 import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
+import com.kfyty.loveqq.framework.core.support.Pair;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.sql.DataSource;
@@ -12,7 +16,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -41,8 +48,7 @@ public abstract class JdbcUtil {
     }
 
     public static Object query(Transaction transaction, SimpleGeneric returnType, String sql, MethodParameter... params) throws SQLException {
-        Connection connection = transaction.getConnection();
-        try (PreparedStatement preparedStatement = getPreparedStatement(connection, sql, params);
+        try (PreparedStatement preparedStatement = getPreparedStatement(transaction, sql, Statement.NO_GENERATED_KEYS, params);
              ResultSet resultSet = preparedStatement.executeQuery()) {
             Object obj = ResultSetUtil.processObject(resultSet, returnType);
             LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==         total: {} {}", CommonUtil.size(obj), obj == null ? null : obj.getClass()));
@@ -56,6 +62,33 @@ public abstract class JdbcUtil {
         }
     }
 
+    /**
+     * 游标查询，结果逐行映射，游标关闭前一直持有连接
+     *
+     * @param transaction 事务
+     * @param rowType     行类型
+     * @param fetchSize   每次从数据库获取的行数，小于等于 0 时使用驱动默认值
+     * @param sql         SQL
+     * @param params      参数
+     * @return 游标
+     */
+    public static <T> Cursor<T> queryCursor(Transaction transaction, Class<T> rowType, int fetchSize, String sql, MethodParameter... params) throws SQLException {
+        PreparedStatement preparedStatement = null;
+        try {
+            preparedStatement = getPreparedStatement(transaction, sql, Statement.NO_GENERATED_KEYS, params);
+            if (fetchSize > 0) {
+                preparedStatement.setFetchSize(fetchSize);
+            }
+            return new DefaultCursor<>(transaction, preparedStatement, preparedStatement.executeQuery(), rowType);
+        } catch (SQLException e) {
+            IOUtil.close(preparedStatement);
+            transaction.rollback();
+            commitTransactionIfNecessary(transaction);
+            log.error("execute SQL statement error: {} --> parameters: {}", sql, params == null ? null : Arrays.stream(params).map(MethodParameter::getValue).collect(Collectors.toList()));
+            throw e;
+        }
+    }
+
     public static int execute(DataSource dataSource, String sql, Object... params) throws SQLException {
         MethodParameter[] parameters = Arrays.stream(params).map(e -> new MethodParameter(e.getClass(), e)).toArray(MethodParameter[]::new);
         return execute(dataSource, sql, parameters);
@@ -66,8 +99,7 @@ public abstract class JdbcUtil {
     }
 
     public static int execute(Transaction transaction, String sql, MethodParameter... params) throws SQLException {
-        Connection connection = transaction.getConnection();
-        try (PreparedStatement preparedStatement = getPreparedStatement(connection, sql, params)) {
+        try (PreparedStatement preparedStatement = getPreparedStatement(transaction, sql, Statement.NO_GENERATED_KEYS, params)) {
             int updateCount = preparedStatement.executeUpdate();
             LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<== affected rows: {}", updateCount));
             return updateCount;
@@ -80,13 +112,104 @@ public abstract class JdbcUtil {
         }
     }
 
+    /**
+     * 批量执行，相邻且 SQL 相同的语句复用同一个 {@link PreparedStatement}，每 batchSize 条执行一次
+     * 若连接是自动提交的，则执行期间关闭自动提交，全部批次执行成功后统一提交，任意一批失败则全部回滚，最后恢复自动提交
+     *
+     * @param transaction         事务
+     * @param statements          SQL 及参数
+     * @param batchSize           每批数量
+     * @param returnGeneratedKeys 是否返回自增主键
+     * @param callback            每批执行后的回调，可以为空
+     * @return 每批的影响行数
+     */
+    public static List<int[]> executeBatch(Transaction transaction, List<Pair<String, MethodParameter[]>> statements, int batchSize, boolean returnGeneratedKeys, BatchCallback callback) throws SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        List<int[]> updateCounts = new ArrayList<>(statements.size() / batchSize + 1);
+        PreparedStatement preparedStatement = null;
+        String sql = null;
+        transaction.getConnection();
+        boolean autoCommit = transaction.isAutoCommit();
+        try {
+            if (autoCommit) {
+                transaction.setAutoCommit(false);
+            }
+            for (int i = 0, from = 0, size = statements.size(); i < size; i++) {
+                Pair<String, MethodParameter[]> statement = statements.get(i);
+                if (preparedStatement == null || !statement.getKey().equals(sql)) {
+                    IOUtil.close(preparedStatement);
+                    sql = statement.getKey();
+                    preparedStatement = transaction.prepareStatement(sql, returnGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS);
+                    LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n==>     preparing: {}", statement.getKey()));
+                }
+                setParameters(preparedStatement, statement.getValue());
+                preparedStatement.addBatch();
+                if (i - from + 1 == batchSize || i == size - 1 || !statements.get(i + 1).getKey().equals(sql)) {
+                    int[] counts = preparedStatement.executeBatch();
+                    updateCounts.add(counts);
+                    if (callback != null) {
+                        callback.afterBatch(preparedStatement, from, i + 1, counts);
+                    }
+                    final int batch = i - from + 1;
+                    LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==   batch count: {}, affected rows: {}", batch, Arrays.toString(counts)));
+                    from = i + 1;
+                }
+            }
+            if (autoCommit) {
+                transaction.commit();
+            }
+            return updateCounts;
+        } catch (Throwable e) {
+            transaction.rollback();
+            log.error("execute batch SQL statement error: {}", sql);
+            throw e;
+        } finally {
+            IOUtil.close(preparedStatement);
+            if (autoCommit) {
+                try {
+                    transaction.setAutoCommit(true);
+                } finally {
+                    transaction.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * 通过事务预编译 SQL 并设置参数，事务可能会缓存预编译语句，因此使用后需要关闭
+     *
+     * @param transaction       事务
+     * @param sql               SQL
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS}/{@link Statement#NO_GENERATED_KEYS}
+     * @param params            参数
+     * @return PreparedStatement
+     * @see Transaction#prepareStatement(String, int)
+     */
+    public static PreparedStatement getPreparedStatement(Transaction transaction, String sql, int autoGeneratedKeys, MethodParameter... params) throws SQLException {
+        return prepareParameters(transaction.prepareStatement(sql, autoGeneratedKeys), sql, params);
+    }
+
     public static PreparedStatement getPreparedStatement(Connection connection, String sql, MethodParameter... params) throws SQLException {
         return getPreparedStatement(connection, sql, JdbcUtil::preparedStatement, params);
     }
 
+    public static PreparedStatement getPreparedStatement(Connection connection, String sql, BiFunction<Connection, String, PreparedStatement> preparedStatementFactory, MethodParameter... params) throws SQLException {
+        return prepareParameters(preparedStatementFactory.apply(connection, sql), sql, params);
+    }
+
+    private static PreparedStatement prepareParameters(PreparedStatement preparedStatement, String sql, MethodParameter... params) throws SQLException {
+        setParameters(preparedStatement, params);
+        if (log.isDebugEnabled()) {
+            log.debug("\r\n==>     preparing: {}", sql);
+            log.debug("\r\n==>    parameters: {}", params == null ? null : Arrays.stream(params).map(MethodParameter::getValue).collect(Collectors.toList()));
+        }
+        return preparedStatement;
+    }
+
     @SuppressWarnings("unchecked")
-    public static <T> PreparedStatement getPreparedStatement(Connection connection, String sql, BiFunction<Connection, String, PreparedStatement> preparedStatementFactory, MethodParameter... params) throws SQLException {
-        PreparedStatement preparedStatement = preparedStatementFactory.apply(connection, sql);
+    public static <T> void setParameters(PreparedStatement preparedStatement, MethodParameter... params) throws SQLException {
         for (int i = 0; params != null && i < params.length; i++) {
             MethodParameter parameter = params[i];
             TypeHandler<T> typeHandler = (TypeHandler<T>) ResultSetUtil.getTypeHandler(parameter.getParamType());
@@ -96,11 +219,6 @@ public abstract class JdbcUtil {
             }
             preparedStatement.setObject(i + 1, parameter.getValue());
         }
-        if (log.isDebugEnabled()) {
-            log.debug("\r\n==>     preparing: {}", sql);
-            log.debug("\r\n==>    parameters: {}", params == null ? null : Arrays.stream(params).map(MethodParameter::getValue).collect(Collectors.toList()));
-        }
-        return preparedStatement;
     }
 
     public static PreparedStatement preparedStatement(Connection connection, String sql) {
@@ -1,5 +1,6 @@
 package com.kfyty.loveqq.framework.core.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
@@ -23,6 +24,8 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
@@ -37,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 功能描述: json 工具类
@@ -56,6 +60,11 @@ public abstract class JsonUtil {
      */
     private static ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
 
+    /**
+     * 按类型缓存的 {@link ObjectWriter}，更换 {@link ObjectMapper} 时清空
+     */
+    private static final Map<Class<?>, ObjectWriter> OBJECT_WRITER_CACHE = new ConcurrentHashMap<>();
+
     static {
         SimpleModule module = new SimpleModule("json_string_deserializer");
         module.addDeserializer(String.class, new JsonUtil.StringDeserializer());
@@ -79,6 +88,7 @@ public abstract class JsonUtil {
     }
 
     public static ObjectMapper configure(ObjectMapper objectMapper) {
+        OBJECT_WRITER_CACHE.clear();
         return DEFAULT_OBJECT_MAPPER = objectMapper;
     }
 
@@ -102,6 +112,35 @@ public abstract class JsonUtil {
         }
     }
 
+    /**
+     * 获取指定类型的 {@link ObjectWriter}
+     * 按运行时类型缓存，和 {@link ObjectMapper#writeValueAsString(Object)} 的序列化行为一致，写出后不会关闭输出目标
+     *
+     * @param clazz 运行时类型
+     * @return {@link ObjectWriter}
+     */
+    public static ObjectWriter obtainWriter(Class<?> clazz) {
+        ObjectWriter writer = OBJECT_WRITER_CACHE.get(clazz);
+        if (writer == null) {
+            writer = OBJECT_WRITER_CACHE.computeIfAbsent(clazz, k -> DEFAULT_OBJECT_MAPPER.writerFor(k).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+        }
+        return writer;
+    }
+
+    /**
+     * 直接序列化到输出流，不会构建中间字符串，也不会关闭输出流
+     *
+     * @param o   对象
+     * @param out 输出流
+     */
+    public static void writeJSON(Object o, OutputStream out) {
+        try {
+            obtainWriter(o == null ? Object.class : o.getClass()).writeValue(out, o);
+        } catch (IOException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
     public static JSON toJSON(Object o) {
         return new JSON(toMap(o));
     }
@@ -155,6 +194,21 @@ public abstract class JsonUtil {
         }
     }
 
+    /**
+     * 直接从字节流反序列化，避免先读取为字符串
+     *
+     * @param json json 字节流
+     * @param type 目标类型
+     * @return 对象
+     */
+    public static <T> T toObject(InputStream json, Type type) {
+        try {
+            return DEFAULT_OBJECT_MAPPER.readValue(json, DEFAULT_OBJECT_MAPPER.getTypeFactory().constructType(type));
+        } catch (IOException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static List<Map<String, Object>> toList(CharSequence o) {
         return (List<Map<String, Object>>) toObject(o.toString(), ArrayList.class);
@@ -199,6 +253,25 @@ public abstract class JsonUtil {
         }
     }
 
+    public static <K, V> Map<K, V> toMap(InputStream json, Class<K> keyType, Class<V> valueType) {
+        try {
+            MapType javaType = DEFAULT_OBJECT_MAPPER.getTypeFactory().constructMapType(LinkedHashMap.class, keyType, valueType);
+            return DEFAULT_OBJECT_MAPPER.readValue(json, javaType);
+        } catch (IOException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static <T> Collection<T> toCollection(InputStream json, Class<? extends Collection> collectionType, Class<T> clazz) {
+        try {
+            CollectionType javaType = DEFAULT_OBJECT_MAPPER.getTypeFactory().constructCollectionType(collectionType, clazz);
+            return DEFAULT_OBJECT_MAPPER.readValue(json, javaType);
+        } catch (IOException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
     /**
      * 通用日期反序列化
      */
@@ -64,4 +64,38 @@ public abstract class OgnlUtil {
             throw new RuntimeException("表达式计算失败: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * 预解析表达式，解析后的表达式可重复计算，避免每次计算时重新解析
+     *
+     * @param express 表达式
+     * @return 解析后的表达式，解析失败时返回原表达式，计算时再抛出异常
+     */
+    public static Object parseExpression(String express) {
+        try {
+            return Ognl.parseExpression(express);
+        } catch (Exception e) {
+            return express;
+        }
+    }
+
+    /**
+     * 计算预解析的表达式
+     *
+     * @param expression {@link #parseExpression(String)} 的返回值
+     * @param root       根对象
+     * @param clazz      返回值类型
+     * @return 值
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T computeExpression(Object expression, Object root, Class<T> clazz) {
+        if (expression instanceof String) {
+            return compute((String) expression, root, clazz);
+        }
+        try {
+            return (T) Ognl.getValue(expression, getContext(), root, clazz);
+        } catch (Exception e) {
+            throw new RuntimeException("表达式计算失败: " + e.getMessage(), e);
+        }
+    }
 }
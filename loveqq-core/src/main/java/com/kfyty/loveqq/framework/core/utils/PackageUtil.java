@@ -1,13 +1,16 @@
 package com.kfyty.loveqq.framework.core.utils;
 
+import com.kfyty.loveqq.framework.core.lang.ComponentIndex;
 import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
 import com.kfyty.loveqq.framework.core.lang.util.EnumerationIterator;
 import com.kfyty.loveqq.framework.core.support.io.PathMatchingResourcePatternResolver;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
@@ -17,6 +20,7 @@ import java.util.Set;
 import java.util.function.Predicate;
 import java.util.jar.JarEntry;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 功能描述: 解析 package 工具
@@ -80,23 +84,68 @@ public abstract class PackageUtil {
             if (cache != null) {
                 return cache;
             }
-            Set<String> classes = new HashSet<>();
-            Iterable<URL> urls = resolver != null && basePackage.contains("*")
-                    ? resolver.findResources(basePackage.replace('.', '/') + ".class")
-                    : new EnumerationIterator<>(ClassLoaderUtil.classLoader(PackageUtil.class).getResources(basePackage.replace('.', '/')));
-            for (URL url : urls) {
-                if ("jar".equalsIgnoreCase(url.getProtocol())) {
-                    classes.addAll(scanClassNameByJar(url));
-                    continue;
-                }
-                classes.addAll(scanClassNameByFile(url));
+            List<URL> urls = new ArrayList<>();
+            boolean isPattern = resolver != null && basePackage.contains("*");
+            if (isPattern) {
+                urls.addAll(resolver.findResources(basePackage.replace('.', '/') + ".class"));
+            } else {
+                new EnumerationIterator<>(ClassLoaderUtil.classLoader(PackageUtil.class).getResources(basePackage.replace('.', '/'))).forEach(urls::add);
             }
+            Stream<URL> stream = urls.size() > 1 ? urls.parallelStream() : urls.stream();                                 // 每个 jar/文件夹作为一个任务并行扫描
+            Set<String> classes = stream.flatMap(url -> scanClassName(url, basePackage, isPattern).stream()).collect(Collectors.toCollection(HashSet::new));
             return SCAN_PACKAGE_CACHE.computeIfAbsent(basePackage, k -> classes);
         } catch (Exception e) {
             throw ExceptionUtil.wrap(e);
         }
     }
 
+    /**
+     * 扫描包下存在注解的 class
+     * 加载前先基于 asm 读取字节码，过滤掉没有任何注解的 class，仅加载剩余的 class；字节码的读取是并行的，加载仍在当前线程
+     *
+     * @param basePackage 包名
+     * @return 存在注解的 class
+     */
+    public static Set<Class<?>> scanAnnotatedClass(String basePackage) {
+        Set<String> classes = scanClassName(basePackage);
+        ClassLoader classLoader = ClassLoaderUtil.classLoader(PackageUtil.class);
+        List<String> candidates = classes.parallelStream().filter(e -> isAnnotatedClass(classLoader, e)).collect(Collectors.toList());
+        Set<Class<?>> result = new HashSet<>();
+        for (String candidate : candidates) {
+            Optional.ofNullable(ReflectUtil.load(candidate, false, false)).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * 基于 asm 判断 class 上是否存在注解，无法读取字节码时返回 true，由加载后判断
+     *
+     * @param classLoader 类加载器
+     * @param className   class name
+     * @return true if annotated
+     */
+    private static boolean isAnnotatedClass(ClassLoader classLoader, String className) {
+        try (InputStream stream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (stream == null) {
+                return true;
+            }
+            return !AsmUtil.getClassAnnotationNames(stream, new ArrayList<>(2), e -> true, true).isEmpty();
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private static Set<String> scanClassName(URL url, String basePackage, boolean isPattern) {
+        Set<String> indexed = isPattern ? null : ComponentIndex.getClassNames(url, basePackage);
+        if (indexed != null) {
+            return indexed;
+        }
+        if ("jar".equalsIgnoreCase(url.getProtocol())) {
+            return scanClassNameByJar(url);
+        }
+        return scanClassNameByFile(url);
+    }
+
     private static Set<String> scanClassNameByJar(URL url) {
         try {
             Set<String> classes = new HashSet<>();
@@ -3,6 +3,8 @@ package com.kfyty.loveqq.framework.core.utils;
 import com.kfyty.loveqq.framework.core.exception.TooManyResultException;
 import com.kfyty.loveqq.framework.core.generic.Generic;
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.BeanRowMapper;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.RowMapper;
 import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,8 +21,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-import static com.kfyty.loveqq.framework.core.utils.CommonUtil.underline2CamelCase;
-
 /**
  * 功能描述: result set 工具
  *
@@ -102,8 +102,9 @@ public abstract class ResultSetUtil {
             return LogUtil.logIfDebugEnabled(log, log -> log.debug("process base type failed: result set is empty !"), Collections.emptyList());
         }
         List<T> list = new ArrayList<>();
+        TypeHandler<?> typeHandler = getTypeHandler(clazz);
         do {
-            list.add((T) extractObject(resultSet, resultSet.getMetaData().getColumnLabel(1), clazz));
+            list.add((T) (typeHandler != null ? typeHandler.getResult(resultSet, 1) : resultSet.getObject(1)));
         } while (resultSet.next());
         return list;
     }
@@ -119,30 +120,38 @@ public abstract class ResultSetUtil {
         if (resultSet == null || !resultSet.next()) {
             return LogUtil.logIfDebugEnabled(log, log -> log.debug("process object failed: result set is empty !"), Collections.emptyList());
         }
-        List<T> list = new ArrayList<>();
-        do {
-            T o = ReflectUtil.newInstance(clazz);
-            Map<String, Field> fieldMap = ReflectUtil.getFieldMap(clazz);
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                String fieldName = underline2CamelCase(metaData.getColumnLabel(i));
-                Field field = fieldMap.get(fieldName);
-                if (field != null) {
-                    Object value = extractObject(resultSet, metaData.getColumnLabel(i), field.getType());
-                    ReflectUtil.setFieldValue(o, field, value);
-                    continue;
-                }
-                if (fieldName.contains(".")) {
-                    Object value = extractObject(resultSet, metaData.getColumnLabel(i), ReflectUtil.resolveFieldType(fieldName, o.getClass()));
-                    ReflectUtil.setNestedFieldValue(fieldName, o, value);
-                    continue;
-                }
-                final String columnName = metaData.getColumnName(i);
-                LogUtil.logIfDebugEnabled(log, log -> log.debug("discovery column: [{}], but class:[{}] no field matching !", columnName, clazz));
+        return BeanRowMapper.obtain(clazz, resultSet.getMetaData()).mapRows(resultSet);
+    }
+
+    /**
+     * 获取结果集的行映射器，用于逐行映射
+     *
+     * @param resultSet 结果集
+     * @param clazz     行类型
+     * @return 行映射器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> obtainRowMapper(ResultSet resultSet, Class<T> clazz) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        if (Map.class.isAssignableFrom(clazz)) {
+            int columnCount = metaData.getColumnCount();
+            String[] columnLabels = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columnLabels[i] = metaData.getColumnLabel(i + 1);
             }
-            list.add(o);
-        } while (resultSet.next());
-        return list;
+            return rs -> {
+                Map<String, Object> map = new HashMap<>((int) (columnCount / 0.75F) + 1);
+                for (int i = 0; i < columnCount; i++) {
+                    map.put(columnLabels[i], rs.getObject(i + 1));
+                }
+                return (T) map;
+            };
+        }
+        if (ReflectUtil.isBaseDataType(clazz)) {
+            TypeHandler<?> typeHandler = getTypeHandler(clazz);
+            return rs -> (T) (typeHandler != null ? typeHandler.getResult(rs, 1) : rs.getObject(1));
+        }
+        return BeanRowMapper.obtain(clazz, metaData);
     }
 
     @SuppressWarnings("unchecked")
@@ -153,8 +162,8 @@ public abstract class ResultSetUtil {
             return Collections.emptyMap();
         }
         Map<K, V> result = new HashMap<>();
+        Field field = ReflectUtil.getField(valueClass, returnType.getMapKey());
         for (V value : values) {
-            Field field = ReflectUtil.getField(valueClass, returnType.getMapKey());
             result.put((K) ReflectUtil.getFieldValue(value, field), value);
         }
         return result;
@@ -168,7 +177,7 @@ public abstract class ResultSetUtil {
         Map<K, V> map = new HashMap<>();
         ResultSetMetaData metaData = resultSet.getMetaData();
         for (int i = 1; i <= metaData.getColumnCount(); i++) {
-            map.put((K) metaData.getColumnLabel(i), (V) resultSet.getObject(metaData.getColumnLabel(i)));
+            map.put((K) metaData.getColumnLabel(i), (V) resultSet.getObject(i));
         }
         if (resultSet.next()) {
             throw new TooManyResultException("too many result found !");
@@ -183,10 +192,15 @@ public abstract class ResultSetUtil {
         }
         List<Map<K, V>> result = new ArrayList<>();
         ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        K[] columnLabels = (K[]) new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnLabels[i] = (K) metaData.getColumnLabel(i + 1);
+        }
         do {
-            Map<K, V> map = new HashMap<>();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                map.put((K) metaData.getColumnLabel(i), (V) resultSet.getObject(metaData.getColumnLabel(i)));
+            Map<K, V> map = new HashMap<>((int) (columnCount / 0.75F) + 1);
+            for (int i = 0; i < columnCount; i++) {
+                map.put(columnLabels[i], (V) resultSet.getObject(i + 1));
             }
             result.add(map);
         } while (resultSet.next());
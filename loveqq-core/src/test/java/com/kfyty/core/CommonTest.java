@@ -7,6 +7,7 @@ import com.kfyty.loveqq.framework.core.support.io.PathMatchingResourcePatternRes
 import com.kfyty.loveqq.framework.core.utils.ClassLoaderUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ConverterUtil;
+import com.kfyty.loveqq.framework.core.utils.PackageUtil;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -28,6 +29,15 @@ import java.util.Set;
  */
 public class CommonTest {
 
+    @Test
+    public void scanAnnotatedClassTest() {
+        Set<String> classes = PackageUtil.scanClassName("com.kfyty.core");
+        Set<Class<?>> annotated = PackageUtil.scanAnnotatedClass("com.kfyty.core");
+        Assertions.assertTrue(classes.contains(CommonTest.class.getName()));
+        Assertions.assertTrue(annotated.contains(AnnotationTest.class));
+        Assertions.assertFalse(annotated.contains(CommonTest.class));
+    }
+
     @Test
     public void formatTest() {
         String format = CommonUtil.format("{}{}{}", 1, 2, 3);
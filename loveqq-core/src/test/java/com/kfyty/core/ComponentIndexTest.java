@@ -0,0 +1,77 @@
+package com.kfyty.core;
+
+import com.kfyty.loveqq.framework.core.lang.ComponentIndex;
+import com.kfyty.loveqq.framework.core.lang.task.BuildComponentIndexAntTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * 描述: 组件索引测试
+ *
+ * @author kfyty725
+ * @date 2024/12/30 11:00
+ * @email kfyty725@hotmail.com
+ */
+public class ComponentIndexTest {
+
+    @Test
+    public void buildAndReadTest() throws Exception {
+        Path classes = Files.createTempDirectory("component-index");
+        for (String path : Arrays.asList("com/demo/A.class", "com/demo/sub/B.class", "com/other/C.class", "com/demo/package-info.class", "com/demo/a.txt")) {
+            Path file = classes.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[0]);
+        }
+
+        Set<String> scanned = BuildComponentIndexAntTask.scanComponentIndex(classes);
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("com.demo.A", "com.demo.sub.B", "com.other.C")), scanned);
+
+        Path index = BuildComponentIndexAntTask.writeComponentIndex(BuildComponentIndexAntTask.buildComponentIndex(scanned), classes);
+        File jar = this.buildJar(Files.readAllBytes(index), "com/demo/A.class", "com/demo/sub/B.class", "com/other/C.class");
+
+        URL url = new URL("jar:" + jar.toURI().toURL() + "!/com/demo");
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("com.demo.A", "com.demo.sub.B")), ComponentIndex.getClassNames(url, "com.demo"));
+        Assertions.assertNull(ComponentIndex.getClassNames(classes.resolve("com/demo").toUri().toURL(), "com.demo"));
+    }
+
+    /**
+     * 多个模块合并为一个 jar 时只保留了一个模块的索引，索引中不存在的包应回退到遍历 jar
+     */
+    @Test
+    public void mergedJarTest() throws Exception {
+        Set<String> module = new HashSet<>(Arrays.asList("com.demo.A", "com.demo.sub.B"));
+        byte[] index = BuildComponentIndexAntTask.buildComponentIndex(module).getBytes(StandardCharsets.UTF_8);
+
+        File merged = this.buildJar(index, "com/demo/A.class", "com/demo/sub/B.class", "com/other/D.class");
+        Assertions.assertEquals(module, ComponentIndex.getClassNames(new URL("jar:" + merged.toURI().toURL() + "!/com/demo"), "com.demo"));
+        Assertions.assertNull(ComponentIndex.getClassNames(new URL("jar:" + merged.toURI().toURL() + "!/com/other"), "com.other"));
+    }
+
+    private File buildJar(byte[] index, String... classes) throws Exception {
+        File jar = File.createTempFile("component-index", ".jar");
+        jar.deleteOnExit();
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            out.putNextEntry(new JarEntry(ComponentIndex.COMPONENT_INDEX_LOCATION));
+            out.write(index);
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("com/demo/"));
+            out.closeEntry();
+            for (String clazz : classes) {
+                out.putNextEntry(new JarEntry(clazz));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
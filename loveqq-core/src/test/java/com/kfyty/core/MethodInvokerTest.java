@@ -0,0 +1,71 @@
+package com.kfyty.core;
+
+import com.kfyty.loveqq.framework.core.method.MethodInvoker;
+import com.kfyty.loveqq.framework.core.method.ReflectMethodInvoker;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+/**
+ * 描述: 方法调用器测试
+ *
+ * @author kfyty725
+ * @date 2024/12/22 11:30
+ * @email kfyty725@hotmail.com
+ */
+public class MethodInvokerTest {
+
+    @Test
+    public void test() throws Throwable {
+        Target target = new Target();
+        MethodInvoker add = MethodInvoker.create(Target.class.getDeclaredMethod("add", int.class, long.class));
+        MethodInvoker echo = MethodInvoker.create(Target.class.getDeclaredMethod("echo", String.class, int[].class));
+        MethodInvoker square = MethodInvoker.create(Target.class.getDeclaredMethod("square", double.class));
+        MethodInvoker fail = MethodInvoker.create(Target.class.getDeclaredMethod("fail"));
+
+        Assertions.assertFalse(add instanceof ReflectMethodInvoker);
+        Assertions.assertEquals(3, add.invoke(target, new Object[]{1, 2L}));
+        Assertions.assertEquals("x3", echo.invoke(target, new Object[]{"x", new int[3]}));
+        Assertions.assertEquals(9D, square.invoke(null, new Object[]{3D}));
+        Assertions.assertThrows(IOException.class, () -> fail.invoke(target, new Object[0]));
+    }
+
+    @Test
+    public void sameResultAsReflectionTest() throws Throwable {
+        Target target = new Target();
+        Method method = Target.class.getDeclaredMethod("add", int.class, long.class);
+        MethodInvoker generated = MethodInvoker.create(method);
+        MethodInvoker reflect = new ReflectMethodInvoker(method);
+
+        // 生成的调用器与反射调用结果一致
+        for (int i = -2; i <= 2; i++) {
+            Object[] args = {i, 2L};
+            Object expected = ReflectUtil.invokeMethod(target, method, args);
+            Assertions.assertEquals(expected, generated.invoke(target, args));
+            Assertions.assertEquals(expected, reflect.invoke(target, args));
+        }
+        Assertions.assertThrows(ClassCastException.class, () -> generated.invoke(target, new Object[]{"1", 2L}));
+    }
+
+    static class Target {
+
+        int add(int a, long b) {
+            return (int) (a + b);
+        }
+
+        String echo(String s, int[] array) {
+            return s + array.length;
+        }
+
+        static double square(double d) {
+            return d * d;
+        }
+
+        void fail() throws IOException {
+            throw new IOException("fail");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.kfyty.core;
+
+import com.kfyty.loveqq.framework.core.jdbc.PreparedStatementCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 描述: 预编译语句缓存测试
+ *
+ * @author kfyty725
+ * @date 2024/12/28 11:30
+ * @email kfyty725@hotmail.com
+ */
+public class PreparedStatementCacheTest {
+
+    @Test
+    public void hitTest() throws Exception {
+        StubConnection connection = new StubConnection();
+        PreparedStatementCache cache = new PreparedStatementCache(connection.proxy, 4);
+
+        PreparedStatement first = cache.prepareStatement("select 1", Statement.NO_GENERATED_KEYS);
+        first.close();
+        PreparedStatement second = cache.prepareStatement("select 1", Statement.NO_GENERATED_KEYS);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertEquals(1, connection.statements.size());
+
+        // 自增主键模式不同，不能复用
+        cache.prepareStatement("select 1", Statement.RETURN_GENERATED_KEYS).close();
+        Assertions.assertEquals(2, cache.getMisses());
+        Assertions.assertEquals(2, connection.statements.size());
+    }
+
+    @Test
+    public void releaseTest() throws Exception {
+        StubConnection connection = new StubConnection();
+        PreparedStatementCache cache = new PreparedStatementCache(connection.proxy, 4);
+
+        PreparedStatement statement = cache.prepareStatement("select 1", Statement.NO_GENERATED_KEYS);
+        statement.setFetchSize(100);
+        Assertions.assertFalse(statement.isClosed());
+        statement.close();
+
+        // 关闭时仅关闭当前结果集、清理参数及批量语句并复位 fetch size，归还到缓存
+        StubStatement delegate = connection.statements.get(0);
+        Assertions.assertTrue(statement.isClosed());
+        Assertions.assertFalse(delegate.closed);
+        Assertions.assertTrue(delegate.resultSetClosed);
+        Assertions.assertEquals(1, delegate.cleared);
+        Assertions.assertEquals(1, delegate.batchCleared);
+        Assertions.assertEquals(0, delegate.fetchSize);
+
+        // 正在使用时创建不缓存的新语句，关闭时真正关闭
+        PreparedStatement inUse = cache.prepareStatement("select 1", Statement.NO_GENERATED_KEYS);
+        PreparedStatement uncached = cache.prepareStatement("select 1", Statement.NO_GENERATED_KEYS);
+        Assertions.assertNotSame(inUse, uncached);
+        uncached.close();
+        Assertions.assertTrue(connection.statements.get(1).closed);
+        inUse.close();
+        Assertions.assertFalse(delegate.closed);
+
+        cache.close();
+        Assertions.assertTrue(delegate.closed);
+    }
+
+    @Test
+    public void evictionTest() throws Exception {
+        StubConnection connection = new StubConnection();
+        PreparedStatementCache cache = new PreparedStatementCache(connection.proxy, 2);
+
+        cache.prepareStatement("a", Statement.NO_GENERATED_KEYS).close();
+        cache.prepareStatement("b", Statement.NO_GENERATED_KEYS).close();
+        cache.prepareStatement("a", Statement.NO_GENERATED_KEYS).close();
+        cache.prepareStatement("c", Statement.NO_GENERATED_KEYS).close();
+
+        // 最近最少使用的 b 被淘汰并关闭，a 仍然缓存
+        Assertions.assertEquals(1, cache.getEvictions());
+        Assertions.assertFalse(connection.statements.get(0).closed);
+        Assertions.assertTrue(connection.statements.get(1).closed);
+        cache.prepareStatement("a", Statement.NO_GENERATED_KEYS).close();
+        Assertions.assertEquals(2, cache.getHits());
+
+        // 使用中的语句被淘汰时，归还时才关闭
+        PreparedStatement inUse = cache.prepareStatement("c", Statement.NO_GENERATED_KEYS);
+        cache.prepareStatement("d", Statement.NO_GENERATED_KEYS).close();
+        cache.prepareStatement("e", Statement.NO_GENERATED_KEYS).close();
+        StubStatement c = connection.statements.get(2);
+        Assertions.assertFalse(c.closed);
+        inUse.close();
+        Assertions.assertTrue(c.closed);
+    }
+
+    static class StubConnection implements InvocationHandler {
+        final List<StubStatement> statements = new ArrayList<>();
+
+        final Connection proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getName().equals("prepareStatement")) {
+                StubStatement statement = new StubStatement();
+                this.statements.add(statement);
+                return statement.proxy;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    static class StubStatement implements InvocationHandler {
+        final PreparedStatement proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+
+        boolean closed;
+
+        int cleared;
+
+        int batchCleared;
+
+        int fetchSize;
+
+        boolean resultSetClosed;
+
+        final ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+            if (method.getName().equals("close")) {
+                this.resultSetClosed = true;
+                return null;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "close":
+                    this.closed = true;
+                    return null;
+                case "isClosed":
+                    return this.closed;
+                case "clearParameters":
+                    this.cleared++;
+                    return null;
+                case "clearBatch":
+                    this.batchCleared++;
+                    return null;
+                case "getResultSet":
+                    return this.resultSetClosed ? null : this.resultSet;
+                case "getFetchSize":
+                    return this.fetchSize;
+                case "setFetchSize":
+                    this.fetchSize = (int) args[0];
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
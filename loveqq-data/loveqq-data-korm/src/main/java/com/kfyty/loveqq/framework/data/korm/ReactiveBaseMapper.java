@@ -0,0 +1,104 @@
+package com.kfyty.loveqq.framework.data.korm;
+
+import com.kfyty.loveqq.framework.data.korm.annotation.Execute;
+import com.kfyty.loveqq.framework.data.korm.annotation.Param;
+import com.kfyty.loveqq.framework.data.korm.annotation.Query;
+import com.kfyty.loveqq.framework.data.korm.sql.dialect.DialectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.EMPTY_STRING;
+import static com.kfyty.loveqq.framework.data.korm.sql.dialect.AbstractProvider.PROVIDER_PARAM_ENTITY;
+import static com.kfyty.loveqq.framework.data.korm.sql.dialect.AbstractProvider.PROVIDER_PARAM_PK;
+
+/**
+ * 描述: 响应式数据库基础操作，SQL 和 {@link BaseMapper} 一致，由 {@link DialectProvider} 提供
+ *
+ * @author kfyty725
+ * @date 2024/12/28 14:10
+ * @email kfyty725@hotmail.com
+ * @see com.kfyty.loveqq.framework.data.korm.reactive.ReactiveSqlSession
+ */
+public interface ReactiveBaseMapper<PrimaryKey, T> {
+    /**
+     * 插入一条数据
+     *
+     * @param entity 数据
+     */
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    Mono<Long> insert(@Param(PROVIDER_PARAM_ENTITY) T entity);
+
+    /**
+     * 批量插入数据
+     *
+     * @param entity 数据
+     */
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    Mono<Long> insertBatch(@Param(PROVIDER_PARAM_ENTITY) List<T> entity);
+
+    /**
+     * 根据主键查询数据
+     *
+     * @param pk 主键
+     * @return 数据
+     */
+    @Query(provider = DialectProvider.class, value = EMPTY_STRING)
+    Mono<T> selectByPk(@Param(PROVIDER_PARAM_PK) PrimaryKey pk);
+
+    /**
+     * 根据主键批量查询数据
+     *
+     * @param pks 主键
+     * @return 数据
+     */
+    @Query(provider = DialectProvider.class, value = EMPTY_STRING)
+    Flux<T> selectByPks(@Param(PROVIDER_PARAM_PK) List<PrimaryKey> pks);
+
+    /**
+     * 查询所有数据
+     *
+     * @return 数据
+     */
+    @Query(provider = DialectProvider.class, value = EMPTY_STRING)
+    Flux<T> selectAll();
+
+    /**
+     * 根据主键更新数据
+     *
+     * @param entity 数据
+     */
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    Mono<Long> updateByPk(@Param(PROVIDER_PARAM_ENTITY) T entity);
+
+    /**
+     * 根据主键批量更新数据
+     *
+     * @param entity 数据
+     */
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    Mono<Long> updateBatch(@Param(PROVIDER_PARAM_ENTITY) List<T> entity);
+
+    /**
+     * 根据主键删除数据
+     *
+     * @param pk 主键
+     */
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    Mono<Long> deleteByPk(@Param(PROVIDER_PARAM_PK) PrimaryKey pk);
+
+    /**
+     * 根据主键批量删除数据
+     *
+     * @param pks 主键
+     */
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    Mono<Long> deleteByPks(@Param(PROVIDER_PARAM_PK) List<PrimaryKey> pks);
+
+    /**
+     * 删除所有数据
+     */
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    Mono<Long> deleteAll();
+}
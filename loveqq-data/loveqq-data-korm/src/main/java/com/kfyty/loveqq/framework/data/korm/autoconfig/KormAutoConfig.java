@@ -6,6 +6,7 @@ import com.kfyty.loveqq.framework.core.autoconfig.ApplicationContext;
 import com.kfyty.loveqq.framework.core.autoconfig.ImportBeanDefinition;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Bean;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Configuration;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
 import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnMissingBean;
 import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
@@ -38,10 +39,15 @@ public class KormAutoConfig implements ImportBeanDefinition {
         return new EnjoyDynamicProvider().setEngine(Engine.createIfAbsent("dynamicProvider", e -> {}));
     }
 
+    /**
+     * 预编译语句缓存默认关闭，缓存的生命周期和连接一致，仅在事务中重复执行相同 SQL 时有效
+     *
+     * @see com.kfyty.loveqq.framework.core.jdbc.PreparedStatementCache
+     */
     @Bean(value = TRANSACTION_FACTORY_BEAN_NAME, resolveNested = false, independent = true)
     @ConditionalOnMissingBean(name = TRANSACTION_FACTORY_BEAN_NAME)
-    public Supplier<Transaction> jdbcTransactionFactory(DataSource dataSource) {
-        return () -> new ManagedJdbcTransaction(dataSource);
+    public Supplier<Transaction> jdbcTransactionFactory(DataSource dataSource, @Value("${k.korm.statementCacheSize:0}") int statementCacheSize) {
+        return () -> new ManagedJdbcTransaction(dataSource, null, statementCacheSize);
     }
 
     @Bean(resolveNested = false, independent = true)
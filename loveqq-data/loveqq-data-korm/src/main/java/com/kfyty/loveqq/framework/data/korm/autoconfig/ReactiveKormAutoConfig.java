@@ -0,0 +1,25 @@
+package com.kfyty.loveqq.framework.data.korm.autoconfig;
+
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Bean;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Configuration;
+import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnBean;
+import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnClass;
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * 描述: 存在 R2DBC 连接工厂时，自动配置响应式 mapper
+ *
+ * @author kfyty725
+ * @date 2024/12/28 16:00
+ * @email kfyty725@hotmail.com
+ */
+@Configuration
+@ConditionalOnClass({"io.r2dbc.spi.ConnectionFactory", "reactor.core.publisher.Flux"})
+public class ReactiveKormAutoConfig {
+
+    @Bean
+    @ConditionalOnBean(ConnectionFactory.class)
+    public SqlSessionProxyFactoryBean reactiveSqlSessionProxyFactory() {
+        return new ReactiveSqlSessionProxyFactoryBean();
+    }
+}
@@ -0,0 +1,40 @@
+package com.kfyty.loveqq.framework.data.korm.autoconfig;
+
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
+import com.kfyty.loveqq.framework.data.korm.reactive.ReactiveSqlSessionProxyFactory;
+import com.kfyty.loveqq.framework.data.korm.session.Configuration;
+import com.kfyty.loveqq.framework.data.korm.session.SqlSessionProxyFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 描述: ReactiveSqlSessionProxyFactoryBean
+ *
+ * @author kfyty725
+ * @date 2024/12/28 15:50
+ * @email kfyty725@hotmail.com
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ReactiveSqlSessionProxyFactoryBean extends SqlSessionProxyFactoryBean {
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    /**
+     * 绑定参数占位符，eg: mysql 为 ?，h2/postgresql 为 $
+     */
+    @Value("${k.korm.bindMarker:?}")
+    private String bindMarker;
+
+    @Override
+    public Class<?> getBeanType() {
+        return ReactiveSqlSessionProxyFactory.class;
+    }
+
+    @Override
+    protected SqlSessionProxyFactory createSqlSessionProxyFactory(Configuration configuration) {
+        return new ReactiveSqlSessionProxyFactory(configuration, this.connectionFactory, this.bindMarker);
+    }
+}
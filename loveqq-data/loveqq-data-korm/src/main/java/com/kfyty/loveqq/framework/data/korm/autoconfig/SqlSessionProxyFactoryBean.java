@@ -2,6 +2,7 @@ package com.kfyty.loveqq.framework.data.korm.autoconfig;
 
 import com.kfyty.loveqq.framework.core.autoconfig.InitializingBean;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.FactoryBean;
 import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
 import com.kfyty.loveqq.framework.core.support.io.PathMatchingResourcePatternResolver;
@@ -46,6 +47,15 @@ public class SqlSessionProxyFactoryBean implements FactoryBean<SqlSessionProxyFa
     @Autowired(required = false)
     private List<Interceptor> interceptors;
 
+    @Value("${k.korm.cursorFetchSize:1000}")
+    private int cursorFetchSize;
+
+    @Value("${k.korm.batchSize:1000}")
+    private int batchSize;
+
+    @Value("${k.korm.rewriteBatchedInsert:false}")
+    private boolean rewriteBatchedInsert;
+
     @Override
     public Class<?> getBeanType() {
         return SqlSessionProxyFactory.class;
@@ -56,13 +66,26 @@ public class SqlSessionProxyFactoryBean implements FactoryBean<SqlSessionProxyFa
         Configuration configuration = new Configuration()
                 .setDataSource(this.dataSource)
                 .setPathMatchingResourcePatternResolver(this.pathMatchingResourcePatternResolver)
-                .setInterceptors(this.interceptors);
+                .setInterceptors(this.interceptors)
+                .setCursorFetchSize(this.cursorFetchSize)
+                .setBatchSize(this.batchSize)
+                .setRewriteBatchedInsert(this.rewriteBatchedInsert);
         if (this.transactionFactory != null) {
             configuration.setTransactionFactory(this.transactionFactory);
         }
         if (this.dynamicProvider != null) {
             configuration.setDynamicProvider(this.dynamicProvider);
         }
+        return this.createSqlSessionProxyFactory(configuration);
+    }
+
+    /**
+     * 创建 SqlSessionProxyFactory，子类可覆盖
+     *
+     * @param configuration 配置
+     * @return SqlSessionProxyFactory
+     */
+    protected SqlSessionProxyFactory createSqlSessionProxyFactory(Configuration configuration) {
         return new SqlSessionProxyFactory(configuration);
     }
 
@@ -3,6 +3,9 @@ package com.kfyty.loveqq.framework.data.korm.intercept;
 import com.kfyty.database.jdbc.exception.ExecuteInterceptorException;
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
 import com.kfyty.loveqq.framework.core.jdbc.TransactionHolder;
+import com.kfyty.loveqq.framework.core.jdbc.cursor.Cursor;
+import com.kfyty.loveqq.framework.core.jdbc.cursor.DefaultCursor;
+import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
 import com.kfyty.loveqq.framework.core.lang.Value;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.utils.IOUtil;
@@ -12,6 +15,7 @@ import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
 import com.kfyty.loveqq.framework.data.korm.annotation.Execute;
 import com.kfyty.loveqq.framework.data.korm.session.SqlSession;
+import com.kfyty.loveqq.framework.data.korm.util.CursorUtil;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,6 +25,7 @@ import java.lang.reflect.Parameter;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -45,13 +50,23 @@ public class InterceptorChain implements AutoCloseable {
     private final SimpleGeneric returnType;
     private final List<MethodParameter> methodParameters;
     private final Iterator<Map.Entry<Method, Interceptor>> interceptors;
+    private final int cursorFetchSize;
 
     private PreparedStatement preparedStatement;
     private ResultSet resultSet;
     private Object retValue;
     private boolean hasRet;
 
+    /**
+     * 返回值是否是游标，此时语句及结果集由游标关闭
+     */
+    private boolean cursor;
+
     public InterceptorChain(SqlSession sqlSession, MethodParameter method, Annotation annotation, String sql, SimpleGeneric returnType, List<MethodParameter> methodParameters, Iterator<Map.Entry<Method, Interceptor>> interceptors) {
+        this(sqlSession, method, annotation, sql, returnType, methodParameters, interceptors, 0);
+    }
+
+    public InterceptorChain(SqlSession sqlSession, MethodParameter method, Annotation annotation, String sql, SimpleGeneric returnType, List<MethodParameter> methodParameters, Iterator<Map.Entry<Method, Interceptor>> interceptors, int cursorFetchSize) {
         this.sqlSession = sqlSession;
         this.mapperMethod = method;
         this.annotation = annotation;
@@ -59,6 +74,8 @@ public class InterceptorChain implements AutoCloseable {
         this.returnType = returnType;
         this.methodParameters = methodParameters;
         this.interceptors = interceptors;
+        this.cursorFetchSize = cursorFetchSize;
+        this.cursor = !(annotation instanceof Execute) && CursorUtil.isCursorType(returnType);
     }
 
     public void setPreparedStatement(PreparedStatement preparedStatement) {
@@ -83,6 +100,9 @@ public class InterceptorChain implements AutoCloseable {
 
     @Override
     public void close() {
+        if (this.retValue instanceof Cursor<?>) {
+            return;
+        }
         IOUtil.close(this.getPreparedStatement());
         IOUtil.close(this.getResultSet());
     }
@@ -131,7 +151,7 @@ public class InterceptorChain implements AutoCloseable {
     protected PreparedStatement preparePreparedStatement() {
         if (this.preparedStatement == null) {
             try {
-                this.preparedStatement = JdbcUtil.getPreparedStatement(TransactionHolder.currentTransaction().getConnection(), this.sql.get(), this.methodParameters.toArray(MethodParameter[]::new));
+                this.preparedStatement = JdbcUtil.getPreparedStatement(TransactionHolder.currentTransaction(), this.sql.get(), Statement.NO_GENERATED_KEYS, this.methodParameters.toArray(MethodParameter[]::new));
             } catch (SQLException e) {
                 throw new ExecuteInterceptorException(e);
             }
@@ -142,6 +162,9 @@ public class InterceptorChain implements AutoCloseable {
     protected ResultSet prepareResultSet() {
         if (this.resultSet == null) {
             try {
+                if (this.cursor && this.cursorFetchSize > 0) {
+                    this.preparePreparedStatement().setFetchSize(this.cursorFetchSize);
+                }
                 this.resultSet = this.preparePreparedStatement().executeQuery();
             } catch (SQLException e) {
                 throw new ExecuteInterceptorException(e);
@@ -151,6 +174,10 @@ public class InterceptorChain implements AutoCloseable {
     }
 
     protected Object prepareReturnValue() {
+        if (!this.hasRet && this.cursor) {
+            Transaction transaction = TransactionHolder.currentTransaction();
+            this.setRetValue(new DefaultCursor<>(transaction, this.preparePreparedStatement(), this.prepareResultSet(), CursorUtil.resolveRowType(this.returnType)));
+        }
         if (!this.hasRet) {
             try {
                 this.setRetValue(ResultSetUtil.processObject(this.prepareResultSet(), this.returnType));
@@ -4,6 +4,7 @@ import com.kfyty.database.jdbc.exception.ExecuteInterceptorException;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Order;
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
 import com.kfyty.loveqq.framework.core.jdbc.TransactionHolder;
+import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
 import com.kfyty.loveqq.framework.core.lang.Value;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
@@ -16,7 +17,6 @@ import com.kfyty.loveqq.framework.data.korm.intercept.InterceptorChain;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -50,8 +50,8 @@ public class GeneratedKeysInterceptor implements Interceptor {
             return chain.proceed();
         }
         try {
-            Connection connection = TransactionHolder.currentTransaction().getConnection();
-            chain.setPreparedStatement(JdbcUtil.getPreparedStatement(connection, sql.get(), (c, s) -> JdbcUtil.preparedStatement(c, s, Statement.RETURN_GENERATED_KEYS), parameters.toArray(MethodParameter[]::new)));
+            Transaction transaction = TransactionHolder.currentTransaction();
+            chain.setPreparedStatement(JdbcUtil.getPreparedStatement(transaction, sql.get(), Statement.RETURN_GENERATED_KEYS, parameters.toArray(MethodParameter[]::new)));
             return chain.proceed();
         } catch (SQLException e) {
             throw new ExecuteInterceptorException(e);
@@ -14,10 +14,11 @@ import com.kfyty.loveqq.framework.data.korm.intercept.InterceptorChain;
 import com.kfyty.loveqq.framework.data.korm.util.ForEachUtil;
 import com.kfyty.loveqq.framework.data.korm.util.SQLParametersResolveUtil;
 
+import java.lang.annotation.Annotation;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.invokeMethod;
 
@@ -36,25 +37,42 @@ public class IfInternalInterceptor implements Interceptor {
     @Override
     public Object intercept(Value<String> sql, SimpleGeneric returnType, List<MethodParameter> parameters, InterceptorChain chain) {
         If[] ifList = invokeMethod(chain.getAnnotation(), "_if");
-        String last = invokeMethod(chain.getAnnotation(), "last");
         if (CommonUtil.empty(ifList)) {
+            String last = invokeMethod(chain.getAnnotation(), "last");
             sql.set(sql.get() + ' ' + last);
             return chain.proceed();
         }
+        MethodParameter[] appended = this.processIf(chain.getAnnotation(), sql, this.getParameterMap(chain));
+        parameters.addAll(Arrays.asList(appended));
+        return chain.proceed();
+    }
 
-
-        Map<String, MethodParameter> parameterMap = this.getParameterMap(chain);
+    /**
+     * 处理注解中的 {@link If} 及 last 属性
+     *
+     * @param annotation   {@link com.kfyty.loveqq.framework.data.korm.annotation.Query}/{@link com.kfyty.loveqq.framework.data.korm.annotation.Execute}
+     * @param sql          已解析参数的 SQL，处理后更新
+     * @param parameterMap 方法参数
+     * @return 新增的参数，需要追加到已解析的参数之后
+     */
+    public MethodParameter[] processIf(Annotation annotation, Value<String> sql, Map<String, MethodParameter> parameterMap) {
+        If[] ifList = invokeMethod(annotation, "_if");
+        String last = invokeMethod(annotation, "last");
+        if (CommonUtil.empty(ifList)) {
+            sql.set(sql.get() + ' ' + last);
+            return new MethodParameter[0];
+        }
         String processedSQL = this.processIf(sql, last, ifList, parameterMap);
-
         Pair<String, MethodParameter[]> sqlParams = SQLParametersResolveUtil.resolveSQL(processedSQL, parameterMap);
         sql.set(sqlParams.getKey());
-        parameters.addAll(Arrays.asList(sqlParams.getValue()));
-
-        return chain.proceed();
+        return sqlParams.getValue();
     }
 
     public String processIf(Value<String> sql, String last, If[] ifList, Map<String, MethodParameter> parameterMap) {
-        Map<String, Object> conditionContext = parameterMap.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getValue()));
+        Map<String, Object> conditionContext = new HashMap<>((int) (parameterMap.size() / 0.75F) + 1);
+        for (Map.Entry<String, MethodParameter> entry : parameterMap.entrySet()) {
+            conditionContext.put(entry.getKey(), entry.getValue().getValue());                                          // 参数值可能为 null，不能使用 Collectors.toMap
+        }
         StringBuilder builder = new StringBuilder(sql.get());
         for (If anIf : ifList) {
             if (OgnlUtil.getBoolean(anIf.test(), conditionContext)) {
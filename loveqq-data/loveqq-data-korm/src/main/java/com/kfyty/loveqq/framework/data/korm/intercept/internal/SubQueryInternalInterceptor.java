@@ -42,6 +42,10 @@ public class SubQueryInternalInterceptor implements QueryInterceptor {
         if (retValue == null || !(annotation instanceof Query)) {
             return chain.proceed();
         }
+        if (chain.isCursor()) {
+            // 游标结果逐行读取，且读取期间连接被占用，不支持子查询
+            return chain.proceed();
+        }
         SubQuery[] subQueries = invokeMethod(annotation, "subQuery");
         CommonUtil.consumer(retValue, e -> this.processSubQuery(chain.getSqlSession(), chain.getMapperMethod().getMethod(), subQueries, e));
         return chain.proceed();
@@ -0,0 +1,148 @@
+package com.kfyty.loveqq.framework.data.korm.reactive;
+
+import com.kfyty.loveqq.framework.core.utils.ConverterUtil;
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.underline2CamelCase;
+
+/**
+ * 描述: R2DBC 行映射器
+ * <p>
+ * 和 jdbc 的映射规则一致: {@link Map} 按列名映射，基础数据类型取第一列，实体按列名的驼峰形式映射到属性；
+ * 类型转换由驱动完成
+ *
+ * @author kfyty725
+ * @date 2024/12/28 14:50
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class ReactiveRowMapper<T> implements BiFunction<Row, RowMetadata, T> {
+    /**
+     * 映射器缓存
+     */
+    private static final Map<Class<?>, ReactiveRowMapper<?>> ROW_MAPPER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 行类型
+     */
+    private final Class<T> rowType;
+
+    /**
+     * 实体属性，行类型不是实体时为 null
+     */
+    private final Map<String, Field> fieldMap;
+
+    public ReactiveRowMapper(Class<T> rowType) {
+        this.rowType = rowType;
+        this.fieldMap = Map.class.isAssignableFrom(rowType) || ReflectUtil.isBaseDataType(rowType) ? null : ReflectUtil.getFieldMap(rowType);
+    }
+
+    /**
+     * 获取行类型对应的行映射器
+     *
+     * @param rowType 行类型
+     * @return 行映射器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ReactiveRowMapper<T> obtain(Class<T> rowType) {
+        ReactiveRowMapper<T> rowMapper = (ReactiveRowMapper<T>) ROW_MAPPER_CACHE.get(rowType);
+        if (rowMapper == null) {
+            rowMapper = (ReactiveRowMapper<T>) ROW_MAPPER_CACHE.computeIfAbsent(rowType, ReactiveRowMapper::new);
+        }
+        return rowMapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T apply(Row row, RowMetadata metadata) {
+        if (this.fieldMap != null) {
+            return this.mapBean(row, metadata);
+        }
+        if (Map.class.isAssignableFrom(this.rowType)) {
+            return (T) this.mapRow(row, metadata);
+        }
+        return getValue(row, 0, this.rowType);
+    }
+
+    protected Map<String, Object> mapRow(Row row, RowMetadata metadata) {
+        List<? extends ColumnMetadata> columns = metadata.getColumnMetadatas();
+        Map<String, Object> map = new LinkedHashMap<>((int) (columns.size() / 0.75F) + 1);
+        for (int i = 0; i < columns.size(); i++) {
+            map.put(columns.get(i).getName(), row.get(i));
+        }
+        return map;
+    }
+
+    protected T mapBean(Row row, RowMetadata metadata) {
+        T instance = ReflectUtil.newInstance(this.rowType);
+        List<? extends ColumnMetadata> columns = metadata.getColumnMetadatas();
+        for (int i = 0; i < columns.size(); i++) {
+            String columnName = columns.get(i).getName();
+            String fieldName = underline2CamelCase(columnName);
+            Field field = this.fieldMap.get(fieldName);
+            if (field != null) {
+                Object value = getValue(row, i, field.getType());
+                if (value != null || !field.getType().isPrimitive()) {
+                    ReflectUtil.setFieldValue(instance, field, value);
+                }
+                continue;
+            }
+            if (fieldName.contains(".")) {
+                ReflectUtil.setNestedFieldValue(fieldName, instance, getValue(row, i, ReflectUtil.resolveFieldType(fieldName, this.rowType)));
+                continue;
+            }
+            LogUtil.logIfDebugEnabled(log, log -> log.debug("discovery column: [{}], but class:[{}] no field matching !", columnName, this.rowType));
+        }
+        return instance;
+    }
+
+    /**
+     * 获取列值，驱动不支持转换为目标类型时，转换驱动返回的值，eg: {@link LocalDateTime} -> {@link Date}，{@link ByteBuffer} -> byte[]，
+     * 其他类型使用 {@link ConverterUtil} 转换
+     *
+     * @param row   行
+     * @param index 列索引
+     * @param type  目标类型
+     * @return 列值
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> T getValue(Row row, int index, Class<T> type) {
+        try {
+            return row.get(index, wrap(type));
+        } catch (IllegalArgumentException e) {
+            Object value = row.get(index);
+            if (value instanceof LocalDateTime && type == Date.class) {
+                return (T) Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant());
+            }
+            if (value instanceof ByteBuffer && type == byte[].class) {
+                ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return (T) bytes;
+            }
+            return value == null ? null : ConverterUtil.convert(value, type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> wrap(Class<T> type) {
+        return type.isPrimitive() ? (Class<T>) MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
@@ -0,0 +1,320 @@
+package com.kfyty.loveqq.framework.data.korm.reactive;
+
+import com.kfyty.loveqq.framework.core.generic.Generic;
+import com.kfyty.loveqq.framework.core.generic.QualifierGeneric;
+import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.data.korm.ReactiveBaseMapper;
+import com.kfyty.loveqq.framework.data.korm.annotation.Query;
+import com.kfyty.loveqq.framework.data.korm.intercept.internal.IfInternalInterceptor;
+import com.kfyty.loveqq.framework.data.korm.session.Configuration;
+import com.kfyty.loveqq.framework.data.korm.session.MappedStatement;
+import com.kfyty.loveqq.framework.data.korm.session.MappedStatement.SQLStatement;
+import com.kfyty.loveqq.framework.data.korm.session.SqlSession;
+import com.kfyty.loveqq.framework.data.korm.sql.ProviderAdapter;
+import com.kfyty.loveqq.framework.data.korm.sql.dialect.DialectProvider;
+import com.kfyty.loveqq.framework.data.korm.util.SQLParametersResolveUtil;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.getMethod;
+import static com.kfyty.loveqq.framework.data.korm.sql.dialect.AbstractProvider.PROVIDER_PARAM_ENTITY;
+
+/**
+ * 描述: 响应式 SqlSession
+ * <p>
+ * 返回值为 {@link Mono}/{@link Flux} 的 mapper 方法通过 R2DBC 执行，SQL 的生成和 {@link SqlSession} 一致，
+ * {@link com.kfyty.loveqq.framework.data.korm.annotation.If} 在执行前直接处理；其他方法仍通过 jdbc 执行。
+ * 存在 {@link ReactiveTransaction} 时使用事务连接，否则每次执行获取一个新连接，执行结束后关闭
+ * <p>
+ * 方言是线程绑定的，因此 SQL 及参数在调用线程中解析，仅执行延迟到订阅时；
+ * {@link ReactiveBaseMapper#updateBatch(List)} 不拼接多条语句，而是将 SQL 相同的连续实体通过 {@link Statement#add()} 批量执行
+ * <p>
+ * 不经过 jdbc 拦截器链，因此不支持子查询以及自增主键回写
+ *
+ * @author kfyty725
+ * @date 2024/12/28 15:10
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class ReactiveSqlSession extends SqlSession {
+    /**
+     * {@link com.kfyty.loveqq.framework.data.korm.annotation.If} 处理器
+     */
+    private static final IfInternalInterceptor IF_INTERCEPTOR = new IfInternalInterceptor();
+
+    /**
+     * 批量更新方法
+     */
+    private static final Method UPDATE_BATCH = getMethod(ReactiveBaseMapper.class, "updateBatch", List.class);
+
+    /**
+     * mapper class
+     */
+    private final Class<?> mapperClass;
+
+    /**
+     * 连接工厂
+     */
+    private final ConnectionFactory connectionFactory;
+
+    /**
+     * 绑定参数占位符前缀，为 ? 时不转换，否则转换为前缀加参数序号，eg: $1
+     */
+    private final String bindMarker;
+
+    public ReactiveSqlSession(Class<?> mapperClass, Configuration configuration, ConnectionFactory connectionFactory, String bindMarker) {
+        super(mapperClass, configuration);
+        this.mapperClass = mapperClass;
+        this.connectionFactory = Objects.requireNonNull(connectionFactory);
+        this.bindMarker = Objects.requireNonNull(bindMarker);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Class<?> returnType = method.getReturnType();
+        if (returnType != Mono.class && returnType != Flux.class) {
+            return super.invoke(proxy, method, args);
+        }
+        MappedStatement mappedStatement = this.obtainMappedStatement(method);
+        SQLStatement[] statements = mappedStatement.getStatements();
+        if (statements.length != 1) {
+            throw new IllegalArgumentException("The reactive mapper method doesn't support repeatable annotation: " + method);
+        }
+        Map<String, MethodParameter> params = mappedStatement.resolveParameters(args);
+        Flux<?> result = method.equals(UPDATE_BATCH) ? this.requestExecuteBatchReactive(params) : this.requestExecuteReactive(statements[0], params);
+        return returnType == Flux.class ? result : this.adaptMono(result, statements[0]);
+    }
+
+    /**
+     * 解析 SQL 及参数，返回订阅时执行的语句
+     *
+     * @param statement 语句
+     * @param params    参数
+     * @return 查询结果或影响行数
+     */
+    protected Flux<?> requestExecuteReactive(SQLStatement statement, Map<String, MethodParameter> params) {
+        Value<Annotation> annotation = new Value<>(statement.getAnnotation());
+        Pair<String, MethodParameter[]> sqlParams = this.resolveSQL(statement, annotation, params);
+        Value<String> sql = new Value<>(sqlParams.getKey());
+        MethodParameter[] appended = IF_INTERCEPTOR.processIf(annotation.get(), sql, params);
+        MethodParameter[] parameters = concat(sqlParams.getValue(), appended);
+        String nativeSQL = this.toNativeSQL(sql.get());
+        if (log.isDebugEnabled()) {
+            log.debug("\r\n==>     preparing: {}", nativeSQL);
+            log.debug("\r\n==>    parameters: {}", Arrays.stream(parameters).map(MethodParameter::getValue).collect(Collectors.toList()));
+        }
+        if (annotation.get() instanceof Query) {
+            ReactiveRowMapper<?> rowMapper = ReactiveRowMapper.obtain(resolveRowType(statement.getReturnType()));
+            return this.withConnection(connection -> Flux.from(this.createStatement(connection, nativeSQL, parameters).execute()).concatMap(e -> e.map(rowMapper)));
+        }
+        return this.withConnection(connection -> Flux.from(this.createStatement(connection, nativeSQL, parameters).execute()).concatMap(Result::getRowsUpdated));
+    }
+
+    /**
+     * 解析批量更新的 SQL 及参数，返回订阅时执行的语句
+     * 每个实体的更新 SQL 取决于非空属性，SQL 相同的连续实体绑定到同一条语句中
+     *
+     * @param params 参数
+     * @return 每条语句的影响行数
+     */
+    protected Flux<Long> requestExecuteBatchReactive(Map<String, MethodParameter> params) {
+        List<?> entities = CommonUtil.toList(params.get(PROVIDER_PARAM_ENTITY).getValue());
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        DialectProvider dialect = ProviderAdapter.getDialect();
+        List<Pair<String, List<MethodParameter[]>>> batches = new ArrayList<>();
+        for (Object entity : entities) {
+            Map<String, MethodParameter> entityParams = Collections.singletonMap(PROVIDER_PARAM_ENTITY, new MethodParameter(entity.getClass(), entity, PROVIDER_PARAM_ENTITY));
+            Pair<String, MethodParameter[]> sqlParams = SQLParametersResolveUtil.resolveSQL(dialect.buildUpdateSQL(this.mapperClass, entity), entityParams);
+            String nativeSQL = this.toNativeSQL(sqlParams.getKey());
+            Pair<String, List<MethodParameter[]>> last = batches.isEmpty() ? null : batches.get(batches.size() - 1);
+            if (last == null || !last.getKey().equals(nativeSQL)) {
+                batches.add(last = new Pair<>(nativeSQL, new ArrayList<>()));
+            }
+            last.getValue().add(sqlParams.getValue());
+        }
+        if (log.isDebugEnabled()) {
+            batches.forEach(e -> log.debug("\r\n==>     preparing: {}, batch size: {}", e.getKey(), e.getValue().size()));
+        }
+        return this.withConnection(connection -> Flux.fromIterable(batches).concatMap(batch -> Flux.from(this.createStatement(connection, batch.getKey(), batch.getValue()).execute()).concatMap(Result::getRowsUpdated)));
+    }
+
+    /**
+     * 在连接中执行，存在响应式事务时使用事务连接
+     *
+     * @param action 操作
+     * @return 执行结果
+     */
+    protected <T> Flux<T> withConnection(Function<Connection, Publisher<T>> action) {
+        return Flux.deferContextual(context -> {
+            if (context.hasKey(ReactiveTransaction.CONTEXT_KEY)) {
+                return action.apply(context.get(ReactiveTransaction.CONTEXT_KEY).getConnection());
+            }
+            return Flux.usingWhen(this.connectionFactory.create(), action, Connection::close);
+        });
+    }
+
+    protected Statement createStatement(Connection connection, String sql, MethodParameter[] parameters) {
+        Statement statement = connection.createStatement(sql);
+        this.bind(statement, parameters);
+        return statement;
+    }
+
+    /**
+     * 创建批量语句，每组参数之间通过 {@link Statement#add()} 分隔
+     */
+    protected Statement createStatement(Connection connection, String sql, List<MethodParameter[]> batchParameters) {
+        Statement statement = connection.createStatement(sql);
+        for (int i = 0; i < batchParameters.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            this.bind(statement, batchParameters.get(i));
+        }
+        return statement;
+    }
+
+    protected void bind(Statement statement, MethodParameter[] parameters) {
+        for (int i = 0; i < parameters.length; i++) {
+            MethodParameter parameter = parameters[i];
+            Object value = parameter.getValue();
+            if (value == null) {
+                if (parameter.getParamType() == null) {
+                    throw new IllegalArgumentException("Can't resolve the type of null parameter: " + parameter.getParamName());
+                }
+                statement.bindNull(i, toBindType(parameter.getParamType()));
+                continue;
+            }
+            statement.bind(i, toBindValue(value));
+        }
+    }
+
+    /**
+     * 将 jdbc 的 ? 占位符转换为驱动的占位符，忽略字符串中的 ?
+     *
+     * @param sql SQL
+     * @return 驱动 SQL
+     */
+    protected String toNativeSQL(String sql) {
+        if ("?".equals(this.bindMarker) || sql.indexOf('?') < 0) {
+            return sql;
+        }
+        int index = 0;
+        char quote = 0;
+        StringBuilder builder = new StringBuilder(sql.length() + 16);
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                builder.append(this.bindMarker).append(++index);
+                continue;
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 适配为 {@link Mono}，返回值为集合时收集全部结果，更新语句返回总影响行数
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Mono<?> adaptMono(Flux<?> result, SQLStatement statement) {
+        Class<?> valueType = statement.getReturnType().hasGeneric() ? statement.getReturnType().getFirst().get() : null;
+        if (valueType != null && Collection.class.isAssignableFrom(valueType)) {
+            return result.collectList();
+        }
+        if (statement.getAnnotation() instanceof Query) {
+            return result.next();
+        }
+        Mono<Long> rows = ((Flux<Long>) result).reduce(0L, Long::sum);
+        if (valueType == Void.class) {
+            return rows.then();
+        }
+        if (valueType == Integer.class || valueType == int.class) {
+            return rows.map(Long::intValue);
+        }
+        return (Mono) rows;
+    }
+
+    /**
+     * 解析行类型，eg: {@code Mono<User>}、{@code Flux<User>}、{@code Mono<List<User>>}
+     *
+     * @param returnType 返回值类型
+     * @return 行类型
+     */
+    protected static Class<?> resolveRowType(SimpleGeneric returnType) {
+        if (!returnType.hasGeneric()) {
+            return Map.class;
+        }
+        Generic generic = returnType.getFirst();
+        if (generic.get() != null && Collection.class.isAssignableFrom(generic.get())) {
+            QualifierGeneric nested = returnType.getNestedFirst();
+            generic = nested != null && nested.hasGeneric() ? nested.getFirst() : null;
+        }
+        return generic == null || generic.get() == null ? Map.class : generic.get();
+    }
+
+    /**
+     * 返回与 {@link #toBindValue(Object)} 转换后的值一致的绑定类型，用于绑定 null
+     */
+    protected static Class<?> toBindType(Class<?> type) {
+        if (Date.class.isAssignableFrom(type) && !java.sql.Date.class.isAssignableFrom(type) && !java.sql.Time.class.isAssignableFrom(type)) {
+            return LocalDateTime.class;
+        }
+        if (type.isEnum()) {
+            return String.class;
+        }
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    protected static Object toBindValue(Object value) {
+        if (value instanceof Date && !(value instanceof java.sql.Date || value instanceof java.sql.Time)) {
+            return new Timestamp(((Date) value).getTime()).toLocalDateTime();
+        }
+        if (value instanceof Enum<?>) {
+            return ((Enum<?>) value).name();
+        }
+        return value;
+    }
+
+    private static MethodParameter[] concat(MethodParameter[] parameters, MethodParameter[] appended) {
+        if (appended.length == 0) {
+            return parameters;
+        }
+        MethodParameter[] result = Arrays.copyOf(parameters, parameters.length + appended.length);
+        System.arraycopy(appended, 0, result, parameters.length, appended.length);
+        return result;
+    }
+}
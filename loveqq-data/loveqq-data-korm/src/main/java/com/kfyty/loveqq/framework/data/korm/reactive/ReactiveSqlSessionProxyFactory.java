@@ -0,0 +1,39 @@
+package com.kfyty.loveqq.framework.data.korm.reactive;
+
+import com.kfyty.loveqq.framework.data.korm.session.Configuration;
+import com.kfyty.loveqq.framework.data.korm.session.SqlSessionProxyFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.Getter;
+
+import java.lang.reflect.Proxy;
+import java.util.Objects;
+
+/**
+ * 描述: 响应式 SqlSessionProxyFactory，返回值为 Mono/Flux 的 mapper 方法通过 R2DBC 执行
+ *
+ * @author kfyty725
+ * @date 2024/12/28 15:40
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class ReactiveSqlSessionProxyFactory extends SqlSessionProxyFactory {
+    protected final ConnectionFactory connectionFactory;
+
+    protected final String bindMarker;
+
+    public ReactiveSqlSessionProxyFactory(Configuration configuration, ConnectionFactory connectionFactory) {
+        this(configuration, connectionFactory, "?");
+    }
+
+    public ReactiveSqlSessionProxyFactory(Configuration configuration, ConnectionFactory connectionFactory, String bindMarker) {
+        super(configuration);
+        this.connectionFactory = Objects.requireNonNull(connectionFactory);
+        this.bindMarker = Objects.requireNonNull(bindMarker);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T createProxy(Class<T> interfaces) {
+        return (T) Proxy.newProxyInstance(interfaces.getClassLoader(), new Class[]{interfaces}, new ReactiveSqlSession(interfaces, this.configuration, this.connectionFactory, this.bindMarker));
+    }
+}
@@ -0,0 +1,99 @@
+package com.kfyty.loveqq.framework.data.korm.reactive;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 描述: 响应式事务，通过 reactor 上下文传播
+ * <p>
+ * 在 {@link #execute(ConnectionFactory, Function)} 中执行的 mapper 方法共享同一个连接，
+ * 发布者正常完成时提交，异常或取消时回滚；已存在事务时加入当前事务
+ *
+ * @author kfyty725
+ * @date 2024/12/28 14:30
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+@Getter
+public class ReactiveTransaction {
+    /**
+     * reactor 上下文 key
+     */
+    public static final Class<ReactiveTransaction> CONTEXT_KEY = ReactiveTransaction.class;
+
+    /**
+     * 事务连接
+     */
+    private final Connection connection;
+
+    public ReactiveTransaction(Connection connection) {
+        this.connection = Objects.requireNonNull(connection);
+    }
+
+    /**
+     * 在事务中执行
+     *
+     * @param connectionFactory 连接工厂
+     * @param action            事务操作
+     * @return 执行结果
+     */
+    public static <T> Mono<T> execute(ConnectionFactory connectionFactory, Function<ReactiveTransaction, Mono<T>> action) {
+        return executeMany(connectionFactory, action).singleOrEmpty();
+    }
+
+    /**
+     * 在事务中执行
+     *
+     * @param connectionFactory 连接工厂
+     * @param action            事务操作
+     * @return 执行结果
+     */
+    public static <T> Flux<T> executeMany(ConnectionFactory connectionFactory, Function<ReactiveTransaction, ? extends Publisher<T>> action) {
+        return Flux.deferContextual(context -> {
+            if (context.hasKey(CONTEXT_KEY)) {
+                return Flux.from(action.apply(context.get(CONTEXT_KEY)));
+            }
+            return Flux.usingWhen(
+                    Mono.from(connectionFactory.create()).flatMap(connection -> Mono.from(connection.beginTransaction()).thenReturn(new ReactiveTransaction(connection))),
+                    transaction -> Flux.from(action.apply(transaction)).contextWrite(ctx -> ctx.put(CONTEXT_KEY, transaction)),
+                    ReactiveTransaction::commit,
+                    (transaction, ex) -> transaction.rollback(),
+                    ReactiveTransaction::rollback
+            );
+        });
+    }
+
+    /**
+     * 提交并关闭连接
+     */
+    public Mono<Void> commit() {
+        if (log.isDebugEnabled()) {
+            log.debug("Committing R2DBC Connection [" + this.connection + "]");
+        }
+        return Mono.from(this.connection.commitTransaction())
+                .onErrorResume(e -> this.close().then(Mono.error(e)))
+                .then(Mono.defer(this::close));
+    }
+
+    /**
+     * 回滚并关闭连接
+     */
+    public Mono<Void> rollback() {
+        if (log.isDebugEnabled()) {
+            log.debug("Rolling back R2DBC Connection [" + this.connection + "]");
+        }
+        return Mono.from(this.connection.rollbackTransaction()).onErrorResume(e -> Mono.empty()).then(Mono.defer(this::close));
+    }
+
+    private Mono<Void> close() {
+        return Mono.from(this.connection.close());
+    }
+}
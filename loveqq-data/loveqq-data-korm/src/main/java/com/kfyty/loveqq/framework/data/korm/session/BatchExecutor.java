@@ -0,0 +1,197 @@
+package com.kfyty.loveqq.framework.data.korm.session;
+
+import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
+import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+import com.kfyty.loveqq.framework.data.korm.BaseMapper;
+import com.kfyty.loveqq.framework.data.korm.annotation.Execute;
+import com.kfyty.loveqq.framework.data.korm.annotation.TableId;
+import com.kfyty.loveqq.framework.data.korm.sql.ParsedSQL;
+import com.kfyty.loveqq.framework.data.korm.sql.ProviderAdapter;
+import com.kfyty.loveqq.framework.data.korm.sql.dialect.DialectProvider;
+import com.kfyty.loveqq.framework.data.korm.util.SQLParametersResolveUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.hasAnnotation;
+import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.getMethod;
+import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.invokeMethod;
+import static com.kfyty.loveqq.framework.data.korm.sql.dialect.AbstractProvider.PROVIDER_PARAM_ENTITY;
+
+/**
+ * 描述: {@link BaseMapper#insertBatch(List)}/{@link BaseMapper#updateBatch(List)} 批量执行器
+ * <p>
+ * 每个实体使用同一条参数化 SQL，通过 {@link PreparedStatement#addBatch()} 分批执行，而不是拼接为一条超长 SQL；
+ * 开启批量插入重写时，每批实体重写为一条多值插入语句，适用于 mysql 等支持多值插入的数据库
+ *
+ * @author kfyty725
+ * @date 2024/12/27 10:30
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class BatchExecutor {
+    private static final Method INSERT_BATCH = getMethod(BaseMapper.class, "insertBatch", List.class);
+    private static final Method UPDATE_BATCH = getMethod(BaseMapper.class, "updateBatch", List.class);
+
+    /**
+     * mapper class
+     */
+    private final Class<?> mapperClass;
+
+    /**
+     * 配置
+     */
+    private final Configuration configuration;
+
+    public BatchExecutor(Class<?> mapperClass, Configuration configuration) {
+        this.mapperClass = mapperClass;
+        this.configuration = configuration;
+    }
+
+    /**
+     * 是否以批量方式执行
+     *
+     * @param mapperMethod mapper 方法
+     * @param annotation   注解
+     * @return true if batch
+     */
+    public boolean isBatch(Method mapperMethod, Annotation annotation) {
+        if (this.configuration.getBatchSize() <= 0 || !(annotation instanceof Execute)) {
+            return false;
+        }
+        if (!mapperMethod.equals(INSERT_BATCH) && !mapperMethod.equals(UPDATE_BATCH)) {
+            return false;
+        }
+        Class<?> provider = invokeMethod(annotation, "provider");
+        return DialectProvider.class.isAssignableFrom(provider);
+    }
+
+    /**
+     * 批量执行
+     *
+     * @param transaction  事务
+     * @param mapperMethod mapper 方法
+     * @param params       方法参数
+     * @return 总影响行数
+     */
+    public int execute(Transaction transaction, Method mapperMethod, Map<String, MethodParameter> params) throws SQLException {
+        List<?> entities = CommonUtil.toList(params.get(PROVIDER_PARAM_ENTITY).getValue());
+        if (entities.isEmpty()) {
+            return 0;
+        }
+        if (mapperMethod.equals(INSERT_BATCH)) {
+            return this.executeInsert(transaction, entities);
+        }
+        return this.executeUpdate(transaction, entities);
+    }
+
+    protected int executeInsert(Transaction transaction, List<?> entities) throws SQLException {
+        int batchSize = this.configuration.getBatchSize();
+        DialectProvider dialect = ProviderAdapter.getDialect();
+        Field pkField = this.resolvePrimaryKeyField(entities.get(0).getClass());
+        List<Pair<String, MethodParameter[]>> statements = new ArrayList<>();
+        List<Integer> entityOffsets = new ArrayList<>();
+        boolean rewrite = this.configuration.isRewriteBatchedInsert();
+        if (rewrite) {
+            for (int i = 0; i < entities.size(); i += batchSize) {
+                Map<String, MethodParameter> chunkParams = new HashMap<>(this.entityParams(entities.subList(i, Math.min(i + batchSize, entities.size()))));
+                String sql = dialect.insertBatch(this.mapperClass, INSERT_BATCH, new Value<>(), chunkParams);
+                statements.add(SQLParametersResolveUtil.resolveSQL(sql, chunkParams));
+                entityOffsets.add(i);
+            }
+        } else {
+            ParsedSQL parsedSQL = ParsedSQL.parse(dialect.buildInsertSQL(this.mapperClass));
+            for (int i = 0; i < entities.size(); i++) {
+                statements.add(SQLParametersResolveUtil.resolveSQL(parsedSQL, this.entityParams(entities.get(i))));
+                entityOffsets.add(i);
+            }
+        }
+        entityOffsets.add(entities.size());
+        // 重写后的每条语句已包含 batchSize 行，因此每条语句单独执行一次，避免一次执行 batchSize * batchSize 行
+        List<int[]> updateCounts = JdbcUtil.executeBatch(transaction, statements, rewrite ? 1 : batchSize, pkField != null, (ps, from, to, counts) -> {
+            if (pkField != null) {
+                this.processGeneratedKeys(ps, pkField, entities.subList(entityOffsets.get(from), entityOffsets.get(to)));
+            }
+        });
+        return sum(updateCounts);
+    }
+
+    protected int executeUpdate(Transaction transaction, List<?> entities) throws SQLException {
+        DialectProvider dialect = ProviderAdapter.getDialect();
+        List<Pair<String, MethodParameter[]>> statements = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            String sql = dialect.buildUpdateSQL(this.mapperClass, entity);
+            statements.add(SQLParametersResolveUtil.resolveSQL(sql, this.entityParams(entity)));
+        }
+        return sum(JdbcUtil.executeBatch(transaction, statements, this.configuration.getBatchSize(), false, null));
+    }
+
+    protected Field resolvePrimaryKeyField(Class<?> entityClass) {
+        for (Field field : ReflectUtil.getFields(entityClass)) {
+            if (hasAnnotation(field, TableId.class)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 设置自增主键，已存在主键值的实体不会被覆盖
+     *
+     * @param ps       执行的语句
+     * @param pkField  主键属性
+     * @param entities 本批实体
+     */
+    protected void processGeneratedKeys(PreparedStatement ps, Field pkField, List<?> entities) throws SQLException {
+        try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            List<?> keys = ResultSetUtil.processListBaseType(generatedKeys, pkField.getType());
+            for (int i = 0; i < entities.size() && i < keys.size(); i++) {
+                Object entity = entities.get(i);
+                if (ReflectUtil.getFieldValue(entity, pkField) == null) {
+                    ReflectUtil.setFieldValue(entity, pkField, keys.get(i));
+                }
+            }
+        }
+    }
+
+    protected Map<String, MethodParameter> entityParams(Object entity) {
+        return Collections.singletonMap(PROVIDER_PARAM_ENTITY, new MethodParameter(entity.getClass(), entity, PROVIDER_PARAM_ENTITY));
+    }
+
+    /**
+     * 计算总影响行数，{@link Statement#SUCCESS_NO_INFO} 按一行计算
+     *
+     * @param updateCounts 每批影响行数
+     * @return 总影响行数
+     */
+    protected static int sum(List<int[]> updateCounts) {
+        int total = 0;
+        for (int[] counts : updateCounts) {
+            for (int count : counts) {
+                if (count > 0) {
+                    total += count;
+                } else if (count == Statement.SUCCESS_NO_INFO) {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+}
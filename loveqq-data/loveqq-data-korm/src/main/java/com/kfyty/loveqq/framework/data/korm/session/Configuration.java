@@ -105,6 +105,25 @@ public class Configuration {
     @Getter
     private DynamicProvider<?> dynamicProvider;
 
+    /**
+     * 游标查询每次从数据库获取的行数，小于等于 0 时使用驱动默认值
+     * mysql 需要同时开启 useCursorFetch=true，否则驱动仍会一次性读取全部结果
+     */
+    @Getter
+    private int cursorFetchSize = 1000;
+
+    /**
+     * {@link com.kfyty.loveqq.framework.data.korm.BaseMapper} 批量插入/更新时每批执行的数量，小于等于 0 时拼接为一条 SQL 执行
+     */
+    @Getter
+    private int batchSize = 1000;
+
+    /**
+     * 批量插入时，是否将每批数据重写为一条多值插入语句
+     */
+    @Getter
+    private boolean rewriteBatchedInsert;
+
     /**
      * 拦截器
      */
@@ -153,6 +172,39 @@ public class Configuration {
         return this;
     }
 
+    /**
+     * 设置游标查询每次从数据库获取的行数
+     *
+     * @param cursorFetchSize 行数
+     * @return this
+     */
+    public Configuration setCursorFetchSize(int cursorFetchSize) {
+        this.cursorFetchSize = cursorFetchSize;
+        return this;
+    }
+
+    /**
+     * 设置批量插入/更新时每批执行的数量
+     *
+     * @param batchSize 数量
+     * @return this
+     */
+    public Configuration setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 设置批量插入时是否重写为多值插入语句
+     *
+     * @param rewriteBatchedInsert 是否重写
+     * @return this
+     */
+    public Configuration setRewriteBatchedInsert(boolean rewriteBatchedInsert) {
+        this.rewriteBatchedInsert = rewriteBatchedInsert;
+        return this;
+    }
+
     /**
      * 设置动态 SQL 提供者
      *
@@ -0,0 +1,166 @@
+package com.kfyty.loveqq.framework.data.korm.session;
+
+import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.data.korm.sql.ParsedSQL;
+import com.kfyty.loveqq.framework.data.korm.sql.Provider;
+import com.kfyty.loveqq.framework.data.korm.sql.dialect.DialectProvider;
+import com.kfyty.loveqq.framework.data.korm.util.SQLParametersResolveUtil;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.empty;
+import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.invokeMethod;
+
+/**
+ * 描述: mapper 方法编译后的语句
+ * <p>
+ * 缓存方法的参数名称、注解、返回值类型以及静态 SQL 的解析结果，每个方法只解析一次；
+ * 动态模板、{@link com.kfyty.loveqq.framework.data.korm.annotation.If}、${} 仍在每次调用时处理
+ *
+ * @author kfyty725
+ * @date 2024/12/27 15:30
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class MappedStatement {
+    /**
+     * mapper 方法
+     */
+    private final Method method;
+
+    /**
+     * 方法参数
+     */
+    private final Parameter[] parameters;
+
+    /**
+     * 参数名称
+     */
+    private final String[] parameterNames;
+
+    /**
+     * 方法注解对应的语句，可重复注解时有多个
+     */
+    private final SQLStatement[] statements;
+
+    public MappedStatement(Class<?> mapperClass, Method method, Annotation[] annotations) {
+        this.method = method;
+        this.parameters = method.getParameters();
+        this.parameterNames = SQLParametersResolveUtil.resolveParameterNames(this.parameters);
+        this.statements = new SQLStatement[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            this.statements[i] = new SQLStatement(method, annotations[i], SimpleGeneric.from(mapperClass, method));
+        }
+    }
+
+    /**
+     * 封装方法参数
+     *
+     * @param args 参数数组
+     * @return 参数 Map
+     */
+    public Map<String, MethodParameter> resolveParameters(Object[] args) {
+        return SQLParametersResolveUtil.processMethodParameters(this.method, this.parameters, this.parameterNames, args);
+    }
+
+    /**
+     * 单个注解对应的语句
+     */
+    @Getter
+    public static class SQLStatement {
+        /**
+         * mapper 方法
+         */
+        private final Method method;
+
+        /**
+         * 注解
+         */
+        private final Annotation annotation;
+
+        /**
+         * 返回值类型，已设置 {@link SimpleGeneric#getMapKey()}
+         */
+        private final SimpleGeneric returnType;
+
+        /**
+         * SQL 提供者
+         */
+        private final Class<?> provider;
+
+        /**
+         * 注解中的 SQL 解析结果，SQL 由提供者提供时为 null
+         */
+        private final ParsedSQL parsedSQL;
+
+        /**
+         * 方言提供的静态 SQL 缓存，方言是线程级别的，因此需要同时比较方言
+         */
+        @Getter(AccessLevel.NONE)
+        private volatile DialectStatement dialectStatement;
+
+        public SQLStatement(Method method, Annotation annotation, SimpleGeneric returnType) {
+            SQLParametersResolveUtil.checkMapKey(annotation, returnType);
+            this.method = method;
+            this.annotation = annotation;
+            this.returnType = returnType;
+            this.provider = invokeMethod(annotation, "provider");
+            this.parsedSQL = this.provider.equals(Provider.class) ? parse(invokeMethod(annotation, "value")) : null;
+        }
+
+        /**
+         * 获取方言提供的静态 SQL 缓存
+         *
+         * @param dialect 当前线程的方言
+         * @return 缓存，不存在或方言不一致时返回 null
+         */
+        public DialectStatement getDialectStatement(DialectProvider dialect) {
+            DialectStatement statement = this.dialectStatement;
+            return statement != null && statement.dialect == dialect ? statement : null;
+        }
+
+        public void setDialectStatement(DialectStatement dialectStatement) {
+            this.dialectStatement = dialectStatement;
+        }
+
+        private static ParsedSQL parse(String sql) {
+            if (empty(sql)) {
+                throw new IllegalArgumentException("SQL statement is empty !");
+            }
+            return ParsedSQL.parse(sql);
+        }
+    }
+
+    /**
+     * 方言提供的静态 SQL，方言可能会替换注解，eg: {@link DialectProvider#updateByPk}
+     */
+    @Getter
+    public static class DialectStatement {
+        /**
+         * 方言
+         */
+        private final DialectProvider dialect;
+
+        /**
+         * 方言处理后的注解
+         */
+        private final Annotation annotation;
+
+        /**
+         * SQL 解析结果
+         */
+        private final ParsedSQL parsedSQL;
+
+        public DialectStatement(DialectProvider dialect, Annotation annotation, ParsedSQL parsedSQL) {
+            this.dialect = dialect;
+            this.annotation = annotation;
+            this.parsedSQL = parsedSQL;
+        }
+    }
+}
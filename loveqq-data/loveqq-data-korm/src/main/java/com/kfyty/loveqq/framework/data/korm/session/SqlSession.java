@@ -3,6 +3,7 @@ package com.kfyty.loveqq.framework.data.korm.session;
 import com.kfyty.database.jdbc.exception.ExecuteInterceptorException;
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
 import com.kfyty.loveqq.framework.core.jdbc.TransactionHolder;
+import com.kfyty.loveqq.framework.core.jdbc.cursor.Cursor;
 import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
 import com.kfyty.loveqq.framework.core.lang.Value;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
@@ -15,9 +16,13 @@ import com.kfyty.loveqq.framework.data.korm.annotation.Query;
 import com.kfyty.loveqq.framework.data.korm.annotation.SubQuery;
 import com.kfyty.loveqq.framework.data.korm.intercept.Interceptor;
 import com.kfyty.loveqq.framework.data.korm.intercept.InterceptorChain;
-import com.kfyty.loveqq.framework.data.korm.sql.Provider;
+import com.kfyty.loveqq.framework.data.korm.session.MappedStatement.DialectStatement;
+import com.kfyty.loveqq.framework.data.korm.session.MappedStatement.SQLStatement;
+import com.kfyty.loveqq.framework.data.korm.sql.ParsedSQL;
 import com.kfyty.loveqq.framework.data.korm.sql.ProviderAdapter;
+import com.kfyty.loveqq.framework.data.korm.sql.dialect.DialectProvider;
 import com.kfyty.loveqq.framework.data.korm.util.AnnotationInstantiateUtil;
+import com.kfyty.loveqq.framework.data.korm.util.CursorUtil;
 import com.kfyty.loveqq.framework.data.korm.util.SQLParametersResolveUtil;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -31,12 +36,12 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.findAnnotations;
 import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.flatRepeatableAnnotation;
 import static com.kfyty.loveqq.framework.core.utils.CommonUtil.notEmpty;
-import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.invokeMethod;
 
 /**
  * 功能描述: SqlSession，仅支持通过接口代理操作数据库
@@ -59,6 +64,17 @@ public class SqlSession implements InvocationHandler {
      */
     private final ProviderAdapter providerAdapter;
 
+    /**
+     * 批量执行器
+     */
+    private final BatchExecutor batchExecutor;
+
+    /**
+     * 方法语句缓存
+     */
+    @ToString.Exclude
+    private final Map<Method, MappedStatement> mappedStatements;
+
     /**
      * 配置
      */
@@ -69,6 +85,8 @@ public class SqlSession implements InvocationHandler {
         this.mapperClass = mapperClass;
         this.configuration = configuration;
         this.providerAdapter = new ProviderAdapter(configuration);
+        this.batchExecutor = new BatchExecutor(mapperClass, configuration);
+        this.mappedStatements = new ConcurrentHashMap<>();
     }
 
     /**
@@ -98,15 +116,15 @@ public class SqlSession implements InvocationHandler {
         if (Object.class.equals(method.getDeclaringClass())) {
             return method.invoke(this, args);
         }
-        SimpleGeneric returnType = this.processReturnType(method);
-        Annotation[] annotations = this.processAnnotation(method);
-        Map<String, MethodParameter> methodParameter = SQLParametersResolveUtil.processMethodParameters(method, args);
-        if (annotations.length == 1) {
-            return this.requestExecuteSQL(method, new Value<>(annotations[0]), returnType, methodParameter);
+        MappedStatement mappedStatement = this.obtainMappedStatement(method);
+        SQLStatement[] statements = mappedStatement.getStatements();
+        Map<String, MethodParameter> methodParameter = mappedStatement.resolveParameters(args);
+        if (statements.length == 1) {
+            return this.requestExecuteSQL(statements[0], methodParameter);
         }
         List<Object> os = new ArrayList<>();
-        for (Annotation annotation : annotations) {
-            os.add(this.requestExecuteSQL(method, new Value<>(annotation), returnType, methodParameter));
+        for (SQLStatement statement : statements) {
+            os.add(this.requestExecuteSQL(statement, methodParameter));
         }
         return os;
     }
@@ -120,9 +138,37 @@ public class SqlSession implements InvocationHandler {
      * @return 返回值
      */
     public Object requestExecuteSQL(Method mapperMethod, Value<Annotation> annotation, SimpleGeneric returnType, Map<String, MethodParameter> params) throws SQLException {
-        SQLParametersResolveUtil.checkMapKey(annotation.get(), returnType);
-        final String sql = this.resolveSQL(mapperMethod, annotation, params);
-        final Pair<String, MethodParameter[]> sqlParams = SQLParametersResolveUtil.resolveSQL(sql, params);
+        return this.requestExecuteSQL(new SQLStatement(mapperMethod, annotation.get(), returnType), params);
+    }
+
+    /**
+     * 执行编译后的语句
+     * 返回值是 {@link reactor.core.publisher.Flux} 时，订阅时才在订阅线程中绑定事务并打开游标，而不是调用时
+     *
+     * @param statement 语句
+     * @param params    参数
+     * @return 返回值
+     */
+    public Object requestExecuteSQL(SQLStatement statement, Map<String, MethodParameter> params) throws SQLException {
+        final SimpleGeneric returnType = statement.getReturnType();
+        if (CursorUtil.isFluxType(returnType)) {
+            return CursorUtil.toFlux(() -> (Cursor<?>) this.doRequestExecuteSQL(statement, params));
+        }
+        Object retValue = this.doRequestExecuteSQL(statement, params);
+        return retValue instanceof Cursor<?> ? CursorUtil.adapt((Cursor<?>) retValue, returnType) : retValue;
+    }
+
+    /**
+     * 执行 SQL，返回值是游标类型时返回 {@link Cursor}
+     */
+    protected Object doRequestExecuteSQL(SQLStatement statement, Map<String, MethodParameter> params) throws SQLException {
+        final Method mapperMethod = statement.getMethod();
+        final SimpleGeneric returnType = statement.getReturnType();
+        final Value<Annotation> annotation = new Value<>(statement.getAnnotation());
+        if (this.batchExecutor.isBatch(mapperMethod, annotation.get())) {
+            return this.requestExecuteBatch(mapperMethod, params);
+        }
+        final Pair<String, MethodParameter[]> sqlParams = this.resolveSQL(statement, annotation, params);
         final Transaction before = TransactionHolder.currentTransaction(false);
         try {
             Transaction transaction = this.getTransaction();
@@ -131,6 +177,9 @@ public class SqlSession implements InvocationHandler {
                 return this.invokeInterceptorChain(method, annotation.get(), sqlParams, returnType);
             }
             if (annotation.get().annotationType() == Query.class || annotation.get().annotationType() == SubQuery.class) {
+                if (CursorUtil.isCursorType(returnType)) {
+                    return JdbcUtil.queryCursor(transaction, CursorUtil.resolveRowType(returnType), this.configuration.getCursorFetchSize(), sqlParams.getKey(), sqlParams.getValue());
+                }
                 return JdbcUtil.query(transaction, returnType, sqlParams.getKey(), sqlParams.getValue());
             }
             return JdbcUtil.execute(transaction, sqlParams.getKey(), sqlParams.getValue());
@@ -140,13 +189,33 @@ public class SqlSession implements InvocationHandler {
     }
 
     /**
-     * 解析方法返回值类型
+     * 批量执行 {@link BaseMapper#insertBatch(List)}/{@link BaseMapper#updateBatch(List)}，不经过拦截器链
+     *
+     * @param mapperMethod mapper 方法
+     * @param params       参数
+     * @return 总影响行数
+     */
+    private int requestExecuteBatch(Method mapperMethod, Map<String, MethodParameter> params) throws SQLException {
+        final Transaction before = TransactionHolder.currentTransaction(false);
+        try {
+            return this.batchExecutor.execute(this.getTransaction(), mapperMethod, params);
+        } finally {
+            TransactionHolder.resetCurrentTransaction(before);
+        }
+    }
+
+    /**
+     * 获取方法编译后的语句
      *
-     * @param method 方法
-     * @return 返回值类型包装
+     * @param method 代理方法
+     * @return 语句
      */
-    private SimpleGeneric processReturnType(Method method) {
-        return SimpleGeneric.from(this.mapperClass, method);
+    protected MappedStatement obtainMappedStatement(Method method) {
+        MappedStatement mappedStatement = this.mappedStatements.get(method);
+        if (mappedStatement == null) {
+            mappedStatement = this.mappedStatements.computeIfAbsent(method, k -> new MappedStatement(this.mapperClass, k, this.processAnnotation(k)));
+        }
+        return mappedStatement;
     }
 
     /**
@@ -169,22 +238,34 @@ public class SqlSession implements InvocationHandler {
     }
 
     /**
-     * 从注解获取 SQL
+     * 解析 SQL 并绑定参数
+     * 注解中的 SQL 以及方言提供的静态 SQL 使用缓存的解析结果，其他提供者每次调用时提供
      *
-     * @param mapperMethod mapper 方法
-     * @param annotation   注解
-     * @return SQL
+     * @param statement  语句
+     * @param annotation 注解，提供者可能会替换
+     * @param params     参数
+     * @return SQL 及参数
      */
-    private String resolveSQL(Method mapperMethod, Value<Annotation> annotation, Map<String, MethodParameter> params) {
-        Class<?> provider = invokeMethod(annotation.get(), "provider");
-        if (!provider.equals(Provider.class)) {
-            return this.providerAdapter.doProvide(provider, this.mapperClass, mapperMethod, annotation, params);
+    protected Pair<String, MethodParameter[]> resolveSQL(SQLStatement statement, Value<Annotation> annotation, Map<String, MethodParameter> params) {
+        if (statement.getParsedSQL() != null) {
+            return SQLParametersResolveUtil.resolveSQL(statement.getParsedSQL(), params);
         }
-        String sql = invokeMethod(annotation.get(), "value");
-        if (CommonUtil.empty(sql)) {
-            throw new IllegalArgumentException("SQL statement is empty !");
+        Class<?> provider = statement.getProvider();
+        if (!DialectProvider.class.isAssignableFrom(provider)) {
+            String sql = this.providerAdapter.doProvide(provider, this.mapperClass, statement.getMethod(), annotation, params);
+            return SQLParametersResolveUtil.resolveSQL(sql, params);
+        }
+        DialectProvider dialect = ProviderAdapter.getDialect();
+        DialectStatement dialectStatement = statement.getDialectStatement(dialect);
+        if (dialectStatement == null) {
+            String sql = this.providerAdapter.doProvide(provider, this.mapperClass, statement.getMethod(), annotation, params);
+            if (!dialect.isCacheable(statement.getMethod())) {
+                return SQLParametersResolveUtil.resolveSQL(sql, params);
+            }
+            statement.setDialectStatement(dialectStatement = new DialectStatement(dialect, annotation.get(), ParsedSQL.parse(sql)));
         }
-        return sql;
+        annotation.set(dialectStatement.getAnnotation());
+        return SQLParametersResolveUtil.resolveSQL(dialectStatement.getParsedSQL(), params);
     }
 
     /**
@@ -199,9 +280,9 @@ public class SqlSession implements InvocationHandler {
     private Object invokeInterceptorChain(MethodParameter mapperMethod, Annotation annotation, Pair<String, MethodParameter[]> sqlParams, SimpleGeneric returnType) {
         Transaction transaction = TransactionHolder.currentTransaction();
         Iterator<Map.Entry<Method, Interceptor>> iterator = this.configuration.getInterceptorMethodChain().entrySet().iterator();
-        try (InterceptorChain chain = new InterceptorChain(this, mapperMethod, annotation, sqlParams.getKey(), returnType, new ArrayList<>(Arrays.asList(sqlParams.getValue())), iterator)) {
+        try (InterceptorChain chain = new InterceptorChain(this, mapperMethod, annotation, sqlParams.getKey(), returnType, new ArrayList<>(Arrays.asList(sqlParams.getValue())), iterator, this.configuration.getCursorFetchSize())) {
             Object retValue = chain.proceed();
-            if (annotation instanceof SubQuery) {
+            if (annotation instanceof SubQuery || retValue instanceof Cursor<?>) {
                 return retValue;
             }
             JdbcUtil.commitTransactionIfNecessary(transaction);
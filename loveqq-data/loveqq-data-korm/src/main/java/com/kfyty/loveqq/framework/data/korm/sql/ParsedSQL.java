@@ -0,0 +1,54 @@
+package com.kfyty.loveqq.framework.data.korm.sql;
+
+import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.data.korm.util.SQLParametersResolveUtil;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 描述: 已解析占位符的 SQL
+ * <p>
+ * #{} 已替换为 ?，并按顺序保存参数名称；${} 保留在 SQL 中，绑定参数时再替换
+ *
+ * @author kfyty725
+ * @date 2024/12/27 15:10
+ * @email kfyty725@hotmail.com
+ * @see SQLParametersResolveUtil#resolveSQL(ParsedSQL, Map)
+ */
+@Getter
+public class ParsedSQL {
+    /**
+     * 解析后的 SQL
+     */
+    private final String sql;
+
+    /**
+     * #{} 参数，和 ? 的顺序一致
+     */
+    private final String[] hashesParameters;
+
+    /**
+     * ${} 参数
+     */
+    private final String[] dollarParameters;
+
+    public ParsedSQL(String sql, String[] hashesParameters, String[] dollarParameters) {
+        this.sql = sql;
+        this.hashesParameters = hashesParameters;
+        this.dollarParameters = dollarParameters;
+    }
+
+    /**
+     * 解析 SQL 中的占位符
+     *
+     * @param sql SQL
+     * @return 已解析的 SQL
+     */
+    public static ParsedSQL parse(String sql) {
+        Value<String> value = new Value<>(sql);
+        Map<String, List<String>> params = SQLParametersResolveUtil.resolvePlaceholderParameters(value);
+        return new ParsedSQL(value.get(), params.get("#").toArray(new String[0]), params.get("$").toArray(new String[0]));
+    }
+}
@@ -7,6 +7,7 @@ import com.kfyty.loveqq.framework.core.support.Pair;
 import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.data.korm.BaseMapper;
+import com.kfyty.loveqq.framework.data.korm.ReactiveBaseMapper;
 import com.kfyty.loveqq.framework.data.korm.annotation.Execute;
 import com.kfyty.loveqq.framework.data.korm.annotation.ForEach;
 import com.kfyty.loveqq.framework.data.korm.annotation.If;
@@ -14,6 +15,7 @@ import com.kfyty.loveqq.framework.data.korm.annotation.Query;
 import com.kfyty.loveqq.framework.data.korm.annotation.TableId;
 import com.kfyty.loveqq.framework.data.korm.annotation.TableName;
 import com.kfyty.loveqq.framework.data.korm.annotation.Transient;
+import com.kfyty.loveqq.framework.data.korm.intercept.internal.IfInternalInterceptor;
 import com.kfyty.loveqq.framework.data.korm.sql.Provider;
 import com.kfyty.loveqq.framework.data.korm.sql.provider.DeleteProvider;
 import com.kfyty.loveqq.framework.data.korm.sql.provider.InsertProvider;
@@ -27,9 +29,12 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import static com.kfyty.loveqq.framework.core.utils.CommonUtil.camelCase2Underline;
@@ -48,10 +53,34 @@ public abstract class AbstractProvider implements InsertProvider, SelectProvider
 
     private static final String DEFAULT_PK_FIELD = "id";
 
-    private static final Predicate<ParameterizedType> BASE_MAPPER_GENERIC_FILTER = e -> e.getRawType().equals(BaseMapper.class);
+    private static final Predicate<ParameterizedType> BASE_MAPPER_GENERIC_FILTER = e -> e.getRawType().equals(BaseMapper.class) || e.getRawType().equals(ReactiveBaseMapper.class);
 
     private static final Map<Class<?>, Pair<String, Class<?>>> MAPPER_ENTITY_CLASS_CACHE = new WeakConcurrentHashMap<>(4);
 
+    private static final IfInternalInterceptor IF_INTERCEPTOR = new IfInternalInterceptor();
+
+    /**
+     * 仅依赖 mapper class 的方法，其 SQL 不随参数变化
+     */
+    private static final Set<String> STATIC_SQL_METHODS = Set.of("insert", "selectByPk", "selectAll", "updateByPk", "deleteByPk", "deleteAll");
+
+    /**
+     * 可缓存的方法名称，仅包含未被子类重写的静态 SQL 方法
+     */
+    private final Set<String> cacheableMethods = this.resolveCacheableMethods();
+
+    /**
+     * 提供的 SQL 是否可以缓存，即 SQL 及注解仅依赖 mapper class，不随方法参数变化
+     * 仅当提供 SQL 的方法由 {@link AbstractProvider} 声明时才缓存，子类重写后默认不再缓存；
+     * 子类重写的方法仍然仅依赖 mapper class 时，可重写该方法开启缓存
+     *
+     * @param sourceMethod 代理方法
+     * @return true if cacheable
+     */
+    public boolean isCacheable(Method sourceMethod) {
+        return this.cacheableMethods.contains(sourceMethod.getName());
+    }
+
     @Override
     public String insert(Class<?> mapperClass, Method sourceMethod, Value<Execute> annotation, Map<String, MethodParameter> params) {
         return this.buildInsertSQL(mapperClass);
@@ -108,6 +137,22 @@ public abstract class AbstractProvider implements InsertProvider, SelectProvider
         return String.format(sql, this.getTableName(entityClass.getValue()));
     }
 
+    /**
+     * 解析可缓存的方法，提供 SQL 的方法和 {@link Provider#doProvide} 保持一致
+     *
+     * @return 方法名称
+     */
+    private Set<String> resolveCacheableMethods() {
+        Set<String> methods = new HashSet<>(8);
+        for (String methodName : STATIC_SQL_METHODS) {
+            Method method = ReflectUtil.getMethod(this.getClass(), methodName, Class.class, Method.class, Value.class, Map.class);
+            if (method != null && method.getDeclaringClass() == AbstractProvider.class) {
+                methods.add(methodName);
+            }
+        }
+        return methods;
+    }
+
     protected Pair<String, Class<?>> getEntityClass(Class<?> mapperClass) {
         Optional<Pair<String, Class<?>>> entityClassOpt = Optional.ofNullable(MAPPER_ENTITY_CLASS_CACHE.get(mapperClass));
         if (entityClassOpt.isPresent()) {
@@ -153,6 +198,20 @@ public abstract class AbstractProvider implements InsertProvider, SelectProvider
         return String.format("insert into %s (%s) values (%s)", this.getTableName(entityClass.getValue()), fieldPair.getKey(), fieldPair.getValue());
     }
 
+    /**
+     * 构建指定实体的更新 SQL，仅更新非空属性
+     *
+     * @param mapperClass mapper class
+     * @param entity      实体
+     * @return SQL，参数名称为 {@link #PROVIDER_PARAM_ENTITY}
+     */
+    public String buildUpdateSQL(Class<?> mapperClass, Object entity) {
+        Execute updateSQL = this.buildUpdateSQL(mapperClass);
+        Map<String, MethodParameter> params = new HashMap<>(2);
+        params.put(PROVIDER_PARAM_ENTITY, new MethodParameter(entity.getClass(), entity));
+        return IF_INTERCEPTOR.processIf(new Value<>(updateSQL.value()), updateSQL.last(), updateSQL._if(), params);
+    }
+
     public Execute buildUpdateSQL(Class<?> mapperClass) {
         String condition = PROVIDER_PARAM_ENTITY + ".%s != null";
         String value = "%s = #{" + PROVIDER_PARAM_ENTITY + ".%s},";
@@ -6,12 +6,10 @@ import com.kfyty.loveqq.framework.core.support.Pair;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.data.korm.annotation.Execute;
 import com.kfyty.loveqq.framework.data.korm.annotation.ForEach;
-import com.kfyty.loveqq.framework.data.korm.intercept.internal.IfInternalInterceptor;
 import com.kfyty.loveqq.framework.data.korm.util.AnnotationInstantiateUtil;
 import com.kfyty.loveqq.framework.data.korm.util.ForEachUtil;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,13 +35,9 @@ public class MySQLDialectProvider extends DialectProvider {
     public String updateBatch(Class<?> mapperClass, Method sourceMethod, Value<Execute> annotation, Map<String, MethodParameter> params) {
         int index = 0;
         StringBuilder builder = new StringBuilder();
-        IfInternalInterceptor ifInternalInterceptor = new IfInternalInterceptor();
-        Execute updateSQL = this.buildUpdateSQL(mapperClass);
         List<?> list = CommonUtil.toList(params.get(PROVIDER_PARAM_ENTITY).getValue());
         for (Object each : list) {
-            Map<String, MethodParameter> temp = new HashMap<>(2);
-            temp.put(PROVIDER_PARAM_ENTITY, new MethodParameter(each.getClass(), each));
-            String part = ifInternalInterceptor.processIf(new Value<>(updateSQL.value()), updateSQL.last(), updateSQL._if(), temp);
+            String part = this.buildUpdateSQL(mapperClass, each);
 
             String eachVar = PROVIDER_PARAM_ENTITY + "_" + index++;
             builder.append(part.replace("#{" + PROVIDER_PARAM_ENTITY, "#{" + eachVar)).append(";");
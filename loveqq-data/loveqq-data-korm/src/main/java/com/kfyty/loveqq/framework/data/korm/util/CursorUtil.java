@@ -0,0 +1,117 @@
+package com.kfyty.loveqq.framework.data.korm.util;
+
+import com.kfyty.loveqq.framework.core.generic.Generic;
+import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.jdbc.cursor.Cursor;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import reactor.core.publisher.Flux;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 描述: 游标返回值处理工具
+ * <p>
+ * 支持的返回值类型: {@link Cursor}、{@link Stream}、{@link Iterator}、{@link Flux}
+ *
+ * @author kfyty725
+ * @date 2024/12/26 17:20
+ * @email kfyty725@hotmail.com
+ */
+public abstract class CursorUtil {
+    /**
+     * 是否存在 reactor
+     */
+    private static final boolean REACTOR_AVAILABLE = ReflectUtil.isPresent("reactor.core.publisher.Flux");
+
+    /**
+     * 游标打开函数
+     */
+    @FunctionalInterface
+    public interface CursorOpener {
+        Cursor<?> open() throws SQLException;
+    }
+
+    /**
+     * 返回值类型是否需要以游标方式查询
+     *
+     * @param returnType 返回值类型
+     * @return true if cursor type
+     */
+    public static boolean isCursorType(SimpleGeneric returnType) {
+        Class<?> rawType = returnType.getRawType();
+        return rawType == Cursor.class || rawType == Stream.class || rawType == Iterator.class || isFluxType(returnType);
+    }
+
+    /**
+     * 返回值类型是否是 {@link Flux}
+     *
+     * @param returnType 返回值类型
+     * @return true if flux
+     */
+    public static boolean isFluxType(SimpleGeneric returnType) {
+        return REACTOR_AVAILABLE && ReactiveSupport.isFlux(returnType.getRawType());
+    }
+
+    /**
+     * 解析游标的行类型，未指定泛型时为 {@link Map}
+     *
+     * @param returnType 返回值类型
+     * @return 行类型
+     */
+    public static Class<?> resolveRowType(SimpleGeneric returnType) {
+        if (!returnType.hasGeneric()) {
+            return Map.class;
+        }
+        Generic generic = returnType.getFirst();
+        return generic.isTypeVariable() ? Map.class : generic.get();
+    }
+
+    /**
+     * 将游标适配为返回值类型
+     *
+     * @param cursor     游标
+     * @param returnType 返回值类型
+     * @return 返回值
+     */
+    public static Object adapt(Cursor<?> cursor, SimpleGeneric returnType) {
+        Class<?> rawType = returnType.getRawType();
+        if (rawType == Stream.class) {
+            return cursor.stream();
+        }
+        if (rawType == Iterator.class) {
+            return cursor.iterator();
+        }
+        if (isFluxType(returnType)) {
+            return ReactiveSupport.toFlux(() -> cursor);
+        }
+        return cursor;
+    }
+
+    /**
+     * 转换为 {@link Flux}，订阅时才打开游标，取消或完成时关闭游标
+     *
+     * @param opener 游标打开函数
+     * @return {@link Flux}
+     */
+    public static Object toFlux(CursorOpener opener) {
+        return ReactiveSupport.toFlux(opener);
+    }
+
+    /**
+     * 隔离 reactor 依赖
+     */
+    private static class ReactiveSupport {
+
+        static boolean isFlux(Class<?> rawType) {
+            return rawType == Flux.class;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Object toFlux(CursorOpener opener) {
+            return Flux.<Object, Cursor<Object>>using(() -> (Cursor<Object>) opener.open(), Flux::fromIterable, Cursor::close);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.data.korm.annotation.Param;
 import com.kfyty.loveqq.framework.data.korm.annotation.Query;
 import com.kfyty.loveqq.framework.data.korm.annotation.SubQuery;
+import com.kfyty.loveqq.framework.data.korm.sql.ParsedSQL;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.annotation.Annotation;
@@ -58,16 +59,42 @@ public abstract class SQLParametersResolveUtil {
      */
     public static Map<String, MethodParameter> processMethodParameters(Method method, Object[] args) {
         Parameter[] parameters = method.getParameters();
+        return processMethodParameters(method, parameters, resolveParameterNames(parameters), args);
+    }
+
+    /**
+     * 使用已解析的参数名称，将方法参数封装为 Map
+     *
+     * @param method         方法
+     * @param parameters     方法参数
+     * @param parameterNames 参数名称
+     * @param args           参数数组
+     * @return 参数 Map
+     * @see #resolveParameterNames(Parameter[])
+     */
+    public static Map<String, MethodParameter> processMethodParameters(Method method, Parameter[] parameters, String[] parameterNames, Object[] args) {
         Map<String, MethodParameter> params = new LinkedHashMap<>();
         for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            Param annotation = AnnotationUtil.findAnnotation(parameter, Param.class);
-            String paramName = annotation != null && CommonUtil.notEmpty(annotation.value()) ? annotation.value() : parameter.getName();
-            params.put(paramName, new MethodParameter(method, parameter, args[i], paramName));
+            params.put(parameterNames[i], new MethodParameter(method, parameters[i], args[i], parameterNames[i]));
         }
         return params;
     }
 
+    /**
+     * 解析参数名称，优先使用 {@link Param#value()}
+     *
+     * @param parameters 方法参数
+     * @return 参数名称
+     */
+    public static String[] resolveParameterNames(Parameter[] parameters) {
+        String[] parameterNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Param annotation = AnnotationUtil.findAnnotation(parameters[i], Param.class);
+            parameterNames[i] = annotation != null && CommonUtil.notEmpty(annotation.value()) ? annotation.value() : parameters[i].getName();
+        }
+        return parameterNames;
+    }
+
     /**
      * 解析 sql 中的 #{}/${} 中的字符串，并分别保存到 Map
      *
@@ -133,36 +160,76 @@ public abstract class SQLParametersResolveUtil {
      * @see SQLParametersResolveUtil#resolvePlaceholderParameters(Value)
      */
     public static Pair<String, MethodParameter[]> resolveSQL(String sql, Map<String, MethodParameter> parameters) {
-        int index = 0;
-        Value<String> valueSQL = new Value<>(sql);
-        Map<String, List<String>> params = resolvePlaceholderParameters(valueSQL);
-        MethodParameter[] args = new MethodParameter[params.get("#").size()];
-        for (Map.Entry<String, List<String>> next : params.entrySet()) {
-            for (String param : next.getValue()) {
-                Object value = null;
-                Class<?> paramType = null;
-                if (!param.contains(".")) {
-                    MethodParameter methodParam = parameters.get(param);
-                    value = methodParam.getValue();
-                    paramType = methodParam.getParamType();
-                } else {
-                    int rootIndex = param.indexOf(".");
-                    String nested = param.substring(rootIndex + 1);
-                    Object root = parameters.get(param.substring(0, rootIndex)).getValue();
-                    value = ReflectUtil.resolveValue(nested, root);
-                    paramType = value == null ? null : value.getClass();
-                }
-                if (value == null && log.isDebugEnabled()) {
-                    log.debug("discovery null parameter: [{}] !", param);
-                }
-                if ("#".equals(next.getKey())) {
-                    args[index++] = new MethodParameter(paramType, value, param);
-                    continue;
-                }
-                valueSQL.set(valueSQL.get().replace("${" + param + "}", String.valueOf(value)));
+        return resolveSQL(ParsedSQL.parse(sql), parameters);
+    }
+
+    /**
+     * 使用已解析的 sql 绑定参数，仅 ${} 需要替换 sql
+     *
+     * @param parsedSQL  已解析的 sql
+     * @param parameters MethodParameter
+     * @return Pair<String, MethodParameter [ ]>，包含解析后的 sql 以及对应的参数数组
+     */
+    public static Pair<String, MethodParameter[]> resolveSQL(ParsedSQL parsedSQL, Map<String, MethodParameter> parameters) {
+        String sql = parsedSQL.getSql();
+        String[] hashesParameters = parsedSQL.getHashesParameters();
+        MethodParameter[] args = new MethodParameter[hashesParameters.length];
+        for (int i = 0; i < hashesParameters.length; i++) {
+            args[i] = resolveParameter(hashesParameters[i], parameters);
+        }
+        for (String param : parsedSQL.getDollarParameters()) {
+            sql = sql.replace("${" + param + "}", String.valueOf(resolveParameter(param, parameters).getValue()));
+        }
+        return new Pair<>(sql, args);
+    }
+
+    /**
+     * 解析占位符参数的值，支持嵌套属性，eg: entity.id
+     *
+     * @param param      占位符参数
+     * @param parameters MethodParameter
+     * @return 参数
+     */
+    private static MethodParameter resolveParameter(String param, Map<String, MethodParameter> parameters) {
+        Object value = null;
+        Class<?> paramType = null;
+        if (!param.contains(".")) {
+            MethodParameter methodParam = parameters.get(param);
+            value = methodParam.getValue();
+            paramType = methodParam.getParamType();
+        } else {
+            int rootIndex = param.indexOf(".");
+            String nested = param.substring(rootIndex + 1);
+            Object root = parameters.get(param.substring(0, rootIndex)).getValue();
+            value = ReflectUtil.resolveValue(nested, root);
+            paramType = value != null ? value.getClass() : resolveNestedType(nested, root);
+        }
+        if (value == null && log.isDebugEnabled()) {
+            log.debug("discovery null parameter: [{}] !", param);
+        }
+        return new MethodParameter(paramType, value, param);
+    }
+
+    /**
+     * 解析嵌套属性声明的类型，用于绑定值为 null 的参数，eg: entity.id
+     *
+     * @param nested 嵌套属性
+     * @param root   根对象
+     * @return 属性类型，无法解析时返回 null
+     */
+    private static Class<?> resolveNestedType(String nested, Object root) {
+        if (root == null) {
+            return null;
+        }
+        Class<?> clazz = root.getClass();
+        for (String fieldName : nested.split("\\.")) {
+            Field field = ReflectUtil.getField(clazz, fieldName);
+            if (field == null) {
+                return null;
             }
+            clazz = field.getType();
         }
-        return new Pair<>(valueSQL.get(), args);
+        return clazz;
     }
 
     /**
@@ -0,0 +1,178 @@
+package com.kfyty.database;
+
+import com.kfyty.database.entity.User;
+import com.kfyty.database.mapper.UserMapper;
+import com.kfyty.loveqq.framework.core.jdbc.JdbcTransaction;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
+import com.kfyty.loveqq.framework.data.korm.BaseMapper;
+import com.kfyty.loveqq.framework.data.korm.annotation.Execute;
+import com.kfyty.loveqq.framework.data.korm.session.BatchExecutor;
+import com.kfyty.loveqq.framework.data.korm.session.Configuration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.kfyty.loveqq.framework.data.korm.sql.dialect.AbstractProvider.PROVIDER_PARAM_ENTITY;
+
+/**
+ * 描述: 批量执行测试
+ *
+ * @author kfyty725
+ * @date 2024/12/29 11:20
+ * @email kfyty725@hotmail.com
+ */
+public class BatchTest {
+    private static final String INSERT_SQL = "insert into user (username) values (?)";
+
+    private static final String UPDATE_SQL = "update user set username = ? where username = ?";
+
+    private TrackingDataSource dataSource;
+
+    @BeforeEach
+    public void prepare() throws Exception {
+        this.dataSource = new TrackingDataSource("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER");
+        this.dataSource.execute("create table if not exists user (id int auto_increment primary key, username varchar(64), create_time datetime, image blob)");
+        this.dataSource.execute("delete from user");
+    }
+
+    @Test
+    public void groupTest() throws Exception {
+        List<Pair<String, MethodParameter[]>> statements = new ArrayList<>();
+        statements.add(insert("a"));
+        statements.add(insert("b"));
+        statements.add(new Pair<>(UPDATE_SQL, params("c", "b")));
+        statements.add(insert("d"));
+
+        // 相邻且 SQL 相同的语句复用同一个预编译语句
+        List<int[]> updateCounts = JdbcUtil.executeBatch(new JdbcTransaction(this.dataSource.getDataSource()), statements, 10, false, null);
+        Assertions.assertEquals(3, updateCounts.size());
+        Assertions.assertArrayEquals(new int[]{1, 1}, updateCounts.get(0));
+        Assertions.assertArrayEquals(new int[]{1}, updateCounts.get(1));
+        Assertions.assertArrayEquals(new int[]{1}, updateCounts.get(2));
+        Assertions.assertEquals(3, this.dataSource.getStatementCount());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+        Assertions.assertEquals(3, this.count());
+    }
+
+    @Test
+    public void chunkTest() throws Exception {
+        List<Pair<String, MethodParameter[]>> statements = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            statements.add(insert("name" + i));
+        }
+        List<int[]> ranges = new ArrayList<>();
+        List<Integer> keys = new ArrayList<>();
+        List<int[]> updateCounts = JdbcUtil.executeBatch(new JdbcTransaction(this.dataSource.getDataSource()), statements, 2, true, (ps, from, to, counts) -> {
+            ranges.add(new int[]{from, to});
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                while (generatedKeys.next()) {
+                    keys.add(generatedKeys.getInt(1));
+                }
+            }
+        });
+
+        // 每 batchSize 条执行一次，回调的索引范围和每批的语句一致
+        Assertions.assertEquals(3, updateCounts.size());
+        Assertions.assertEquals(1, updateCounts.get(2).length);
+        Assertions.assertArrayEquals(new int[]{0, 2}, ranges.get(0));
+        Assertions.assertArrayEquals(new int[]{2, 4}, ranges.get(1));
+        Assertions.assertArrayEquals(new int[]{4, 5}, ranges.get(2));
+        Assertions.assertEquals(5, keys.size());
+        Assertions.assertEquals(5, keys.stream().distinct().count());
+        Assertions.assertEquals(1, this.dataSource.getStatementCount());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+    }
+
+    @Test
+    public void rollbackTest() throws Exception {
+        JdbcTransaction transaction = new JdbcTransaction(this.dataSource.getDataSource());
+        transaction.setAutoCommit(false);
+        List<Pair<String, MethodParameter[]>> statements = List.of(insert("a"), insert("b"));
+
+        // 回调抛出非 SQLException 时也要回滚
+        Assertions.assertThrows(IllegalStateException.class, () -> JdbcUtil.executeBatch(transaction, statements, 10, false, (ps, from, to, counts) -> {
+            throw new IllegalStateException("callback failed");
+        }));
+        try (Statement statement = transaction.getConnection().createStatement(); ResultSet resultSet = statement.executeQuery("select count(*) from user")) {
+            resultSet.next();
+            Assertions.assertEquals(0, resultSet.getInt(1));
+        } finally {
+            transaction.close();
+        }
+    }
+
+    @Test
+    public void autoCommitRollbackTest() throws Exception {
+        List<Pair<String, MethodParameter[]>> statements = List.of(insert("a"), insert("b"), new Pair<>("insert into missing (username) values (?)", params("c")));
+
+        // 自动提交的连接也是全部成功或全部失败，前面已执行的批次同样回滚
+        Assertions.assertThrows(SQLException.class, () -> JdbcUtil.executeBatch(new JdbcTransaction(this.dataSource.getDataSource()), statements, 1, false, null));
+        Assertions.assertEquals(2, this.dataSource.getBatches().size());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+        Assertions.assertEquals(0, this.count());
+    }
+
+    @Test
+    public void insertBatchTest() throws Exception {
+        this.insertBatch(new Configuration().setBatchSize(2));
+        Assertions.assertEquals(1, this.dataSource.getStatementCount());
+    }
+
+    @Test
+    public void rewriteInsertBatchTest() throws Exception {
+        // 每批重写为一条多值插入语句，最后一批的 SQL 不同
+        this.insertBatch(new Configuration().setBatchSize(2).setRewriteBatchedInsert(true));
+        Assertions.assertEquals(2, this.dataSource.getStatementCount());
+
+        // 每次执行的行数不超过 batchSize
+        Assertions.assertEquals(3, this.dataSource.getBatches().size());
+        Assertions.assertArrayEquals(new int[]{2}, this.dataSource.getBatches().get(0));
+        Assertions.assertArrayEquals(new int[]{2}, this.dataSource.getBatches().get(1));
+        Assertions.assertArrayEquals(new int[]{1}, this.dataSource.getBatches().get(2));
+    }
+
+    private void insertBatch(Configuration configuration) throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(User.create());
+        }
+        Method insertBatch = BaseMapper.class.getMethod("insertBatch", List.class);
+        Map<String, MethodParameter> params = Collections.singletonMap(PROVIDER_PARAM_ENTITY, new MethodParameter(List.class, users, PROVIDER_PARAM_ENTITY));
+        BatchExecutor batchExecutor = new BatchExecutor(UserMapper.class, configuration);
+        Assertions.assertTrue(batchExecutor.isBatch(insertBatch, insertBatch.getAnnotation(Execute.class)));
+        Assertions.assertEquals(5, batchExecutor.execute(new JdbcTransaction(this.dataSource.getDataSource()), insertBatch, params));
+
+        // 自增主键按批回写到实体
+        Assertions.assertEquals(5, users.stream().map(User::getId).filter(Objects::nonNull).distinct().count());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+        Assertions.assertEquals(5, this.count());
+    }
+
+    private int count() throws Exception {
+        return this.dataSource.queryForInt("select count(*) from user");
+    }
+
+    private static Pair<String, MethodParameter[]> insert(String username) {
+        return new Pair<>(INSERT_SQL, params(username));
+    }
+
+    private static MethodParameter[] params(String... values) {
+        MethodParameter[] params = new MethodParameter[values.length];
+        for (int i = 0; i < values.length; i++) {
+            params[i] = new MethodParameter(String.class, values[i]);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,197 @@
+package com.kfyty.database;
+
+import com.kfyty.loveqq.framework.core.jdbc.mapping.BeanRowMapper;
+import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+import lombok.Data;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 描述: 实体结果集行映射器测试
+ *
+ * @author kfyty725
+ * @date 2024/12/31 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class BeanRowMapperTest {
+    private static final String SELECT_SQL = "select * from row_mapper_test order by id";
+
+    private TrackingDataSource dataSource;
+
+    @BeforeEach
+    public void prepare() throws Exception {
+        this.dataSource = new TrackingDataSource("jdbc:h2:mem:row_mapper;DB_CLOSE_DELAY=-1;MODE=MySQL");
+        this.dataSource.execute("create table if not exists row_mapper_test (id int primary key, int_value int, long_value bigint, short_value smallint, byte_value tinyint, " +
+                "double_value double, float_value real, bool_value boolean, char_value char(1), decimal_value decimal(10, 2), big_int_value decimal(20), " +
+                "bytes_value varbinary(16), string_value varchar(16), date_value date, time_value time, date_time_value timestamp)");
+        this.dataSource.execute("delete from row_mapper_test");
+        this.dataSource.execute("insert into row_mapper_test values (1, 1, 2, 3, 4, 5.5, 6.5, true, 'c', 7.25, 8, X'0102', 'name', " +
+                "'2024-12-31', '10:20:30', '2024-12-31 10:20:30')");
+        this.dataSource.execute("insert into row_mapper_test (id) values (2)");
+    }
+
+    @Test
+    public void mapTest() throws Exception {
+        try (Connection connection = this.dataSource.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_SQL)) {
+            List<Row> rows = ResultSetUtil.processListObject(resultSet, Row.class);
+            Assertions.assertEquals(2, rows.size());
+
+            Row row = rows.get(0);
+            Assertions.assertEquals(1, row.getId());
+            Assertions.assertEquals(1, row.getIntValue());
+            Assertions.assertEquals(2L, row.getLongValue());
+            Assertions.assertEquals((short) 3, row.getShortValue());
+            Assertions.assertEquals((byte) 4, row.getByteValue());
+            Assertions.assertEquals(5.5D, row.getDoubleValue());
+            Assertions.assertEquals(6.5F, row.getFloatValue());
+            Assertions.assertTrue(row.isBoolValue());
+            Assertions.assertEquals('c', row.getCharValue());
+            Assertions.assertEquals(new BigDecimal("7.25"), row.getDecimalValue());
+            Assertions.assertEquals(BigInteger.valueOf(8), row.getBigIntValue());
+            Assertions.assertArrayEquals(new byte[]{1, 2}, row.getBytesValue());
+            Assertions.assertEquals("name", row.getStringValue());
+            Assertions.assertEquals(LocalDate.of(2024, 12, 31), row.getDateValue());
+            Assertions.assertEquals(LocalTime.of(10, 20, 30), row.getTimeValue());
+            Assertions.assertEquals(LocalDateTime.of(2024, 12, 31, 10, 20, 30), row.getDateTimeValue());
+
+            // null 值不会覆盖基本类型的默认值，对象类型为 null
+            Row nulls = rows.get(1);
+            Assertions.assertEquals(2, nulls.getId());
+            Assertions.assertEquals(0, nulls.getIntValue());
+            Assertions.assertEquals(0L, nulls.getLongValue());
+            Assertions.assertEquals(0D, nulls.getDoubleValue());
+            Assertions.assertFalse(nulls.isBoolValue());
+            Assertions.assertNull(nulls.getCharValue());
+            Assertions.assertNull(nulls.getDecimalValue());
+            Assertions.assertNull(nulls.getBigIntValue());
+            Assertions.assertNull(nulls.getBytesValue());
+            Assertions.assertNull(nulls.getStringValue());
+            Assertions.assertNull(nulls.getDateValue());
+            Assertions.assertNull(nulls.getTimeValue());
+            Assertions.assertNull(nulls.getDateTimeValue());
+        }
+    }
+
+    /**
+     * 内置类型处理器按列索引取值和按列名取值一致
+     */
+    @Test
+    public void typeHandlerTest() throws Exception {
+        String[] columns = {"int_value", "long_value", "short_value", "byte_value", "double_value", "float_value", "bool_value", "char_value",
+                "decimal_value", "big_int_value", "bytes_value", "string_value", "date_value", "time_value", "date_time_value", "date_time_value", "date_time_value", "date_value"};
+        Class<?>[] types = {Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class, Boolean.class, Character.class,
+                BigDecimal.class, BigInteger.class, byte[].class, String.class, LocalDate.class, LocalTime.class, LocalDateTime.class, Timestamp.class, Instant.class, Date.class};
+        try (Connection connection = this.dataSource.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select " + String.join(", ", columns) + " from row_mapper_test order by id")) {
+            while (resultSet.next()) {
+                for (int i = 0; i < columns.length; i++) {
+                    TypeHandler<?> typeHandler = ResultSetUtil.getTypeHandler(types[i]);
+                    Assertions.assertNotNull(typeHandler, types[i].getName());
+                    Object byIndex = typeHandler.getResult(resultSet, i + 1);
+                    Object byName = typeHandler.getResult(resultSet, columns[i]);
+                    Assertions.assertTrue(byIndex == null || types[i].isInstance(byIndex), types[i].getName());
+                    Assertions.assertTrue(byIndex instanceof byte[] ? Arrays.equals((byte[]) byIndex, (byte[]) byName) : Objects.equals(byIndex, byName), types[i].getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void exceptionTest() throws Exception {
+        try (Connection connection = this.dataSource.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            // setter 及构造器抛出的异常保持原类型
+            try (ResultSet resultSet = statement.executeQuery("select id from row_mapper_test order by id")) {
+                Assertions.assertThrows(IllegalStateException.class, () -> ResultSetUtil.processListObject(resultSet, FailedSetter.class));
+            }
+            try (ResultSet resultSet = statement.executeQuery("select id from row_mapper_test order by id")) {
+                Assertions.assertThrows(UnsupportedOperationException.class, () -> ResultSetUtil.processListObject(resultSet, FailedConstructor.class));
+            }
+        }
+    }
+
+    @Test
+    public void evictionTest() throws Exception {
+        BeanRowMapper<Row> hot = BeanRowMapper.obtain(Row.class, metaData("hot"));
+        BeanRowMapper<Row> cold = BeanRowMapper.obtain(Row.class, metaData("cold"));
+        for (int i = 0; i < 4096; i++) {
+            BeanRowMapper.obtain(Row.class, metaData("column" + i));
+            Assertions.assertSame(hot, BeanRowMapper.obtain(Row.class, metaData("hot")));
+        }
+
+        // 缓存已满时只淘汰最久未使用的映射器，而不是全部清空
+        Assertions.assertSame(hot, BeanRowMapper.obtain(Row.class, metaData("hot")));
+        Assertions.assertNotSame(cold, BeanRowMapper.obtain(Row.class, metaData("cold")));
+    }
+
+    private static ResultSetMetaData metaData(String column) {
+        return (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getColumnCount":
+                    return 1;
+                case "getColumnLabel":
+                    return column;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @Data
+    public static class Row {
+        private int id;
+        private int intValue;
+        private long longValue;
+        private short shortValue;
+        private byte byteValue;
+        private double doubleValue;
+        private float floatValue;
+        private boolean boolValue;
+        private Character charValue;
+        private BigDecimal decimalValue;
+        private BigInteger bigIntValue;
+        private byte[] bytesValue;
+        private String stringValue;
+        private LocalDate dateValue;
+        private LocalTime timeValue;
+        private LocalDateTime dateTimeValue;
+    }
+
+    public static class FailedSetter {
+        private Integer id;
+
+        public void setId(Integer id) {
+            throw new IllegalStateException("setter failed");
+        }
+    }
+
+    public static class FailedConstructor {
+        private Integer id;
+
+        public FailedConstructor() {
+            throw new UnsupportedOperationException("constructor failed");
+        }
+    }
+}
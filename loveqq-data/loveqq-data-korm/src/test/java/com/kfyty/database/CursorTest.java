@@ -0,0 +1,117 @@
+package com.kfyty.database;
+
+import com.kfyty.loveqq.framework.core.jdbc.JdbcTransaction;
+import com.kfyty.loveqq.framework.core.jdbc.cursor.Cursor;
+import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
+import com.kfyty.loveqq.framework.data.korm.util.CursorUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 描述: 游标查询测试
+ *
+ * @author kfyty725
+ * @date 2024/12/29 10:40
+ * @email kfyty725@hotmail.com
+ */
+public class CursorTest {
+    private static final String SELECT_SQL = "select id from cursor_test order by id";
+
+    private TrackingDataSource dataSource;
+
+    @BeforeEach
+    public void prepare() throws Exception {
+        this.dataSource = new TrackingDataSource("jdbc:h2:mem:cursor;DB_CLOSE_DELAY=-1;MODE=MySQL");
+        this.dataSource.execute("create table if not exists cursor_test (id int primary key, name varchar(64))");
+        this.dataSource.execute("delete from cursor_test");
+        for (int i = 1; i <= 10; i++) {
+            this.dataSource.execute("insert into cursor_test values (" + i + ", 'name" + i + "')");
+        }
+    }
+
+    @Test
+    public void cursorTest() throws Exception {
+        int count = 0;
+        Cursor<Map> cursor = JdbcUtil.queryCursor(new JdbcTransaction(this.dataSource.getDataSource()), Map.class, 2, "select * from cursor_test order by id");
+        for (Map<?, ?> row : cursor) {
+            Assertions.assertEquals(++count, row.get("ID"));
+            Assertions.assertFalse(this.dataSource.isAllClosed());
+        }
+        Assertions.assertEquals(10, count);
+        Assertions.assertTrue(cursor.isConsumed());
+        Assertions.assertFalse(cursor.isOpen());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+    }
+
+    @Test
+    public void cursorCloseTest() throws Exception {
+        Cursor<Integer> cursor = JdbcUtil.queryCursor(new JdbcTransaction(this.dataSource.getDataSource()), Integer.class, 2, SELECT_SQL);
+        Iterator<Integer> iterator = cursor.iterator();
+        Assertions.assertEquals(1, iterator.next());
+        Assertions.assertEquals(2, iterator.next());
+        cursor.close();
+        Assertions.assertFalse(cursor.isConsumed());
+        Assertions.assertEquals(2, cursor.getCurrentIndex());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+    }
+
+    @Test
+    public void cursorErrorTest() throws Exception {
+        JdbcTransaction transaction = new JdbcTransaction(this.dataSource.getDataSource());
+        transaction.setAutoCommit(false);
+        try {
+            try (Statement statement = transaction.getConnection().createStatement()) {
+                statement.execute("insert into cursor_test values (11, 'name11')");
+            }
+
+            // 映射失败时关闭结果集及语句，但不回滚调用方的事务，也不关闭连接
+            Cursor<Integer> cursor = JdbcUtil.queryCursor(transaction, Integer.class, 2, "select name from cursor_test order by id");
+            Assertions.assertThrows(RuntimeException.class, () -> cursor.iterator().next());
+            Assertions.assertFalse(cursor.isOpen());
+            Assertions.assertFalse(transaction.getConnection().isClosed());
+            try (Statement statement = transaction.getConnection().createStatement(); ResultSet resultSet = statement.executeQuery("select count(*) from cursor_test")) {
+                resultSet.next();
+                Assertions.assertEquals(11, resultSet.getInt(1));
+            }
+        } finally {
+            transaction.rollback();
+            transaction.close();
+        }
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void fluxTest() throws Exception {
+        Flux<Integer> flux = (Flux<Integer>) CursorUtil.toFlux(() -> JdbcUtil.queryCursor(new JdbcTransaction(this.dataSource.getDataSource()), Integer.class, 2, SELECT_SQL));
+
+        // 订阅时才打开游标
+        Assertions.assertEquals(0, this.dataSource.getConnectionCount());
+        List<Integer> rows = flux.collectList().block();
+        Assertions.assertEquals(10, rows.size());
+        Assertions.assertEquals(1, this.dataSource.getConnectionCount());
+        Assertions.assertEquals(1, this.dataSource.getStatementCount());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void fluxCancelTest() throws Exception {
+        Flux<Integer> flux = (Flux<Integer>) CursorUtil.toFlux(() -> JdbcUtil.queryCursor(new JdbcTransaction(this.dataSource.getDataSource()), Integer.class, 2, SELECT_SQL));
+        Assertions.assertEquals(List.of(1, 2, 3), flux.take(3).collectList().block());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+
+        // 每次订阅打开一个新的游标
+        Assertions.assertEquals(10L, flux.count().block());
+        Assertions.assertEquals(2, this.dataSource.getConnectionCount());
+        Assertions.assertTrue(this.dataSource.isAllClosed());
+    }
+}
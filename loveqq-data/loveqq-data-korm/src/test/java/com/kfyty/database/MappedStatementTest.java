@@ -0,0 +1,115 @@
+package com.kfyty.database;
+
+import com.kfyty.database.entity.User;
+import com.kfyty.database.mapper.UserMapper;
+import com.kfyty.loveqq.framework.core.jdbc.JdbcTransaction;
+import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import com.kfyty.loveqq.framework.data.korm.BaseMapper;
+import com.kfyty.loveqq.framework.data.korm.annotation.Query;
+import com.kfyty.loveqq.framework.data.korm.intercept.internal.GeneratedKeysInterceptor;
+import com.kfyty.loveqq.framework.data.korm.intercept.internal.IfInternalInterceptor;
+import com.kfyty.loveqq.framework.data.korm.session.Configuration;
+import com.kfyty.loveqq.framework.data.korm.session.MappedStatement;
+import com.kfyty.loveqq.framework.data.korm.session.MappedStatement.SQLStatement;
+import com.kfyty.loveqq.framework.data.korm.session.SqlSessionProxyFactory;
+import com.kfyty.loveqq.framework.data.korm.sql.Provider;
+import com.kfyty.loveqq.framework.data.korm.sql.ProviderAdapter;
+import com.kfyty.loveqq.framework.data.korm.sql.dialect.DialectProvider;
+import com.kfyty.loveqq.framework.data.korm.sql.dialect.MySQLDialectProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 描述: mapper 方法编译后的语句测试
+ *
+ * @author kfyty725
+ * @date 2025/01/03 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class MappedStatementTest {
+    private UserMapper userMapper;
+
+    @BeforeEach
+    public void prepare() throws Exception {
+        TrackingDataSource trackingDataSource = new TrackingDataSource("jdbc:h2:mem:mapped_statement;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER");
+        trackingDataSource.execute("create table if not exists user (id int auto_increment primary key, username varchar(64), create_time datetime, image blob)");
+        trackingDataSource.execute("delete from user");
+        DataSource dataSource = trackingDataSource.getDataSource();
+        Configuration configuration = new Configuration()
+                .setDataSource(dataSource)
+                .setTransactionFactory(() -> new JdbcTransaction(dataSource))
+                .addInterceptor(new GeneratedKeysInterceptor())
+                .addInterceptor(new IfInternalInterceptor());
+        this.userMapper = new SqlSessionProxyFactory(configuration).createProxy(UserMapper.class);
+    }
+
+    @Test
+    public void mappedStatementTest() {
+        // 注解中的 SQL 在编译时解析
+        Method findNameById = ReflectUtil.getMethod(UserMapper.class, "findNameById", Integer.class);
+        MappedStatement mappedStatement = new MappedStatement(UserMapper.class, findNameById, findNameById.getAnnotationsByType(Query.class));
+        Assertions.assertArrayEquals(new String[]{"id"}, mappedStatement.getParameterNames());
+        Assertions.assertEquals(1, mappedStatement.getStatements().length);
+
+        SQLStatement statement = mappedStatement.getStatements()[0];
+        Assertions.assertEquals(Provider.class, statement.getProvider());
+        Assertions.assertEquals(String.class, statement.getReturnType().getSimpleActualType());
+        Assertions.assertNotNull(statement.getParsedSQL());
+
+        Map<String, MethodParameter> params = mappedStatement.resolveParameters(new Object[]{1});
+        Assertions.assertEquals(1, params.get("id").getValue());
+
+        // 由提供者提供的 SQL 不在编译时解析
+        Method selectAll = ReflectUtil.getMethod(BaseMapper.class, "selectAll");
+        SQLStatement dialectStatement = new MappedStatement(UserMapper.class, selectAll, selectAll.getAnnotationsByType(Query.class)).getStatements()[0];
+        Assertions.assertEquals(DialectProvider.class, dialectStatement.getProvider());
+        Assertions.assertNull(dialectStatement.getParsedSQL());
+        Assertions.assertNull(dialectStatement.getDialectStatement(ProviderAdapter.getDialect()));
+    }
+
+    @Test
+    public void cacheableTest() {
+        Method selectAll = ReflectUtil.getMethod(BaseMapper.class, "selectAll");
+        Method selectByPks = ReflectUtil.getMethod(BaseMapper.class, "selectByPks", List.class);
+
+        // 仅缓存由 AbstractProvider 提供的静态 SQL
+        Assertions.assertTrue(new MySQLDialectProvider().isCacheable(selectAll));
+        Assertions.assertFalse(new MySQLDialectProvider().isCacheable(selectByPks));
+        Assertions.assertFalse(new CountingDialectProvider().isCacheable(selectAll));
+    }
+
+    @Test
+    public void dialectStatementTest() {
+        this.userMapper.insert(User.create());
+        this.userMapper.insert(User.create());
+        Assertions.assertEquals(2, this.userMapper.selectAll().size());
+        Assertions.assertEquals(2, this.userMapper.selectAll().size());
+
+        // 子类重写的静态 SQL 方法每次调用时提供
+        ProviderAdapter.addDialectProvider("counting", new CountingDialectProvider());
+        ProviderAdapter.setDialect("counting");
+        try {
+            Assertions.assertEquals(2, this.userMapper.selectAll().size());
+            Assertions.assertEquals(1, this.userMapper.selectAll().size());
+        } finally {
+            ProviderAdapter.setDialect("mysql");
+        }
+    }
+
+    static class CountingDialectProvider extends MySQLDialectProvider {
+        private int count;
+
+        @Override
+        public String selectAll(Class<?> mapperClass, Method sourceMethod, Value<Query> annotation, Map<String, MethodParameter> params) {
+            return super.selectAll(mapperClass, sourceMethod, annotation, params) + " limit " + (2 - this.count++);
+        }
+    }
+}
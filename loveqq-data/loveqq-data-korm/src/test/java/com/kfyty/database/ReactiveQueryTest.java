@@ -0,0 +1,106 @@
+package com.kfyty.database;
+
+import com.kfyty.database.entity.User;
+import com.kfyty.database.mapper.ReactiveUserMapper;
+import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.io.PathMatchingResourcePatternResolver;
+import com.kfyty.loveqq.framework.data.korm.annotation.Query;
+import com.kfyty.loveqq.framework.data.korm.reactive.ReactiveSqlSessionProxyFactory;
+import com.kfyty.loveqq.framework.data.korm.reactive.ReactiveTransaction;
+import com.kfyty.loveqq.framework.data.korm.session.Configuration;
+import com.kfyty.loveqq.framework.data.korm.sql.ProviderAdapter;
+import com.kfyty.loveqq.framework.data.korm.sql.dialect.MySQLDialectProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class ReactiveQueryTest {
+    private ConnectionFactory connectionFactory;
+
+    private ReactiveUserMapper userMapper;
+
+    @BeforeEach
+    public void prepare() {
+        this.connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER");
+        Configuration configuration = new Configuration().setPathMatchingResourcePatternResolver(new PathMatchingResourcePatternResolver());
+        ReactiveSqlSessionProxyFactory proxyFactory = new ReactiveSqlSessionProxyFactory(configuration, this.connectionFactory, "$");
+        this.userMapper = proxyFactory.createProxy(ReactiveUserMapper.class);
+        this.userMapper.createTable().then(this.userMapper.deleteAll()).block();
+    }
+
+    @Test
+    public void test() {
+        Assertions.assertEquals(1L, this.userMapper.insert(User.create()).block());
+        Assertions.assertEquals(2L, this.userMapper.insertBatch(Arrays.asList(User.create(), User.create())).block());
+
+        List<User> users = this.userMapper.selectAll().collectList().block();
+        Assertions.assertEquals(3, users.size());
+
+        User one = this.userMapper.selectByPk(users.get(0).getId()).block();
+        Assertions.assertEquals("test", one.getUsername());
+        Assertions.assertNotNull(one.getCreateTime());
+
+        one.setUsername("update");
+        Assertions.assertEquals(1L, this.userMapper.updateByPk(one).block());
+        Assertions.assertEquals("update", this.userMapper.findNameById(one.getId()).block());
+        Assertions.assertEquals(1, this.userMapper.findByName("update").block().size());
+        Assertions.assertEquals(3, this.userMapper.findByName(null).block().size());
+
+        List<Map<String, Object>> maps = this.userMapper.findAllMap().collectList().block();
+        Assertions.assertEquals(3, maps.size());
+
+        // 非空属性不同的实体生成不同的 SQL，分组后通过 Statement.add() 批量执行
+        users.forEach(e -> e.setUsername("batch"));
+        users.get(2).setImage(null);
+        Assertions.assertEquals(3L, this.userMapper.updateBatch(users).block());
+        Assertions.assertEquals(3, this.userMapper.findByName("batch").block().size());
+        Assertions.assertNotNull(this.userMapper.selectByPk(users.get(2).getId()).block().getImage());
+
+        Assertions.assertEquals(1L, this.userMapper.deleteByPk(one.getId()).block());
+        Assertions.assertEquals(2L, this.userMapper.selectAll().count().block());
+    }
+
+    @Test
+    public void dialectTest() {
+        this.userMapper.insert(User.create()).block();
+        ProviderAdapter.addDialectProvider("empty", new MySQLDialectProvider() {
+
+            @Override
+            public String selectAll(Class<?> mapperClass, Method sourceMethod, Value<Query> annotation, Map<String, MethodParameter> params) {
+                return super.selectAll(mapperClass, sourceMethod, annotation, params) + " where 1 = 0";
+            }
+        });
+        Flux<User> users;
+        try {
+            ProviderAdapter.setDialect("empty");
+            users = this.userMapper.selectAll();
+        } finally {
+            ProviderAdapter.setDialect("mysql");
+        }
+
+        // SQL 在调用线程中按调用时的方言解析，而不是订阅时
+        Assertions.assertEquals(0L, users.subscribeOn(Schedulers.boundedElastic()).count().block());
+        Assertions.assertEquals(1L, this.userMapper.selectAll().subscribeOn(Schedulers.boundedElastic()).count().block());
+    }
+
+    @Test
+    public void transactionTest() {
+        Mono<Long> failed = ReactiveTransaction.execute(this.connectionFactory, tx -> this.userMapper.insert(User.create()).then(Mono.error(new IllegalStateException("rollback"))));
+        Assertions.assertThrows(IllegalStateException.class, failed::block);
+        Assertions.assertEquals(0L, this.userMapper.selectAll().count().block());
+
+        ReactiveTransaction.execute(this.connectionFactory, tx -> this.userMapper.insert(User.create()).then(this.userMapper.insert(User.create()))).block();
+        Assertions.assertEquals(2L, this.userMapper.selectAll().count().block());
+    }
+}
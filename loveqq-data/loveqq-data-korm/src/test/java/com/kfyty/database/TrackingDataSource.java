@@ -0,0 +1,123 @@
+package com.kfyty.database;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 描述: 记录打开的连接及语句的 h2 数据源，用于校验资源是否关闭
+ *
+ * @author kfyty725
+ * @date 2024/12/29 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class TrackingDataSource {
+    private final JdbcDataSource dataSource;
+
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+
+    private final List<Statement> statements = new CopyOnWriteArrayList<>();
+
+    private final List<int[]> batches = new CopyOnWriteArrayList<>();
+
+    public TrackingDataSource(String url) {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL(url);
+    }
+
+    public DataSource getDataSource() {
+        return (DataSource) Proxy.newProxyInstance(TrackingDataSource.class.getClassLoader(), new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+            Object value = invoke(this.dataSource, method, args);
+            if (value instanceof Connection) {
+                this.connections.add((Connection) value);
+                return this.track((Connection) value);
+            }
+            return value;
+        });
+    }
+
+    public void execute(String sql) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    public int queryForInt(String sql) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    public int getConnectionCount() {
+        return this.connections.size();
+    }
+
+    public int getStatementCount() {
+        return this.statements.size();
+    }
+
+    /**
+     * 每次 {@link PreparedStatement#executeBatch()} 返回的影响行数
+     *
+     * @return 影响行数
+     */
+    public List<int[]> getBatches() {
+        return this.batches;
+    }
+
+    public boolean isAllClosed() throws SQLException {
+        for (Statement statement : this.statements) {
+            if (!statement.isClosed()) {
+                return false;
+            }
+        }
+        for (Connection connection : this.connections) {
+            if (!connection.isClosed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Connection track(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TrackingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            Object value = invoke(connection, method, args);
+            if (value instanceof Statement) {
+                this.statements.add((Statement) value);
+            }
+            if (value instanceof PreparedStatement) {
+                return this.track((PreparedStatement) value);
+            }
+            return value;
+        });
+    }
+
+    private PreparedStatement track(PreparedStatement statement) {
+        return (PreparedStatement) Proxy.newProxyInstance(TrackingDataSource.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+            Object value = invoke(statement, method, args);
+            if (method.getName().equals("executeBatch")) {
+                this.batches.add((int[]) value);
+            }
+            return value;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.kfyty.database.mapper;
+
+import com.kfyty.database.entity.User;
+import com.kfyty.loveqq.framework.data.korm.ReactiveBaseMapper;
+import com.kfyty.loveqq.framework.data.korm.annotation.Execute;
+import com.kfyty.loveqq.framework.data.korm.annotation.If;
+import com.kfyty.loveqq.framework.data.korm.annotation.Param;
+import com.kfyty.loveqq.framework.data.korm.annotation.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ReactiveUserMapper extends ReactiveBaseMapper<Integer, User> {
+    @Execute("create table if not exists user (id int auto_increment primary key, username varchar(64), create_time datetime, image blob)")
+    Mono<Void> createTable();
+
+    @Query("select username from user where id = #{id}")
+    Mono<String> findNameById(@Param("id") Integer id);
+
+    @Query(value = "select * from user where 1 = 1", _if = @If(test = "name != null", value = "and username = #{name}"))
+    Mono<List<User>> findByName(@Param("name") String name);
+
+    @Query("select * from user")
+    Flux<Map<String, Object>> findAllMap();
+}
@@ -11,6 +11,7 @@ import com.kfyty.loveqq.framework.web.core.http.ServerRequest;
 import com.kfyty.loveqq.framework.web.core.http.ServerResponse;
 import com.kfyty.loveqq.framework.web.core.interceptor.HandlerInterceptor;
 import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import com.kfyty.loveqq.framework.web.core.mapping.ParameterBinding;
 import com.kfyty.loveqq.framework.web.core.request.resolver.HandlerMethodArgumentResolver;
 import com.kfyty.loveqq.framework.web.core.request.resolver.HandlerMethodReturnValueProcessor;
 import com.kfyty.loveqq.framework.web.core.request.support.Model;
@@ -132,26 +133,49 @@ public abstract class AbstractDispatcher<T extends AbstractDispatcher<T>> implem
     }
 
     protected MethodParameter prepareMethodParameter(ServerRequest request, ServerResponse response, MethodMapping methodMapping) throws IOException {
-        int index = 0;
-        Parameter[] parameters = methodMapping.getMappingMethod().getParameters();
-        Object[] paramValues = new Object[parameters.length];
-        for (Parameter parameter : parameters) {
-            Object param = this.resolveRequestResponseParam(parameter, request, response);
-            if (param != null) {
-                paramValues[index++] = param;
-                continue;
+        ParameterBinding[] bindings = this.obtainParameterBindings(request, response, methodMapping);
+        Object[] paramValues = new Object[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            ParameterBinding binding = bindings[i];
+            if (binding.isRequestResponse()) {
+                paramValues[i] = this.resolveRequestResponseParam(binding.getParameter().getParameter(), request, response);
+            } else {
+                paramValues[i] = binding.getArgumentResolver().resolveArgument(binding.getParameter(), methodMapping, request);
             }
+        }
+        return methodMapping.buildMethodParameter(paramValues).metadata(methodMapping);
+    }
 
-            MethodParameter methodParameter = new MethodParameter(methodMapping.getController(), methodMapping.getMappingMethod(), parameter);
-            MethodParameter arguments = this.resolveMethodArguments(methodParameter, methodMapping, request);
-            if (arguments != null) {
-                paramValues[index++] = arguments.getValue();
+    /**
+     * 获取方法参数绑定计划，不存在时构建并缓存到 {@link MethodMapping}
+     * 构建是幂等的，因此并发时重复构建不影响正确性
+     *
+     * @param request       请求
+     * @param response      响应
+     * @param methodMapping 方法映射
+     * @return 参数绑定计划
+     */
+    protected ParameterBinding[] obtainParameterBindings(ServerRequest request, ServerResponse response, MethodMapping methodMapping) {
+        ParameterBinding[] bindings = methodMapping.getParameterBindings();
+        if (bindings == null) {
+            bindings = this.buildParameterBindings(request, response, methodMapping);
+            methodMapping.setParameterBindings(bindings);
+        }
+        return bindings;
+    }
+
+    protected ParameterBinding[] buildParameterBindings(ServerRequest request, ServerResponse response, MethodMapping methodMapping) {
+        Parameter[] parameters = methodMapping.getMappingMethod().getParameters();
+        ParameterBinding[] bindings = new ParameterBinding[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            MethodParameter methodParameter = new MethodParameter(methodMapping.getController(), methodMapping.getMappingMethod(), parameters[i]);
+            if (this.resolveRequestResponseParam(parameters[i], request, response) != null) {
+                bindings[i] = new ParameterBinding(methodParameter, null);
                 continue;
             }
-
-            throw new IllegalArgumentException("Can't resolve parameters, no argument resolver support !");
+            bindings[i] = new ParameterBinding(methodParameter, this.findArgumentResolver(methodParameter));
         }
-        return methodMapping.buildMethodParameter(paramValues).metadata(methodMapping);
+        return bindings;
     }
 
     protected Object resolveRequestResponseParam(Parameter parameter, ServerRequest request, ServerResponse response) {
@@ -164,14 +188,13 @@ public abstract class AbstractDispatcher<T extends AbstractDispatcher<T>> implem
         return null;
     }
 
-    protected MethodParameter resolveMethodArguments(MethodParameter methodParameter, MethodMapping methodMapping, ServerRequest request) throws IOException {
+    protected HandlerMethodArgumentResolver findArgumentResolver(MethodParameter methodParameter) {
         for (HandlerMethodArgumentResolver argumentResolver : this.argumentResolvers) {
             if (argumentResolver.supportsParameter(methodParameter)) {
-                methodParameter.setValue(argumentResolver.resolveArgument(methodParameter, methodMapping, request));
-                return methodParameter;
+                return argumentResolver;
             }
         }
-        return null;
+        throw new IllegalArgumentException("Can't resolve parameters, no argument resolver support: " + methodParameter.getParameter());
     }
 
     protected Object handleException(ServerRequest request, ServerResponse response, MethodMapping mapping, Throwable throwable) throws Throwable {
@@ -1,14 +1,23 @@
 package com.kfyty.loveqq.framework.web.core;
 
+import com.kfyty.loveqq.framework.core.utils.AopUtil;
 import com.kfyty.loveqq.framework.web.core.http.ServerRequest;
 import com.kfyty.loveqq.framework.web.core.http.ServerResponse;
+import com.kfyty.loveqq.framework.web.core.interceptor.HandlerInterceptor;
 import com.kfyty.loveqq.framework.web.core.interceptor.ReactiveHandlerInterceptor;
 import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import reactor.core.publisher.Mono;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 描述: 响应式基础请求分发实现
  *
@@ -20,6 +29,59 @@ import reactor.core.publisher.Mono;
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
 public abstract class AbstractReactiveDispatcher<T extends AbstractReactiveDispatcher<T>> extends AbstractDispatcher<T> {
+    /**
+     * 全部拦截器是否都是同步拦截器，设置或添加拦截器时计算
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile boolean synchronousInterceptors = true;
+
+    @Override
+    public void setInterceptorChains(List<HandlerInterceptor> interceptorChains) {
+        super.setInterceptorChains(interceptorChains == null ? new ArrayList<>(4) : interceptorChains);
+        this.synchronousInterceptors = this.resolveSynchronousInterceptors();
+    }
+
+    @Override
+    public T addInterceptor(HandlerInterceptor interceptor) {
+        T dispatcher = super.addInterceptor(interceptor);
+        this.synchronousInterceptors = this.resolveSynchronousInterceptors();
+        return dispatcher;
+    }
+
+    /**
+     * 返回全部拦截器是否都是同步拦截器，即都没有重写 {@link ReactiveHandlerInterceptor} 的异步方法
+     * 此时可以在当前线程直接同步执行拦截器
+     *
+     * @return true if synchronous
+     */
+    protected boolean isSynchronousInterceptors() {
+        return this.synchronousInterceptors;
+    }
+
+    protected boolean resolveSynchronousInterceptors() {
+        for (HandlerInterceptor interceptor : this.interceptorChains) {
+            if (!isSynchronousInterceptor(AopUtil.getTargetClass(interceptor))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static boolean isSynchronousInterceptor(Class<?> interceptorClass) {
+        if (!ReactiveHandlerInterceptor.class.isAssignableFrom(interceptorClass)) {
+            return true;
+        }
+        for (Method method : interceptorClass.getMethods()) {
+            String name = method.getName();
+            if (name.equals("preHandleAsync") || name.equals("postHandleAsync") || name.equals("afterCompletionAsync")) {
+                if (method.getDeclaringClass() != ReactiveHandlerInterceptor.class) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
 
     protected Mono<Boolean> processPreInterceptorAsync(ServerRequest request, ServerResponse response, MethodMapping handler) {
         return this.processPreInterceptorAsync(request, response, handler, 0);
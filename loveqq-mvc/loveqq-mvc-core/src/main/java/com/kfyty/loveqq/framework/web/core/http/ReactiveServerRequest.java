@@ -0,0 +1,40 @@
+package com.kfyty.loveqq.framework.web.core.http;
+
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+
+/**
+ * 描述: 基于池化缓冲的 http 请求
+ * 请求体以 {@link ByteBuf} 的形式暴露，缓冲由服务器在请求处理结束后释放，处理器不应在请求结束后继续持有
+ *
+ * @author kfyty725
+ * @date 2024/12/23 10:20
+ * @email kfyty725@hotmail.com
+ */
+public interface ReactiveServerRequest extends ServerRequest {
+    /**
+     * 获取已聚合的请求体
+     * 聚合时复用接收到的网络缓冲，不会复制数据
+     *
+     * @return 请求体，流式请求时返回 null
+     */
+    ByteBuf getBody();
+
+    /**
+     * 获取流式请求体
+     * 仅当映射方法存在 {@link com.kfyty.loveqq.framework.web.core.annotation.bind.RequestBody} 修饰的 {@link org.reactivestreams.Publisher} 参数时，
+     * 服务器才不会聚合请求体，此时数据块到达后即交给处理器
+     *
+     * @return 请求体数据块，非流式请求时返回 null
+     */
+    Flux<ByteBuf> getBodyStream();
+
+    /**
+     * 请求体是否是流式的
+     *
+     * @return true if streaming
+     */
+    default boolean isStreaming() {
+        return this.getBodyStream() != null;
+    }
+}
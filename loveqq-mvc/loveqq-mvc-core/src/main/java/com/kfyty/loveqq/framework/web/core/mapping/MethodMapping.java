@@ -1,18 +1,30 @@
 package com.kfyty.loveqq.framework.web.core.mapping;
 
 import com.kfyty.loveqq.framework.core.lang.Lazy;
+import com.kfyty.loveqq.framework.core.method.MethodInvoker;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import com.kfyty.loveqq.framework.web.core.annotation.bind.RequestBody;
 import com.kfyty.loveqq.framework.web.core.request.RequestMethod;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
 
 import static com.kfyty.loveqq.framework.core.utils.CommonUtil.EMPTY_STRING_ARRAY;
 import static com.kfyty.loveqq.framework.web.core.handler.RequestMappingAnnotationHandler.RESTFUL_URL_PATTERN;
@@ -28,6 +40,21 @@ import static com.kfyty.loveqq.framework.web.core.handler.RequestMappingAnnotati
 @Slf4j
 @NoArgsConstructor
 public class MethodMapping {
+    /**
+     * 响应式发布者 class，不存在响应式依赖时为 null
+     */
+    private static final Class<?> PUBLISHER_CLASS = ReflectUtil.isPresent("org.reactivestreams.Publisher") ? ReflectUtil.load("org.reactivestreams.Publisher", false) : null;
+
+    /**
+     * 响应式流 class，不存在响应式依赖时为 null
+     */
+    private static final Class<?> FLUX_CLASS = ReflectUtil.isPresent("reactor.core.publisher.Flux") ? ReflectUtil.load("reactor.core.publisher.Flux", false) : null;
+
+    /**
+     * netty 缓冲 class，不存在 netty 依赖时为 null
+     */
+    private static final Class<?> BYTE_BUF_CLASS = ReflectUtil.isPresent("io.netty.buffer.ByteBuf") ? ReflectUtil.load("io.netty.buffer.ByteBuf", false) : null;
+
     /**
      * URL
      */
@@ -68,10 +95,39 @@ public class MethodMapping {
      */
     private Lazy<Object> controller;
 
+    /**
+     * 映射方法的返回值是否可能是异步的，即 {@link org.reactivestreams.Publisher}/{@link CompletionStage} 或其父类型
+     * 注册时确定，响应式服务器据此决定是否可以同步处理
+     */
+    private boolean reactive;
+
+    /**
+     * 是否以流式接收请求体，即存在 {@link RequestBody} 修饰的 Flux&lt;ByteBuf&gt;/Publisher&lt;ByteBuf&gt; 参数
+     * 注册时确定，响应式服务器据此决定是否聚合请求体
+     */
+    private boolean streamingBody;
+
+    /**
+     * 映射方法调用器
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private MethodInvoker invoker;
+
+    /**
+     * 方法参数绑定计划，首次分发时由分发器构建
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile ParameterBinding[] parameterBindings;
+
     public static MethodMapping create(String url, RequestMethod requestMethod, Lazy<Object> controller, Method mappingMethod) {
         MethodMapping methodMapping = new MethodMapping();
         methodMapping.setController(controller);
         methodMapping.setMappingMethod(mappingMethod);
+        methodMapping.setInvoker(MethodInvoker.create(mappingMethod));
+        methodMapping.setReactive(isReactiveType(mappingMethod.getReturnType()));
+        methodMapping.setStreamingBody(isStreamingBody(mappingMethod));
         methodMapping.setRequestMethod(requestMethod);
         methodMapping.setUrl(url);
         methodMapping.setPaths(CommonUtil.split(url, "[/]").toArray(EMPTY_STRING_ARRAY));
@@ -103,10 +159,86 @@ public class MethodMapping {
         return this.controller.get();
     }
 
+    public MethodInvoker getInvoker() {
+        if (this.invoker == null) {
+            this.invoker = MethodInvoker.create(this.mappingMethod);
+        }
+        return this.invoker;
+    }
+
+    /**
+     * 调用映射方法
+     *
+     * @param args 方法参数
+     * @return 返回值
+     */
+    public Object invoke(Object[] args) {
+        try {
+            return this.getInvoker().invoke(this.getController(), args);
+        } catch (Throwable e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
     public MethodParameter buildMethodParameter(Object[] parameters) {
         return new MethodParameter(this.getController(), this.mappingMethod, parameters);
     }
 
+    /**
+     * 返回该类型的值是否可能是异步的
+     *
+     * @param type 返回值类型
+     * @return true if may be async
+     */
+    public static boolean isReactiveType(Class<?> type) {
+        if (type.isAssignableFrom(CompletionStage.class) || CompletionStage.class.isAssignableFrom(type)) {
+            return true;
+        }
+        return PUBLISHER_CLASS != null && (type.isAssignableFrom(PUBLISHER_CLASS) || PUBLISHER_CLASS.isAssignableFrom(type));
+    }
+
+    /**
+     * 返回该方法是否以流式接收请求体
+     * 仅 Flux&lt;ByteBuf&gt;/Publisher&lt;ByteBuf&gt; 请求体是流式的，其他发布者类型的请求体(如 Mono&lt;Dto&gt;、Flux&lt;String&gt;)不支持，注册时直接抛出异常
+     *
+     * @param method 映射方法
+     * @return true if streaming body
+     */
+    public static boolean isStreamingBody(Method method) {
+        if (PUBLISHER_CLASS == null) {
+            return false;
+        }
+        for (Parameter parameter : method.getParameters()) {
+            if (PUBLISHER_CLASS.isAssignableFrom(parameter.getType()) && AnnotationUtil.hasAnnotation(parameter, RequestBody.class)) {
+                if (!isByteBufStream(parameter)) {
+                    throw new IllegalArgumentException("The streaming request body only supports Flux<ByteBuf> or Publisher<ByteBuf>, receive the aggregated body without a publisher instead: " + method);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 返回参数是否是 Flux&lt;ByteBuf&gt;/Publisher&lt;ByteBuf&gt; 类型
+     *
+     * @param parameter 参数
+     * @return true if byte buf stream
+     */
+    public static boolean isByteBufStream(Parameter parameter) {
+        if (FLUX_CLASS == null || BYTE_BUF_CLASS == null || !parameter.getType().isAssignableFrom(FLUX_CLASS)) {
+            return false;
+        }
+        if (!(parameter.getParameterizedType() instanceof ParameterizedType)) {
+            return false;
+        }
+        Type actualType = ((ParameterizedType) parameter.getParameterizedType()).getActualTypeArguments()[0];
+        if (actualType instanceof WildcardType) {
+            actualType = ((WildcardType) actualType).getUpperBounds()[0];
+        }
+        return actualType instanceof Class<?> && BYTE_BUF_CLASS.isAssignableFrom((Class<?>) actualType);
+    }
+
     @SuppressWarnings("unchecked")
     public static void resolveRestfulVariableIfNecessary(MethodMapping methodMapping) {
         if (!RESTFUL_URL_PATTERN.matcher(methodMapping.getUrl()).matches()) {
@@ -0,0 +1,38 @@
+package com.kfyty.loveqq.framework.web.core.mapping;
+
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.web.core.request.resolver.HandlerMethodArgumentResolver;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 描述: 控制器方法参数绑定计划
+ * 参数元数据及其参数解析器只解析一次，之后每次请求只需提取参数值
+ *
+ * @author kfyty725
+ * @date 2024/12/21 15:10
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+@RequiredArgsConstructor
+public class ParameterBinding {
+    /**
+     * 方法参数描述，所有请求共享，参数解析器不应修改
+     */
+    private final MethodParameter parameter;
+
+    /**
+     * 选定的参数解析器
+     * 为空时表示是请求/响应参数，由分发器直接提供
+     */
+    private final HandlerMethodArgumentResolver argumentResolver;
+
+    /**
+     * 是否是请求/响应参数
+     *
+     * @return true if request/response parameter
+     */
+    public boolean isRequestResponse() {
+        return this.argumentResolver == null;
+    }
+}
@@ -0,0 +1,313 @@
+package com.kfyty.loveqq.framework.web.core.mapping;
+
+import com.kfyty.loveqq.framework.core.support.AntPathMatcher;
+import com.kfyty.loveqq.framework.core.support.PatternMatcher;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+
+import java.util.Arrays;
+
+/**
+ * 描述: 路由前缀树
+ * 注册时按路径段编译为树，匹配时直接在请求 uri 的字符区间上遍历，不分割字符串，匹配耗时只与路径长度相关
+ * <p>
+ * 路径段匹配优先级：静态路径段 > restful 变量段(eg: {id}) > ant 通配段(eg: *.html) > **
+ * 优先级高的分支匹配失败时回溯到低优先级分支
+ *
+ * @author kfyty725
+ * @date 2024/12/20 10:30
+ * @email kfyty725@hotmail.com
+ */
+public class RouteTrie {
+    /**
+     * 多级通配符
+     */
+    private static final String DOUBLE_WILDCARD = "**";
+
+    /**
+     * ant 通配段匹配器
+     */
+    private static final PatternMatcher PATTERN_MATCHER = new AntPathMatcher();
+
+    /**
+     * 根节点
+     */
+    private final Node root;
+
+    public RouteTrie() {
+        this.root = new Node(null);
+    }
+
+    /**
+     * 添加路由
+     * 只在注册时调用，写入使用写时复制，匹配时无需加锁；路由冲突时不会修改前缀树
+     *
+     * @param methodMapping 方法映射
+     */
+    public synchronized void addRoute(MethodMapping methodMapping) {
+        Node exists = this.root;
+        for (int i = 0, length = methodMapping.getPaths().length; exists != null && i < length; i++) {
+            exists = exists.getChild(methodMapping.getPaths()[i]);
+        }
+        if (exists != null && exists.mapping != null) {
+            throw new IllegalArgumentException(CommonUtil.format("Route ambiguous: [RequestMethod: {}, URL:{}] conflict with [URL:{}] !", methodMapping.getRequestMethod(), methodMapping.getUrl(), exists.mapping.getUrl()));
+        }
+        Node node = this.root;
+        for (String path : methodMapping.getPaths()) {
+            node = node.getOrCreateChild(path);
+        }
+        node.mapping = methodMapping;
+    }
+
+    /**
+     * 匹配路由
+     *
+     * @param requestURI 请求 uri
+     * @return 路由，未匹配时返回 null
+     */
+    public MethodMapping match(String requestURI) {
+        return match(this.root, requestURI, skipSeparator(requestURI, 0));
+    }
+
+    /**
+     * 从指定节点开始匹配
+     *
+     * @param node  当前节点
+     * @param uri   请求 uri
+     * @param start 当前路径段起始索引
+     * @return 路由
+     */
+    private static MethodMapping match(Node node, String uri, int start) {
+        final int length = uri.length();
+        if (start >= length) {
+            if (node.mapping != null) {
+                return node.mapping;
+            }
+            Node doubleWildcard = node.doubleWildcard;
+            return doubleWildcard == null ? null : doubleWildcard.mapping;
+        }
+
+        int end = uri.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int next = skipSeparator(uri, end);
+
+        Node child = node.findStatic(uri, start, end);
+        if (child != null) {
+            MethodMapping mapping = match(child, uri, next);
+            if (mapping != null) {
+                return mapping;
+            }
+        }
+
+        Node variable = node.variable;
+        if (variable != null) {
+            MethodMapping mapping = match(variable, uri, next);
+            if (mapping != null) {
+                return mapping;
+            }
+        }
+
+        Node[] patterns = node.patterns;
+        if (patterns.length > 0) {
+            String segment = uri.substring(start, end);
+            for (Node pattern : patterns) {
+                if (PATTERN_MATCHER.matches(pattern.pattern, segment)) {
+                    MethodMapping mapping = match(pattern, uri, next);
+                    if (mapping != null) {
+                        return mapping;
+                    }
+                }
+            }
+        }
+
+        Node doubleWildcard = node.doubleWildcard;
+        if (doubleWildcard != null) {
+            for (int i = start; ; ) {
+                MethodMapping mapping = match(doubleWildcard, uri, i);
+                if (mapping != null) {
+                    return mapping;
+                }
+                if (i >= length) {
+                    break;
+                }
+                int nextEnd = uri.indexOf('/', i);
+                i = skipSeparator(uri, nextEnd < 0 ? length : nextEnd);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 跳过连续的分隔符，和 {@link CommonUtil#split(String, String)} 过滤空路径段的行为保持一致
+     */
+    private static int skipSeparator(String uri, int index) {
+        final int length = uri.length();
+        while (index < length && uri.charAt(index) == '/') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 计算字符区间的哈希值，和 {@link String#hashCode()} 一致
+     */
+    private static int hash(String source, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + source.charAt(i);
+        }
+        return h;
+    }
+
+    private static boolean isPattern(String path) {
+        return path.indexOf('*') > -1 || path.indexOf('?') > -1 || path.indexOf('{') > -1;
+    }
+
+    private static String toPattern(String path) {
+        return path.replaceAll("\\{[^}]*}", "*");
+    }
+
+    private static int indexFor(int hash, int capacity) {
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+
+    private static final class Node {
+        private static final Node[] EMPTY_NODES = new Node[0];
+
+        /**
+         * 路径段，静态节点时是路径段本身，通配节点时是 ant 表达式
+         */
+        private final String pattern;
+
+        /**
+         * 静态路径段哈希
+         */
+        private final int hash;
+
+        /**
+         * 该节点对应的路由
+         */
+        private volatile MethodMapping mapping;
+
+        /**
+         * 静态子节点开放寻址表，写时复制
+         */
+        private volatile Node[] statics;
+
+        /**
+         * 静态子节点数量
+         */
+        private int staticCount;
+
+        /**
+         * restful 变量子节点，变量名不影响匹配，因此最多一个
+         */
+        private volatile Node variable;
+
+        /**
+         * ant 通配子节点，写时复制
+         */
+        private volatile Node[] patterns;
+
+        /**
+         * ** 子节点
+         */
+        private volatile Node doubleWildcard;
+
+        private Node(String pattern) {
+            this.pattern = pattern;
+            this.hash = pattern == null ? 0 : pattern.hashCode();
+            this.statics = EMPTY_NODES;
+            this.patterns = EMPTY_NODES;
+        }
+
+        /**
+         * 获取路径段对应的子节点，不存在时返回 null
+         */
+        private Node getChild(String path) {
+            if (path.equals(DOUBLE_WILDCARD)) {
+                return this.doubleWildcard;
+            }
+            if (CommonUtil.SIMPLE_PARAMETERS_PATTERN.matcher(path).matches()) {
+                return this.variable;
+            }
+            if (isPattern(path)) {
+                String pattern = toPattern(path);
+                for (Node node : this.patterns) {
+                    if (node.pattern.equals(pattern)) {
+                        return node;
+                    }
+                }
+                return null;
+            }
+            return this.findStatic(path, 0, path.length());
+        }
+
+        private Node getOrCreateChild(String path) {
+            Node exists = this.getChild(path);
+            if (exists != null) {
+                return exists;
+            }
+            if (path.equals(DOUBLE_WILDCARD)) {
+                return this.doubleWildcard = new Node(path);
+            }
+            if (CommonUtil.SIMPLE_PARAMETERS_PATTERN.matcher(path).matches()) {
+                return this.variable = new Node(path);
+            }
+            if (isPattern(path)) {
+                Node node = new Node(toPattern(path));
+                Node[] patterns = Arrays.copyOf(this.patterns, this.patterns.length + 1);
+                patterns[patterns.length - 1] = node;
+                this.patterns = patterns;
+                return node;
+            }
+            Node node = new Node(path);
+            this.addStatic(node);
+            return node;
+        }
+
+        private Node findStatic(String uri, int start, int end) {
+            Node[] table = this.statics;
+            if (table.length == 0) {
+                return null;
+            }
+            int length = end - start;
+            int hash = hash(uri, start, end);
+            for (int i = indexFor(hash, table.length); ; i = (i + 1) & (table.length - 1)) {
+                Node node = table[i];
+                if (node == null) {
+                    return null;
+                }
+                if (node.hash == hash && node.pattern.length() == length && node.pattern.regionMatches(0, uri, start, length)) {
+                    return node;
+                }
+            }
+        }
+
+        private void addStatic(Node node) {
+            int count = this.staticCount + 1;
+            int capacity = 2;
+            while (capacity < count * 2) {
+                capacity <<= 1;
+            }
+            Node[] table = new Node[capacity];
+            for (Node exists : this.statics) {
+                if (exists != null) {
+                    put(table, exists);
+                }
+            }
+            put(table, node);
+            this.staticCount = count;
+            this.statics = table;
+        }
+
+        private static void put(Node[] table, Node node) {
+            int i = indexFor(node.hash, table.length);
+            while (table[i] != null) {
+                i = (i + 1) & (table.length - 1);
+            }
+            table[i] = node;
+        }
+    }
+}
@@ -33,9 +33,15 @@ public class Routes {
      */
     private final Map<Integer, Map<String, MethodMapping>> indexMapping;
 
+    /**
+     * 路由前缀树，用于匹配请求
+     */
+    private final RouteTrie routeTrie;
+
     public Routes(RequestMethod requestMethod) {
         this.requestMethod = requestMethod;
         this.indexMapping = new ConcurrentHashMap<>();
+        this.routeTrie = new RouteTrie();
     }
 
     /**
@@ -44,15 +50,28 @@ public class Routes {
      * @param methodMapping 方法映射
      * @return this
      */
-    public Routes addRoute(MethodMapping methodMapping) {
+    public synchronized Routes addRoute(MethodMapping methodMapping) {
         if (this.requestMethod != methodMapping.getRequestMethod()) {
             throw new IllegalArgumentException("Route RequestMethod doesn't match");
         }
-        Map<String, MethodMapping> mappingMap = this.indexMapping.computeIfAbsent(methodMapping.getLength(), k -> new ConcurrentHashMap<>());
-        MethodMapping exists = mappingMap.putIfAbsent(methodMapping.getUrl(), methodMapping);
-        if (exists != null) {
+        Map<String, MethodMapping> mappingMap = this.indexMapping.get(methodMapping.getLength());
+        if (mappingMap != null && mappingMap.containsKey(methodMapping.getUrl())) {
             throw new IllegalArgumentException(CommonUtil.format("Route already exists: [RequestMethod: {}, URL:{}] !", this.requestMethod, methodMapping.getUrl()));
         }
+
+        // 前缀树冲突时抛出异常且不会修改前缀树，因此先写入前缀树，成功后再写入 url 映射，两者保持一致
+        this.routeTrie.addRoute(methodMapping);
+        this.indexMapping.computeIfAbsent(methodMapping.getLength(), k -> new ConcurrentHashMap<>()).put(methodMapping.getUrl(), methodMapping);
         return this;
     }
+
+    /**
+     * 匹配路由
+     *
+     * @param requestURI 请求 uri
+     * @return 路由
+     */
+    public MethodMapping match(String requestURI) {
+        return this.routeTrie.match(requestURI);
+    }
 }
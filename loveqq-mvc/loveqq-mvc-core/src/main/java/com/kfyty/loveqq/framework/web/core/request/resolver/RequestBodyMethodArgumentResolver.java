@@ -8,9 +8,14 @@ import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.IOUtil;
 import com.kfyty.loveqq.framework.core.utils.JsonUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.web.core.annotation.bind.RequestBody;
+import com.kfyty.loveqq.framework.web.core.http.ReactiveServerRequest;
 import com.kfyty.loveqq.framework.web.core.http.ServerRequest;
 import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,6 +32,10 @@ import java.util.List;
  */
 @Component
 public class RequestBodyMethodArgumentResolver implements HandlerMethodArgumentResolver {
+    /**
+     * netty 缓冲 class，不存在 netty 依赖时为 null
+     */
+    private static final Class<?> BYTE_BUF_CLASS = ReflectUtil.isPresent("io.netty.buffer.ByteBuf") ? ReflectUtil.load("io.netty.buffer.ByteBuf", false) : null;
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
@@ -36,6 +45,9 @@ public class RequestBodyMethodArgumentResolver implements HandlerMethodArgumentR
     @Override
     @SuppressWarnings({"rawtypes", "unchecked"})
     public Object resolveArgument(MethodParameter parameter, MethodMapping mapping, ServerRequest request) throws IOException {
+        if (request instanceof ReactiveServerRequest && (BYTE_BUF_CLASS != null && BYTE_BUF_CLASS.isAssignableFrom(parameter.getParamType()) || mapping.isStreamingBody() && MethodMapping.isByteBufStream(parameter.getParameter()))) {
+            return ReactiveBodySupport.resolveBody(parameter, (ReactiveServerRequest) request);
+        }
         if (InputStream.class.isAssignableFrom(parameter.getParamType())) {
             return request.getInputStream();
         }
@@ -45,7 +57,7 @@ public class RequestBodyMethodArgumentResolver implements HandlerMethodArgumentR
         if (CharSequence.class.isAssignableFrom(parameter.getParamType())) {
             return IOUtil.toString(request.getInputStream());
         }
-        String json = IOUtil.toString(request.getInputStream());
+        InputStream json = request.getInputStream() == null ? CommonUtil.EMPTY_INPUT_STREAM : request.getInputStream();
         SimpleGeneric simpleGeneric = SimpleGeneric.from(parameter.getSource().getClass(), parameter.getParameter());
         if (simpleGeneric.isSimpleGeneric()) {
             if (simpleGeneric.isGeneric(Collection.class)) {
@@ -64,4 +76,25 @@ public class RequestBodyMethodArgumentResolver implements HandlerMethodArgumentR
         }
         return JsonUtil.toObject(json, parameter.getParameterGeneric());
     }
+
+    /**
+     * 池化缓冲请求体支持，单独的类避免非 netty 环境加载 netty/reactor 依赖
+     */
+    private static abstract class ReactiveBodySupport {
+
+        static Object resolveBody(MethodParameter parameter, ReactiveServerRequest request) {
+            Flux<ByteBuf> bodyStream = request.getBodyStream();
+            ByteBuf body = request.getBody();
+            if (ByteBuf.class.isAssignableFrom(parameter.getParamType())) {
+                if (bodyStream != null) {
+                    throw new IllegalStateException("The request body is streaming, use @RequestBody Flux<ByteBuf> to receive it: " + request.getRequestURI());
+                }
+                return body == null ? Unpooled.EMPTY_BUFFER : body.duplicate();
+            }
+            if (bodyStream != null) {
+                return bodyStream;
+            }
+            return body == null ? Flux.empty() : Flux.just(body.duplicate());
+        }
+    }
 }
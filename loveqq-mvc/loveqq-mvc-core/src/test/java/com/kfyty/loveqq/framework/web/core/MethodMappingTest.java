@@ -0,0 +1,65 @@
+package com.kfyty.loveqq.framework.web.core;
+
+import com.kfyty.loveqq.framework.core.lang.Lazy;
+import com.kfyty.loveqq.framework.web.core.annotation.bind.RequestBody;
+import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import com.kfyty.loveqq.framework.web.core.request.RequestMethod;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+
+/**
+ * 描述: 映射方法测试
+ *
+ * @author kfyty725
+ * @date 2024/12/20 14:10
+ * @email kfyty725@hotmail.com
+ */
+public class MethodMappingTest {
+
+    @Test
+    public void streamingBodyTest() throws Exception {
+        Assertions.assertTrue(this.create("flux", Flux.class).isStreamingBody());
+        Assertions.assertTrue(this.create("publisher", Publisher.class).isStreamingBody());
+        Assertions.assertFalse(this.create("byteBuf", ByteBuf.class).isStreamingBody());
+        Assertions.assertFalse(this.create("json", String.class).isStreamingBody());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> this.create("mono", Mono.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> this.create("monoByteBuf", Mono.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> this.create("fluxString", Flux.class));
+    }
+
+    private MethodMapping create(String name, Class<?> parameterType) throws Exception {
+        Method method = Controller.class.getMethod(name, parameterType);
+        return MethodMapping.create("/" + name, RequestMethod.POST, new Lazy<>(Controller::new), method);
+    }
+
+    public static class Controller {
+
+        public void flux(@RequestBody Flux<ByteBuf> body) {
+        }
+
+        public void publisher(@RequestBody Publisher<? extends ByteBuf> body) {
+        }
+
+        public void byteBuf(@RequestBody ByteBuf body) {
+        }
+
+        public void json(@RequestBody String body) {
+        }
+
+        public void mono(@RequestBody Mono<Controller> body) {
+        }
+
+        public void monoByteBuf(@RequestBody Mono<ByteBuf> body) {
+        }
+
+        public void fluxString(@RequestBody Flux<String> body) {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.kfyty.loveqq.framework.web.core;
+
+import com.kfyty.loveqq.framework.web.core.http.ServerRequest;
+import com.kfyty.loveqq.framework.web.core.http.ServerResponse;
+import com.kfyty.loveqq.framework.web.core.interceptor.HandlerInterceptor;
+import com.kfyty.loveqq.framework.web.core.interceptor.ReactiveHandlerInterceptor;
+import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 描述: 响应式请求分发测试
+ *
+ * @author kfyty725
+ * @date 2024/12/30 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class ReactiveDispatcherTest {
+
+    @Test
+    public void synchronousInterceptorsTest() {
+        Dispatcher dispatcher = new Dispatcher();
+        Assertions.assertTrue(dispatcher.isSynchronousInterceptors());
+
+        // 设置拦截器时计算
+        dispatcher.setInterceptorChains(List.of(new SyncInterceptor(), new SyncReactiveInterceptor()));
+        Assertions.assertTrue(dispatcher.isSynchronousInterceptors());
+
+        dispatcher.setInterceptorChains(List.of(new SyncInterceptor(), new AsyncInterceptor()));
+        Assertions.assertFalse(dispatcher.isSynchronousInterceptors());
+
+        dispatcher.setInterceptorChains(null);
+        Assertions.assertTrue(dispatcher.isSynchronousInterceptors());
+
+        // 添加拦截器时重新计算
+        dispatcher.setInterceptorChains(new ArrayList<>());
+        dispatcher.addInterceptor(new SyncInterceptor());
+        Assertions.assertTrue(dispatcher.isSynchronousInterceptors());
+        dispatcher.addInterceptor(new AsyncInterceptor());
+        Assertions.assertFalse(dispatcher.isSynchronousInterceptors());
+    }
+
+    static class Dispatcher extends AbstractReactiveDispatcher<Dispatcher> {
+    }
+
+    static class SyncInterceptor implements HandlerInterceptor {
+    }
+
+    static class SyncReactiveInterceptor implements ReactiveHandlerInterceptor {
+    }
+
+    static class AsyncInterceptor implements ReactiveHandlerInterceptor {
+
+        @Override
+        public Mono<Boolean> preHandleAsync(ServerRequest request, ServerResponse response, MethodMapping handler) {
+            return Mono.just(true);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.kfyty.loveqq.framework.web.core;
+
+import com.kfyty.loveqq.framework.core.lang.Lazy;
+import com.kfyty.loveqq.framework.web.core.handler.DefaultRequestMappingMatcher;
+import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import com.kfyty.loveqq.framework.web.core.mapping.Routes;
+import com.kfyty.loveqq.framework.web.core.request.RequestMethod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+/**
+ * 描述: 路由前缀树测试
+ *
+ * @author kfyty725
+ * @date 2024/12/20 11:20
+ * @email kfyty725@hotmail.com
+ */
+public class RouteTrieTest {
+
+    @Test
+    public void test() throws Exception {
+        DefaultRequestMappingMatcher matcher = new DefaultRequestMappingMatcher();
+        Method method = Object.class.getMethod("toString");
+        String[] urls = {"/user", "/user/list", "/user/{id}", "/user/{id}/role", "/user/admin/role", "/static/**", "/file/*.html", "/api/**/info"};
+        for (String url : urls) {
+            matcher.registryMethodMapping(MethodMapping.create(url, RequestMethod.GET, new Lazy<>(Object::new), method));
+        }
+
+        Assertions.assertEquals("/user", matcher.matchRoute(RequestMethod.GET, "/user").getUrl());
+        Assertions.assertEquals("/user", matcher.matchRoute(RequestMethod.GET, "//user/").getUrl());
+        Assertions.assertEquals("/user/list", matcher.matchRoute(RequestMethod.GET, "/user/list").getUrl());
+        Assertions.assertEquals("/user/{id}", matcher.matchRoute(RequestMethod.GET, "/user/1").getUrl());
+        Assertions.assertEquals("/user/{id}/role", matcher.matchRoute(RequestMethod.GET, "/user/1/role").getUrl());
+        Assertions.assertEquals("/user/admin/role", matcher.matchRoute(RequestMethod.GET, "/user/admin/role").getUrl());
+        Assertions.assertEquals("/user/{id}", matcher.matchRoute(RequestMethod.GET, "/user/admin").getUrl());
+        Assertions.assertEquals("/static/**", matcher.matchRoute(RequestMethod.GET, "/static").getUrl());
+        Assertions.assertEquals("/static/**", matcher.matchRoute(RequestMethod.GET, "/static/js/index.js").getUrl());
+        Assertions.assertEquals("/file/*.html", matcher.matchRoute(RequestMethod.GET, "/file/index.html").getUrl());
+        Assertions.assertEquals("/api/**/info", matcher.matchRoute(RequestMethod.GET, "/api/info").getUrl());
+        Assertions.assertEquals("/api/**/info", matcher.matchRoute(RequestMethod.GET, "/api/v1/user/info").getUrl());
+
+        Assertions.assertNull(matcher.matchRoute(RequestMethod.GET, "/file/index.js"));
+        Assertions.assertNull(matcher.matchRoute(RequestMethod.GET, "/user/1/menu"));
+        Assertions.assertNull(matcher.matchRoute(RequestMethod.POST, "/user"));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> matcher.registryMethodMapping(MethodMapping.create("/user/{userId}", RequestMethod.GET, new Lazy<>(Object::new), method)));
+    }
+
+    @Test
+    public void conflictTest() throws Exception {
+        Method method = Object.class.getMethod("toString");
+        Routes routes = new Routes(RequestMethod.GET);
+        routes.addRoute(MethodMapping.create("/user/{id}", RequestMethod.GET, new Lazy<>(Object::new), method));
+
+        // 路由冲突时前缀树及 url 映射均不变
+        Assertions.assertThrows(IllegalArgumentException.class, () -> routes.addRoute(MethodMapping.create("/user/{userId}", RequestMethod.GET, new Lazy<>(Object::new), method)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> routes.addRoute(MethodMapping.create("/user/{id}", RequestMethod.GET, new Lazy<>(Object::new), method)));
+        Assertions.assertEquals(1, routes.getIndexMapping().size());
+        Assertions.assertEquals(1, routes.getIndexMapping().get(2).size());
+        Assertions.assertEquals("/user/{id}", routes.match("/user/1").getUrl());
+
+        routes.addRoute(MethodMapping.create("/user/{id}/role", RequestMethod.GET, new Lazy<>(Object::new), method));
+        Assertions.assertEquals("/user/{id}/role", routes.match("/user/1/role").getUrl());
+    }
+}
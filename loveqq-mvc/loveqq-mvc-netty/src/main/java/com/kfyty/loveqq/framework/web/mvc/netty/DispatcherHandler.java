@@ -2,7 +2,6 @@ package com.kfyty.loveqq.framework.web.mvc.netty;
 
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.utils.LogUtil;
-import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.web.core.AbstractReactiveDispatcher;
 import com.kfyty.loveqq.framework.web.core.http.ServerRequest;
 import com.kfyty.loveqq.framework.web.core.http.ServerResponse;
@@ -29,7 +28,6 @@ import java.io.IOException;
 import java.lang.reflect.Parameter;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Supplier;
 
 import static com.kfyty.loveqq.framework.core.utils.ExceptionUtil.unwrap;
 import static com.kfyty.loveqq.framework.web.core.request.RequestMethod.matchRequestMethod;
@@ -67,6 +65,9 @@ public class DispatcherHandler extends AbstractReactiveDispatcher<DispatcherHand
         if (methodMapping == null) {
             return ((HttpServerResponse) response.getRawResponse()).sendNotFound();
         }
+        if (this.isSynchronous(methodMapping)) {
+            return this.processRequestSynchronously(request, response, methodMapping);
+        }
         AtomicReference<Throwable> throwableReference = new AtomicReference<>();
         return Mono.just(methodMapping)
                 .doOnNext(mapping -> this.prepareRequestResponse(mapping, request, response))
@@ -76,26 +77,107 @@ public class DispatcherHandler extends AbstractReactiveDispatcher<DispatcherHand
                 .filterWhen(p -> this.processPostInterceptorAsync(request, response, methodMapping, p.getT2()).thenReturn(true))
                 .flatMap(p -> Mono.from(this.handleReturnValue(p.getT2(), p.getT1(), request, response)))
                 .doOnError(e -> this.onError(throwableReference, e))
-                .doFinally(s -> this.processCompletionInterceptorAsync(request, response, methodMapping, throwableReference.get()).subscribeOn(Schedulers.boundedElastic()).subscribe());
+                .doFinally(s -> this.onFinally(request, response, methodMapping, throwableReference.get()));
+    }
+
+    /**
+     * 返回是否可以同步处理请求
+     * 控制器返回值非异步类型，非 sse，且拦截器都是同步拦截器时，可在事件循环线程中直接同步处理，无需构建响应式处理链
+     *
+     * @param mapping 方法映射
+     * @return true if synchronous
+     */
+    protected boolean isSynchronous(MethodMapping mapping) {
+        return !mapping.isReactive() && !mapping.isEventStream() && this.isSynchronousInterceptors();
     }
 
+    /**
+     * 同步处理请求，仅写出响应是异步的
+     * 若控制器或异常处理器运行时返回了异步类型，则回退到响应式处理
+     *
+     * @param request       请求
+     * @param response      响应
+     * @param methodMapping 方法映射
+     * @return 写出响应的发布者
+     */
     @SuppressWarnings("unchecked")
-    protected Mono<?> invokeMethodMapping(ServerRequest request, ServerResponse response, MethodParameter returnType, MethodMapping mapping) {
-        Supplier<?> supplier = () -> {
-            ServerRequest prevRequest = RequestContextHolder.set(request);
-            ServerResponse prevResponse = ResponseContextHolder.set(response);
+    protected Publisher<Void> processRequestSynchronously(ServerRequest request, ServerResponse response, MethodMapping methodMapping) {
+        try {
+            this.prepareRequestResponse(methodMapping, request, response);
+
+            if (!this.processPreInterceptor(request, response, methodMapping)) {
+                this.processCompletionInterceptor(request, response, methodMapping, null);
+                return Mono.empty();
+            }
+
+            MethodParameter returnType = this.prepareMethodParameter(request, response, methodMapping);
+            Object retValue;
             try {
-                return ReflectUtil.invokeMethod(mapping.getController(), mapping.getMappingMethod(), returnType.getMethodArgs());
-            } finally {
-                RequestContextHolder.set(prevRequest);
-                ResponseContextHolder.set(prevResponse);
+                retValue = this.invokeMethodMappingInContext(request, response, returnType, methodMapping);
+            } catch (Throwable e) {
+                retValue = super.handleException(request, response, methodMapping, e);
+            }
+
+            if (retValue instanceof Publisher<?> || retValue instanceof CompletionStage<?>) {
+                Mono<Void> written = ((Mono<Object>) this.adapterReturnValue(request, response, returnType, methodMapping, retValue))
+                        .onErrorResume(e -> (Mono<Object>) this.handleException(request, response, returnType, methodMapping, e))
+                        .flatMap(value -> {
+                            this.processPostInterceptor(request, response, methodMapping, value);
+                            return Mono.from(this.handleReturnValue(value, returnType, request, response));
+                        })
+                        .doOnError(e -> log.error("process request error: {}", e.getMessage(), e));
+                return this.doOnCompletion(written, request, response, methodMapping);
             }
-        };
-        return Mono.fromSupplier(supplier)
+
+            this.processPostInterceptor(request, response, methodMapping, retValue);
+            if (retValue == null) {
+                return this.doOnCompletion(Mono.empty(), request, response, methodMapping);
+            }
+            return this.doOnCompletion(this.handleReturnValue(retValue, returnType, request, response), request, response, methodMapping);
+        } catch (Throwable e) {
+            Throwable unwrapped = unwrap(e);
+            log.error("process request error: {}", unwrapped.getMessage(), unwrapped);
+            this.processCompletionInterceptor(request, response, methodMapping, unwrapped);
+            return Mono.error(unwrapped);
+        }
+    }
+
+    /**
+     * 响应写出完成后，在当前线程同步执行完成拦截器
+     */
+    protected Mono<Void> doOnCompletion(Publisher<Void> written, ServerRequest request, ServerResponse response, MethodMapping methodMapping) {
+        if (this.interceptorChains.isEmpty()) {
+            return Mono.from(written);
+        }
+        return Mono.from(written)
+                .doOnSuccess(v -> this.processCompletionInterceptor(request, response, methodMapping, null))
+                .doOnError(e -> this.processCompletionInterceptor(request, response, methodMapping, e));
+    }
+
+    protected void onFinally(ServerRequest request, ServerResponse response, MethodMapping methodMapping, Throwable throwable) {
+        if (!this.interceptorChains.isEmpty()) {
+            this.processCompletionInterceptorAsync(request, response, methodMapping, throwable).subscribeOn(Schedulers.boundedElastic()).subscribe();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Mono<?> invokeMethodMapping(ServerRequest request, ServerResponse response, MethodParameter returnType, MethodMapping mapping) {
+        return Mono.fromSupplier(() -> this.invokeMethodMappingInContext(request, response, returnType, mapping))
                 .flatMap(e -> this.adapterReturnValue(request, response, returnType, mapping, e))
                 .onErrorResume(e -> this.handleException(request, response, returnType, mapping, e));
     }
 
+    protected Object invokeMethodMappingInContext(ServerRequest request, ServerResponse response, MethodParameter returnType, MethodMapping mapping) {
+        ServerRequest prevRequest = RequestContextHolder.set(request);
+        ServerResponse prevResponse = ResponseContextHolder.set(response);
+        try {
+            return mapping.invoke(returnType.getMethodArgs());
+        } finally {
+            RequestContextHolder.set(prevRequest);
+            ResponseContextHolder.set(prevResponse);
+        }
+    }
+
     @Override
     protected Object resolveRequestResponseParam(Parameter parameter, ServerRequest request, ServerResponse response) {
         if (HttpServerRequest.class.isAssignableFrom(parameter.getType())) {
@@ -2,10 +2,13 @@ package com.kfyty.loveqq.framework.web.mvc.netty.http;
 
 import com.kfyty.loveqq.framework.core.support.Pair;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
-import com.kfyty.loveqq.framework.web.core.http.ServerRequest;
+import com.kfyty.loveqq.framework.web.core.http.ReactiveServerRequest;
 import com.kfyty.loveqq.framework.web.core.multipart.MultipartFile;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.cookie.Cookie;
+import reactor.core.publisher.Flux;
 import reactor.netty.http.server.HttpServerRequest;
 
 import java.io.InputStream;
@@ -19,6 +22,9 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.EMPTY_INPUT_STREAM;
+import static java.util.Collections.emptyList;
+
 /**
  * 描述: netty 实现
  *
@@ -26,7 +32,7 @@ import java.util.stream.Collectors;
  * @date 2024/7/6 19:09
  * @email kfyty725@hotmail.com
  */
-public class NettyServerRequest implements ServerRequest {
+public class NettyServerRequest implements ReactiveServerRequest {
     /**
      * request
      */
@@ -53,9 +59,14 @@ public class NettyServerRequest implements ServerRequest {
     private Map<String, MultipartFile> multipart;
 
     /**
-     * body
+     * 已聚合的请求体，由服务器负责释放
+     */
+    private ByteBuf body;
+
+    /**
+     * 流式请求体
      */
-    private InputStream body;
+    private Flux<ByteBuf> bodyStream;
 
     public NettyServerRequest(HttpServerRequest request) {
         this.request = request;
@@ -63,7 +74,12 @@ public class NettyServerRequest implements ServerRequest {
         this.uri = this.resolveURI(request.uri());
     }
 
-    public NettyServerRequest init(InputStream body, List<Pair<String, Object>> formData) {
+    public NettyServerRequest init(Flux<ByteBuf> bodyStream) {
+        this.bodyStream = bodyStream;
+        return this.init((ByteBuf) null, emptyList());
+    }
+
+    public NettyServerRequest init(ByteBuf body, List<Pair<String, Object>> formData) {
         this.body = body;
         this.multipart = formData.stream().filter(e -> e.getValue() instanceof MultipartFile).collect(Collectors.toMap(Pair::getKey, v -> (MultipartFile) v.getValue()));
         this.parameters = formData.stream().filter(e -> !(e.getValue() instanceof MultipartFile)).collect(Collectors.toMap(Pair::getKey, v -> v.getValue().toString()));
@@ -103,9 +119,25 @@ public class NettyServerRequest implements ServerRequest {
 
     @Override
     public InputStream getInputStream() {
+        if (this.bodyStream != null) {
+            throw new IllegalStateException("The request body is streaming, use @RequestBody Flux<ByteBuf> to receive it: " + this.uri);
+        }
+        if (this.body == null) {
+            return EMPTY_INPUT_STREAM;
+        }
+        return new ByteBufInputStream(this.body.duplicate());
+    }
+
+    @Override
+    public ByteBuf getBody() {
         return this.body;
     }
 
+    @Override
+    public Flux<ByteBuf> getBodyStream() {
+        return this.bodyStream;
+    }
+
     @Override
     public MultipartFile getMultipart(String name) {
         return this.multipart.get(name);
@@ -6,11 +6,15 @@ import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.utils.JsonUtil;
 import com.kfyty.loveqq.framework.web.core.request.resolver.AbstractResponseBodyHandlerMethodReturnValueProcessor;
 import com.kfyty.loveqq.framework.web.core.request.support.ModelViewContainer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.netty.http.server.HttpServerResponse;
 
 import static com.kfyty.loveqq.framework.core.autoconfig.annotation.Order.HIGHEST_PRECEDENCE;
 
 /**
- * 描述:
+ * 描述: 直接序列化到连接分配的池化缓冲中，不构建中间字符串
  *
  * @author kfyty725
  * @date 2021/6/10 11:29
@@ -27,6 +31,18 @@ public class JSONResponseBodyHandlerMethodReturnValueProcessor extends AbstractR
 
     @Override
     public Object doHandleReturnValue(Object returnValue, MethodParameter returnType, ModelViewContainer container) throws Exception {
-        return returnValue instanceof CharSequence ? returnValue.toString() : JsonUtil.toJSONString(returnValue);
+        if (returnValue instanceof CharSequence) {
+            return returnValue.toString();
+        }
+        HttpServerResponse serverResponse = (HttpServerResponse) container.getResponse().getRawResponse();
+        ByteBuf body = serverResponse.alloc().buffer();
+        try (ByteBufOutputStream out = new ByteBufOutputStream(body)) {
+            JsonUtil.writeJSON(returnValue, out);
+        } catch (Throwable e) {
+            body.release();
+            throw e;
+        }
+        container.getResponse().setHeader(HttpHeaderNames.CONTENT_LENGTH.toString(), Integer.toString(body.readableBytes()));
+        return body;
     }
 }
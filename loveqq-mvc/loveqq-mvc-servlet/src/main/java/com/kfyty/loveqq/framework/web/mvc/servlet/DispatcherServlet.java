@@ -4,7 +4,6 @@ import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanFactory;
 import com.kfyty.loveqq.framework.core.lang.util.Mapping;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.utils.LogUtil;
-import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.web.core.http.ServerRequest;
 import com.kfyty.loveqq.framework.web.core.http.ServerResponse;
 import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
@@ -116,7 +115,7 @@ public class DispatcherServlet extends AbstractDispatcherServlet<DispatcherServl
 
             // 解析参数并处理请求
             parameter = this.prepareMethodParameter(serverRequest, serverResponse, methodMapping);
-            Object retValue = ReflectUtil.invokeMethod(methodMapping.getController(), methodMapping.getMappingMethod(), parameter.getMethodArgs());
+            Object retValue = methodMapping.invoke(parameter.getMethodArgs());
 
             // 应用后置处理器并处理返回值
             this.processPostInterceptor(serverRequest, serverResponse, methodMapping, retValue);
@@ -7,13 +7,14 @@ import com.kfyty.loveqq.framework.core.utils.JsonUtil;
 import com.kfyty.loveqq.framework.web.core.request.resolver.AbstractResponseBodyHandlerMethodReturnValueProcessor;
 import com.kfyty.loveqq.framework.web.core.request.support.ModelViewContainer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
 import static com.kfyty.loveqq.framework.core.autoconfig.annotation.Order.HIGHEST_PRECEDENCE;
 
 /**
- * 描述:
+ * 描述: 序列化到线程复用的缓冲中，得到内容长度后直接写出到响应流，不构建中间字符串
  *
  * @author kfyty725
  * @date 2021/6/10 11:29
@@ -22,6 +23,15 @@ import static com.kfyty.loveqq.framework.core.autoconfig.annotation.Order.HIGHES
 @Component
 @Order(HIGHEST_PRECEDENCE >> 1)
 public class JSONResponseBodyHandlerMethodReturnValueProcessor extends AbstractResponseBodyHandlerMethodReturnValueProcessor {
+    /**
+     * 复用缓冲的最大保留容量，超出时使用后丢弃，避免大响应长期占用内存
+     */
+    private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+    /**
+     * 线程复用的序列化缓冲
+     */
+    private static final ThreadLocal<ResponseBuffer> RESPONSE_BUFFER = ThreadLocal.withInitial(ResponseBuffer::new);
 
     @Override
     protected boolean supportsContentType(String contentType) {
@@ -31,9 +41,35 @@ public class JSONResponseBodyHandlerMethodReturnValueProcessor extends AbstractR
     @Override
     public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelViewContainer container) throws Exception {
         try (OutputStream out = container.getResponse().getOutputStream()) {
-            String body = returnValue instanceof CharSequence ? returnValue.toString() : JsonUtil.toJSONString(returnValue);
-            out.write(body.getBytes(StandardCharsets.UTF_8));
-            out.flush();
+            if (returnValue instanceof CharSequence) {
+                out.write(returnValue.toString().getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                return;
+            }
+            ResponseBuffer buffer = RESPONSE_BUFFER.get();
+            try {
+                JsonUtil.writeJSON(returnValue, buffer);
+                container.getResponse().setHeader("Content-Length", Integer.toString(buffer.size()));
+                buffer.writeTo(out);
+                out.flush();
+            } finally {
+                if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+                    RESPONSE_BUFFER.remove();
+                } else {
+                    buffer.reset();
+                }
+            }
+        }
+    }
+
+    private static class ResponseBuffer extends ByteArrayOutputStream {
+
+        ResponseBuffer() {
+            super(4096);
+        }
+
+        int capacity() {
+            return this.buf.length;
         }
     }
 }